@@ -1,9 +1,11 @@
 
 package Fishing;
 
+import Fishing.drawable.ObjectPool;
 import Fishing.drawable.SpriteFrameSet;
 import Fishing.drawable.SpriteSheet;
 import Fishing.drawable.controls.Fish;
+import Fishing.drawable.controls.FishSchool;
 import Fishing.drawable.events.EventBase;
 import Fishing.drawable.events.FishingOptionsListener;
 import Fishing.drawable.events.ValueChangedEvent;
@@ -12,6 +14,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This class encapsulates the data necessary to control the various options
@@ -76,6 +80,11 @@ public class FishingOptions {
      */
     private List<String> targetFishSpecies;
 
+    /**
+     * The maximum number of idle Fish retained for reuse per species.
+     */
+    private static final int FISH_POOL_SIZE = 128;
+
     /**
      * The probability that a new fish will be added during an animation update.
      */
@@ -135,6 +144,23 @@ public class FishingOptions {
          */
         int numCaptured = 0;
 
+        /**
+         * Whether fish of this species swim in schools when shown in a
+         * {@link FishSchool}.
+         */
+        boolean schooling = false;
+
+        /**
+         * Whether smaller fish of other species flee from fish of this
+         * species when shown in a {@link FishSchool}.
+         */
+        boolean predator = false;
+
+        /**
+         * Fish of this species which have been released for reuse.
+         */
+        final ObjectPool<Fish> pool;
+
         /**
          * Constructs a new instance.
          * 
@@ -159,6 +185,7 @@ public class FishingOptions {
             this.scaleY = scale;
             this.score = score;
             this.probabilityWeight = 1;
+            this.pool = new ObjectPool<>(() -> new Fish(this.frameset, this.score, this.species), FISH_POOL_SIZE);
         } // FishFrameset(SpriteFrameSet frameset, int score, double scale, boolean flip)
 
     } // class FishFrameset
@@ -183,6 +210,10 @@ public class FishingOptions {
         addFishFrameset( "zebra", 500, "assets/fish/zebra_spritesheet.png", 138, 45, 4, 8, 0.9 /*0.5*/, true ); // flip
         addFishFrameset( "cod", 5, "assets/fish/cod2_spritesheet.png", 266, 104, 4, 8, 1.0 /*1.6*/, false );
         addFishFrameset( "shark", -100, "assets/fish/shark3_spritesheet.png", 484, 164, 4, 8, 1.5 /*2.0*/, false );
+
+        for (String name : new String[] { "guppy", "tetra", "tigerbarb", "zebra" })
+            setFishSpeciesSchooling( name, true );
+        setFishSpeciesPredator( "shark", true );
     } // FishingOptions()
 
     /**
@@ -840,6 +871,81 @@ public class FishingOptions {
         return f.probabilityWeight;
     } // getFishSpeciesProbabilityWeight()
 
+    /**
+     * Sets whether fish of the specified species swim in schools when shown
+     * in a {@link FishSchool}.
+     * 
+     * @param species   The name of the species to update.
+     * @param value     Whether the species schools.
+     * 
+     * @throws  IllegalArgumentException if the specified {@code species} name
+     *          is not listed in {@code fishFramesets}.
+     */
+    public void setFishSpeciesSchooling( String species, boolean value ) {
+        FishFrameset f = fishFramesets.get(species);
+        if (f == null)
+            throw new IllegalArgumentException("Unknown species name '"+ species +"'");
+
+        f.schooling = value;
+    } // setFishSpeciesSchooling( String species, boolean value )
+
+    /**
+     * Determines whether fish of the specified species swim in schools when
+     * shown in a {@link FishSchool}.
+     * 
+     * @param species   The name of the species.
+     * 
+     * @return  {@code true} if the species schools, {@code false} otherwise.
+     * 
+     * @throws  IllegalArgumentException if the specified {@code species} name
+     *          is not listed in {@code fishFramesets}.
+     */
+    public boolean isFishSpeciesSchooling( String species ) {
+        FishFrameset f = fishFramesets.get(species);
+        if (f == null)
+            throw new IllegalArgumentException("Unknown species name '"+ species +"'");
+
+        return f.schooling;
+    } // isFishSpeciesSchooling( String species )
+
+    /**
+     * Sets whether smaller fish of other species flee from fish of the
+     * specified species when shown in a {@link FishSchool}.
+     * 
+     * @param species   The name of the species to update.
+     * @param value     Whether the species is a predator.
+     * 
+     * @throws  IllegalArgumentException if the specified {@code species} name
+     *          is not listed in {@code fishFramesets}.
+     */
+    public void setFishSpeciesPredator( String species, boolean value ) {
+        FishFrameset f = fishFramesets.get(species);
+        if (f == null)
+            throw new IllegalArgumentException("Unknown species name '"+ species +"'");
+
+        f.predator = value;
+    } // setFishSpeciesPredator( String species, boolean value )
+
+    /**
+     * Determines whether smaller fish of other species flee from fish of the
+     * specified species when shown in a {@link FishSchool}.
+     * 
+     * @param species   The name of the species.
+     * 
+     * @return  {@code true} if the species is a predator, {@code false}
+     *          otherwise.
+     * 
+     * @throws  IllegalArgumentException if the specified {@code species} name
+     *          is not listed in {@code fishFramesets}.
+     */
+    public boolean isFishSpeciesPredator( String species ) {
+        FishFrameset f = fishFramesets.get(species);
+        if (f == null)
+            throw new IllegalArgumentException("Unknown species name '"+ species +"'");
+
+        return f.predator;
+    } // isFishSpeciesPredator( String species )
+
     /**
      * Creates a new fish of a random enabled species.
      * 
@@ -848,17 +954,38 @@ public class FishingOptions {
      * @throws  IllegalStateException if no enabled fish species has a non-zero
      *          probability weight.
      */
-    public synchronized Fish createFish() {
+    public Fish createFish() {
+        return createFish( ThreadLocalRandom.current() );
+    } // createFish()
+
+    /**
+     * Creates a new fish of a random enabled species, drawing the species and
+     * size adjustment from the specified random number generator.
+     * 
+     * <p>Fish previously released through {@link #releaseFish(Fish)} are
+     * reset and reused when available.
+     * 
+     * @param random    The random number generator to use.
+     * 
+     * @return  The newly created Fish instance.
+     *
+     * @throws  IllegalStateException if no enabled fish species has a non-zero
+     *          probability weight.
+     */
+    public synchronized Fish createFish( Random random ) {
         // Determine which fish species to create based on their relative weights
-        double probability = Math.random();
+        double probability = random.nextDouble();
 
         double currentFactor = 0d;
         for (String name : enabledFishSpecies) {
             FishFrameset ff = fishFramesets.get(name);
             currentFactor += ff.probabilityWeight / fishSpeciesWeightFactor;
             if (currentFactor >= probability) {
-                Fish f = new Fish(ff.frameset, ff.score, ff.species);
-                double scaleAdjust = (1 + 1/16 - (Math.random() / 8));
+                Fish f = ff.pool.acquire();
+                f.reset();
+
+                double scaleAdjust = (1 + 1/16 - (random.nextDouble() / 8));
+                f.setScore(ff.score);
                 f.setMouseEnabled(true);
                 f.setScale( ff.scaleX * scaleAdjust, ff.scaleY * scaleAdjust );
                 f.setRepeat(true);
@@ -869,7 +996,68 @@ public class FishingOptions {
         }
 
         throw new IllegalStateException("Unable to determine type of fish to construct");
-    } // createFish()
+    } // createFish( Random random )
+
+    /**
+     * Returns a fish created by {@link #createFish(Random)} to the pool for
+     * its species, so that it can be reused by a later call.  The fish is
+     * stopped, and must already have been removed from the display.  The
+     * caller must not use the fish afterwards.
+     * 
+     * @param fish  The fish to release.
+     * 
+     * @throws  IllegalArgumentException if the species of the fish is not
+     *          listed in {@code fishFramesets}.
+     */
+    public synchronized void releaseFish( Fish fish ) {
+        FishFrameset ff = fishFramesets.get(fish.getSpecies());
+        if (ff == null)
+            throw new IllegalArgumentException("Unknown species name '"+ fish.getSpecies() +"'");
+
+        fish.stop();
+        ff.pool.release(fish);
+    } // releaseFish( Fish fish )
+
+    /**
+     * Retrieves the pool that fish of the specified species are created from
+     * and released to, so that its statistics can be monitored.
+     * 
+     * @param species   The fish species name to retrieve the pool for.
+     * 
+     * @return  The pool of fish for the species with the specified name.
+     * 
+     * @throws  IllegalArgumentException if the specified {@code species} name
+     *          is not listed in {@code fishFramesets}.
+     */
+    public ObjectPool<Fish> getFishPool( String species ) {
+        FishFrameset ff = fishFramesets.get(species);
+        if (ff == null)
+            throw new IllegalArgumentException("Unknown species name '"+ species +"'");
+
+        return ff.pool;
+    } // getFishPool( String species )
+
+    /**
+     * Creates an empty FishSchool holding each enabled fish species, with the
+     * same scale, score and relative probability as fish created through
+     * {@link #createFish(Random)}, and the species' schooling and predator
+     * settings.
+     * 
+     * @return  The newly created FishSchool instance.
+     */
+    public synchronized FishSchool createFishSchool() {
+        FishSchool school = new FishSchool();
+        school.setSteeredSpeedRange(minFishSpeed, maxFishSpeed);
+
+        for (String name : enabledFishSpecies) {
+            FishFrameset ff = fishFramesets.get(name);
+            int s = school.addSpecies(ff.species, ff.frameset, ff.score, ff.scaleX, ff.scaleY, ff.probabilityWeight);
+            school.setSpeciesSchooling(s, ff.schooling);
+            school.setSpeciesPredator(s, ff.predator);
+        } // for
+
+        return school;
+    } // createFishSchool()
 
     /**
      * Retrieves the FishFrameset for the species with the specified name.
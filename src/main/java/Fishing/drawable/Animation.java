@@ -1,18 +1,24 @@
 
 package Fishing.drawable;
 
+import Fishing.drawable.events.DrawableEvent;
 import Fishing.drawable.events.DrawableListeners;
+import Fishing.drawable.events.DrawableTreeAdapter;
 import Fishing.drawable.events.SpriteAnimationListener;
 import Fishing.drawable.events.SpriteAnimationEvent;
 import java.awt.Graphics2D;
 import java.awt.geom.Point2D;
 import java.util.Objects;
-import java.util.Timer;
-import java.util.TimerTask;
 
 /**
  * This class represents a frame-based animation.
  * 
+ * <p>Running animations are advanced by the shared {@link FrameClock}, which
+ * the frame loop ticks at the start of each frame.  The animation advances by
+ * as many frames as its frame rate calls for since it last advanced.  Frames
+ * only advance while the animation is on a stage; an animation removed from
+ * its stage keeps its running state, and resumes once added to a stage again.
+ * 
  * @author Brad
  */
 public class Animation
@@ -38,24 +44,31 @@ public class Animation
     }
 
     /**
-     * Shared timer instance/thread shared between all animations.
+     * Whether the animation repeats or stops after the last frame.
      */
-    static private Timer timer;
+    private boolean repeat;
 
     /**
-     * Whether the animation repeats or stops after the last frame.
+     * Whether the animation is currently running or not.
      */
-    private boolean repeat;
+    private boolean running = false;
 
     /**
-     * A recurrent timer task scheduled to execute at the specified
-     * {@code frameRate} and which performs the iteration through the animation
-     * frames.
-     * 
-     * <p>This property is {@code null} if the animation is not currently
-     * running.
+     * The {@code System.nanoTime()} value at which the animation last
+     * advanced, or was started.
      */
-    private TimerTask timerTask;
+    private long lastAdvanceTime;
+
+    /**
+     * Registers this animation with the {@link FrameClock} while it's
+     * running on a stage.
+     */
+    private final FrameClock.Client clockClient = new FrameClock.Client() {
+        @Override
+        void advanceClock( long now ) {
+            Animation.this.advanceClock(now);
+        }
+    };
 
     /**
      * The frame rate to play the animation at, in frames per second.
@@ -98,9 +111,6 @@ public class Animation
     public Animation(AnimationFrameSet<? extends AnimationFrame> frameset) {
         this.frameset = Objects.requireNonNull(frameset, "The frameset cannot be null.");
 
-        if (timer == null)
-            timer = new Timer();
-
         setUnscaledSize( frameset.getFrameWidth(), frameset.getFrameHeight() );
         setCenterX(frameset.getFrameWidth() / 2);
         setCenterY(frameset.getFrameHeight() / 2);
@@ -108,6 +118,25 @@ public class Animation
         repeat = false;
 
         currentIndex = 0;
+
+        // Only advance while on a stage, so animations that are discarded
+        // without being stopped aren't kept alive by the clock.
+        addTreeListener(new DrawableTreeAdapter() {
+            @Override
+            public void drawableAddedToStage( DrawableEvent e ) {
+                if (running) {
+                    // Resume from now, rather than catching up on the time
+                    // spent off the stage
+                    lastAdvanceTime = System.nanoTime();
+                    FrameClock.add(clockClient);
+                }
+            }
+
+            @Override
+            public void drawableRemovedFromStage( DrawableEvent e ) {
+                FrameClock.remove(clockClient);
+            }
+        });
     } // Animation(AnimationFrameSet frameset)
 
     /**
@@ -159,7 +188,7 @@ public class Animation
      * @return  Whether the animation is currently running or not.
      */
     public boolean isRunning() {
-        return (timerTask != null);
+        return running;
     } // isRunning()
 
     /**
@@ -191,61 +220,63 @@ public class Animation
      * @throws  IllegalArgumentException if {@code value} is less than 0 or
      *          greater than 1000.
      */
-    public synchronized void setFrameRate( double value ) {
+    public void setFrameRate( double value ) {
         if ((value <= 0) || (value > 1000))
             throw new IllegalArgumentException(
                 "The frameRate must be greater than 0 and no greater than 1000."
             );
 
         frameRate = value;
-
-        if (isRunning())
-            startTimerTask();
     } // setFrameRate( double value )
 
     /**
-     * Starts a new recurrent timer task scheduled to execute at the specified
-     * {@code frameRate} and which performs the iteration through the animation
-     * frames.
+     * Advances the animation to the specified time, by as many frames as the
+     * frame rate calls for since it last advanced.  Invoked by the
+     * {@link FrameClock} on the scene thread.
      * 
-     * <p>If the animation is currently running, the existing timer task is
-     * canceled before assigning a new task.
+     * <p>After a long stall, at most one full cycle of frames is played and
+     * the remaining time is dropped.
+     * 
+     * @param   now The current {@code System.nanoTime()} value.
      */
-    private void startTimerTask() {
-        long t = 0;
-
-        if (isRunning()) {
-            // Stop the existing timer
-            t = System.currentTimeMillis() - timerTask.scheduledExecutionTime();
-            timerTask.cancel();
-        }
+    void advanceClock( long now ) {
+        long period = (long)(1000000000L / frameRate);
+        long elapsed = now - lastAdvanceTime;
+        if (elapsed < period)
+            return;
 
-        // Start a new timer
-        timerTask = new TimerTask() {
-                                @Override
-                                public void run() {
-                                    boolean next = false;
-                                    if (playDirection == Direction.FORWARD) {
-                                        next = ((currentIndex != targetFrameIndex) &&
-                                                (repeat || currentIndex < frameset.size() - 1));
-                                    } else if (playDirection == Direction.BACKWARD) {
-                                        next = ((currentIndex != targetFrameIndex) &&
-                                                (repeat || currentIndex > 0));
-                                    }
+        long frames = elapsed / period;
+        if (frames > frameset.size()) {
+            frames = frameset.size();
+            lastAdvanceTime = now;
+        } else
+            lastAdvanceTime += frames * period;
 
-                                    if (next)
-                                        nextFrame();
-                                    else
-                                        stop();
-                                }
-                            };
+        for (; (frames > 0) && running; --frames)
+            advanceFrame();
+    } // advanceClock( long now )
 
-        long p = (long)(1000 / frameRate);
+    /**
+     * Advances to the next frame, or stops the animation when the target
+     * frame or the last frame (for non-repeating animations) has been
+     * reached.
+     */
+    private void advanceFrame() {
 
-        t = (t < p) ? p - t : 0;
+        boolean next = false;
+        if (playDirection == Direction.FORWARD) {
+            next = ((currentIndex != targetFrameIndex) &&
+                    (repeat || currentIndex < frameset.size() - 1));
+        } else if (playDirection == Direction.BACKWARD) {
+            next = ((currentIndex != targetFrameIndex) &&
+                    (repeat || currentIndex > 0));
+        }
 
-        timer.scheduleAtFixedRate(timerTask, t, p);
-    } // startTimerTask()
+        if (next)
+            nextFrame();
+        else
+            stop();
+    } // advanceFrame()
 
     /**
      * Retrieves the number of frames in the animation.
@@ -266,8 +297,7 @@ public class Animation
 
             // Test whether the point contains an opaque (not 100% transparent)
             // pixel in the current frame
-            int alpha = (currentFrame.getImage().getRGB(x, y) >>> 24);
-            if (alpha != 0)
+            if (currentFrame.isOpaque(x, y))
                 return true;
         }
         return false;
@@ -285,10 +315,21 @@ public class Animation
      * @throws  NullPointerException if {@code g} is {@code null}.
      */
     @Override
-    public synchronized void paint( Graphics2D g ) {
+    public void paint( Graphics2D g ) {
         getCurrentFrame().paint(g);
     } // draw( Graphics2D g )
 
+    /**
+     * Painting an animation draws a single frame image, which never overlaps
+     * itself.
+     * 
+     * @return  {@code false}
+     */
+    @Override
+    protected boolean hasOverlappingPaint() {
+        return false;
+    } // hasOverlappingPaint()
+
     /**
      * Starts/re-starts the animation.
      * 
@@ -298,10 +339,16 @@ public class Animation
      * <p>This method will invoke the {@code spriteAnimationStarted()}
      * method of any associated {@link SpriteAnimationListener}s.
      */
-    public synchronized void start() {
+    public void start() {
         targetFrameIndex = -1;
 
-        startTimerTask();
+        if (!running) {
+            running = true;
+            lastAdvanceTime = System.nanoTime();
+
+            if (getStage() != null)
+                FrameClock.add(clockClient);
+        }
 
         // Dispatch started event
         animationListeners.notifyListeners(
@@ -318,12 +365,12 @@ public class Animation
      * animation is stopped.  If the animation is not running before the call
      * to this method, the listeners are not notified.
      */
-    public synchronized void stop() {
+    public void stop() {
         if (!isRunning())
             return;
 
-        timerTask.cancel();
-        timerTask = null;
+        running = false;
+        FrameClock.remove(clockClient);
         targetFrameIndex = -1;
 
         // Dispatch the stopped event
@@ -421,7 +468,7 @@ public class Animation
      * @throws  IllegalArgumentException if the index is outside the range of
      *          defined frames.
      */
-    public synchronized void gotoFrameIndex( int index ) {
+    public void gotoFrameIndex( int index ) {
         if (index == currentIndex) {
             return;
         }
@@ -431,6 +478,7 @@ public class Animation
         frameset.getFrame(index);
 
         currentIndex = index;
+        repaint();
 
         // Dispatch the enter frame event
         animationListeners.notifyListeners(
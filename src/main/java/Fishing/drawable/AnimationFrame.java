@@ -33,6 +33,19 @@ public abstract class AnimationFrame {
      */
     private long delay;
 
+    /**
+     * Packed bitmask recording which pixels of the frame image are not fully
+     * transparent, in row major order.  Built on first use by
+     * {@link #isOpaque(int, int)}.
+     */
+    private long[] alphaMask;
+
+    /**
+     * The source image {@link #alphaMask} was built from, used to detect
+     * when the image is replaced.
+     */
+    private BufferedImage alphaMaskSource;
+
     /**
      * Constructs a new instance.
      * 
@@ -156,6 +169,58 @@ public abstract class AnimationFrame {
         );
     } // paint(Graphics2D g)
 
+    /**
+     * Determines whether the pixel at the specified position of the frame
+     * image is not fully transparent.
+     * 
+     * <p>The answer is looked up in a packed alpha bitmask, built from the
+     * frame image the first time this method is called and rebuilt if the
+     * source image is replaced.  Subsequent calls don't access the image or
+     * allocate.</p>
+     * 
+     * @param   x   The horizontal position of the pixel.
+     * @param   y   The vertical position of the pixel.
+     * 
+     * @return  {@code true} if the pixel is at least partially opaque,
+     *          {@code false} if it's fully transparent or outside of the
+     *          frame.
+     */
+    public boolean isOpaque( int x, int y ) {
+        if ((x < 0) || (y < 0) || (x >= width) || (y >= height))
+            return false;
+
+        BufferedImage source = getSourceImage();
+        if ((alphaMask == null) || (alphaMaskSource != source)) {
+            alphaMask = buildAlphaMask();
+            alphaMaskSource = source;
+        }
+
+        int bit = y * width + x;
+        return (alphaMask[bit >>> 6] & (1L << bit)) != 0;
+    } // isOpaque( int x, int y )
+
+    /**
+     * Builds the alpha bitmask for the frame image.
+     * 
+     * @return  The bitmask, with one bit per pixel in row major order.
+     */
+    private long[] buildAlphaMask() {
+        BufferedImage image = getImage();
+        long[] rv = new long[(width * height + 63) >>> 6];
+        int[] row = new int[width];
+
+        for (int y = 0, bit = 0; y < height; ++y) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+
+            for (int x = 0; x < width; ++x, ++bit) {
+                if ((row[x] >>> 24) != 0)
+                    rv[bit >>> 6] |= (1L << bit);
+            } // for
+        } // for
+
+        return rv;
+    } // buildAlphaMask()
+
     /**
      * Retrieves the image to render for this frame.
      * 
@@ -163,4 +228,17 @@ public abstract class AnimationFrame {
      */
     abstract BufferedImage getImage();
 
+    /**
+     * Retrieves the image the frame's pixels are taken from, without creating
+     * any intermediate image.  Used to detect when cached data derived from
+     * the frame image must be rebuilt.
+     * 
+     * <p>The default implementation returns {@link #getImage()}.</p>
+     * 
+     * @return  The image the frame's pixels are taken from.
+     */
+    BufferedImage getSourceImage() {
+        return getImage();
+    } // getSourceImage()
+
 } // AnimationFrame
@@ -0,0 +1,116 @@
+
+package Fishing.drawable;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+
+/**
+ * Scratch storage used by Drawable to compute the bounds of objects and their
+ * descendants without allocating.
+ *
+ * <p>Each root stage owns one instance, which is only used by the thread that
+ * owns the scene, and only for one bounds computation at a time.
+ *
+ * @author Brad
+ */
+final class BoundsScratch {
+
+    /**
+     * The corners of the rectangle being transformed, as x and y pairs.
+     */
+    final double[] corners = new double[8];
+
+    /**
+     * The accumulated bounds, as the minimum x, minimum y, maximum x and
+     * maximum y coordinates.
+     */
+    final double[] bounds = new double[4];
+
+    /**
+     * The accumulated clip, in the same layout as {@link #bounds}.
+     */
+    final double[] clip = new double[4];
+
+    /**
+     * The rectangle returned for the final result.
+     */
+    final Rectangle2D.Double rect = new Rectangle2D.Double();
+
+    /**
+     * The transforms used at each depth of the object tree.
+     */
+    private AffineTransform[] transforms = new AffineTransform[8];
+
+    /**
+     * Retrieves the transform to use at the specified depth, creating it the
+     * first time that depth is reached.
+     *
+     * @param   depth   The depth below the object whose bounds are being
+     *                  computed.
+     *
+     * @return  The transform for the depth.  Its value is left over from its
+     *          last use.
+     */
+    AffineTransform getTransform( int depth ) {
+        if (depth >= transforms.length)
+            transforms = Arrays.copyOf(transforms, Math.max(depth + 1, transforms.length * 2));
+
+        AffineTransform t = transforms[depth];
+        if (t == null)
+            transforms[depth] = t = new AffineTransform();
+
+        return t;
+    } // getTransform( int depth )
+
+    /**
+     * Empties the accumulated bounds.
+     *
+     * @return  The {@link #bounds} array.
+     */
+    double[] resetBounds() {
+        bounds[0] = bounds[1] = Double.POSITIVE_INFINITY;
+        bounds[2] = bounds[3] = Double.NEGATIVE_INFINITY;
+        return bounds;
+    } // resetBounds()
+
+    /**
+     * Adds a rectangle with its top-left corner at the origin, transformed by
+     * the specified transform, to the accumulated bounds.
+     *
+     * @param   t   The transform to apply to the rectangle.
+     * @param   w   The width of the rectangle.
+     * @param   h   The height of the rectangle.
+     */
+    void addRect( AffineTransform t, double w, double h ) {
+        addRect(t, 0, 0, w, h);
+    } // addRect( AffineTransform t, double w, double h )
+
+    /**
+     * Adds a rectangle, transformed by the specified transform, to the
+     * accumulated bounds.
+     *
+     * @param   t   The transform to apply to the rectangle.
+     * @param   x   The left edge of the rectangle.
+     * @param   y   The top edge of the rectangle.
+     * @param   w   The width of the rectangle.
+     * @param   h   The height of the rectangle.
+     */
+    void addRect( AffineTransform t, double x, double y, double w, double h ) {
+        double[] c = corners;
+        c[0] = x;      c[1] = y;
+        c[2] = x + w;  c[3] = y;
+        c[4] = x + w;  c[5] = y + h;
+        c[6] = x;      c[7] = y + h;
+        t.transform(c, 0, c, 0, 4);
+
+        double[] b = bounds;
+        for (int i = 0; i < 8; i += 2) {
+            b[0] = Math.min(b[0], c[i]);
+            b[1] = Math.min(b[1], c[i + 1]);
+            b[2] = Math.max(b[2], c[i]);
+            b[3] = Math.max(b[3], c[i + 1]);
+        } // for
+    } // addRect( AffineTransform t, double x, double y, double w, double h )
+
+} // class BoundsScratch
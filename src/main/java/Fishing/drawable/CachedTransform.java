@@ -0,0 +1,130 @@
+
+package Fishing.drawable;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.NoninvertibleTransformException;
+
+/**
+ * A lazily computed transformation matrix and its inverse, used by Drawable
+ * to cache its local and world transforms.
+ *
+ * <p>The matrix and inverse instances are allocated once and updated in place,
+ * so recomputing the transform doesn't allocate.  The owner is responsible for
+ * recomputing the matrix whenever {@link #isValid()} returns {@code false}.
+ *
+ * @author Brad
+ */
+final class CachedTransform {
+
+    /**
+     * The cached matrix.
+     */
+    private final AffineTransform matrix = new AffineTransform();
+
+    /**
+     * The cached inverse of the matrix.
+     */
+    private final AffineTransform inverse = new AffineTransform();
+
+    /**
+     * Whether the matrix holds the current transform or not.
+     */
+    private boolean valid = false;
+
+    /**
+     * Whether {@link #inverse} and {@link #invertible} reflect the current
+     * matrix or not.
+     */
+    private boolean inverseValid = false;
+
+    /**
+     * Whether the matrix can be inverted or not.
+     */
+    private boolean invertible = false;
+
+    /**
+     * Incremented each time the matrix is updated, so dependent transforms
+     * can tell whether they were derived from the current value.
+     */
+    private int version = 0;
+
+    /**
+     * Determines whether the matrix holds the current transform or not.
+     *
+     * @return  {@code true} if the matrix is up to date, {@code false} if it
+     *          needs to be recomputed.
+     */
+    boolean isValid() {
+        return valid;
+    } // isValid()
+
+    /**
+     * Marks the matrix as needing to be recomputed.
+     */
+    void invalidate() {
+        valid = false;
+        inverseValid = false;
+    } // invalidate()
+
+    /**
+     * Returns the matrix instance for the owner to recompute in place.  The
+     * owner must call {@link #validate()} once done.
+     *
+     * @return  The cached matrix instance.
+     */
+    AffineTransform update() {
+        return matrix;
+    } // update()
+
+    /**
+     * Marks the matrix as holding the current transform after it has been
+     * recomputed through {@link #update()}.
+     */
+    void validate() {
+        valid = true;
+        inverseValid = false;
+        ++version;
+    } // validate()
+
+    /**
+     * Returns the version of the matrix, which changes each time the matrix
+     * is recomputed.
+     *
+     * @return  The matrix version.
+     */
+    int getVersion() {
+        return version;
+    } // getVersion()
+
+    /**
+     * Returns the cached matrix.  The caller must not modify it.
+     *
+     * @return  The cached matrix.
+     */
+    AffineTransform get() {
+        return matrix;
+    } // get()
+
+    /**
+     * Returns the inverse of the cached matrix, computing it first if needed.
+     * The caller must not modify it.
+     *
+     * @return  The inverse matrix, or {@code null} if the matrix can't be
+     *          inverted.
+     */
+    AffineTransform getInverse() {
+        if (!inverseValid) {
+            inverse.setTransform(matrix);
+            try {
+                inverse.invert();
+                invertible = true;
+            } catch (NoninvertibleTransformException ex) {
+                invertible = false;
+            }
+            inverseValid = true;
+        }
+
+        return (invertible ? inverse : null);
+    } // getInverse()
+
+} // class CachedTransform
@@ -15,20 +15,24 @@ import Fishing.drawable.events.DrawableTreeListener;
 import java.awt.AlphaComposite;
 import java.awt.Composite;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Rectangle;
+import java.awt.Shape;
 import java.awt.Transparency;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.awt.geom.AffineTransform;
-import java.awt.geom.NoninvertibleTransformException;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -39,10 +43,45 @@ import java.util.function.Predicate;
  * Base class for all objects that can be represented in the display list and
  * rendered to the screen.
  *
+ * <p>Drawables are not thread safe.  Once a scene is being displayed, it must
+ * only be accessed on the scene thread.  Other threads submit their changes
+ * through the {@link SceneQueue}.
+ *
  * @author Brad
  */
 public class Drawable {
 
+    /**
+     * Amount, in device pixels, that dirty regions are expanded by on each
+     * side.  Covers anti-aliased edges and thin strokes drawn centered on an
+     * object's bounds (such as focus rectangles).  Objects drawing further
+     * outside of their bounds report it through {@link #getPaintMargin()}.
+     */
+    private static final int DIRTY_REGION_PADDING = 4;
+
+    /**
+     * Maximum number of children for which a container with an opacity below
+     * 1 will be checked for overlapping children, to determine whether the
+     * opacity can be applied without an offscreen buffer.
+     */
+    private static final int MAX_DIRECT_OPACITY_CHILDREN = 16;
+
+    /**
+     * Records, for each Drawable subclass, whether it overrides the
+     * {@code paint()} method and so may draw content of its own.
+     */
+    private static final ClassValue<Boolean> PAINT_OVERRIDDEN =
+        new ClassValue<Boolean>() {
+            @Override
+            protected Boolean computeValue( Class<?> type ) {
+                try {
+                    return (type.getMethod("paint", Graphics2D.class).getDeclaringClass() != Drawable.class);
+                } catch (NoSuchMethodException ex) {
+                    return true;
+                }
+            } // computeValue( Class<?> type )
+        };
+
     /**
      * The name assigned to this Drawable.
      */
@@ -160,8 +199,23 @@ public class Drawable {
      */
     private double rotation = 0;
 
-// TODO: Document
-    private AffineTransform transform;
+    /**
+     * The cached transformation from this object's coordinate system to its
+     * parent's coordinate system.
+     */
+    private final CachedTransform localTransform = new CachedTransform();
+
+    /**
+     * The cached transformation from this object's coordinate system to the
+     * coordinate system of the root object's parent.
+     */
+    private final CachedTransform worldTransform = new CachedTransform();
+
+    /**
+     * The version of the parent's world transform that {@link #worldTransform}
+     * was derived from.
+     */
+    private int parentWorldVersion;
 
     /**
      * Whether to clip child objects to this object's bounds or not.
@@ -178,6 +232,68 @@ public class Drawable {
      */
     private List<Drawable> drawable = null;
 
+    /**
+     * Whether this object and its children are rendered through a cached
+     * bitmap, rather than being redrawn each frame.
+     */
+    private boolean cacheAsBitmap = false;
+
+    /**
+     * Index of the children used to speed up hit-testing, or {@code null} if
+     * children are hit-tested by visiting each one.
+     */
+    private SpatialGrid spatialIndex;
+
+    /**
+     * Incremented whenever the rendered content of this object or any of its
+     * descendants changes, so the cached bitmap can detect that it is out of
+     * date.  Only maintained while {@code cacheAsBitmap} is set.
+     */
+    private volatile int contentVersion = 0;
+
+    /**
+     * The cached rendering of this object and its children, or {@code null}
+     * if the cache hasn't been rendered yet.
+     */
+    private BufferedImage bitmapCache = null;
+
+    /**
+     * The {@code contentVersion} the cached bitmap was rendered from.
+     */
+    private int bitmapCacheVersion;
+
+    /**
+     * The horizontal device scale the cached bitmap was rendered at.
+     */
+    private double bitmapCacheScaleX;
+
+    /**
+     * The vertical device scale the cached bitmap was rendered at.
+     */
+    private double bitmapCacheScaleY;
+
+    /**
+     * The area covered by the cached bitmap, in this object's unscaled
+     * coordinate system.
+     */
+    private Rectangle2D bitmapCacheBounds;
+
+    /**
+     * The cached result of {@link #canApplyOpacityDirectly()}, valid while
+     * {@link #directOpacityKnown} is set.  Cleared whenever this object or a
+     * descendant is repainted, since that may change how the children
+     * overlap.
+     */
+    private boolean directOpacity;
+    private boolean directOpacityKnown = false;
+
+    /**
+     * The areas compared by {@link #canApplyOpacityDirectly()}, as minimum x,
+     * minimum y, maximum x and maximum y coordinates.  Allocated the first
+     * time they are needed.
+     */
+    private double[] directOpacityAreas;
+
     // Event listeners
 
 // TODO: Document
@@ -267,7 +383,7 @@ public class Drawable {
      * 
      * @param   value   The new stage this Drawable will be rendered to.
      */
-    private synchronized void setStage(Stage value) {
+    private void setStage(Stage value) {
         if (stage == value)
             return;
 
@@ -275,6 +391,10 @@ public class Drawable {
 
         stage = value;
 
+        // Release the cached bitmap when no longer being rendered
+        if (stage == null)
+            bitmapCache = null;
+
         if (previousStage != null) {
             treeListeners.notifyListeners(
                 new DrawableEvent(this, previousStage),
@@ -347,7 +467,7 @@ public class Drawable {
      * 
      * @param   value   The new parent this Drawable is now a child of.
      */
-    private synchronized void setParent( Drawable newParent ) {
+    private void setParent( Drawable newParent ) {
         if (parent == newParent)
             return;
 
@@ -359,6 +479,7 @@ public class Drawable {
 
         Drawable oldParent = parent;
         parent = newParent;
+        worldTransform.invalidate();
 
         if (oldParent != null) {
             oldParent.treeListeners.notifyListeners(
@@ -413,12 +534,376 @@ public class Drawable {
      * This flag is only set internally by the Drawable class when a new child
      * is added or removed.  Other than that, it's left up to the subclasses to
      * set the flag according to their needs.
+     * 
+     * Also marks the object as needing to be redrawn, so the validation
+     * occurs on the next frame.
      */
     public void invalidate() {
-        if (!validating)
+        if (!validating) {
             invalidated = true;
+            repaint();
+        }
     } // invalidate()
 
+    /**
+     * Sets the invalidated flag without marking the object as needing to be
+     * redrawn.  Used when adding or removing children, which mark their own
+     * areas instead, so a container isn't redrawn in its entirety each time
+     * a child is added or removed.
+     */
+    private void invalidateLayout() {
+        if (!validating)
+            invalidated = true;
+    } // invalidateLayout()
+
+    /**
+     * Marks the area currently covered by this object and its visible
+     * children as needing to be redrawn on the next frame, and discards the
+     * cached bitmap of this object and any ancestors that render through one.
+     * 
+     * <p>Changes made through the Drawable property setters (size, filters,
+     * clipping and children) call this method automatically, both before and
+     * after the change.  Subclasses should call it whenever any other state
+     * that affects their rendering changes.
+     */
+    public void repaint() {
+        if (cacheAsBitmap)
+            ++contentVersion;
+
+        repaintArea();
+    } // repaint()
+
+    /**
+     * Marks the area currently covered by this object and its visible
+     * children as needing to be redrawn, without discarding this object's own
+     * cached bitmap.  Used for changes that only affect where or how the
+     * object's content is composited into its parent (position, scale,
+     * rotation, opacity and visibility), which the cached bitmap doesn't
+     * depend on.  The cached bitmaps of any ancestors are still discarded.
+     */
+    private void repaintArea() {
+        directOpacityKnown = false;
+
+        for (Drawable c = this, p = parent; p != null; c = p, p = p.parent) {
+            if (p.cacheAsBitmap)
+                ++p.contentVersion;
+
+            p.directOpacityKnown = false;
+
+            if (p.spatialIndex != null)
+                p.spatialIndex.markDirty(c);
+        } // for
+
+        Stage root = getRoot();
+        if (root == null)
+            return;
+
+        for (Drawable p = this; p != null; p = p.parent) {
+            if (!p.visible)
+                return;
+        } // for
+
+        Rectangle2D r = getDirtyBounds(root.getBoundsScratch());
+        if (r != null)
+            root.addDirtyRegion(r);
+    } // repaintArea()
+
+    /**
+     * Computes the area covered by this object and its visible children, in
+     * the root stage's parent (panel) coordinate system, clipped by any
+     * ancestors which clip their content.
+     * 
+     * @param   s   The scratch storage to compute the area with.
+     * 
+     * @return  The covered area, or {@code null} if nothing is covered.  The
+     *          rectangle belongs to {@code s}, so is only valid until its
+     *          next use.
+     */
+    private Rectangle2D getDirtyBounds( BoundsScratch s ) {
+        AffineTransform t = s.getTransform(0);
+        double[] b = s.bounds;
+        double[] clip = s.clip;
+        boolean clipped = false;
+
+        // Ancestors rarely clip, so the transform to each one that does is
+        // worked out separately by walking up from it
+        for (Drawable p = parent; p != null; p = p.parent) {
+            if (!p.isContentClipped())
+                continue;
+
+            t.setToIdentity();
+            for (Drawable q = p; q != null; q = q.parent)
+                t.preConcatenate(q.computeTransform());
+
+            s.resetBounds();
+            s.addRect(t, p.unscaledWidth, p.unscaledHeight);
+
+            if (!clipped) {
+                System.arraycopy(b, 0, clip, 0, 4);
+                clipped = true;
+            } else {
+                clip[0] = Math.max(clip[0], b[0]);
+                clip[1] = Math.max(clip[1], b[1]);
+                clip[2] = Math.min(clip[2], b[2]);
+                clip[3] = Math.min(clip[3], b[3]);
+            }
+        } // for
+
+        t.setToIdentity();
+        for (Drawable q = this; q != null; q = q.parent)
+            t.preConcatenate(q.computeTransform());
+
+        s.resetBounds();
+        if (!addSubtreeBounds(t, true, s, 1))
+            return null;
+
+        if (clipped) {
+            b[0] = Math.max(b[0], clip[0]);
+            b[1] = Math.max(b[1], clip[1]);
+            b[2] = Math.min(b[2], clip[2]);
+            b[3] = Math.min(b[3], clip[3]);
+
+            if ((b[2] <= b[0]) || (b[3] <= b[1]))
+                return null;
+        }
+
+        s.rect.setRect(
+            b[0] - DIRTY_REGION_PADDING,
+            b[1] - DIRTY_REGION_PADDING,
+            b[2] - b[0] + 2 * DIRTY_REGION_PADDING,
+            b[3] - b[1] + 2 * DIRTY_REGION_PADDING
+        );
+
+        return s.rect;
+    } // getDirtyBounds( BoundsScratch s )
+
+    /**
+     * Computes the bounds of this object and its visible descendants under
+     * the specified transform.
+     * 
+     * @param   t   Transform from this object's coordinate system to the
+     *              target coordinate system.
+     * 
+     * @return  The transformed bounds, or {@code null} if neither this object
+     *          nor any descendant has a size.
+     */
+    private Rectangle2D getSubtreeBounds( AffineTransform t ) {
+        BoundsScratch s = getBoundsScratch();
+        double[] b = s.resetBounds();
+
+        if (!addSubtreeBounds(t, true, s, 0))
+            return null;
+
+        return new Rectangle2D.Double(b[0], b[1], b[2] - b[0], b[3] - b[1]);
+    } // getSubtreeBounds( AffineTransform t )
+
+    /**
+     * Adds the bounds of this object and its visible descendants under the
+     * specified transform to the bounds accumulated in the scratch storage.
+     * 
+     * @param   t       Transform from this object's coordinate system to the
+     *                  target coordinate system.
+     * @param   clipped Whether descendants are confined to this object's
+     *                  bounds when the rendered content is clipped.  Mouse
+     *                  events aren't clipped, so hit-testing passes
+     *                  {@code false}.
+     * @param   s       The scratch storage accumulating the bounds.
+     * @param   depth   The depth of the scratch transform to use for the
+     *                  children.  Must not be the depth of {@code t}, if it
+     *                  is a scratch transform.
+     * 
+     * @return  {@code true} if anything was added, {@code false} if neither
+     *          this object nor any descendant has a size.
+     */
+    private boolean addSubtreeBounds( AffineTransform t, boolean clipped, BoundsScratch s, int depth ) {
+        boolean rv = false;
+
+        if ((unscaledWidth > 0) && (unscaledHeight > 0)) {
+            rv = true;
+
+            // Content is clipped to our bounds, so neither the paint margin
+            // nor children can extend it
+            if (clipped && isContentClipped()) {
+                s.addRect(t, unscaledWidth, unscaledHeight);
+                return rv;
+            }
+
+            double m = getPaintMargin();
+            s.addRect(t, -m, -m, unscaledWidth + 2 * m, unscaledHeight + 2 * m);
+        }
+
+        List<Drawable> children = drawable;
+        if (children != null) {
+            AffineTransform ct = s.getTransform(depth);
+
+            for (int i = 0; i < children.size(); ++i) {
+                Drawable child = children.get(i);
+                if (!child.visible)
+                    continue;
+
+                ct.setTransform(t);
+                ct.concatenate(child.computeTransform());
+
+                if (child.addSubtreeBounds(ct, clipped, s, depth + 1))
+                    rv = true;
+            } // for
+        }
+
+        return rv;
+    } // addSubtreeBounds( AffineTransform t, boolean clipped, BoundsScratch s, int depth )
+
+    /**
+     * Retrieves the scratch storage to use when computing bounds.
+     * 
+     * @return  The storage of the root stage, or new storage if this object
+     *          isn't on a stage.
+     */
+    private BoundsScratch getBoundsScratch() {
+        Stage root = getRoot();
+        return (root != null)
+                ? root.getBoundsScratch()
+                : new BoundsScratch();
+    } // getBoundsScratch()
+
+    /**
+     * Computes the bounds of the area in which this object or its visible
+     * descendants may receive mouse events, in the parent's coordinate
+     * system.  Used by the parent's {@link SpatialGrid}.
+     * 
+     * @param   coords  Receives the minimum x, minimum y, maximum x and
+     *                  maximum y coordinates of the bounds.  Must hold at
+     *                  least 8 elements, since it's also used as scratch
+     *                  space.
+     * 
+     * @return  {@code true} if the bounds were computed, {@code false} if this
+     *          object can't receive mouse events.
+     */
+    boolean getMouseBounds( double[] coords ) {
+        if (!visible)
+            return false;
+
+        AffineTransform t = getLocalTransform();
+        double w = unscaledWidth;
+        double h = unscaledHeight;
+
+        if (drawable == null) {
+            // Transform the corners in place, avoiding the shape allocations
+            // of the general case
+            if ((w <= 0) || (h <= 0))
+                return false;
+
+            coords[0] = 0;  coords[1] = 0;
+            coords[2] = w;  coords[3] = 0;
+            coords[4] = w;  coords[5] = h;
+            coords[6] = 0;  coords[7] = h;
+            t.transform(coords, 0, coords, 0, 4);
+
+            double minX = coords[0], maxX = coords[0];
+            double minY = coords[1], maxY = coords[1];
+            for (int i = 2; i < 8; i += 2) {
+                minX = Math.min(minX, coords[i]);
+                maxX = Math.max(maxX, coords[i]);
+                minY = Math.min(minY, coords[i + 1]);
+                maxY = Math.max(maxY, coords[i + 1]);
+            } // for
+
+            coords[0] = minX;
+            coords[1] = minY;
+            coords[2] = maxX;
+            coords[3] = maxY;
+            return true;
+        }
+
+        BoundsScratch s = getBoundsScratch();
+        double[] b = s.resetBounds();
+        if (!addSubtreeBounds(t, false, s, 0))
+            return false;
+
+        System.arraycopy(b, 0, coords, 0, 4);
+        return true;
+    } // getMouseBounds( double[] coords )
+
+    /**
+     * Determines whether the rendering of this object and its children is
+     * confined to this object's bounds, either because {@code clipChildren}
+     * is set or because the content is rendered through an offscreen buffer
+     * to apply opacity or filters.
+     * 
+     * @return  {@code true} if the rendered content is confined to this
+     *          object's bounds, {@code false} otherwise.
+     */
+    private boolean isContentClipped() {
+        return clipChildren
+                || (((opacity != 1.0) || (filters != null))
+                    && ((int)unscaledWidth != 0) && ((int)unscaledHeight != 0));
+    } // isContentClipped()
+
+    /**
+     * Returns the cached local transformation matrix without copying it,
+     * recomputing it first if any of the transformation properties changed.
+     * 
+     * @return  The local transformation matrix.  The caller must not modify
+     *          the returned instance.
+     */
+    private AffineTransform computeTransform() {
+        if (!localTransform.isValid()) {
+            AffineTransform t = localTransform.update();
+            t.setToTranslation(-centerX * scaleX, -centerY * scaleY);
+            t.rotate(rotation);
+            t.translate(x, y);
+            t.scale( scaleX, scaleY );
+            localTransform.validate();
+        }
+
+        return localTransform.get();
+    } // computeTransform()
+
+    /**
+     * Returns the cached world transformation matrix without copying it,
+     * recomputing it first if this object's transform or that of any
+     * ancestor changed since it was last computed.  Validates this object
+     * and its ancestors first, if needed.
+     * 
+     * @return  The cached world transform.  The caller must not modify the
+     *          returned instance.
+     */
+    private CachedTransform computeWorldTransform() {
+        if (invalidated)
+            validateDrawable();
+
+        AffineTransform local = computeTransform();
+
+        if (parent == null) {
+            if (!worldTransform.isValid()) {
+                worldTransform.update().setTransform(local);
+                worldTransform.validate();
+            }
+        } else {
+            CachedTransform pw = parent.computeWorldTransform();
+
+            if (!worldTransform.isValid() || (parentWorldVersion != pw.getVersion())) {
+                AffineTransform t = worldTransform.update();
+                t.setTransform(pw.get());
+                t.concatenate(local);
+                worldTransform.validate();
+                parentWorldVersion = pw.getVersion();
+            }
+        }
+
+        return worldTransform;
+    } // computeWorldTransform()
+
+    /**
+     * Discards the cached local and world transforms after one of the
+     * transformation properties changes.  The world transforms of any
+     * descendants are recomputed when next requested, since they were derived
+     * from a previous version of this object's world transform.
+     */
+    private void invalidateTransform() {
+        localTransform.invalidate();
+        worldTransform.invalidate();
+    } // invalidateTransform()
+
     /**
      * Determines whether the validate() method will be called before the next
      * paint() call is made.
@@ -566,12 +1051,18 @@ public class Drawable {
      *                  is rendered, {@code false} to indicate this object is
      *                  not visible and should not be rendered.
      */
-    public synchronized void setVisible( boolean value ) {
+    public void setVisible( boolean value ) {
         if (value == visible)
             return;
 
+        if (!value)
+            repaintArea();
+
         visible = value;
 
+        if (value)
+            repaintArea();
+
         if (stage != null) {
             if (value)
                 propagateShown(this);
@@ -659,9 +1150,56 @@ public class Drawable {
      *                  object's bounds, {@code false} otherwise.
      */
     public void setClipChildren( boolean value ) {
+        if (clipChildren == value)
+            return;
+
+        repaint();
         clipChildren = value;
+        repaint();
     } // setClipChildren( boolean value )
 
+    /**
+     * Retrieves whether this object and its children are rendered through a
+     * cached bitmap.
+     * 
+     * @return  {@code true} if rendered through a cached bitmap,
+     *          {@code false} if redrawn each frame.
+     */
+    public boolean isCacheAsBitmap() {
+        return cacheAsBitmap;
+    } // isCacheAsBitmap()
+
+    /**
+     * Sets whether this object and its children are rendered through a
+     * cached bitmap.
+     * 
+     * <p>When enabled, the object and its children are rendered once into
+     * an offscreen image at the current device resolution, and each frame
+     * simply draws that image.  The image is only re-rendered after
+     * {@code repaint()} is called for this object or one of its descendants
+     * (which the property setters do automatically), or when the effective
+     * scale or rotation it is drawn at changes.  Moving the object, or
+     * changing its opacity, does not require the image to be re-rendered.
+     * 
+     * <p>This is worthwhile for subtrees which are expensive to draw but
+     * rarely change, and counter productive for subtrees that change every
+     * frame.  Any filters are applied when the image is rendered, so filters
+     * that animate must be accompanied by a call to {@code repaint()}.
+     * 
+     * @param   value   {@code true} to render through a cached bitmap,
+     *                  {@code false} to redraw each frame.
+     */
+    public void setCacheAsBitmap( boolean value ) {
+        if (cacheAsBitmap == value)
+            return;
+
+        cacheAsBitmap = value;
+        bitmapCache = null;
+        bitmapCacheBounds = null;
+
+        repaint();
+    } // setCacheAsBitmap( boolean value )
+
     /**
      * Moves the object to a new position within the parent's coordinate space.
      * 
@@ -674,13 +1212,17 @@ public class Drawable {
      * @param   newY    The new vertical position in the parent's coordinate
      *                  space.
      */
-    public synchronized void setPosition( double newX, double newY ) {
+    public void setPosition( double newX, double newY ) {
         if ((x == newX) && (y == newY))
             return;
 
+        repaintArea();
+
         x = newX;
         y = newY;
-        transform = null;
+        invalidateTransform();
+
+        repaintArea();
 
         listeners.notifyListeners(
             new DrawableEvent(this),
@@ -701,7 +1243,7 @@ public class Drawable {
      * @param   ty  The amount to translate the object's vertical position in
      *              the parent's coordinate space.
      */
-    public synchronized void translate( double tx, double ty ) {
+    public void translate( double tx, double ty ) {
         setPosition(x + tx, y + ty);
     } // translate( double tx, double ty )
 
@@ -779,7 +1321,7 @@ public class Drawable {
     } // getCenterX()
 
 // TODO: Document
-    public synchronized void setCenterX( double value ) {
+    public void setCenterX( double value ) {
         setCenter( value, centerY );
     } // setCenterX( double value )
 
@@ -791,15 +1333,22 @@ public class Drawable {
     } // getCenterY()
 
 // TODO: Document
-    public synchronized void setCenterY( double value ) {
+    public void setCenterY( double value ) {
         setCenter( centerX, value );
     } // setCenterY( double value )
 
 // TODO: Document
-    public synchronized void setCenter( double newX, double newY ) {
+    public void setCenter( double newX, double newY ) {
+        if ((centerX == newX) && (centerY == newY))
+            return;
+
+        repaintArea();
+
         centerX = newX;
         centerY = newY;
-        transform = null;
+        invalidateTransform();
+
+        repaintArea();
     } // setCenter( double newX, double newY )
 
 // TODO: Document
@@ -833,7 +1382,14 @@ public class Drawable {
         else if (value > 1)
             value = 1;
 
+        if (opacity == value)
+            return;
+
+        // Opacity may change whether the content is clipped to our bounds,
+        // so mark both the old and new covered areas.
+        repaintArea();
         opacity = value;
+        repaintArea();
     } // setOpacity( float value )
 
     /**
@@ -867,6 +1423,40 @@ public class Drawable {
         mouseChildren = value;
     } // setMouseChildren(boolean value)
 
+    /**
+     * Retrieves whether the children of this object are hit-tested through a
+     * spatial index.
+     * 
+     * @return  {@code true} if the children are hit-tested through a spatial
+     *          index, {@code false} if each child is tested in turn.
+     */
+    public boolean isSpatialIndex() {
+        return (spatialIndex != null);
+    } // isSpatialIndex()
+
+    /**
+     * Sets whether the children of this object are hit-tested through a
+     * spatial index.
+     * 
+     * <p>When enabled, the bounds of each child (including its visible
+     * descendants) are kept in a uniform grid, updated as the children move
+     * or change, and mouse events are only offered to the children whose
+     * bounds contain the mouse position, in the usual top-most first order.
+     * This is worthwhile for containers with many children of which only a
+     * few are under the mouse at any time.  Children must not respond to the
+     * mouse outside of their bounds, which holds for the default
+     * {@link #pointIntersects(Point2D)} implementation.
+     * 
+     * @param   value   {@code true} to hit-test the children through a spatial
+     *                  index, {@code false} to test each child in turn.
+     */
+    public void setSpatialIndex( boolean value ) {
+        if (value == (spatialIndex != null))
+            return;
+
+        spatialIndex = (value ? new SpatialGrid(SpatialGrid.DEFAULT_CELL_SIZE) : null);
+    } // setSpatialIndex( boolean value )
+
     /**
      * Sets the width and height of this object, in the object's own coordinate
      * system.
@@ -883,7 +1473,7 @@ public class Drawable {
      * @throws  IllegalArgumentException if either of the {@code w} or
      *          {@code h} are less than 0.
      */
-    public synchronized void setUnscaledSize( double w, double h ) {
+    public void setUnscaledSize( double w, double h ) {
         if ((w == unscaledWidth) && (h == unscaledHeight))
             return;
 
@@ -893,10 +1483,14 @@ public class Drawable {
         if (h < 0)
             throw new IllegalArgumentException("The unscaled height cannot be less than 0.");
 
+        repaint();
+
         unscaledWidth = w;
         unscaledHeight = h;
 
-        transform = null;
+        invalidateTransform();
+
+        repaint();
 
         listeners.notifyListeners(
             new DrawableEvent(this),
@@ -971,10 +1565,12 @@ public class Drawable {
      * @param   h   The new height to assign to the object, in the parent's
      *              coordinate system.
      */
-    public synchronized void setSize( double w, double h ) {
+    public void setSize( double w, double h ) {
         if ( (w == getWidth()) && (h == getHeight()) )
             return;
 
+        repaintArea();
+
         if (unscaledWidth == 0)
             scaleX = 0;
         else
@@ -985,7 +1581,9 @@ public class Drawable {
         else
             scaleY = h / unscaledHeight;
 
-        transform = null;
+        invalidateTransform();
+
+        repaintArea();
 
         listeners.notifyListeners(
             new DrawableEvent(this),
@@ -998,7 +1596,7 @@ public class Drawable {
      * 
      * @return  The width of the object, in the parent's coordinate system.
      */
-    public synchronized double getWidth() {
+    public double getWidth() {
         if (invalidated)
             validateDrawable();
         return unscaledWidth * scaleX;
@@ -1023,7 +1621,7 @@ public class Drawable {
      * 
      * @return  The height of the object, in the parent's coordinate system.
      */
-    public synchronized double getHeight() {
+    public double getHeight() {
         if (invalidated)
             validateDrawable();
         return unscaledHeight * scaleY;
@@ -1044,13 +1642,17 @@ public class Drawable {
     } // setHeight( double value )
 
 
-    public synchronized void setScale( double sx, double sy ) {
+    public void setScale( double sx, double sy ) {
         if ((scaleX == sx) && (scaleY == sy))
             return;
 
+        repaintArea();
+
         scaleX = sx;
         scaleY = sy;
-        transform = null;
+        invalidateTransform();
+
+        repaintArea();
 
         listeners.notifyListeners(
             new DrawableEvent(this),
@@ -1100,12 +1702,16 @@ public class Drawable {
     } // getRotation()
 
 
-    public synchronized void setRotation( double value ) {
+    public void setRotation( double value ) {
         if (rotation == value)
             return;
 
+        repaintArea();
+
         rotation = value;
-        transform = null;
+        invalidateTransform();
+
+        repaintArea();
 
         listeners.notifyListeners(
             new DrawableEvent(this),
@@ -1126,35 +1732,44 @@ public class Drawable {
         }
     } // getFilters()
 
-    public synchronized void setFilters( ArrayList<AbstractBufferedImageOp> value ) {
+    public void setFilters( ArrayList<AbstractBufferedImageOp> value ) {
+        repaint();
+
         if ((value == null) || value.isEmpty())
             filters = null;
         else
             filters = new ArrayList<>(value);
+
+        repaint();
     } // setFilters( ArrayList<AbstractBufferedImageOp> value )
 
-    public synchronized void addFilter( AbstractBufferedImageOp flt ) {
+    public void addFilter( AbstractBufferedImageOp flt ) {
         if (flt == null)
             throw new NullPointerException("The flt parameter cannot be null.");
 
-        if (filters == null) {
-            filters = new ArrayList<>();
-        } else {
-            filters = new ArrayList<>(filters);
-        }
+        repaint();
+
+        List<AbstractBufferedImageOp> newFilters = (filters == null)
+                ? new ArrayList<>()
+                : new ArrayList<>(filters);
+
+        newFilters.add(flt);
+        filters = newFilters;
 
-        filters.add(flt);
+        repaint();
     } // addFilter( AbstractBufferedImageOp flt )
 
-    public synchronized void removeFilter( AbstractBufferedImageOp flt ) {
+    public void removeFilter( AbstractBufferedImageOp flt ) {
         if (flt == null)
             throw new NullPointerException("The flt parameter cannot be null.");
 
         if (filters != null) {
-            filters = new ArrayList<>(filters);
+            List<AbstractBufferedImageOp> newFilters = new ArrayList<>(filters);
 
-            if (filters.remove(flt) && filters.isEmpty()) {
-                filters = null;
+            if (newFilters.remove(flt)) {
+                repaint();
+                filters = newFilters.isEmpty() ? null : newFilters;
+                repaint();
             }
         }
     } // removeFilter( AbstractBufferedImageOp flt )
@@ -1163,24 +1778,69 @@ public class Drawable {
      * Returns the transformation matrix applied to the animation.
      * @return  The transformation matrix applied to the animation.
      */
-    public synchronized AffineTransform getTransform() {
+    public AffineTransform getTransform() {
+        return new AffineTransform( getLocalTransform() );
+    } // getTransform()
+
+    /**
+     * Returns the cached transformation from this object's coordinate system
+     * to its parent's coordinate system, without copying it.  The matrix is
+     * only recomputed when one of the transformation properties changes.
+     * 
+     * @return  The local transformation matrix.  The returned instance is
+     *          shared and must not be modified.  Use {@link #getTransform()}
+     *          to obtain a modifiable copy.
+     */
+    public AffineTransform getLocalTransform() {
         if (invalidated)
             validateDrawable();
 
-        if (transform == null) {
-            transform = new AffineTransform();
-            //transform.translate((scaleX<0 ? centerX : -centerX), (scaleY<0 ? centerY : -centerY));
-            transform.translate(-centerX * scaleX, -centerY * scaleY);
-            transform.rotate(rotation);
-            transform.translate(x, y);
-            transform.scale( scaleX, scaleY );
-        }
+        return computeTransform();
+    } // getLocalTransform()
 
-        return (AffineTransform) transform.clone();
-    } // getTransform()
+    /**
+     * Returns the cached inverse of the local transformation, which maps
+     * points in the parent's coordinate system to this object's coordinate
+     * system.
+     * 
+     * @return  The inverse local transformation matrix, or {@code null} if the
+     *          local transformation can't be inverted (eg. when scaled to 0).
+     *          The returned instance is shared and must not be modified.
+     */
+    public AffineTransform getLocalInverseTransform() {
+        getLocalTransform();
+        return localTransform.getInverse();
+    } // getLocalInverseTransform()
+
+    /**
+     * Returns the cached transformation from this object's coordinate system
+     * to the coordinate system of the root object's parent (the panel
+     * coordinates for objects on a stage).  The matrix is only recomputed
+     * when the transformation of this object or an ancestor changes.
+     * 
+     * @return  The world transformation matrix.  The returned instance is
+     *          shared and must not be modified.  Use
+     *          {@link #getConcatenatedTransform()} to obtain a modifiable copy.
+     */
+    public AffineTransform getWorldTransform() {
+        return computeWorldTransform().get();
+    } // getWorldTransform()
+
+    /**
+     * Returns the cached inverse of the world transformation, which maps
+     * points in the coordinate system of the root object's parent to this
+     * object's coordinate system.
+     * 
+     * @return  The inverse world transformation matrix, or {@code null} if the
+     *          world transformation can't be inverted.  The returned instance
+     *          is shared and must not be modified.
+     */
+    public AffineTransform getWorldInverseTransform() {
+        return computeWorldTransform().getInverse();
+    } // getWorldInverseTransform()
 
 
-    public synchronized void addDrawable( Drawable obj ) {
+    public void addDrawable( Drawable obj ) {
         // Ensure that the obj is not 'this' and that adding the object will not create a cycle
         Drawable p = this;
         while (p != null) {
@@ -1194,47 +1854,88 @@ public class Drawable {
         else
             drawable = new ArrayList<>(drawable);
 
-        synchronized (obj) {
-            if (obj.getParent() == this)
-                drawable.remove( obj );
+        if (obj.getParent() == this)
+            drawable.remove( obj );
 
-            drawable.add( obj );
-            obj.setParent(this);
-        }
+        drawable.add( obj );
+        obj.setParent(this);
+        obj.repaint();
 
-        invalidate();
+        invalidateLayout();
     } // addDrawable( Drawable obj )
 
 
-    public synchronized void removeDrawable( Drawable obj ) {
+    public void removeDrawable( Drawable obj ) {
         if (drawable == null)
             return;
 
-        drawable = new ArrayList<>(drawable);
+        if (obj.getParent() == this) {
+            obj.repaint();
 
-        synchronized (obj) {
-            if (drawable.remove( obj ))
-                obj.setParent(null);
+            List<Drawable> newDrawable = new ArrayList<>(drawable);
+            newDrawable.remove( obj );
+            drawable = newDrawable;
+
+            obj.setParent(null);
         }
 
-        invalidate();
+        invalidateLayout();
     } // removeDrawable( Drawable obj )
 
 
-    public synchronized void removeAllDrawables() {
-        if (drawable != null) {
-            for (Drawable obj : drawable) {
-                obj.setParent(null);
-            }
-            drawable = null;
-        }
-        invalidate();
-    } // removeAllDrawables()
-
     /**
-     * Retrieves the number of direct children of this object.
+     * Removes several children at once.  The list of children is only copied
+     * once, rather than once per child as when calling
+     * {@link #removeDrawable(Drawable)} for each.  Objects which aren't
+     * children of this object are ignored.
      * 
-     * @return  The number of direct children of this object.
+     * @param   objs    The children to remove.
+     * 
+     * @throws  NullPointerException if {@code objs} is {@code null}.
+     */
+    public void removeDrawables( Collection<? extends Drawable> objs ) {
+        if ((drawable == null) || objs.isEmpty())
+            return;
+
+        Map<Drawable, Boolean> removed = new IdentityHashMap<>();
+        for (Drawable obj : objs) {
+            if ((obj.getParent() == this) && (removed.put(obj, Boolean.TRUE) == null))
+                obj.repaint();
+        } // for
+
+        if (removed.isEmpty())
+            return;
+
+        List<Drawable> newDrawable = new ArrayList<>(drawable.size() - removed.size());
+        for (Drawable obj : drawable) {
+            if (!removed.containsKey(obj))
+                newDrawable.add(obj);
+        } // for
+        drawable = newDrawable;
+
+        for (Drawable obj : removed.keySet())
+            obj.setParent(null);
+
+        invalidateLayout();
+    } // removeDrawables( Collection<? extends Drawable> objs )
+
+
+    public void removeAllDrawables() {
+        if (drawable != null) {
+            repaint();
+
+            for (Drawable obj : drawable) {
+                obj.setParent(null);
+            }
+            drawable = null;
+        }
+        invalidateLayout();
+    } // removeAllDrawables()
+
+    /**
+     * Retrieves the number of direct children of this object.
+     * 
+     * @return  The number of direct children of this object.
      */
     public int getNumDrawables() {
         List<Drawable> d = drawable;
@@ -1252,7 +1953,7 @@ public class Drawable {
      * @return  The first child with the given {@code name}, or {@code null} if
      *          not found or {@code name} is {@code null}.
      */
-    public synchronized Drawable getDrawable( String name ) {
+    public Drawable getDrawable( String name ) {
         if ((drawable == null) || (name == null))
             return null;
 
@@ -1265,12 +1966,12 @@ public class Drawable {
     } // getDrawable( String name )
 
 
-    public synchronized int getDrawableIndex( Drawable obj ) {
+    public int getDrawableIndex( Drawable obj ) {
         return drawable.indexOf(obj);
     } // getDrawableIndex( Drawable obj )
 
 
-    public synchronized int getDrawableIndex( String name ) {
+    public int getDrawableIndex( String name ) {
         if (name == null)
             return -1;
 
@@ -1285,7 +1986,7 @@ public class Drawable {
     } // getDrawableIndex( Drawable obj )
 
 
-    public synchronized Drawable getDrawableAt( int index ) {
+    public Drawable getDrawableAt( int index ) {
         if (drawable == null)
             return null;
 
@@ -1316,22 +2017,56 @@ public class Drawable {
         validating = true;
         invalidated = false;
 
-        validate();
+        if (FrameProfiler.enabled) {
+            FrameProfiler.enter(FrameProfiler.VALIDATE);
+            validate();
+            FrameProfiler.exit();
+        } else
+            validate();
 
         validating = false;
     } // validateDrawable()
 
 
-    public synchronized void draw( Graphics2D g ) {
+    public void draw( Graphics2D g ) {
         if (!visible)
             return;
 
+        if (FrameProfiler.enabled) {
+            FrameProfiler.enterNode();
+            drawVisible(g);
+            FrameProfiler.exitNode(this);
+        } else
+            drawVisible(g);
+    } // draw( Graphics2D g )
+
+    /**
+     * Draws this object and its children, once it is known to be visible.
+     * 
+     * @param   g   The graphics context to draw into.
+     */
+    private void drawVisible( Graphics2D g ) {
         // Call to getUnscaledWidth() below will in turn call validateDrawable() if needed
         double w = getUnscaledWidth();
         double h = getUnscaledHeight();
 
         AffineTransform m = g.getTransform();
-        g.transform( getTransform() );
+        g.transform( getLocalTransform() );
+
+        // Skip objects whose rendering is confined to their bounds when those
+        // bounds are entirely outside of the area being redrawn.
+        int pad = DIRTY_REGION_PADDING + (int)Math.ceil(getPaintMargin());
+        if (((int)w != 0) && ((int)h != 0)
+            && ((drawable == null) || isContentClipped())
+            && !g.hitClip(
+                    -pad, -pad,
+                    (int)Math.ceil(w) + 2 * pad,
+                    (int)Math.ceil(h) + 2 * pad
+                ))
+        {
+            g.setTransform(m);
+            return;
+        }
 
         Rectangle oldClip = null;
         if (clipChildren) {
@@ -1344,57 +2079,109 @@ public class Drawable {
             g.setClip( newClip );
         }
 
-        Graphics2D g2;
-        BufferedImage img = null;
-        boolean hasSize = true;
-        if (((int)w == 0) || ((int)h == 0)) {
+        if (cacheAsBitmap) {
+            drawCached(g);
+        } else {
+            Graphics2D g2;
+            BufferedImage img = null;
+            ImagePool pool = null;
+            GraphicsConfiguration config = null;
+            int iw = (int)Math.ceil(w);
+            int ih = (int)Math.ceil(h);
+            boolean hasSize = true;
+            if (((int)w == 0) || ((int)h == 0)) {
 System.out.println("no size: "+ w +", "+ h +" obj="+ this);
-            hasSize = false;
-        }
+                hasSize = false;
+            }
 
-        if (((opacity == 1.0) && (filters == null)) || !hasSize) {
-            g2 = g;
-        } else {
-            // Draw to a in-memory image buffer if any filters are being applied
+            Composite directComposite = null;
+            Shape directClip = null;
+
+            if (((opacity == 1.0) && (filters == null)) || !hasSize) {
+                g2 = g;
+            } else if ((filters == null) && canApplyOpacityDirectly()) {
+                // Nothing is drawn over anything else, so applying the opacity
+                // to each drawing operation has the same result as applying it
+                // to the whole group through an offscreen buffer.  Content is
+                // still confined to our bounds, as it would be by the buffer.
+                g2 = g;
+                directClip = g.getClip();
+                g.clipRect(0, 0, iw, ih);
+                directComposite = applyOpacity(g, opacity);
+            } else {
+                // Draw to a in-memory image buffer if any filters are being applied
 // TODO: This doesn't take into account any change to the image size as a result of applying the filter(s)...
 // TODO: When a filter or opacity is applied, children will always be clipped.  Perhaps would be nice to not do that.
-            img = g.getDeviceConfiguration().createCompatibleImage((int)Math.ceil(w), (int)Math.ceil(h), Transparency.TRANSLUCENT);
-            //img = new BufferedImage((int) w, (int) h,  BufferedImage.TYPE_INT_ARGB);
-            g2 = img.createGraphics();
-        }
-
-        // Paint this object first
-        paint(g2);
-
-        // Now paint all children
-        if (drawable != null) {
-            for (Drawable d : drawable) {
-                d.draw(g2);
-            } // for
-        }
+                config = g.getDeviceConfiguration();
+                pool = getImagePool();
+                img = pool.acquire(config, iw, ih);
+
+                // Pooled images may hold a previous rendering
+                g2 = img.createGraphics();
+                g2.setComposite(AlphaComposite.Clear);
+                g2.fillRect(0, 0, img.getWidth(), img.getHeight());
+                g2.setComposite(AlphaComposite.SrcOver);
+            }
 
-        // Apply filter(s) if needed
-        if (img != null) {
-            g2.dispose();
+            // Paint this object first
+            paint(g2);
 
-            // Apply filters
-            if (filters != null) {
-                for (AbstractBufferedImageOp f : filters) {
-                    img = f.filter(img, null);
+            // Now paint all children
+            if (drawable != null) {
+                for (Drawable d : drawable) {
+                    d.draw(g2);
                 } // for
             }
 
-            // Draw the image to the destination context
-            Composite oldComposite = null;
-            if (opacity < 1.0) {
-                oldComposite = g.getComposite();
-                g.setComposite( AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity) );
+            if (directComposite != null) {
+                g.setComposite(directComposite);
+                g.setClip(directClip);
             }
 
-            g.drawImage(img, 0, 0, null);
+            // Apply filter(s) if needed
+            if (img != null) {
+                g2.dispose();
+
+                BufferedImage result = img;
+                BufferedImage buffer = null;
+
+                // Apply filters, alternating between two pooled images as the
+                // source and destination so the chain doesn't allocate any
+                // intermediate images
+                if (filters != null) {
+                    if (FrameProfiler.enabled)
+                        FrameProfiler.enter(FrameProfiler.FILTERS);
+
+                    buffer = pool.acquire(config, iw, ih);
+                    BufferedImage spare = buffer;
+
+                    for (AbstractBufferedImageOp f : filters) {
+                        BufferedImage rv = f.filter(result, spare);
+                        if (rv == spare)
+                            spare = result;
+                        result = rv;
+                    } // for
+
+                    if (FrameProfiler.enabled)
+                        FrameProfiler.exit();
+                }
+
+                // Draw the image to the destination context
+                Composite oldComposite = null;
+                if (opacity < 1.0)
+                    oldComposite = applyOpacity(g, opacity);
+
+                // Pooled images may be larger than needed, so only draw the
+                // portion that was rendered into
+                g.drawImage(result, 0, 0, iw, ih, 0, 0, iw, ih, null);
+
+                if (oldComposite != null)
+                    g.setComposite(oldComposite);
 
-            if (oldComposite != null)
-                g.setComposite(oldComposite);
+                pool.release(config, img);
+                if (buffer != null)
+                    pool.release(config, buffer);
+            }
         }
 
         if (clipChildren)
@@ -1406,7 +2193,349 @@ g.draw(new Rectangle2D.Double(0,0,getUnscaledWidth(),getUnscaledHeight()));
 //*/
 
         g.setTransform(m);
-    } // draw( Graphics2D g )
+    } // drawVisible( Graphics2D g )
+
+
+    /**
+     * Multiplies the opacity of subsequent drawing operations by the specified
+     * value.  Takes into account any opacity already applied to the context,
+     * such as when an ancestor's opacity is being applied directly.
+     * 
+     * @param   g       The graphics context to update.
+     * @param   value   The opacity to apply.
+     * 
+     * @return  The previous composite, which the caller must restore.
+     */
+    private static Composite applyOpacity( Graphics2D g, float value ) {
+        Composite rv = g.getComposite();
+
+        if (rv instanceof AlphaComposite) {
+            AlphaComposite ac = (AlphaComposite) rv;
+            if (ac.getRule() == AlphaComposite.SRC_OVER)
+                value *= ac.getAlpha();
+        }
+
+        g.setComposite( AlphaComposite.getInstance(AlphaComposite.SRC_OVER, value) );
+
+        return rv;
+    } // applyOpacity( Graphics2D g, float value )
+
+    /**
+     * Determines whether the opacity of this object can be applied directly to
+     * each drawing operation, instead of rendering through an offscreen
+     * buffer.  This is the case when no pixel is drawn more than once: this
+     * object's own painting doesn't overlap itself or any children, and the
+     * children don't overlap each other.
+     * 
+     * @return  {@code true} if the opacity can be applied directly,
+     *          {@code false} if an offscreen buffer is required.
+     */
+    private boolean canApplyOpacityDirectly() {
+        if (!directOpacityKnown) {
+            directOpacity = computeCanApplyOpacityDirectly();
+            directOpacityKnown = true;
+        }
+
+        return directOpacity;
+    } // canApplyOpacityDirectly()
+
+    /**
+     * Works out the result of {@link #canApplyOpacityDirectly()}, which is
+     * then cached until this object or a descendant is repainted.
+     * 
+     * @return  {@code true} if the opacity can be applied directly,
+     *          {@code false} if an offscreen buffer is required.
+     */
+    private boolean computeCanApplyOpacityDirectly() {
+        boolean paints = PAINT_OVERRIDDEN.get(getClass());
+        if (paints && hasOverlappingPaint())
+            return false;
+
+        List<Drawable> children = drawable;
+        if (children == null)
+            return true;
+
+        int n = children.size();
+        if (n > MAX_DIRECT_OPACITY_CHILDREN)
+            return false;
+
+        double[] areas = directOpacityAreas;
+        if (areas == null)
+            directOpacityAreas = areas = new double[4 * (MAX_DIRECT_OPACITY_CHILDREN + 1)];
+
+        BoundsScratch s = getBoundsScratch();
+        int count = 0;
+
+        if (paints) {
+            areas[0] = 0;
+            areas[1] = 0;
+            areas[2] = unscaledWidth;
+            areas[3] = unscaledHeight;
+            count = 1;
+        }
+
+        for (int c = 0; c < n; ++c) {
+            Drawable child = children.get(c);
+            if (!child.visible)
+                continue;
+
+            if (!child.drawsEachPixelOnce())
+                return false;
+
+            // The child's own check may have used the scratch storage too,
+            // so the bounds are only worked out now
+            double[] b = s.resetBounds();
+            if (!child.addSubtreeBounds(child.computeTransform(), true, s, 0))
+                continue;
+
+            for (int i = 0; i < count; ++i) {
+                if (intersects(areas, 4 * i, b))
+                    return false;
+            } // for
+
+            System.arraycopy(b, 0, areas, 4 * count, 4);
+            ++count;
+        } // for
+
+        return true;
+    } // computeCanApplyOpacityDirectly()
+
+    /**
+     * Determines whether two areas, given as minimum x, minimum y, maximum x
+     * and maximum y coordinates, overlap.  Areas without a width or height
+     * overlap nothing, as with {@link Rectangle2D#intersects(Rectangle2D)}.
+     * 
+     * @param   areas   The array holding the first area.
+     * @param   ofs     The index of the first area in {@code areas}.
+     * @param   b       The second area.
+     * 
+     * @return  {@code true} if the areas overlap, {@code false} otherwise.
+     */
+    private static boolean intersects( double[] areas, int ofs, double[] b ) {
+        double minX = areas[ofs], minY = areas[ofs + 1];
+        double maxX = areas[ofs + 2], maxY = areas[ofs + 3];
+
+        if ((maxX <= minX) || (maxY <= minY) || (b[2] <= b[0]) || (b[3] <= b[1]))
+            return false;
+
+        return (b[0] < maxX) && (b[1] < maxY) && (b[2] > minX) && (b[3] > minY);
+    } // intersects( double[] areas, int ofs, double[] b )
+
+    /**
+     * Determines whether drawing this object touches each pixel at most once,
+     * so it may be drawn directly under an ancestor's opacity.
+     * 
+     * @return  {@code true} if each pixel is drawn at most once,
+     *          {@code false} otherwise.
+     */
+    private boolean drawsEachPixelOnce() {
+        // Objects drawn through an offscreen image are a single drawing
+        // operation, as are objects whose opacity would be applied directly
+        if (cacheAsBitmap || (filters != null)
+            || ((opacity != 1.0) && ((int)unscaledWidth != 0) && ((int)unscaledHeight != 0)))
+        {
+            return true;
+        }
+
+        return canApplyOpacityDirectly();
+    } // drawsEachPixelOnce()
+
+    /**
+     * Determines whether the output of this object's {@code paint()} method
+     * may draw over itself.  When it doesn't, and this object has no
+     * overlapping children, any opacity below 1 is applied directly while
+     * drawing rather than through an offscreen buffer.
+     * 
+     * <p>The default implementation conservatively returns {@code true}.
+     * Subclasses whose {@code paint()} performs a single drawing operation
+     * should override this method to return {@code false}.  It is not
+     * consulted for classes which don't override {@code paint()}.
+     * 
+     * @return  {@code true} if the painted output may overlap itself,
+     *          {@code false} if each pixel is painted at most once.
+     */
+    protected boolean hasOverlappingPaint() {
+        return true;
+    } // hasOverlappingPaint()
+
+    /**
+     * Retrieves how far, in local units, the output of this object's
+     * {@code paint()} method may extend outside of its bounds, such as half
+     * the width of a stroke drawn centered on them.  The dirty region and the
+     * cached bitmap are grown by this much, on top of the fixed padding for
+     * anti-aliased edges.
+     * 
+     * <p>The default implementation returns 0.  Subclasses should call
+     * {@link #repaint()} both before and after a change to the margin.
+     * 
+     * @return  The distance the painted output may extend past each edge.
+     */
+    protected double getPaintMargin() {
+        return 0;
+    } // getPaintMargin()
+
+    /**
+     * Retrieves the pool of offscreen images to use when rendering this object
+     * through an offscreen buffer.
+     * 
+     * @return  The pool of the root stage, or a new pool if this object isn't
+     *          on a stage.
+     */
+    private ImagePool getImagePool() {
+        Stage root = getRoot();
+        return (root != null)
+                ? root.getImagePool()
+                : new ImagePool();
+    } // getImagePool()
+
+    /**
+     * Draws this object and its children using the cached bitmap, rendering
+     * the bitmap first if it is missing or out of date.
+     * 
+     * <p>The bitmap is rendered at the device resolution of the transform
+     * being drawn with, and drawn back with the scale and rotation removed,
+     * so the common case of an unrotated object is a single unscaled blit.
+     * Filters are applied to the bitmap when it is rendered, and opacity is
+     * applied when it is drawn.
+     * 
+     * @param   g   The graphics context to draw into, with this object's
+     *              transform already applied.
+     */
+    private void drawCached( Graphics2D g ) {
+        AffineTransform t = g.getTransform();
+
+        double sx = Math.hypot(t.getScaleX(), t.getShearY());
+        double sy = Math.hypot(t.getShearX(), t.getScaleY());
+        if ((sx == 0) || (sy == 0))
+            return;
+
+        Rectangle2D bounds;
+        if (isContentClipped()) {
+            bounds = new Rectangle2D.Double(0, 0, unscaledWidth, unscaledHeight);
+        } else {
+            bounds = getSubtreeBounds(new AffineTransform());
+            if (bounds == null)
+                return;
+
+            // Leave room for anti-aliased edges and strokes centered on the
+            // bounds, the same as the dirty region does
+            double px = DIRTY_REGION_PADDING / sx;
+            double py = DIRTY_REGION_PADDING / sy;
+            bounds.setRect(
+                bounds.getX() - px, bounds.getY() - py,
+                bounds.getWidth() + 2 * px, bounds.getHeight() + 2 * py
+            );
+        }
+
+        int version = contentVersion;
+
+        if ((bitmapCache == null) || (bitmapCacheVersion != version)
+            || (bitmapCacheScaleX != sx) || (bitmapCacheScaleY != sy)
+            || !bounds.equals(bitmapCacheBounds))
+        {
+            int iw = (int)Math.ceil(bounds.getWidth() * sx);
+            int ih = (int)Math.ceil(bounds.getHeight() * sy);
+            if ((iw <= 0) || (ih <= 0)) {
+                bitmapCache = null;
+                return;
+            }
+
+            GraphicsConfiguration config = g.getDeviceConfiguration();
+            BufferedImage img = bitmapCache;
+            if ((img == null) || (img.getWidth() != iw) || (img.getHeight() != ih))
+                img = config.createCompatibleImage(iw, ih, Transparency.TRANSLUCENT);
+
+            // With filters, render into a pooled image and run the filters
+            // between pooled images, the same as drawVisible() does, then
+            // copy the result into the cache
+            ImagePool pool = null;
+            BufferedImage content = img;
+            if (filters != null) {
+                pool = getImagePool();
+                content = pool.acquire(config, iw, ih);
+            }
+
+            Graphics2D g2 = content.createGraphics();
+            g2.setComposite(AlphaComposite.Clear);
+            g2.fillRect(0, 0, content.getWidth(), content.getHeight());
+            g2.setComposite(AlphaComposite.SrcOver);
+            g2.setRenderingHints(g.getRenderingHints());
+            g2.scale(sx, sy);
+            g2.translate(-bounds.getX(), -bounds.getY());
+
+            paint(g2);
+
+            if (drawable != null) {
+                for (Drawable d : drawable) {
+                    d.draw(g2);
+                } // for
+            }
+
+            g2.dispose();
+
+            if (filters != null) {
+                if (FrameProfiler.enabled)
+                    FrameProfiler.enter(FrameProfiler.FILTERS);
+
+                BufferedImage buffer = pool.acquire(config, iw, ih);
+                BufferedImage result = content;
+                BufferedImage spare = buffer;
+
+                for (AbstractBufferedImageOp f : filters) {
+                    BufferedImage rv = f.filter(result, spare);
+                    if (rv == spare)
+                        spare = result;
+                    result = rv;
+                } // for
+
+                g2 = img.createGraphics();
+                g2.setComposite(AlphaComposite.Src);
+                g2.drawImage(result, 0, 0, iw, ih, 0, 0, iw, ih, null);
+                g2.dispose();
+
+                pool.release(config, content);
+                pool.release(config, buffer);
+
+                if (FrameProfiler.enabled)
+                    FrameProfiler.exit();
+            }
+
+            bitmapCache = img;
+            bitmapCacheVersion = version;
+            bitmapCacheScaleX = sx;
+            bitmapCacheScaleY = sy;
+            bitmapCacheBounds = bounds;
+        }
+
+        AffineTransform bt;
+        int nonTranslation = AffineTransform.TYPE_FLIP
+                            | AffineTransform.TYPE_MASK_ROTATION
+                            | AffineTransform.TYPE_GENERAL_TRANSFORM;
+
+        if ((t.getType() & nonTranslation) == 0) {
+            // Only scaled and translated, so the bitmap already matches the
+            // device pixels.  Snap to whole pixels to keep it sharp.
+            bt = AffineTransform.getTranslateInstance(
+                Math.round(t.getTranslateX() + bounds.getX() * t.getScaleX()),
+                Math.round(t.getTranslateY() + bounds.getY() * t.getScaleY())
+            );
+        } else {
+            bt = new AffineTransform(t);
+            bt.translate(bounds.getX(), bounds.getY());
+            bt.scale(1 / sx, 1 / sy);
+        }
+
+        Composite oldComposite = null;
+        if (opacity < 1.0)
+            oldComposite = applyOpacity(g, opacity);
+
+        g.setTransform(bt);
+        g.drawImage(bitmapCache, 0, 0, null);
+        g.setTransform(t);
+
+        if (oldComposite != null)
+            g.setComposite(oldComposite);
+    } // drawCached( Graphics2D g )
 
 
     public void paint( Graphics2D g ) {
@@ -1613,7 +2742,7 @@ g.draw(new Rectangle2D.Double(0,0,getUnscaledWidth(),getUnscaledHeight()));
      * 
      * @return  The bounds of this object in the parent's coordinate system.
      */
-    public synchronized Rectangle2D getBounds() {
+    public Rectangle2D getBounds() {
         return new Rectangle2D.Double( getX(), getY(), getWidth(), getHeight() );
     } // getBounds()
 
@@ -1624,7 +2753,7 @@ g.draw(new Rectangle2D.Double(0,0,getUnscaledWidth(),getUnscaledHeight()));
      * @return  The bounds of this object in the object's local coordinate
      *          system.
      */
-    public synchronized Rectangle2D getUnscaledBounds() {
+    public Rectangle2D getUnscaledBounds() {
         return new Rectangle2D.Double( 0, 0, getUnscaledWidth(), getUnscaledHeight() );
     } // getUnscaledBounds()
 
@@ -1642,8 +2771,11 @@ g.draw(new Rectangle2D.Double(0,0,getUnscaledWidth(),getUnscaledHeight()));
      * 
      * @return Whether the specified point intersects the object or not.
      */
-    public synchronized boolean pointIntersects( Point2D point ) {
-        return new Rectangle2D.Double( 0, 0, getUnscaledWidth(), getUnscaledHeight() ).contains(point);
+    public boolean pointIntersects( Point2D point ) {
+        double x = point.getX();
+        double y = point.getY();
+
+        return (x >= 0) && (y >= 0) && (x < getUnscaledWidth()) && (y < getUnscaledHeight());
     } // pointIntersects( Point2D point )
 
     /**
@@ -1651,31 +2783,128 @@ g.draw(new Rectangle2D.Double(0,0,getUnscaledWidth(),getUnscaledHeight()));
      * list to this object's coordinate system.
      * 
      * @return  The coordinate transformation from the top level of the display
-     *          list to this object's coordinate system.
+     *          list to this object's coordinate system.  The returned instance
+     *          is a copy which the caller may modify.
      */
-    public synchronized AffineTransform getConcatenatedTransform() {
-        AffineTransform rv;
-
-        if (parent != null) {
-            rv = parent.getConcatenatedTransform();
-            rv.concatenate(getTransform());
-        } else
-            rv = getTransform();
-
-        return rv;
+    public AffineTransform getConcatenatedTransform() {
+        return new AffineTransform( getWorldTransform() );
     } // getConcatenatedTransform()
 
-    public synchronized Point2D localToGlobal( Point2D pt ) {
-        return getConcatenatedTransform().transform(pt, null);
+    /**
+     * Converts a point from this object's coordinate system to the coordinate
+     * system of the root object's parent.
+     * 
+     * @param   pt  The point to convert.
+     * 
+     * @return  A new point containing the converted coordinates.
+     */
+    public Point2D localToGlobal( Point2D pt ) {
+        return localToGlobal(pt, null);
     } // localToGlobal( Point2D pt )
 
+    /**
+     * Converts a point from this object's coordinate system to the coordinate
+     * system of the root object's parent, storing the result in the specified
+     * point.
+     * 
+     * @param   src The point to convert.
+     * @param   dst The point receiving the result, which may be the same
+     *              instance as {@code src}.  If {@code null}, a new point is
+     *              allocated.
+     * 
+     * @return  {@code dst}, or the newly allocated point if {@code dst} was
+     *          {@code null}.
+     */
+    public Point2D localToGlobal( Point2D src, Point2D dst ) {
+        return getWorldTransform().transform(src, dst);
+    } // localToGlobal( Point2D src, Point2D dst )
+
+    /**
+     * Converts an array of points, stored as x/y coordinate pairs, from this
+     * object's coordinate system to the coordinate system of the root
+     * object's parent.
+     * 
+     * @param   src     The coordinates to convert.
+     * @param   srcOff  The offset of the first coordinate in {@code src}.
+     * @param   dst     The array receiving the results, which may be the same
+     *                  array as {@code src}.
+     * @param   dstOff  The offset of the first coordinate in {@code dst}.
+     * @param   numPts  The number of points to convert.
+     */
+    public void localToGlobal( double[] src, int srcOff, double[] dst, int dstOff, int numPts ) {
+        getWorldTransform().transform(src, srcOff, dst, dstOff, numPts);
+    } // localToGlobal( double[] src, int srcOff, double[] dst, int dstOff, int numPts )
 
-    public synchronized Point2D globalToLocal( Point2D pt ) {
-        if (parent != null)
-            pt = parent.globalToLocal(pt);
-        return getTransform().transform(pt, null);
+    /**
+     * Converts a point from the coordinate system of the root object's parent
+     * to this object's coordinate system.
+     * 
+     * @param   pt  The point to convert.
+     * 
+     * @return  A new point containing the converted coordinates.
+     * 
+     * @throws  IllegalStateException if the world transformation of this
+     *          object can't be inverted.
+     */
+    public Point2D globalToLocal( Point2D pt ) {
+        return globalToLocal(pt, null);
     } // globalToLocal( Point2D pt )
 
+    /**
+     * Converts a point from the coordinate system of the root object's parent
+     * to this object's coordinate system, storing the result in the specified
+     * point.
+     * 
+     * @param   src The point to convert.
+     * @param   dst The point receiving the result, which may be the same
+     *              instance as {@code src}.  If {@code null}, a new point is
+     *              allocated.
+     * 
+     * @return  {@code dst}, or the newly allocated point if {@code dst} was
+     *          {@code null}.
+     * 
+     * @throws  IllegalStateException if the world transformation of this
+     *          object can't be inverted.
+     */
+    public Point2D globalToLocal( Point2D src, Point2D dst ) {
+        return getWorldInverse().transform(src, dst);
+    } // globalToLocal( Point2D src, Point2D dst )
+
+    /**
+     * Converts an array of points, stored as x/y coordinate pairs, from the
+     * coordinate system of the root object's parent to this object's
+     * coordinate system.
+     * 
+     * @param   src     The coordinates to convert.
+     * @param   srcOff  The offset of the first coordinate in {@code src}.
+     * @param   dst     The array receiving the results, which may be the same
+     *                  array as {@code src}.
+     * @param   dstOff  The offset of the first coordinate in {@code dst}.
+     * @param   numPts  The number of points to convert.
+     * 
+     * @throws  IllegalStateException if the world transformation of this
+     *          object can't be inverted.
+     */
+    public void globalToLocal( double[] src, int srcOff, double[] dst, int dstOff, int numPts ) {
+        getWorldInverse().transform(src, srcOff, dst, dstOff, numPts);
+    } // globalToLocal( double[] src, int srcOff, double[] dst, int dstOff, int numPts )
+
+    /**
+     * Returns the inverse world transformation, failing if there is none.
+     * 
+     * @return  The inverse world transformation matrix.
+     * 
+     * @throws  IllegalStateException if the world transformation of this
+     *          object can't be inverted.
+     */
+    private AffineTransform getWorldInverse() {
+        AffineTransform rv = getWorldInverseTransform();
+        if (rv == null)
+            throw new IllegalStateException("The object's transformation cannot be inverted.");
+
+        return rv;
+    } // getWorldInverse()
+
 
     private static long clickTimeout = 350;
     private static Drawable lastClickObj;
@@ -1720,152 +2949,183 @@ g.draw(new Rectangle2D.Double(0,0,getUnscaledWidth(),getUnscaledHeight()));
 
     private static Drawable lastEnterLeaveObj;
 
+    /**
+     * Value returned by {@link #dispatchMouseEvent} when no object accepted
+     * the mouse event.
+     */
+    private static final int MOUSE_NOT_DISPATCHED = -1;
+
+    /**
+     * Flag returned by {@link #dispatchMouseEvent} when the main event of the
+     * dispatch should continue to bubble up the display list.
+     */
+    private static final int MOUSE_EVENT_BUBBLES = 1;
+
+    /**
+     * Flag returned by {@link #dispatchMouseEvent} when the click event of the
+     * dispatch should continue to bubble up the display list.
+     */
+    private static final int MOUSE_CLICK_BUBBLES = 2;
+
+    /**
+     * Reusable state for dispatching mouse events, so that mouse movement
+     * doesn't allocate new events and points.  More than one dispatch is in
+     * use at a time while enter and exit events are sent during a dispatch.
+     */
+    private static final ObjectPool<MouseDispatch> mouseDispatches = new ObjectPool<>(MouseDispatch::new, 4);
+
+    /**
+     * Reusable event for dispatching key events.  Set to {@code null} while
+     * the event is being dispatched, in which case a nested dispatch creates
+     * its own event.
+     */
+    private static DrawableKeyEvent idleKeyEvent;
+
+    /**
+     * Selects the listeners notified of key events bubbling up the display
+     * list.
+     */
+    private static final Function<Drawable, DrawableListeners<DrawableKeyListener>> KEY_LISTENERS =
+            (item) -> { return item.keyListeners; };
+
+    /**
+     * Selects the listeners notified of focus events bubbling up the display
+     * list.
+     */
+    private static final Function<Drawable, DrawableListeners<DrawableFocusListener>> FOCUS_LISTENERS =
+            (item) -> { return item.focusListeners; };
+
     static void dispatchEnterLeaveEvents( Drawable o, MouseEvent e ) {
         if (o == lastEnterLeaveObj)
             return;
 
-        Point2D pt = new Point2D.Double(e.getX(), e.getY());
-        Point2D pt2;
+        MouseDispatch d = mouseDispatches.acquire();
+        Point2D.Double pt = d.getPoint(0);
 
-        if ((lastEnterLeaveObj != null) && (lastEnterLeaveObj.mouseListeners != null)) {
-            try {
-                pt2 = lastEnterLeaveObj.getTransform().inverseTransform(pt, null);
-            } catch (NoninvertibleTransformException ex) {
-                pt2 = new Point2D.Double(0, 0);
-            }
+        Drawable obj = lastEnterLeaveObj;
+        if (obj != null) {
+            toLocalMousePosition(obj, e, pt);
 
-            lastEnterLeaveObj.mouseListeners.notifyListeners(
-                new DrawableMouseEvent(
-                    lastEnterLeaveObj,
-                    DrawableMouseEvent.MOUSE_EXITED,
-                    e.getWhen(), e.getModifiersEx(),
-                    pt2.getX(), pt2.getY(),
-                    e.getXOnScreen(), e.getYOnScreen(),
-                    e.getClickCount(),
-                    e.getButton()
-                ),
+            obj.mouseListeners.notifyListeners(
+                d.setEvent(obj, DrawableMouseEvent.MOUSE_EXITED, e, pt, e.getClickCount()),
                 DrawableMouseListener::drawableMouseExited
             );
         }
 
-        lastEnterLeaveObj = o;
+        lastEnterLeaveObj = obj = o;
 
-        if ((lastEnterLeaveObj != null) && (lastEnterLeaveObj.mouseListeners != null)) {
-            try {
-                pt2 = lastEnterLeaveObj.getTransform().inverseTransform(pt, null);
-            } catch (NoninvertibleTransformException ex) {
-                pt2 = new Point2D.Double(0, 0);
-            }
+        if (obj != null) {
+            toLocalMousePosition(obj, e, pt);
 
-            lastEnterLeaveObj.mouseListeners.notifyListeners(
-                new DrawableMouseEvent(
-                    lastEnterLeaveObj,
-                    DrawableMouseEvent.MOUSE_ENTERED,
-                    e.getWhen(), e.getModifiersEx(),
-                    pt2.getX(), pt2.getY(),
-                    e.getXOnScreen(), e.getYOnScreen(),
-                    e.getClickCount(),
-                    e.getButton()
-                ),
+            obj.mouseListeners.notifyListeners(
+                d.setEvent(obj, DrawableMouseEvent.MOUSE_ENTERED, e, pt, e.getClickCount()),
                 DrawableMouseListener::drawableMouseEntered
             );
         }
+
+        mouseDispatches.release(d);
     } // dispatchEnterLeaveEvents( MouseEvent e, Point2D pt )
 
+    /**
+     * Transforms the position of an AWT mouse event into an object's
+     * coordinate system.
+     * 
+     * @param obj   The object to transform the position to.
+     * @param e     The AWT MouseEvent.
+     * @param pt    Receives the transformed position, or (0, 0) if the
+     *              object's transformation can't be inverted.
+     */
+    private static void toLocalMousePosition( Drawable obj, MouseEvent e, Point2D pt ) {
+        AffineTransform inv = obj.getWorldInverseTransform();
+        if (inv != null) {
+            pt.setLocation(e.getX(), e.getY());
+            inv.transform(pt, pt);
+        } else
+            pt.setLocation(0, 0);
+    } // toLocalMousePosition( Drawable obj, MouseEvent e, Point2D pt )
+
     /**
      * Processes an AWT MouseEvent.
      * 
      * This method exists to allow an AWT/Swing component to pass on MouseEvents
      * for processing.  Currently, it is used by {@link DrawablePanel}.
      * 
+     * <p>The events sent to listeners are reused for later mouse events, so
+     * dispatching an event doesn't allocate.
+     * 
      * @param pt            The mouse position within the target object (stage).
      * @param evt           The AWT MouseEvent that was received.
      * 
-     * @return  An array of DrawableMouseEvent objects (null if the event has
-     *          not yet been dispatched to a Drawable).  Can return multiple
-     *          events in the case of click events being triggered by a mouse
-     *          release event.
+     * @return  {@code true} if the event was dispatched to a Drawable,
+     *          {@code false} otherwise.
      */
-    synchronized DrawableMouseEvent[] processMouseEvent( Point2D pt, MouseEvent evt ) {
+    boolean processMouseEvent( Point2D pt, MouseEvent evt ) {
+        MouseDispatch d = mouseDispatches.acquire();
+        d.getPoint(0).setLocation(pt);
+
+        boolean rv = (dispatchMouseEvent(d, 0, evt) != MOUSE_NOT_DISPATCHED);
+
+        mouseDispatches.release(d);
+        return rv;
+    } // processMouseEvent( Point2D pt, MouseEvent evt )
+
+    /**
+     * Dispatches an AWT MouseEvent to the topmost object under the mouse in
+     * the subtree rooted at this object, and bubbles the resulting events up
+     * to this object.
+     * 
+     * @param d     The dispatch state.  The mouse position in this object's
+     *              coordinate system is held by the point for {@code depth}.
+     * @param depth The depth of this object below the object the dispatch
+     *              started at.
+     * @param evt   The AWT MouseEvent that was received.
+     * 
+     * @return  {@link #MOUSE_NOT_DISPATCHED} if the event has not been
+     *          dispatched to a Drawable.  Otherwise, a combination of the
+     *          {@link #MOUSE_EVENT_BUBBLES} and {@link #MOUSE_CLICK_BUBBLES}
+     *          flags for the events of the dispatch which should continue to
+     *          bubble.  A click event is dispatched in addition to the main
+     *          event when a mouse release completes a click.
+     */
+    private int dispatchMouseEvent( MouseDispatch d, int depth, MouseEvent evt ) {
         if (!isVisible())
-            return null;
+            return MOUSE_NOT_DISPATCHED;
 
-        DrawableMouseEvent rv[];
+        Point2D.Double pt = d.getPoint(depth);
+        int rv;
 
         // Process child objects first (depth-first to ensure the object drawn on top gets the event first)
         List<Drawable> children = drawable;
         if (mouseChildren && (children != null)) {
+            // When indexed, only the children whose bounds contain the point
+            // are candidates
+            SpatialGrid index = spatialIndex;
+            int count = (index != null)
+                            ? index.query(children, pt.getX(), pt.getY())
+                            : children.size();
+
             // Check each child (in reverse order) to see if it wants the mouse event
             // Reverse order ensures the object drawn last gets the event first
-            for (int c = children.size() - 1; c >= 0; --c) {
-                Drawable d = children.get(c);
-                Point2D p2;
-
-                try {
-                    p2 = d.getTransform().inverseTransform(pt, null);
-                } catch (NoninvertibleTransformException | NullPointerException ex) {
-                    //Logger.getLogger(Drawable.class.getName()).log(Level.SEVERE, null, ex);
+            for (int c = count - 1; c >= 0; --c) {
+                Drawable child = (index != null ? index.getCandidate(c) : children.get(c));
+                AffineTransform inv = child.getLocalInverseTransform();
+                if (inv == null)
                     continue;
-                }
-                //Logger.getLogger(Drawable.class.getName()).log(Level.SEVERE, null, ex);
-
-                rv = d.processMouseEvent( p2, evt );
-                if (rv != null) {
-                    // Bubble the event(s)...
-                    if (mouseListeners != null) {
-                        int removed = 0;
-
-                        for (int i = 0; i < rv.length; ++i) {
-                            BiConsumer<DrawableMouseListener, DrawableMouseEvent> callback = null;
-
-                            switch (rv[i].getID()) {
-                                case DrawableMouseEvent.MOUSE_MOVED:
-                                    callback = DrawableMouseListener::drawableMouseMoved;
-                                    break;
 
-                                case DrawableMouseEvent.MOUSE_DRAGGED:
-                                    callback = DrawableMouseListener::drawableMouseDragged;
-                                    break;
-
-                                case DrawableMouseEvent.MOUSE_PRESSED:
-                                    callback = DrawableMouseListener::drawableMousePressed;
-                                    break;
-
-                                case DrawableMouseEvent.MOUSE_RELEASED:
-                                    callback = DrawableMouseListener::drawableMouseReleased;
-                                    break;
-
-                                case DrawableMouseEvent.MOUSE_CLICKED:
-                                    callback = DrawableMouseListener::drawableMouseClicked;
-                                    break;
-                            } // switch
-
-                            if (callback != null) {
-                                mouseListeners.notifyListeners(rv[i], callback);
-                            }
+                inv.transform(pt, d.getPoint(depth + 1));
+                rv = child.dispatchMouseEvent( d, depth + 1, evt );
+                if (rv != MOUSE_NOT_DISPATCHED) {
+                    // Bubble the event(s), dropping those with propagation stopped
+                    if ((rv & MOUSE_EVENT_BUBBLES) != 0) {
+                        notifyBubblingMouseEvent(d.getEvent());
+                        if (d.getEvent().isPropagationStopped())
+                            rv &= ~MOUSE_EVENT_BUBBLES;
+                    }
 
-                            if (rv[i].isPropagationStopped()) {
-                                rv[i] = null;   // Don't return event to caller
-                                ++removed;
-                            }
-                        } // for
-
-                        // Remove events with propagation stopped
-                        if (rv.length == removed) {
-                            rv = new DrawableMouseEvent[0];
-                        } else if (removed > 0) {
-                            DrawableMouseEvent t[] = new DrawableMouseEvent[rv.length - removed];
-
-                            int p = 0;
-                            for (int i = 0; i < rv.length; ++i) {
-                                if (rv[i] != null) {
-                                    t[p] = rv[i];
-                                    ++p;
-                                }
-                            } // for
-
-                            rv = t;
-                        }
+                    if ((rv & MOUSE_CLICK_BUBBLES) != 0) {
+                        notifyBubblingMouseEvent(d.getClick());
+                        if (d.getClick().isPropagationStopped())
+                            rv &= ~MOUSE_CLICK_BUBBLES;
                     }
 
                     return rv;
@@ -1877,14 +3137,8 @@ g.draw(new Rectangle2D.Double(0,0,getUnscaledWidth(),getUnscaledHeight()));
             int eventID = evt.getID();
 
             // Send event
-            DrawableMouseEvent e = new DrawableMouseEvent(
-                                        this, eventID, evt.getWhen(), evt.getModifiersEx(),
-                                        pt.getX(), pt.getY(),
-                                        evt.getXOnScreen(), evt.getYOnScreen(),
-                                        0,
-                                        evt.getButton()
-                                    );
-            DrawableMouseEvent e2 = null;
+            DrawableMouseEvent e = d.setEvent(this, eventID, evt, pt, 0);
+            rv = MOUSE_EVENT_BUBBLES;
 
             switch (eventID) {
                 case MouseEvent.MOUSE_MOVED:
@@ -1919,37 +3173,59 @@ g.draw(new Rectangle2D.Double(0,0,getUnscaledWidth(),getUnscaledHeight()));
 
                     int clickCount = countClicks(this, evt.getID(), evt.getWhen(), evt.getButton());
                     if (clickCount > 0) {
-                        e2 = new DrawableMouseEvent(
-                                        this, DrawableMouseEvent.MOUSE_CLICKED, evt.getWhen(), evt.getModifiersEx(),
-                                        pt.getX(), pt.getY(),
-                                        evt.getXOnScreen(), evt.getYOnScreen(),
-                                        clickCount,
-                                        evt.getButton()
-                                    );
+                        DrawableMouseEvent e2 = d.setClick(this, evt, pt, clickCount);
 
                         mouseListeners.notifyListeners(
                             e2,
                             DrawableMouseListener::drawableMouseClicked
                         );
+
+                        if (!e2.isPropagationStopped())
+                            rv |= MOUSE_CLICK_BUBBLES;
                     }
                     break;
             } // switch
 
-            if (!e.isPropagationStopped()) {
-                if ((e2 != null) && (!e2.isPropagationStopped()))
-                    rv = new DrawableMouseEvent[] { e, e2 };
-                else
-                    rv = new DrawableMouseEvent[] { e };
-            } else if ((e2 != null) && (!e2.isPropagationStopped()))
-                rv = new DrawableMouseEvent[] { e2 };
-            else // Still need to return a non-null list here or the event bubbling won't be correct.
-                rv = new DrawableMouseEvent[] { };
+            // Still return the dispatched flag with no events bubbling or the
+            // event bubbling won't be correct.
+            if (e.isPropagationStopped())
+                rv &= ~MOUSE_EVENT_BUBBLES;
 
             return rv;
         }
 
-        return null;
-    } // processMouseEvent( Point2D pt, MouseEvent evt, boolean bubbleEvents )
+        return MOUSE_NOT_DISPATCHED;
+    } // dispatchMouseEvent( MouseDispatch d, int depth, MouseEvent evt )
+
+    /**
+     * Notifies this object's mouse listeners of an event bubbling up from a
+     * descendant.
+     * 
+     * @param e     The event to dispatch.
+     */
+    private void notifyBubblingMouseEvent( DrawableMouseEvent e ) {
+        switch (e.getID()) {
+            case DrawableMouseEvent.MOUSE_MOVED:
+                mouseListeners.notifyListeners(e, DrawableMouseListener::drawableMouseMoved);
+                break;
+
+            case DrawableMouseEvent.MOUSE_DRAGGED:
+                mouseListeners.notifyListeners(e, DrawableMouseListener::drawableMouseDragged);
+                break;
+
+            case DrawableMouseEvent.MOUSE_PRESSED:
+                mouseListeners.notifyListeners(e, DrawableMouseListener::drawableMousePressed);
+                break;
+
+            case DrawableMouseEvent.MOUSE_RELEASED:
+                mouseListeners.notifyListeners(e, DrawableMouseListener::drawableMouseReleased);
+                break;
+
+            case DrawableMouseEvent.MOUSE_CLICKED:
+                mouseListeners.notifyListeners(e, DrawableMouseListener::drawableMouseClicked);
+                break;
+        } // switch
+    } // notifyBubblingMouseEvent( DrawableMouseEvent e )
 
     /**
      * Processes an AWT KeyEvent.
@@ -1986,16 +3262,25 @@ g.draw(new Rectangle2D.Double(0,0,getUnscaledWidth(),getUnscaledHeight()));
             } // switch
 
             if (callback != null) {
-                notifyListenersAndBubble(
-                    focus,
-                    (item) -> { return item.keyListeners; },
-                    new DrawableKeyEvent(
+                DrawableKeyEvent e = idleKeyEvent;
+                idleKeyEvent = null;
+
+                if (e == null)
+                    e = new DrawableKeyEvent(
+                            focus,
+                            evt.getID(), evt.getWhen(), evt.getModifiersEx(),
+                            evt.getKeyCode(), evt.getKeyChar(), evt.getKeyLocation()
+                        );
+                else
+                    e.reset(
                         focus,
                         evt.getID(), evt.getWhen(), evt.getModifiersEx(),
                         evt.getKeyCode(), evt.getKeyChar(), evt.getKeyLocation()
-                    ),
-                    callback
-                );
+                    );
+
+                notifyListenersAndBubble(focus, KEY_LISTENERS, e, callback);
+
+                idleKeyEvent = e;
             }
         }
     } // processKeyEvent( KeyEvent evt )
@@ -2021,7 +3306,7 @@ g.draw(new Rectangle2D.Double(0,0,getUnscaledWidth(),getUnscaledHeight()));
         if (callback != null) {
             notifyListenersAndBubble(
                 this,
-                (item) -> { return item.focusListeners; },
+                FOCUS_LISTENERS,
                 e,
                 callback
             );
@@ -2200,7 +3485,7 @@ g.draw(new Rectangle2D.Double(0,0,getUnscaledWidth(),getUnscaledHeight()));
 
     private Map<String, Object> behaviorProperties = null;
     
-    protected synchronized void setBehaviorProperty(String name, Object value) {
+    protected void setBehaviorProperty(String name, Object value) {
         if (behaviorProperties == null) {
             if (value == null)
                 return;
@@ -2208,14 +3493,17 @@ g.draw(new Rectangle2D.Double(0,0,getUnscaledWidth(),getUnscaledHeight()));
             behaviorProperties = new HashMap<>();
         }
 
-        behaviorProperties.put(name, value);
+        if (!Objects.equals(behaviorProperties.put(name, value), value)) {
+            // Behavior properties drive visual states such as mouse hover
+            repaint();
+        }
     } // setBehaviorProperty
 
     protected Object getBehaviorProperty(String name) {
         return getBehaviorProperty(name, Object.class, null);
     } // getBehaviorProperty
 
-    protected synchronized <T> T getBehaviorProperty(String name, Class<T> clazz, T defaultValue) {
+    protected <T> T getBehaviorProperty(String name, Class<T> clazz, T defaultValue) {
         T rv = null;
 
         if (behaviorProperties != null) {
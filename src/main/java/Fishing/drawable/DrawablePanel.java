@@ -1,12 +1,19 @@
 
 package Fishing.drawable;
 
+import Fishing.drawable.events.EventBase;
+import Fishing.drawable.events.FrameEvent;
+import Fishing.drawable.events.FrameListener;
+import Fishing.drawable.text.FontRegistry;
 import Fishing.drawable.text.GeneratedFont;
 import Fishing.drawable.text.BitmapFont;
+import java.awt.BorderLayout;
+import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.KeyEvent;
@@ -14,15 +21,47 @@ import java.awt.event.KeyListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
-import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Point2D;
+import java.util.List;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 
 /**
  * A JPanel subclass that renders a Drawable scene for its content.
  * 
+ * <p>By default, the panel is passively rendered: a timer requests a Swing
+ * repaint at the target frame rate.  Swing coalesces those requests, so the
+ * achieved frame rate may drift below the target.  When active rendering is
+ * enabled, a dedicated thread renders the scene into a BufferStrategy at a
+ * steady cadence instead.
+ * 
+ * <p>In both modes, only the area covered by objects that changed since the
+ * last frame is redrawn, and no frame is rendered at all if nothing changed.
+ * 
+ * <p>In either mode, registered FrameListeners receive fixed-timestep update
+ * notifications at the {@code updateRate}, independent of the frame rate, and
+ * a render notification once the update steps for a frame are done.  Render
+ * notifications are issued before the area to redraw is determined, so the
+ * changes listeners make in response are drawn in the same frame.
+ * 
+ * <p>The scene is only updated and rendered on the thread running the frame
+ * loop: the Swing event dispatch thread when passively rendering, or the
+ * render thread when actively rendering.  Mouse, keyboard and resize events
+ * are routed to the stage through the {@link SceneQueue}, which also runs
+ * any tasks submitted from other threads at the start of each frame.
+ * 
+ * <p>Mouse moves and drags are coalesced: while a move is waiting in the
+ * queue, later moves replace its position rather than being queued, so
+ * typically one move is dispatched per frame and the cost of hit-testing the
+ * scene follows the frame rate rather than the polling rate of the mouse.
+ * Moves following a button press or release are queued behind it, so the
+ * order of moves, presses, releases and clicks is preserved.
+ * 
  * @author Brad
  */
 public class DrawablePanel
@@ -34,20 +73,132 @@ public class DrawablePanel
      * The target frame rate at which to update the displayed scene within
      * this panel.
      */
-    private double frameRate = 30;
+    private volatile double frameRate = 30;
+
+    /**
+     * The maximum number of fixed update steps that will be issued for a
+     * single frame.  Time beyond this is dropped, so a long stall slows the
+     * simulation down rather than forcing it into a catch-up spiral.
+     */
+    private static final int MAX_UPDATE_STEPS = 5;
 
     /**
-     * Timer scheduled to trigger at the specified {@code frameRate}.
+     * Timer used to request repaints when passively rendering.
      */
     private final Timer displayTimer;
 
+    /**
+     * The repeating task scheduled on the {@code displayTimer}, or
+     * {@code null} if active rendering is enabled.
+     */
+    private TimerTask displayTask;
+
+    /**
+     * Whether a passive frame has been posted to the event dispatch thread
+     * but hasn't run yet.  Prevents frames from piling up in the event queue
+     * when the event dispatch thread falls behind.
+     */
+    private final AtomicBoolean framePending = new AtomicBoolean(false);
+
+    /**
+     * Posted to the event dispatch thread to run each passive frame.
+     */
+    private final Runnable passiveFrame = this::runPassiveFrame;
+
+    /**
+     * Whether the scene is rendered by a dedicated render thread instead of
+     * through Swing repaint requests.
+     */
+    private boolean activeRendering = false;
+
+    /**
+     * Whether frame presentation should be paced to the display refresh when
+     * actively rendering.
+     */
+    private volatile boolean vsync = false;
+
+    /**
+     * The heavyweight component rendered into when active rendering is
+     * enabled.  Created the first time active rendering is enabled.
+     */
+    private Canvas canvas;
+
+    /**
+     * The render loop driving the {@code canvas}, or {@code null} if active
+     * rendering is disabled.
+     */
+    private RenderLoop renderLoop;
+
+    /**
+     * The render loop created most recently, which may still be finishing
+     * its last frame after being stopped, or {@code null} if active
+     * rendering was never enabled.
+     */
+    private RenderLoop lastRenderLoop;
+
+    /**
+     * Whether the scene is updated and painted on the event dispatch thread.
+     * Cleared as soon as active rendering is enabled, but only set again
+     * once the render thread has exited, so both threads never touch the
+     * scene at the same time.
+     */
+    private volatile boolean passiveRendering = true;
+
+    /**
+     * The rate, in steps per second, at which fixed update steps are issued
+     * to the frame listeners.
+     */
+    private volatile double updateRate = 60;
+
+    /**
+     * The {@code System.nanoTime()} value when the frame loop was last
+     * advanced, or 0 if it has not been advanced yet.
+     */
+    private long lastStepTime = 0;
+
+    /**
+     * Elapsed time, in nanoseconds, not yet consumed by a fixed update step.
+     */
+    private long stepAccumulator = 0;
+
+    /**
+     * The simulation time, in nanoseconds.  Advances by exactly one step
+     * duration for each update step issued.
+     */
+    private long simulationTime = 0;
+
+    /**
+     * Listeners to notify of update steps and rendered frames.
+     */
+    private List<FrameListener> frameListeners;
+
+    /**
+     * The event reset and dispatched to the frame listeners for each update
+     * step and rendered frame.  Only used on the scene thread.
+     */
+    private final FrameEvent frameEvent = new FrameEvent(this, 0, 0, 0);
+
     /**
      * The root Drawable stage that is being rendered into this panel.
      */
     private final Stage stage;
 
     /**
-     * Timestamp when the last frame started rendering.
+     * Holds the mouse position while a mouse event is dispatched to the
+     * stage.  Only used on the scene thread.
+     */
+    private final Point2D.Double mousePosition = new Point2D.Double();
+
+    /**
+     * The queued task which later mouse moves are coalesced into, or
+     * {@code null} if the next move must queue a new task.  Only accessed on
+     * the event dispatch thread.
+     */
+    private MouseMoveTask mouseMoveTask;
+
+    /**
+     * The {@code System.nanoTime()} value when the frame rate was last
+     * computed.
      */
     private long lastFrameTime;
 
@@ -77,6 +228,24 @@ public class DrawablePanel
      */
     private GeneratedFont frameRateFont;
 
+    /**
+     * Whether the profiler overlay should be displayed.  Takes effect at the
+     * start of the next frame.
+     */
+    private volatile boolean showProfiler = false;
+
+    /**
+     * The area covered by the profiler overlay when it was last drawn, or
+     * {@code null} if it isn't on the panel.  Only used on the scene thread.
+     */
+    private Rectangle profilerBounds;
+
+    /**
+     * The rectangle returned by {@link #takeDirtyRegion()}.  Only used on the
+     * scene thread.
+     */
+    private final Rectangle dirtyRegion = new Rectangle();
+
     /**
      * Constructs a new instance with the specified target {@code frameRate}.
      * 
@@ -87,12 +256,14 @@ public class DrawablePanel
     public DrawablePanel( double frameRate ) {
         displayTimer = new Timer();
 
-        setFrameRate(frameRate);
-        //setCoordinateBounds(0, 0, 1024, 768);
-
+        // The stage must exist before the display timer starts
         stage = new Stage(this);
         stage.setUnscaledSize( 100, 100 );
 
+        setLayout( new BorderLayout() );
+        setFrameRate(frameRate);
+        //setCoordinateBounds(0, 0, 1024, 768);
+
         addMouseListener(this);
         addMouseMotionListener(this);
         addKeyListener(this);
@@ -108,7 +279,9 @@ public class DrawablePanel
                     if (getHeight() == 0)
                         return;
 
-                    stage.setUnscaledSize( getWidth(), getHeight() );
+                    int w = getWidth();
+                    int h = getHeight();
+                    SceneQueue.invoke(() -> { stage.setUnscaledSize( w, h ); });
                 }
             }
         );
@@ -140,17 +313,43 @@ public class DrawablePanel
 
         if (showFrameRate) {
             if (frameRateFont == null) {
-                frameRateFont = new GeneratedFont( new Font("Arial", Font.BOLD, 30) );
-                frameRateFont.setColor(Color.WHITE);
-                frameRateFont.setOutlineColor(Color.BLACK);
-//                frameRateFont.setOutlineWidth();
+                frameRateFont = FontRegistry.get( new Font("Arial", Font.BOLD, 30), Color.WHITE, Color.BLACK );
             }
 
-            lastFrameTime = System.currentTimeMillis();
+            lastFrameTime = System.nanoTime();
             frameCount = 0;
         }
     } // setShowFrameRate( boolean value )
 
+    /**
+     * Determines whether the profiler overlay is displayed in the top-left
+     * corner of this panel.
+     * 
+     * @return  {@code true} if the profiler is being displayed, {@code false}
+     *          otherwise.
+     */
+    public boolean isShowingProfiler() {
+        return showProfiler;
+    } // isShowingProfiler()
+
+    /**
+     * Sets whether the profiler overlay is displayed in the top-left corner
+     * of this panel.
+     * 
+     * <p>The overlay graphs the time taken by each phase of the most recent
+     * frames: dispatching events, updating, validating, painting, applying
+     * filters and presenting the frame.  It also lists the objects in the
+     * display list which took the longest to draw, including their children.
+     * Measurements are only taken while the overlay is displayed, starting
+     * with the next frame.
+     * 
+     * @param   value   {@code true} if the profiler should be displayed,
+     *                  {@code false} if it should not be visible.
+     */
+    public void setShowProfiler( boolean value ) {
+        showProfiler = value;
+    } // setShowProfiler( boolean value )
+
     /**
      * Sets the target frame rate at which to update the displayed scene within
      * this panel.
@@ -167,17 +366,51 @@ public class DrawablePanel
 
         frameRate = value;
 
-        displayTimer.schedule(
-            new TimerTask() {
+        // The render loop picks up the new rate on its next frame
+        if (passiveRendering)
+            scheduleDisplayTask();
+    } // setFrameRate( double rate )
+
+    /**
+     * Replaces any existing passive repaint task with a new one that runs at
+     * the current {@code frameRate}.  The task only posts each frame to the
+     * event dispatch thread, where the scene is updated and painted.
+     */
+    private void scheduleDisplayTask() {
+        if (displayTask != null)
+            displayTask.cancel();
+
+        displayTask = new TimerTask() {
                 @Override
                 public void run() {
-                    repaint();
+                    if (framePending.compareAndSet(false, true))
+                        SwingUtilities.invokeLater(passiveFrame);
                 }
-            },
+            };
+
+        displayTimer.scheduleAtFixedRate(
+            displayTask,
             0,
-            (long)(1000 / frameRate)
+            Math.max(1, (long)(1000 / frameRate))
         );
-    } // setFrameRate( double rate )
+    } // scheduleDisplayTask()
+
+    /**
+     * Runs a single passive frame on the event dispatch thread, and requests
+     * a repaint of the area that changed.
+     */
+    private void runPassiveFrame() {
+        framePending.set(false);
+
+        if (!passiveRendering)
+            return;
+
+        stepFrame( System.nanoTime() );
+
+        Rectangle dirty = takeDirtyRegion();
+        if (dirty != null)
+            repaint(dirty);
+    } // runPassiveFrame()
 
     /**
      * Retrieves the target frame rate at which the displayed scene within this
@@ -191,26 +424,291 @@ public class DrawablePanel
     } // getFrameRate()
 
     /**
-     * Retrieves the root Drawable stage that is being rendered into this panel.
+     * Determines whether the scene is actively rendered by a dedicated render
+     * thread.
      * 
-     * @return  The root Drawable stage that is being rendered into this panel.
+     * @return  {@code true} if active rendering is enabled, {@code false} if
+     *          the scene is rendered through Swing repaint requests.
      */
-    public Stage getStage() {
-        return stage;
-    } // getStage()
+    public boolean isActiveRendering() {
+        return activeRendering;
+    } // isActiveRendering()
 
-    @Override
-    public void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    /**
+     * Sets whether the scene is actively rendered by a dedicated render
+     * thread.
+     * 
+     * <p>When enabled, a heavyweight canvas is placed over the panel and the
+     * scene is drawn into a double buffered BufferStrategy, paced to the
+     * target {@code frameRate}.  Mouse events from the canvas are routed to
+     * the stage as usual, and keyboard focus remains with this panel.
+     * 
+     * @param   value   {@code true} to enable active rendering, {@code false}
+     *                  to render through Swing repaint requests.
+     */
+    public synchronized void setActiveRendering( boolean value ) {
+        if (activeRendering == value)
+            return;
+
+        activeRendering = value;
 
-        Graphics2D g2 = (Graphics2D) g;
-        stage.draw(g2);
+        if (activeRendering) {
+            passiveRendering = false;
+
+            if (displayTask != null) {
+                displayTask.cancel();
+                displayTask = null;
+            }
+
+            if (canvas == null) {
+                canvas = new Canvas();
+                canvas.setIgnoreRepaint(true);
+                canvas.setFocusable(false);
+                canvas.addMouseListener(this);
+                canvas.addMouseMotionListener(this);
+            }
+
+            setIgnoreRepaint(true);
+            add(canvas, BorderLayout.CENTER);
+            revalidate();
+
+            // The render thread becomes the scene thread once it runs its
+            // first frame
+            SceneQueue.releaseSceneThread();
+
+            renderLoop = new RenderLoop(this, canvas, lastRenderLoop);
+            lastRenderLoop = renderLoop;
+            renderLoop.start();
+        } else {
+            // Passive painting resumes once the render thread has finished
+            // its last frame and exited
+            renderLoop.stop();
+            renderLoop = null;
+
+            remove(canvas);
+            revalidate();
+            setIgnoreRepaint(false);
+        }
+    } // setActiveRendering( boolean value )
+
+    /**
+     * Called on the render thread as it exits, after it last touched the
+     * scene.  Hands the scene back to passive painting, unless active
+     * rendering was enabled again in the meantime, in which case the newer
+     * render loop takes over once this one has exited.
+     * 
+     * @param   loop    The render loop that exited.
+     */
+    synchronized void renderLoopExited( RenderLoop loop ) {
+        if (activeRendering || (loop != lastRenderLoop))
+            return;
+
+        SceneQueue.releaseSceneThread();
+        passiveRendering = true;
+
+        scheduleDisplayTask();
+        repaint();
+    } // renderLoopExited( RenderLoop loop )
+
+    /**
+     * Determines whether frame presentation is paced to the display refresh
+     * when actively rendering.
+     * 
+     * @return  {@code true} if vsync pacing is enabled, {@code false}
+     *          otherwise.
+     */
+    public boolean isVSync() {
+        return vsync;
+    } // isVSync()
+
+    /**
+     * Sets whether frame presentation is paced to the display refresh when
+     * actively rendering.
+     * 
+     * <p>When enabled, the render loop attempts to use a page flipping
+     * BufferStrategy, and rounds the frame period to a whole number of
+     * display refresh intervals when the refresh rate is known.  This
+     * setting has no effect on passive rendering.
+     * 
+     * @param   value   {@code true} to enable vsync pacing, {@code false}
+     *                  to disable it.
+     */
+    public void setVSync( boolean value ) {
+        vsync = value;
+    } // setVSync( boolean value )
+
+    /**
+     * Retrieves the rate at which fixed update steps are issued to the frame
+     * listeners.
+     * 
+     * @return  The number of update steps per second.
+     */
+    public double getUpdateRate() {
+        return updateRate;
+    } // getUpdateRate()
+
+    /**
+     * Sets the rate at which fixed update steps are issued to the frame
+     * listeners.
+     * 
+     * @param   value   The number of update steps per second.  Must be
+     *                  greater than 0 and no greater than 1000.
+     * 
+     * @throws  IllegalArgumentException if the {@code value} is less than or
+     *          equal to 0 or greater than 1000.
+     */
+    public void setUpdateRate( double value ) {
+        if ((value <= 0) || (value > 1000))
+            throw new IllegalArgumentException("The updateRate must be greater than 0 and no greater than 1000.");
+
+        updateRate = value;
+    } // setUpdateRate( double value )
+
+    /**
+     * Registers a listener to be notified of update steps and rendered
+     * frames.
+     * 
+     * @param   listener    The listener to add.
+     */
+    public synchronized void addFrameListener( FrameListener listener ) {
+        frameListeners = EventBase.addListener(frameListeners, listener);
+    } // addFrameListener( FrameListener listener )
+
+    /**
+     * Removes a previously registered frame listener.
+     * 
+     * @param   listener    The listener to remove.
+     */
+    public synchronized void removeFrameListener( FrameListener listener ) {
+        frameListeners = EventBase.removeListener(frameListeners, listener);
+    } // removeFrameListener( FrameListener listener )
+
+    /**
+     * Advances the fixed-timestep frame loop to the specified time, issuing
+     * as many update steps as have elapsed.  Any tasks waiting in the
+     * {@link SceneQueue} are run first, followed by a tick of the
+     * {@link FrameClock} driving the running animations.  The frame listeners
+     * are then notified that a frame is about to be rendered.
+     * 
+     * <p>Called on the event dispatch thread by the passive repaint task, or
+     * on the render thread by the render loop, but never by both at once.
+     * The calling thread becomes the scene thread.
+     * 
+     * @param   now The current {@code System.nanoTime()} value.
+     * 
+     * @return  The fraction of the next update step that has already elapsed,
+     *          in the range 0 to 1.
+     */
+    double stepFrame( long now ) {
+        FrameProfiler.beginFrame(now, showProfiler);
+
+        FrameProfiler.enter(FrameProfiler.EVENTS);
+        SceneQueue.runPending();
+        FrameProfiler.exit();
+
+        FrameProfiler.enter(FrameProfiler.UPDATE);
+        FrameClock.tick(now);
+
+        long step = (long)(1000000000L / updateRate);
+
+        if (lastStepTime != 0)
+            stepAccumulator += now - lastStepTime;
+
+        lastStepTime = now;
+
+        if (stepAccumulator > step * MAX_UPDATE_STEPS)
+            stepAccumulator = step * MAX_UPDATE_STEPS;
+
+        double delta = step / 1000000000.0;
+
+        while (stepAccumulator >= step) {
+            stepAccumulator -= step;
+            simulationTime += step;
+
+            EventBase.notifyListeners(
+                frameListeners,
+                frameEvent.reset(simulationTime, delta, 0),
+                (listener, evt) -> { listener.frameUpdate(evt); }
+            );
+        } // while
+
+        double interpolation = (double)stepAccumulator / step;
+
+        EventBase.notifyListeners(
+            frameListeners,
+            frameEvent.reset(simulationTime, delta, interpolation),
+            (listener, evt) -> { listener.frameRender(evt); }
+        );
+
+        FrameProfiler.exit();
+
+        return interpolation;
+    } // stepFrame( long now )
+
+    /**
+     * Retrieves and clears the area of this panel that needs to be redrawn.
+     * 
+     * <p>The frame rate display and profiler overlay are always included
+     * while they are shown, so that they continue to update.  The profiler
+     * overlay is included once more after it is hidden, to erase it.
+     * 
+     * @return  The area that needs to be redrawn, or {@code null} if nothing
+     *          needs to be redrawn.  The rectangle is reused, and only valid
+     *          until the next call.
+     */
+    Rectangle takeDirtyRegion() {
+        Rectangle rv = dirtyRegion;
+        boolean dirty = stage.takeDirtyRegion(rv);
+
+        if (showFrameRate)
+            dirty = addDirtyRect(rv, dirty, getWidth() - 260, getHeight() - 45, 260, 45);
+
+        Rectangle r = profilerBounds;
+        if (r != null)
+            dirty = addDirtyRect(rv, dirty, r.x, r.y, r.width, r.height);
+
+        profilerBounds = r = (FrameProfiler.enabled ? FrameProfiler.getBounds() : null);
+        if (r != null)
+            dirty = addDirtyRect(rv, dirty, r.x, r.y, r.width, r.height);
+
+        return (dirty ? rv : null);
+    } // takeDirtyRegion()
+
+    /**
+     * Adds a rectangle to the dirty region being built in place.
+     * 
+     * @param   rv      The dirty region.
+     * @param   dirty   Whether {@code rv} holds an area yet.
+     * 
+     * @return  {@code true}, as {@code rv} now holds an area.
+     */
+    private static boolean addDirtyRect( Rectangle rv, boolean dirty, int x, int y, int w, int h ) {
+        if (!dirty) {
+            rv.setBounds(x, y, w, h);
+        } else {
+            rv.add(x, y);
+            rv.add(x + w, y + h);
+        }
+
+        return true;
+    } // addDirtyRect( Rectangle rv, boolean dirty, int x, int y, int w, int h )
+
+    /**
+     * Renders the stage and, if enabled, the frame rate display and profiler
+     * overlay.
+     * 
+     * @param   g               The graphics context to render into.
+     */
+    void renderFrame( Graphics2D g ) {
+        FrameProfiler.enter(FrameProfiler.PAINT);
+        stage.draw(g);
+        FrameProfiler.exit();
 
         if (showFrameRate) {
             ++frameCount;
 
-            long curTime = System.currentTimeMillis();
-            double rate = (curTime - lastFrameTime);
+            long curTime = System.nanoTime();
+            double rate = (curTime - lastFrameTime) / 1000000.0;
 
             if (rate > 500) {
                 lastFrameRate = 1000 / (rate / frameCount);
@@ -219,17 +717,37 @@ public class DrawablePanel
             }
 
             frameRateFont.drawText(
-                g2,
+                g,
                 getWidth() - 10, getHeight() - 35,
                 String.format("%.1f / %.1f", lastFrameRate, frameRate),
                 BitmapFont.ALIGN_RIGHT
             );
         }
+
+        if (FrameProfiler.enabled)
+            FrameProfiler.paint(g, frameRate);
+    } // renderFrame( Graphics2D g )
+
+    /**
+     * Retrieves the root Drawable stage that is being rendered into this panel.
+     * 
+     * @return  The root Drawable stage that is being rendered into this panel.
+     */
+    public Stage getStage() {
+        return stage;
+    } // getStage()
+
+    @Override
+    public void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        if (passiveRendering)
+            renderFrame( (Graphics2D) g );
     } // paintComponent(Graphics g)
 
     /**
      * Processes an AWT MouseEvent, by routing it to the embedded Drawable
-     * stage if it has not already been consumed.
+     * stage on the scene thread if it has not already been consumed.
      * 
      * @param   e   The AWT MouseEvent to process.
      */
@@ -237,21 +755,101 @@ public class DrawablePanel
         if (e.isConsumed())
             return;
 
-        Point2D pt = new Point2D.Double(e.getX(), e.getY());
+        endMouseMoves();
+        SceneQueue.invoke(() -> { dispatchMouseEvent(e); });
+    } // _processMouseEvent( MouseEvent e )
+
+    /**
+     * Routes an AWT mouse move or drag event to the embedded Drawable stage
+     * on the scene thread if it has not already been consumed.  If a queued
+     * move hasn't been dispatched yet, its event is replaced instead of
+     * queueing another.
+     * 
+     * @param   e   The AWT MouseEvent to process.
+     */
+    private void queueMouseMove( MouseEvent e ) {
+        if (e.isConsumed())
+            return;
+
+        MouseMoveTask task = mouseMoveTask;
+        if (task != null) {
+            // The scene thread only ever takes the event, so replacing it only
+            // fails once the task has run
+            MouseEvent waiting = task.get();
+            if ((waiting != null) && task.compareAndSet(waiting, e))
+                return;
+        }
+
+        mouseMoveTask = task = new MouseMoveTask(e);
+        SceneQueue.invokeLater(task);
+    } // queueMouseMove( MouseEvent e )
+
+    /**
+     * Ends the current run of coalesced mouse moves before another mouse
+     * event is routed to the stage, so that later moves are queued behind
+     * that event.  If the event will be dispatched immediately because this
+     * is the scene thread, the waiting move is dispatched first.
+     */
+    private void endMouseMoves() {
+        MouseMoveTask task = mouseMoveTask;
+        mouseMoveTask = null;
+
+        if ((task != null) && SceneQueue.isSceneThread())
+            task.run();
+    } // endMouseMoves()
+
+    /**
+     * Queued task dispatching the latest of a run of coalesced mouse moves.
+     * The task holds the event until it runs, and is empty afterwards.
+     */
+    @SuppressWarnings("serial")
+    private final class MouseMoveTask
+        extends AtomicReference<MouseEvent>
+        implements Runnable
+    {
+
+        /**
+         * Constructs a new instance.
+         * 
+         * @param   e   The first mouse move event of the run.
+         */
+        MouseMoveTask( MouseEvent e ) {
+            super(e);
+        } // MouseMoveTask( MouseEvent e )
+
+        @Override
+        public void run() {
+            MouseEvent e = getAndSet(null);
+            if (e != null)
+                dispatchMouseEvent(e);
+        } // run()
+
+    } // class MouseMoveTask
+
+    /**
+     * Routes an AWT MouseEvent to the embedded Drawable stage.  Must be
+     * called on the scene thread.
+     * 
+     * @param   e   The AWT MouseEvent to dispatch.
+     */
+    private void dispatchMouseEvent( MouseEvent e ) {
+        FrameProfiler.enter(FrameProfiler.EVENTS);
+
+        Point2D pt = mousePosition;
+        pt.setLocation(e.getX(), e.getY());
 
         boolean processed = false;
-        try {
-            if (stage.processMouseEvent( stage.getTransform().inverseTransform(pt, null), e ) != null) {
-                // The mouse event was processed by an object in the scene.
-                processed = true;
-            }
-        } catch (NoninvertibleTransformException ex) {
-            //Logger.getLogger(Drawable.class.getName()).log(Level.SEVERE, null, ex);
+        AffineTransform inv = stage.getLocalInverseTransform();
+        if ((inv != null) && stage.processMouseEvent( inv.transform(pt, pt), e )) {
+            // The mouse event was processed by an object in the scene.
+            processed = true;
         }
 
         if (!processed && ((e.getID() == MouseEvent.MOUSE_MOVED) || (e.getID() == MouseEvent.MOUSE_DRAGGED)))
             Drawable.dispatchEnterLeaveEvents( null, e );
-    } // _processMouseEvent( MouseEvent e )
+
+        FrameProfiler.exit();
+    } // dispatchMouseEvent( MouseEvent e )
 
     /**
      * AWT mouse click events are not processed by this listener.
@@ -279,7 +877,8 @@ public class DrawablePanel
      */
     @Override
     public void mouseExited(MouseEvent e) {
-        Drawable.dispatchEnterLeaveEvents( null, e );
+        endMouseMoves();
+        SceneQueue.invoke(() -> { Drawable.dispatchEnterLeaveEvents( null, e ); });
     } // mouseExited(MouseEvent e)
 
     /**
@@ -306,29 +905,29 @@ public class DrawablePanel
 
     /**
      * Captures AWT mouse dragged events and routes them to the embedded
-     * stage as appropriate.
+     * stage, coalescing those that arrive before the last is dispatched.
      * 
      * @param   e   The AWT MouseEvent that occurred.
      */
     @Override
     public void mouseDragged(MouseEvent e) {
-        _processMouseEvent(e);
+        queueMouseMove(e);
     } // mouseDragged(MouseEvent e)
 
     /**
      * Captures AWT mouse move events and routes them to the embedded
-     * stage as appropriate.
+     * stage, coalescing those that arrive before the last is dispatched.
      * 
      * @param   e   The AWT MouseEvent that occurred.
      */
     @Override
     public void mouseMoved(MouseEvent e) {
-        _processMouseEvent(e);
+        queueMouseMove(e);
     } // mouseMoved(MouseEvent e)
 
     /**
      * Processes an AWT KeyEvent, by routing it to the embedded Drawable
-     * stage if it has not already been consumed.
+     * stage on the scene thread if it has not already been consumed.
      * 
      * @param   e   The AWT KeyEvent to process.
      */
@@ -336,7 +935,11 @@ public class DrawablePanel
         if (e.isConsumed())
             return;
 
-        stage.processKeyEvent( e );
+        SceneQueue.invoke(() -> {
+                FrameProfiler.enter(FrameProfiler.EVENTS);
+                stage.processKeyEvent( e );
+                FrameProfiler.exit();
+            });
     } // _processKeyEvent( MouseEvent e )
 
     /**
@@ -100,7 +100,7 @@ public class FocusManager
     } // getCurrentFocus()
 
 // TODO: Document
-    public synchronized void setFocus( Drawable value, boolean temporary ) {
+    public void setFocus( Drawable value, boolean temporary ) {
         if (focus == value)
             return;
 
@@ -137,6 +137,9 @@ System.out.println("FocusManager.setFocus: setting pending focus, since object i
         focus = value;
 
         if (oldFocus != null) {
+            // Erase the focus indicator
+            oldFocus.repaint();
+
 System.out.println("FocusManager.setFocus: updating old focus: oldFocus="+ oldFocus);
             oldFocus.removeTreeListener(focusTreeListener);
             oldFocus.removeDrawableListener(focusDrawableListener);
@@ -171,6 +174,8 @@ System.out.println("FocusManager.setFocus: updating new focus: oldFocus="+ focus
             focus.addTreeListener(focusTreeListener);
             focus.addDrawableListener(focusDrawableListener);
 
+            focus.repaint();
+
             if (hasSystemFocus) {
 System.out.println("FocusManager.setFocus: new focus: process focus event");
                 focus.processFocusEvent(
@@ -203,6 +208,7 @@ System.out.println("FocusManager.setFocus: done");
         hasSystemFocus = true;
 
         if (focus != null) {
+            focus.repaint();
             focus.processFocusEvent(
                 new DrawableFocusEvent(focus, DrawableFocusEvent.FOCUS_GAINED, false, null )
             );
@@ -220,6 +226,7 @@ System.out.println("FocusManager.setFocus: done");
         hasSystemFocus = false;
 
         if (focus != null) {
+            focus.repaint();
             focus.processFocusEvent(
                 new DrawableFocusEvent(focus, DrawableFocusEvent.FOCUS_LOST, false, null )
             );
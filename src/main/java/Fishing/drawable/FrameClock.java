@@ -0,0 +1,118 @@
+
+package Fishing.drawable;
+
+/**
+ * Shared clock driving all running animations from the frame loop.
+ *
+ * <p>Rather than each animation scheduling its own timer task, running
+ * animations that are on a stage register with the clock, and the
+ * {@link DrawablePanel} ticks the clock once at the start of each frame on the
+ * scene thread.  Other time driven effects, such as {@link SwimEffect},
+ * register the same way.  Each animation then advances by however many frames its own
+ * frame rate calls for, based on the time elapsed since it last advanced, so
+ * animations stay in phase with painting and cost one pass per frame no
+ * matter how many are running.
+ *
+ * <p>Like the rest of the scene graph, the clock is only accessed on the
+ * scene thread.
+ *
+ * @author Brad
+ */
+final class FrameClock {
+
+    /**
+     * Something advanced by the clock, such as an {@link Animation}.
+     */
+    static abstract class Client {
+
+        /**
+         * The slot this client occupies in the clock, or -1 if not
+         * registered.  Managed by the FrameClock.
+         */
+        private int clockSlot = -1;
+
+        /**
+         * Advances the client to the specified time.  Invoked on the scene
+         * thread.
+         *
+         * @param   now The current {@code System.nanoTime()} value.
+         */
+        abstract void advanceClock( long now );
+
+    } // class Client
+
+    /**
+     * The registered clients.  Only the first {@link #count} elements are
+     * used.
+     */
+    private static Client[] clients = new Client[64];
+
+    /**
+     * The number of registered clients.
+     */
+    private static int count = 0;
+
+    /**
+     * Registers a client to be advanced on each tick.  Does nothing if the
+     * client is already registered.
+     *
+     * @param   c   The client to register.
+     */
+    static void add( Client c ) {
+        if (c.clockSlot >= 0)
+            return;
+
+        if (count == clients.length) {
+            Client[] t = new Client[count * 2];
+            System.arraycopy(clients, 0, t, 0, count);
+            clients = t;
+        }
+
+        c.clockSlot = count;
+        clients[count++] = c;
+    } // add( Client c )
+
+    /**
+     * Unregisters a client.  The last registered client is moved into the
+     * vacated slot.  Does nothing if the client isn't registered.
+     *
+     * @param   c   The client to unregister.
+     */
+    static void remove( Client c ) {
+        int slot = c.clockSlot;
+        if (slot < 0)
+            return;
+
+        Client last = clients[--count];
+        clients[slot] = last;
+        last.clockSlot = slot;
+
+        clients[count] = null;
+        c.clockSlot = -1;
+    } // remove( Client c )
+
+    /**
+     * Advances the registered clients to the specified time.
+     *
+     * <p>Clients may start or stop others while being advanced.  The
+     * clients are visited from the last slot down, so those registered
+     * during the tick wait for the next one, and a client moved into a
+     * vacated slot that was already visited is at most advanced again at the
+     * same time, which has no effect.
+     *
+     * @param   now The current {@code System.nanoTime()} value.
+     */
+    static void tick( long now ) {
+        for (int i = count - 1; i >= 0; --i) {
+            if (i < count)
+                clients[i].advanceClock(now);
+        } // for
+    } // tick( long now )
+
+    /**
+     * Prevent instantiation of this utility class.
+     */
+    private FrameClock() {
+    } // FrameClock()
+
+} // class FrameClock
@@ -0,0 +1,539 @@
+
+package Fishing.drawable;
+
+import Fishing.drawable.text.BitmapFont;
+import Fishing.drawable.text.FontRegistry;
+import Fishing.drawable.text.GeneratedFont;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Profiler measuring where the time of each frame goes, and drawing the
+ * results as an overlay on the {@link DrawablePanel}.
+ *
+ * <p>The frame loop is split into phases: running the update steps and
+ * animations, validating objects, painting, applying filters, presenting the
+ * frame and dispatching queued events.  Phases are timed exclusively, so the
+ * time spent validating an object while it is painted counts as validation
+ * only.  The overlay graphs the time of each phase for the most recent frames
+ * against the frame interval and the target frame period.
+ *
+ * <p>The profiler also measures the time taken to draw each object in the
+ * display list, including its children, and lists the objects whose subtrees
+ * were the most expensive over the last half-second.
+ *
+ * <p>The profiler is switched on or off at the start of a frame.  While it is
+ * off, the only cost to the frame loop is a check of the {@link #enabled}
+ * flag at each measured point.
+ *
+ * <p>Like the rest of the scene graph, the profiler is only accessed on the
+ * scene thread.
+ *
+ * @author Brad
+ */
+final class FrameProfiler {
+
+    /**
+     * Phase for the fixed update steps, animations and frame listeners.
+     */
+    static final int UPDATE     = 0;
+
+    /**
+     * Phase for validating objects in the display list.
+     */
+    static final int VALIDATE   = 1;
+
+    /**
+     * Phase for painting the display list.
+     */
+    static final int PAINT      = 2;
+
+    /**
+     * Phase for applying object filters.
+     */
+    static final int FILTERS    = 3;
+
+    /**
+     * Phase for presenting the rendered frame on the screen.
+     */
+    static final int BLIT       = 4;
+
+    /**
+     * Phase for dispatching input events and other queued scene tasks.
+     */
+    static final int EVENTS     = 5;
+
+    /**
+     * The number of phases.
+     */
+    private static final int PHASE_COUNT = 6;
+
+    /**
+     * The names of the phases, as shown in the overlay.
+     */
+    private static final String[] PHASE_NAMES = {
+        "update", "validate", "paint", "filters", "blit", "events"
+    };
+
+    /**
+     * The colors of the phases in the frame time graph.
+     */
+    private static final Color[] PHASE_COLORS = {
+        new Color(0x4caf50), new Color(0xffeb3b), new Color(0x2196f3),
+        new Color(0xe040fb), new Color(0xff9800), new Color(0xf44336)
+    };
+
+    /**
+     * Indicates that no phase is being timed.
+     */
+    private static final int NO_PHASE = -1;
+
+    /**
+     * The number of frames shown in the frame time graph.
+     */
+    private static final int HISTORY = 120;
+
+    /**
+     * The number of most expensive subtrees listed.
+     */
+    private static final int TOP_COUNT = 8;
+
+    /**
+     * Interval, in nanoseconds, at which the text of the overlay is updated.
+     */
+    private static final long REPORT_INTERVAL = 500000000L;
+
+    private static final int PADDING = 6;
+    private static final int BAR_WIDTH = 2;
+    private static final int MIN_GRAPH_HEIGHT = 64;
+    private static final int OVERLAY_WIDTH = HISTORY * BAR_WIDTH + 3 * PADDING + 130;
+    private static final Color BACKGROUND = new Color(0, 0, 0, 0xb0);
+    private static final Color INTERVAL_COLOR = new Color(0x60, 0x60, 0x60);
+    private static final Color TARGET_COLOR = Color.WHITE;
+
+    /**
+     * Whether measurements are being taken during the current frame.  Only
+     * changes at the start of a frame.
+     */
+    static boolean enabled = false;
+
+    /**
+     * The {@code System.nanoTime()} value when the current frame started, or
+     * 0 if no frame has been profiled yet.
+     */
+    private static long frameStart = 0;
+
+    /**
+     * Time spent in each phase during the current frame, in nanoseconds.
+     */
+    private static final long[] phaseTime = new long[PHASE_COUNT];
+
+    /**
+     * The phase being timed, or {@link #NO_PHASE}.
+     */
+    private static int current = NO_PHASE;
+
+    /**
+     * The {@code System.nanoTime()} value when the current phase was entered
+     * or resumed.
+     */
+    private static long phaseMark;
+
+    /**
+     * The phases interrupted by nested phases.  Only the first
+     * {@link #phaseDepth} elements are used.
+     */
+    private static int[] phaseStack = new int[8];
+    private static int phaseDepth = 0;
+
+    /**
+     * The start time of each object being drawn, and the time taken by the
+     * children drawn so far, indexed by draw depth.  Only the first
+     * {@link #nodeDepth} elements are used.
+     */
+    private static long[] nodeStart = new long[16];
+    private static long[] nodeChildTime = new long[16];
+    private static int nodeDepth = 0;
+
+    /**
+     * The frame interval and phase times of the most recent frames, in
+     * nanoseconds.  Written in a circle at {@link #historyPos}.
+     */
+    private static final long[] historyInterval = new long[HISTORY];
+    private static final long[][] historyPhases = new long[HISTORY][PHASE_COUNT];
+    private static int historyPos = 0;
+
+    /**
+     * Draw times of the objects drawn since the last report, each holding the
+     * total time including children, the time excluding children and the
+     * number of times drawn.
+     */
+    private static final IdentityHashMap<Drawable, long[]> nodeTimes = new IdentityHashMap<>();
+
+    /**
+     * Totals since the last report.
+     */
+    private static long reportStart = 0;
+    private static int reportFrames = 0;
+    private static long reportMaxInterval = 0;
+    private static final long[] reportPhaseTime = new long[PHASE_COUNT];
+
+    /**
+     * The text lines shown below the graph, updated with each report.
+     */
+    private static String[] lines = new String[0];
+
+    /**
+     * The font used to draw the overlay text.  Created the first time the
+     * overlay is drawn.
+     */
+    private static GeneratedFont font;
+
+    /**
+     * Starts a new frame, recording the measurements of the previous one.
+     *
+     * @param   now     The current {@code System.nanoTime()} value.
+     * @param   enable  Whether measurements should be taken during the frame.
+     */
+    static void beginFrame( long now, boolean enable ) {
+        if (enabled) {
+            exitAll(now);
+
+            if (frameStart != 0)
+                record(now - frameStart);
+
+            if (now - reportStart >= REPORT_INTERVAL)
+                report(now);
+        }
+
+        if (enable && !enabled) {
+            // Start over, rather than reporting the time profiling was off
+            for (int i = 0; i < HISTORY; ++i) {
+                historyInterval[i] = 0;
+                Arrays.fill(historyPhases[i], 0);
+            }
+
+            resetReport(now);
+            lines = new String[0];
+        } else if (!enable && enabled) {
+            nodeTimes.clear();
+        }
+
+        enabled = enable;
+        frameStart = now;
+        Arrays.fill(phaseTime, 0);
+        current = NO_PHASE;
+        phaseDepth = 0;
+        nodeDepth = 0;
+    } // beginFrame( long now, boolean enable )
+
+    /**
+     * Starts timing a phase.  The phase being timed, if any, is suspended
+     * until the matching call to {@link #exit()}.
+     *
+     * @param   phase   The phase to time.
+     */
+    static void enter( int phase ) {
+        if (!enabled)
+            return;
+
+        long now = System.nanoTime();
+        if (current != NO_PHASE)
+            phaseTime[current] += now - phaseMark;
+
+        if (phaseDepth == phaseStack.length)
+            phaseStack = Arrays.copyOf(phaseStack, phaseDepth * 2);
+
+        phaseStack[phaseDepth++] = current;
+        current = phase;
+        phaseMark = now;
+    } // enter( int phase )
+
+    /**
+     * Stops timing the phase started by the last call to
+     * {@link #enter(int)}, and resumes the phase it interrupted.
+     */
+    static void exit() {
+        if (!enabled || (phaseDepth == 0))
+            return;
+
+        long now = System.nanoTime();
+        if (current != NO_PHASE)
+            phaseTime[current] += now - phaseMark;
+
+        current = phaseStack[--phaseDepth];
+        phaseMark = now;
+    } // exit()
+
+    /**
+     * Stops timing all phases.
+     */
+    private static void exitAll( long now ) {
+        if (current != NO_PHASE)
+            phaseTime[current] += now - phaseMark;
+
+        current = NO_PHASE;
+        phaseDepth = 0;
+    } // exitAll( long now )
+
+    /**
+     * Marks the start of drawing an object.  Must be followed by a call to
+     * {@link #exitNode(Drawable)} once the object and its children are drawn.
+     */
+    static void enterNode() {
+        if (nodeDepth == nodeStart.length) {
+            nodeStart = Arrays.copyOf(nodeStart, nodeDepth * 2);
+            nodeChildTime = Arrays.copyOf(nodeChildTime, nodeDepth * 2);
+        }
+
+        nodeChildTime[nodeDepth] = 0;
+        nodeStart[nodeDepth++] = System.nanoTime();
+    } // enterNode()
+
+    /**
+     * Marks the end of drawing an object, and adds the time taken to its
+     * totals.
+     *
+     * @param   obj The object that was drawn.
+     */
+    static void exitNode( Drawable obj ) {
+        if (nodeDepth == 0)
+            return;
+
+        --nodeDepth;
+        long total = System.nanoTime() - nodeStart[nodeDepth];
+
+        if (nodeDepth > 0)
+            nodeChildTime[nodeDepth - 1] += total;
+
+        long[] t = nodeTimes.get(obj);
+        if (t == null) {
+            t = new long[3];
+            nodeTimes.put(obj, t);
+        }
+
+        t[0] += total;
+        t[1] += total - nodeChildTime[nodeDepth];
+        ++t[2];
+    } // exitNode( Drawable obj )
+
+    /**
+     * Adds the measurements of a completed frame to the history and the
+     * report totals.
+     */
+    private static void record( long interval ) {
+        historyInterval[historyPos] = interval;
+        System.arraycopy(phaseTime, 0, historyPhases[historyPos], 0, PHASE_COUNT);
+        historyPos = (historyPos + 1) % HISTORY;
+
+        ++reportFrames;
+        if (interval > reportMaxInterval)
+            reportMaxInterval = interval;
+
+        for (int i = 0; i < PHASE_COUNT; ++i)
+            reportPhaseTime[i] += phaseTime[i];
+    } // record( long interval )
+
+    /**
+     * Updates the overlay text from the totals since the last report, and
+     * starts a new report.
+     */
+    private static void report( long now ) {
+        if (reportFrames == 0)
+            return;
+
+        double frames = reportFrames;
+        double avgInterval = (now - reportStart) / frames;
+
+        ArrayList<String> rv = new ArrayList<>(4 + TOP_COUNT);
+        rv.add(String.format(
+                "frame %.2f ms  max %.2f ms  %.1f fps",
+                avgInterval / 1e6, reportMaxInterval / 1e6, 1e9 / avgInterval
+            ));
+
+        for (int i = 0; i < PHASE_COUNT; i += 3) {
+            rv.add(String.format(
+                    "%-8s %6.2f  %-8s %6.2f  %-8s %6.2f",
+                    PHASE_NAMES[i], reportPhaseTime[i] / frames / 1e6,
+                    PHASE_NAMES[i + 1], reportPhaseTime[i + 1] / frames / 1e6,
+                    PHASE_NAMES[i + 2], reportPhaseTime[i + 2] / frames / 1e6
+                ));
+        } // for
+
+        rv.add("subtree ms/frame   total    self");
+
+        // Pick the most expensive subtrees, and drop objects no longer drawn
+        ArrayList<Map.Entry<Drawable, long[]>> top = new ArrayList<>(TOP_COUNT + 1);
+        Iterator<Map.Entry<Drawable, long[]>> it = nodeTimes.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Drawable, long[]> e = it.next();
+            long[] t = e.getValue();
+            if (t[2] == 0) {
+                it.remove();
+                continue;
+            }
+
+            int i = top.size();
+            while ((i > 0) && (top.get(i - 1).getValue()[0] < t[0]))
+                --i;
+
+            if (i < TOP_COUNT) {
+                top.add(i, new AbstractMap.SimpleImmutableEntry<>(e.getKey(), t.clone()));
+                if (top.size() > TOP_COUNT)
+                    top.remove(TOP_COUNT);
+            }
+        } // while
+
+        for (Map.Entry<Drawable, long[]> e : top) {
+            long[] t = e.getValue();
+            rv.add(String.format(
+                    "%-16.16s %7.2f %7.2f",
+                    labelOf(e.getKey()), t[0] / frames / 1e6, t[1] / frames / 1e6
+                ));
+        } // for
+
+        lines = rv.toArray(new String[rv.size()]);
+
+        for (long[] t : nodeTimes.values())
+            Arrays.fill(t, 0);
+
+        resetReport(now);
+    } // report( long now )
+
+    /**
+     * Clears the report totals.
+     */
+    private static void resetReport( long now ) {
+        reportStart = now;
+        reportFrames = 0;
+        reportMaxInterval = 0;
+        Arrays.fill(reportPhaseTime, 0);
+    } // resetReport( long now )
+
+    /**
+     * Determines the label shown for an object in the list of subtrees.
+     */
+    private static String labelOf( Drawable obj ) {
+        String name = obj.getName();
+        if ((name != null) && !name.isEmpty())
+            return name;
+
+        name = obj.getClass().getSimpleName();
+        return name.isEmpty() ? obj.getClass().getName() : name;
+    } // labelOf( Drawable obj )
+
+    /**
+     * Creates the overlay font if it doesn't exist yet.
+     */
+    private static GeneratedFont getFont() {
+        if (font == null) {
+            font = FontRegistry.get( new Font(Font.MONOSPACED, Font.BOLD, 12) );
+        }
+
+        return font;
+    } // getFont()
+
+    /**
+     * Determines the height of a line of overlay text.
+     */
+    private static int getLineHeight() {
+        GeneratedFont f = getFont();
+        return f.getAscent() + f.getDescent() + 2;
+    } // getLineHeight()
+
+    /**
+     * Determines the height of the frame time graph, which is tall enough to
+     * fit the phase legend beside it.
+     */
+    private static int getGraphHeight() {
+        return Math.max(MIN_GRAPH_HEIGHT, PHASE_COUNT * getLineHeight());
+    } // getGraphHeight()
+
+    /**
+     * Retrieves the area of the panel covered by the overlay.
+     *
+     * @return  The bounds of the overlay.
+     */
+    static Rectangle getBounds() {
+        int height = 3 * PADDING + getGraphHeight() + (5 + TOP_COUNT) * getLineHeight();
+        return new Rectangle(PADDING, PADDING, OVERLAY_WIDTH, height);
+    } // getBounds()
+
+    /**
+     * Draws the overlay in the top-left corner of the panel.
+     *
+     * @param   g       The graphics context to draw into.
+     * @param   frameRate   The target frame rate of the panel.
+     */
+    static void paint( Graphics2D g, double frameRate ) {
+        Rectangle r = getBounds();
+        int graphHeight = getGraphHeight();
+
+        g.setColor(BACKGROUND);
+        g.fillRect(r.x, r.y, r.width, r.height);
+
+        // Scale the graph so the target frame period is at half its height
+        double period = 1e9 / frameRate;
+        double scale = graphHeight / (2 * period);
+        int left = r.x + PADDING;
+        int bottom = r.y + PADDING + graphHeight;
+
+        for (int i = 0; i < HISTORY; ++i) {
+            int slot = (historyPos + i) % HISTORY;
+            int x = left + i * BAR_WIDTH;
+
+            int h = (int)Math.min(graphHeight, historyInterval[slot] * scale);
+            g.setColor(INTERVAL_COLOR);
+            g.fillRect(x, bottom - h, BAR_WIDTH, h);
+
+            // Stack the phases from the bottom up
+            long[] phases = historyPhases[slot];
+            long sum = 0;
+            int y = bottom;
+            for (int p = 0; p < PHASE_COUNT; ++p) {
+                sum += phases[p];
+                int top = bottom - (int)Math.min(graphHeight, sum * scale);
+                if (top < y) {
+                    g.setColor(PHASE_COLORS[p]);
+                    g.fillRect(x, top, BAR_WIDTH, y - top);
+                    y = top;
+                }
+            } // for
+        } // for
+
+        g.setColor(TARGET_COLOR);
+        g.drawLine(left, bottom - graphHeight / 2, left + HISTORY * BAR_WIDTH - 1, bottom - graphHeight / 2);
+
+        // Phase legend beside the graph
+        GeneratedFont f = getFont();
+        int lineHeight = getLineHeight();
+        int legendX = left + HISTORY * BAR_WIDTH + PADDING;
+        for (int p = 0; p < PHASE_COUNT; ++p) {
+            int y = r.y + PADDING + p * lineHeight;
+            g.setColor(PHASE_COLORS[p]);
+            g.fillRect(legendX, y + 2, 8, lineHeight - 4);
+            f.drawText(g, legendX + 12, y, PHASE_NAMES[p], BitmapFont.ALIGN_LEFT);
+        } // for
+
+        int y = bottom + PADDING;
+        for (String line : lines) {
+            f.drawText(g, left, y, line, BitmapFont.ALIGN_LEFT);
+            y += lineHeight;
+        } // for
+    } // paint( Graphics2D g, double frameRate )
+
+    /**
+     * Prevent instantiation of this utility class.
+     */
+    private FrameProfiler() {
+    } // FrameProfiler()
+
+} // class FrameProfiler
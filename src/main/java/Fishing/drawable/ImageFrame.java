@@ -1,10 +1,15 @@
 
 package Fishing.drawable;
 
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 
 /**
- * An AnimationFrame subclass which simply wraps a buffered image.
+ * An AnimationFrame subclass which simply wraps a buffered image, or a region
+ * of one.
+ * 
+ * <p>A region is drawn straight from the source image, the same as a
+ * {@link SpriteFrame}, so no separate image is created for it.</p>
  * 
  * @author Brad
  */
@@ -13,10 +18,15 @@ public class ImageFrame
 {
 
     /**
-     * The image to render for this frame.
+     * The image to render for this frame, or containing the frame's region.
      */
     private final BufferedImage image;
 
+    /**
+     * The position of the frame's region within the {@code image}.
+     */
+    private final int x, y;
+
     /**
      * Constructs a new instance.
      * 
@@ -26,13 +36,79 @@ public class ImageFrame
      *                  displayed in an animation.
      */
     public ImageFrame(AnimationFrameSet<? extends AnimationFrame> frameset, BufferedImage image, long delay) {
-        super(frameset, image.getWidth(), image.getHeight(), delay);
-        this.image = image;
+        this(frameset, image, 0, 0, image.getWidth(), image.getHeight(), delay);
     }
 
+    /**
+     * Constructs a new instance whose image is a region of a larger image.
+     * 
+     * @param frameset  The frame set this frame belongs to.
+     * @param image     The image containing the frame's region.
+     * @param x         The horizontal position of the region within the
+     *                  image.
+     * @param y         The vertical position of the region within the
+     *                  image.
+     * @param width     The width of the region.
+     * @param height    The height of the region.
+     * @param delay     The number of milliseconds to show this frame when
+     *                  displayed in an animation.
+     * 
+     * @throws  IllegalArgumentException if the region is not entirely within
+     *          the image.
+     */
+    public ImageFrame(AnimationFrameSet<? extends AnimationFrame> frameset, BufferedImage image, int x, int y, int width, int height, long delay) {
+        super(frameset, width, height, delay);
+
+        if ((x < 0) || (y < 0) || (x + width > image.getWidth()) || (y + height > image.getHeight()))
+            throw new IllegalArgumentException("The region must be within the image.");
+
+        this.image = image;
+        this.x = x;
+        this.y = y;
+    } // ImageFrame(...)
+
+    /**
+     * Draws this frame's region of the image into the specified graphics
+     * context, straight from the image.
+     * 
+     * @param g The graphics context to draw the frame into.
+     * 
+     * @throws  NullPointerException if {@code g} is {@code null}.
+     */
+    @Override
+    public void paint(Graphics2D g) {
+        int width = getWidth();
+        int height = getHeight();
+
+        g.drawImage(
+            image,
+            0, 0, width, height,
+            x, y, x + width, y + height,
+            null
+        );
+    } // paint(Graphics2D g)
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>For a region, a view of the region is created on each call.</p>
+     */
     @Override
     BufferedImage getImage() {
-        return image;
+        if ((x == 0) && (y == 0) && (getWidth() == image.getWidth()) && (getHeight() == image.getHeight()))
+            return image;
+
+        return image.getSubimage(x, y, getWidth(), getHeight());
     } // getImage()
 
+    /**
+     * Retrieves the image the frame is taken from.
+     * 
+     * @return  The image containing the frame's region.
+     */
+    @Override
+    BufferedImage getSourceImage() {
+        return image;
+    } // getSourceImage()
+
 } // ImageFrame
@@ -0,0 +1,198 @@
+
+package Fishing.drawable;
+
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pool of translucent offscreen images, used by {@code Drawable.draw()} when
+ * an object must be rendered through an offscreen buffer to apply opacity or
+ * filters.
+ *
+ * <p>Images are grouped into buckets by graphics configuration and size, with
+ * sizes rounded up to a multiple of {@link #BUCKET_GRANULARITY} pixels, so
+ * objects of similar sizes share images and steady state frames don't
+ * allocate any.  Callers use the top left corner of an acquired image, which
+ * may be larger than requested, and must release it once they are done.
+ *
+ * <p>Acquired images are not cleared, since the destination of a filter is
+ * entirely overwritten anyway.  Callers rendering into an image are
+ * responsible for clearing it first.
+ *
+ * @author Brad
+ */
+final class ImagePool {
+
+    /**
+     * Image widths and heights are rounded up to a multiple of this value.
+     */
+    static final int BUCKET_GRANULARITY = 32;
+
+    /**
+     * Maximum number of idle images retained in each bucket.
+     */
+    private static final int MAX_IMAGES_PER_BUCKET = 4;
+
+    /**
+     * Maximum total number of pixels retained in idle images.  Images released
+     * beyond this limit are left for the garbage collector.
+     */
+    private static final long MAX_POOLED_PIXELS = 8L * 1024 * 1024;
+
+    /**
+     * A set of idle images sharing the same configuration and size.
+     */
+    private static final class Bucket {
+
+        /**
+         * The configuration the images are compatible with.
+         */
+        final GraphicsConfiguration config;
+
+        /**
+         * The width of the images, in pixels.
+         */
+        final int width;
+
+        /**
+         * The height of the images, in pixels.
+         */
+        final int height;
+
+        /**
+         * The idle images.
+         */
+        final ArrayDeque<BufferedImage> images = new ArrayDeque<>(MAX_IMAGES_PER_BUCKET);
+
+        Bucket( GraphicsConfiguration config, int width, int height ) {
+            this.config = config;
+            this.width = width;
+            this.height = height;
+        } // Bucket( GraphicsConfiguration config, int width, int height )
+
+    } // class Bucket
+
+    /**
+     * The buckets created so far.  Few distinct sizes are used at any time, so
+     * a linear search avoids allocating keys for a map lookup.
+     */
+    private final List<Bucket> buckets = new ArrayList<>();
+
+    /**
+     * The images currently acquired from the pool.  Only these are accepted
+     * back, so an image belonging to a caller is never pooled by mistake.
+     */
+    private final Set<BufferedImage> acquired = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Total number of pixels in the idle images.
+     */
+    private long pooledPixels = 0;
+
+    /**
+     * Acquires a translucent image at least the specified size.
+     *
+     * @param   config  The configuration the image must be compatible with.
+     * @param   w       The minimum width of the image, in pixels.
+     * @param   h       The minimum height of the image, in pixels.
+     *
+     * @return  An image which is not in use elsewhere.  The contents are
+     *          undefined.
+     *
+     * @throws  IllegalArgumentException if {@code w} or {@code h} is less than
+     *          or equal to 0.
+     */
+    synchronized BufferedImage acquire( GraphicsConfiguration config, int w, int h ) {
+        if ((w <= 0) || (h <= 0))
+            throw new IllegalArgumentException("The image width and height must be greater than 0.");
+
+        Bucket b = getBucket(config, roundUp(w), roundUp(h));
+
+        BufferedImage rv = b.images.pollFirst();
+        if (rv == null)
+            rv = config.createCompatibleImage(b.width, b.height, Transparency.TRANSLUCENT);
+        else
+            pooledPixels -= (long)b.width * b.height;
+
+        acquired.add(rv);
+        return rv;
+    } // acquire( GraphicsConfiguration config, int w, int h )
+
+    /**
+     * Returns an image previously obtained from {@code acquire()} to the pool.
+     *
+     * @param   config  The configuration the image was acquired for.
+     * @param   img     The image to release.  The caller must not use the
+     *                  image afterwards.  Images that weren't acquired from
+     *                  this pool, or were already released, are ignored.
+     */
+    synchronized void release( GraphicsConfiguration config, BufferedImage img ) {
+        if (!acquired.remove(img))
+            return;
+
+        int w = img.getWidth();
+        int h = img.getHeight();
+
+        Bucket b = getBucket(config, w, h);
+        long pixels = (long)w * h;
+
+        if ((b.images.size() >= MAX_IMAGES_PER_BUCKET)
+            || (pooledPixels + pixels > MAX_POOLED_PIXELS))
+        {
+            return;
+        }
+
+        b.images.addFirst(img);
+        pooledPixels += pixels;
+    } // release( GraphicsConfiguration config, BufferedImage img )
+
+    /**
+     * Discards all idle images.  Images currently acquired may still be
+     * released afterwards.
+     */
+    synchronized void clear() {
+        buckets.clear();
+        pooledPixels = 0;
+    } // clear()
+
+    /**
+     * Finds the bucket for the specified configuration and size, creating
+     * it if needed.
+     *
+     * @param   config  The configuration the images are compatible with.
+     * @param   w       The bucket width, in pixels.
+     * @param   h       The bucket height, in pixels.
+     *
+     * @return  The bucket.
+     */
+    private Bucket getBucket( GraphicsConfiguration config, int w, int h ) {
+        for (int i = 0, n = buckets.size(); i < n; ++i) {
+            Bucket b = buckets.get(i);
+            if ((b.width == w) && (b.height == h) && (b.config == config))
+                return b;
+        } // for
+
+        Bucket b = new Bucket(config, w, h);
+        buckets.add(b);
+        return b;
+    } // getBucket( GraphicsConfiguration config, int w, int h )
+
+    /**
+     * Rounds a dimension up to the next multiple of the bucket granularity.
+     *
+     * @param   value   The dimension to round.
+     *
+     * @return  The rounded dimension.
+     */
+    private static int roundUp( int value ) {
+        return (value + BUCKET_GRANULARITY - 1) / BUCKET_GRANULARITY * BUCKET_GRANULARITY;
+    } // roundUp( int value )
+
+} // class ImagePool
@@ -0,0 +1,136 @@
+
+package Fishing.drawable;
+
+import Fishing.drawable.events.DrawableMouseEvent;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Point2D;
+
+/**
+ * Reusable state for dispatching a single AWT mouse event through the
+ * display list.
+ *
+ * <p>A dispatch holds the mouse events sent to the target object and bubbled
+ * up to its ancestors, and a point for each level of the display list to
+ * transform the mouse position into.  Instances are pooled by
+ * {@link Drawable}, so dispatching mouse movement doesn't allocate once the
+ * pool and point stack have grown to fit the display list.
+ *
+ * <p>Like the rest of the scene graph, dispatches are only used on the scene
+ * thread.
+ *
+ * @author Brad
+ */
+final class MouseDispatch {
+
+    /**
+     * The event dispatched for the AWT event itself.  Created on first use.
+     */
+    private DrawableMouseEvent event;
+
+    /**
+     * The click event dispatched after a button release.  Created on first
+     * use.
+     */
+    private DrawableMouseEvent click;
+
+    /**
+     * The mouse position in the coordinate system of each level of the
+     * display list, indexed by depth.
+     */
+    private Point2D.Double[] points = new Point2D.Double[0];
+
+    /**
+     * Retrieves the point used to hold the mouse position at the specified
+     * depth in the display list.
+     *
+     * @param   depth   The depth in the display list, where 0 is the stage.
+     *
+     * @return  The point for the specified depth.
+     */
+    Point2D.Double getPoint( int depth ) {
+        if (depth >= points.length) {
+            Point2D.Double[] t = new Point2D.Double[Math.max(depth + 1, points.length * 2)];
+            System.arraycopy(points, 0, t, 0, points.length);
+            for (int i = points.length; i < t.length; ++i)
+                t[i] = new Point2D.Double();
+            points = t;
+        }
+
+        return points[depth];
+    } // getPoint( int depth )
+
+    /**
+     * Initializes the main event of this dispatch from an AWT event.
+     *
+     * @param   source  The object on which the event initially occurred.
+     * @param   id      The event ID.
+     * @param   evt     The AWT event being dispatched.
+     * @param   pt      The mouse position in the source object.
+     * @param   clickCount  The number of clicks.
+     *
+     * @return  The initialized event.
+     */
+    DrawableMouseEvent setEvent( Drawable source, int id, MouseEvent evt, Point2D pt, int clickCount ) {
+        event = init(event, source, id, evt, pt, clickCount);
+        return event;
+    } // setEvent( Drawable source, int id, MouseEvent evt, Point2D pt, int clickCount )
+
+    /**
+     * Retrieves the main event of this dispatch.
+     *
+     * @return  The event last initialized by {@link #setEvent}.
+     */
+    DrawableMouseEvent getEvent() {
+        return event;
+    } // getEvent()
+
+    /**
+     * Initializes the click event of this dispatch from an AWT event.
+     *
+     * @param   source  The object on which the event initially occurred.
+     * @param   evt     The AWT event being dispatched.
+     * @param   pt      The mouse position in the source object.
+     * @param   clickCount  The number of clicks.
+     *
+     * @return  The initialized event.
+     */
+    DrawableMouseEvent setClick( Drawable source, MouseEvent evt, Point2D pt, int clickCount ) {
+        click = init(click, source, DrawableMouseEvent.MOUSE_CLICKED, evt, pt, clickCount);
+        return click;
+    } // setClick( Drawable source, MouseEvent evt, Point2D pt, int clickCount )
+
+    /**
+     * Retrieves the click event of this dispatch.
+     *
+     * @return  The event last initialized by {@link #setClick}.
+     */
+    DrawableMouseEvent getClick() {
+        return click;
+    } // getClick()
+
+    /**
+     * Initializes an event, creating it if it doesn't exist yet.
+     */
+    private static DrawableMouseEvent init(
+                DrawableMouseEvent e, Drawable source, int id, MouseEvent evt, Point2D pt, int clickCount
+            )
+    {
+        if (e == null)
+            return new DrawableMouseEvent(
+                            source, id, evt.getWhen(), evt.getModifiersEx(),
+                            pt.getX(), pt.getY(),
+                            evt.getXOnScreen(), evt.getYOnScreen(),
+                            clickCount,
+                            evt.getButton()
+                        );
+
+        return e.reset(
+                    source, id, evt.getWhen(), evt.getModifiersEx(),
+                    pt.getX(), pt.getY(),
+                    evt.getXOnScreen(), evt.getYOnScreen(),
+                    clickCount,
+                    evt.getButton()
+                );
+    } // init(...)
+
+} // class MouseDispatch
@@ -0,0 +1,203 @@
+
+package Fishing.drawable;
+
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Pool of reusable objects, for objects which are frequently created and
+ * discarded, such as fish and floating score text.
+ *
+ * <p>Objects are created on demand by a factory when the pool has no idle
+ * object to hand out, and callers return objects they no longer need with
+ * {@link #release(Object)}.  The pool doesn't reset the objects; callers are
+ * responsible for putting an acquired object into the state they need.  At
+ * most {@code maxIdle} idle objects are retained, and objects released beyond
+ * that limit are left for the garbage collector.
+ *
+ * <p>The pool counts how objects pass through it, so the effectiveness of
+ * pooling can be monitored.
+ *
+ * <p>This class is not thread safe.  Pools shared between threads must be
+ * synchronized externally.
+ *
+ * @param   <T> The type of the pooled objects.
+ *
+ * @author Brad
+ */
+public final class ObjectPool<T> {
+
+    /**
+     * Creates new objects when no idle object is available.
+     */
+    private final Supplier<? extends T> factory;
+
+    /**
+     * Maximum number of idle objects retained.
+     */
+    private final int maxIdle;
+
+    /**
+     * The idle objects, the most recently released last.
+     */
+    private final ArrayList<T> idle;
+
+    /**
+     * Number of objects handed out by {@link #acquire()}.
+     */
+    private long acquireCount = 0;
+
+    /**
+     * Number of objects created by the factory.
+     */
+    private long createCount = 0;
+
+    /**
+     * Number of objects returned through {@link #release(Object)}.
+     */
+    private long releaseCount = 0;
+
+    /**
+     * Number of released objects dropped because the pool was full.
+     */
+    private long discardCount = 0;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param   factory Creates new objects when no idle object is available.
+     * @param   maxIdle The maximum number of idle objects to retain.
+     *
+     * @throws  NullPointerException if {@code factory} is {@code null}.
+     * @throws  IllegalArgumentException if {@code maxIdle} is less than 0.
+     */
+    public ObjectPool( Supplier<? extends T> factory, int maxIdle ) {
+        if (factory == null)
+            throw new NullPointerException("The factory parameter cannot be null.");
+
+        if (maxIdle < 0)
+            throw new IllegalArgumentException("The maxIdle parameter cannot be less than 0.");
+
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+        this.idle = new ArrayList<>(Math.min(maxIdle, 64));
+    } // ObjectPool( Supplier<? extends T> factory, int maxIdle )
+
+    /**
+     * Takes an idle object from the pool, or creates a new one if none is
+     * available.
+     *
+     * @return  An object which is not in use elsewhere.
+     */
+    public T acquire() {
+        ++acquireCount;
+
+        int n = idle.size();
+        if (n > 0)
+            return idle.remove(n - 1);
+
+        ++createCount;
+        return factory.get();
+    } // acquire()
+
+    /**
+     * Returns an object to the pool.  The caller must not use the object
+     * afterwards.
+     *
+     * @param   obj The object to release.
+     *
+     * @throws  NullPointerException if {@code obj} is {@code null}.
+     */
+    public void release( T obj ) {
+        if (obj == null)
+            throw new NullPointerException("The obj parameter cannot be null.");
+
+        ++releaseCount;
+
+        if (idle.size() < maxIdle)
+            idle.add(obj);
+        else
+            ++discardCount;
+    } // release( T obj )
+
+    /**
+     * Discards all idle objects.
+     */
+    public void clear() {
+        idle.clear();
+    } // clear()
+
+    /**
+     * Retrieves the number of idle objects currently in the pool.
+     *
+     * @return  The number of idle objects.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    } // getIdleCount()
+
+    /**
+     * Retrieves the maximum number of idle objects the pool retains.
+     *
+     * @return  The maximum number of idle objects.
+     */
+    public int getMaxIdle() {
+        return maxIdle;
+    } // getMaxIdle()
+
+    /**
+     * Retrieves the number of objects handed out by {@link #acquire()}.
+     *
+     * @return  The number of objects acquired.
+     */
+    public long getAcquireCount() {
+        return acquireCount;
+    } // getAcquireCount()
+
+    /**
+     * Retrieves the number of objects the pool had to create because no idle
+     * object was available.
+     *
+     * @return  The number of objects created.
+     */
+    public long getCreateCount() {
+        return createCount;
+    } // getCreateCount()
+
+    /**
+     * Retrieves the number of acquisitions satisfied with an idle object.
+     *
+     * @return  The number of objects reused.
+     */
+    public long getReuseCount() {
+        return acquireCount - createCount;
+    } // getReuseCount()
+
+    /**
+     * Retrieves the number of objects returned to the pool.
+     *
+     * @return  The number of objects released.
+     */
+    public long getReleaseCount() {
+        return releaseCount;
+    } // getReleaseCount()
+
+    /**
+     * Retrieves the number of released objects that were dropped because the
+     * pool already held its maximum number of idle objects.
+     *
+     * @return  The number of objects discarded.
+     */
+    public long getDiscardCount() {
+        return discardCount;
+    } // getDiscardCount()
+
+    @Override
+    public String toString() {
+        return String.format(
+            "acquired=%d created=%d reused=%d released=%d discarded=%d idle=%d/%d",
+            acquireCount, createCount, getReuseCount(), releaseCount, discardCount, idle.size(), maxIdle
+        );
+    } // toString()
+
+} // class ObjectPool
@@ -0,0 +1,352 @@
+
+package Fishing.drawable;
+
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.DisplayMode;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.ImageCapabilities;
+import java.awt.Rectangle;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Dedicated thread that actively renders a DrawablePanel into a Canvas using a
+ * BufferStrategy, rather than relying on Swing to service repaint requests.
+ *
+ * <p>Each pass of the loop advances the panel's fixed-timestep update, renders
+ * a single frame and then waits until the next frame is due.  Waiting sleeps
+ * in one millisecond increments while the deadline is comfortably far away,
+ * and yields for the remainder, based on a running estimate of how much
+ * {@code Thread.sleep()} tends to overshoot on the host platform.
+ *
+ * <p>Only the panel's dirty region is redrawn when the back buffer contents
+ * are preserved between frames, and rendering is skipped entirely when
+ * nothing changed.
+ *
+ * <p>The loop owns the scene while it runs.  Once stopped, it finishes the
+ * frame in progress and hands the scene back to the panel through
+ * {@link DrawablePanel#renderLoopExited(RenderLoop)}, and a loop started
+ * after another one waits for the previous loop to exit first.
+ *
+ * @author Brad
+ */
+final class RenderLoop
+    implements Runnable
+{
+
+    /**
+     * Upper bound, in nanoseconds, for the estimated sleep overshoot.  Keeps
+     * one badly delayed wakeup from turning the wait into a busy yield loop.
+     */
+    private static final long MAX_SLEEP_OVERSHOOT = 4000000;
+
+    /**
+     * The panel being rendered.
+     */
+    private final DrawablePanel panel;
+
+    /**
+     * The heavyweight component whose BufferStrategy is rendered into.
+     */
+    private final Canvas canvas;
+
+    /**
+     * Whether the loop should keep running.
+     */
+    private volatile boolean running = false;
+
+    /**
+     * The thread executing the loop, or {@code null} if not started.
+     */
+    private Thread thread;
+
+    /**
+     * The loop that rendered the panel before this one, which must exit
+     * before this loop touches the scene, or {@code null} if none.
+     */
+    private final RenderLoop previous;
+
+    /**
+     * Running estimate, in nanoseconds, of how far past the requested delay a
+     * call to {@code Thread.sleep(1)} actually returns.
+     */
+    private long sleepOvershoot = 1000000;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param   panel       The panel to render.
+     * @param   canvas      The canvas to render into.
+     * @param   previous    The loop that rendered the panel before, or
+     *                      {@code null} if none.
+     */
+    RenderLoop( DrawablePanel panel, Canvas canvas, RenderLoop previous ) {
+        this.panel = panel;
+        this.canvas = canvas;
+        this.previous = previous;
+    } // RenderLoop( DrawablePanel panel, Canvas canvas, RenderLoop previous )
+
+    /**
+     * Starts the render thread.
+     */
+    synchronized void start() {
+        if (running)
+            return;
+
+        running = true;
+        thread = new Thread(this, "DrawablePanel render loop");
+        thread.setDaemon(true);
+        thread.start();
+    } // start()
+
+    /**
+     * Stops the render thread.  The thread finishes the frame in progress,
+     * then hands the scene back to the panel.  Doesn't wait for the thread,
+     * since it may need the panel's lock to exit.
+     */
+    synchronized void stop() {
+        if (!running)
+            return;
+
+        running = false;
+        thread.interrupt();
+    } // stop()
+
+    /**
+     * Waits until the render thread has exited.  Returns immediately if the
+     * thread never started, or when called on the render thread itself.
+     *
+     * @throws  InterruptedException if interrupted while waiting.
+     */
+    void awaitExit() throws InterruptedException {
+        Thread t;
+        synchronized (this) {
+            t = thread;
+        }
+
+        if ((t != null) && (t != Thread.currentThread()))
+            t.join();
+    } // awaitExit()
+
+    @Override
+    public void run() {
+        try {
+            // Don't touch the scene while the previous loop may still be
+            // finishing its last frame
+            if (previous != null)
+                previous.awaitExit();
+
+            renderFrames();
+        } catch (InterruptedException ex) {
+            // Stopped before the previous loop exited
+        } finally {
+            panel.renderLoopExited(this);
+        }
+    } // run()
+
+    /**
+     * Renders frames until the loop is stopped.
+     */
+    private void renderFrames() {
+        BufferStrategy strategy = null;
+        boolean strategyVSync = false;
+        int lastWidth = 0;
+        int lastHeight = 0;
+        long nextFrame = System.nanoTime();
+
+        while (running) {
+            panel.stepFrame( System.nanoTime() );
+            Rectangle dirty = panel.takeDirtyRegion();
+
+            if (!canvas.isDisplayable() || (canvas.getWidth() <= 0) || (canvas.getHeight() <= 0)) {
+                strategy = null;
+            } else {
+                // Redraw everything whenever the buffer may not hold the
+                // previous frame
+                boolean full = false;
+
+                if ((strategy == null) || (strategyVSync != panel.isVSync())) {
+                    strategyVSync = panel.isVSync();
+                    strategy = createStrategy(strategyVSync);
+                    full = true;
+                }
+
+                if ((canvas.getWidth() != lastWidth) || (canvas.getHeight() != lastHeight)) {
+                    lastWidth = canvas.getWidth();
+                    lastHeight = canvas.getHeight();
+                    full = true;
+                }
+
+                if (strategy.getCapabilities().isPageFlipping())
+                    full = true;
+
+                try {
+                    if (full)
+                        render(strategy, null);
+                    else if (dirty != null)
+                        render(strategy, dirty);
+                } catch (IllegalStateException ex) {
+                    // The canvas was removed or its peer was replaced while
+                    // rendering.  A new strategy is created on the next pass.
+                    strategy = null;
+                }
+            }
+
+            long period = getFramePeriod();
+            long now = System.nanoTime();
+
+            nextFrame += period;
+            if (nextFrame < now - period) {
+                // Fell more than a frame behind.  Don't try to catch up by
+                // rendering a burst of frames back to back.
+                nextFrame = now;
+            }
+
+            if (!waitUntil(nextFrame))
+                break;
+        } // while
+    } // renderFrames()
+
+    /**
+     * Creates the BufferStrategy for the canvas.  When {@code vsync} is
+     * requested, a page-flipping strategy is tried first, since flipping is
+     * synchronized with the display refresh on pipelines that support it.
+     *
+     * @param   vsync   Whether a page-flipping strategy should be attempted.
+     *
+     * @return  The newly created BufferStrategy.
+     */
+    private BufferStrategy createStrategy( boolean vsync ) {
+        if (vsync) {
+            try {
+                canvas.createBufferStrategy(2,
+                    new BufferCapabilities(
+                        new ImageCapabilities(true),
+                        new ImageCapabilities(true),
+                        BufferCapabilities.FlipContents.UNDEFINED
+                    )
+                );
+                return canvas.getBufferStrategy();
+            } catch (AWTException ex) {
+                // Page flipping isn't available, fall back to blitting
+            }
+        }
+
+        canvas.createBufferStrategy(2);
+        return canvas.getBufferStrategy();
+    } // createStrategy( boolean vsync )
+
+    /**
+     * Renders a single frame into the back buffer and shows it, repeating if
+     * the buffer contents are lost in the process.
+     *
+     * @param   strategy        The strategy to render with.
+     * @param   area            The area to redraw, or {@code null} to redraw
+     *                          the entire canvas.
+     */
+    private void render( BufferStrategy strategy, Rectangle area ) {
+        int w = canvas.getWidth();
+        int h = canvas.getHeight();
+
+        while (true) {
+            while (true) {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    if (area != null)
+                        g.clip(area);
+
+                    g.setColor( panel.getBackground() );
+                    g.fillRect(0, 0, w, h);
+                    panel.renderFrame(g);
+                } finally {
+                    g.dispose();
+                }
+
+                if (!strategy.contentsRestored())
+                    break;
+
+                // The buffer was recreated, so only a full redraw is valid
+                area = null;
+            } // while
+
+            FrameProfiler.enter(FrameProfiler.BLIT);
+            strategy.show();
+            FrameProfiler.exit();
+
+            if (!strategy.contentsLost())
+                break;
+
+            area = null;
+        } // while
+
+        // Flush any buffered drawing commands to the display, which avoids
+        // jittery output on platforms that batch them (eg. X11).
+        FrameProfiler.enter(FrameProfiler.BLIT);
+        Toolkit.getDefaultToolkit().sync();
+        FrameProfiler.exit();
+    } // render( BufferStrategy strategy, Rectangle area )
+
+    /**
+     * Determines the time between frames, in nanoseconds.
+     *
+     * <p>When vsync is enabled and the display reports its refresh rate, the
+     * period is rounded to a whole number of refresh intervals so frames are
+     * presented at an even cadence.
+     *
+     * @return  The time between frames, in nanoseconds.
+     */
+    private long getFramePeriod() {
+        double rate = panel.getFrameRate();
+        long period = (long)(1000000000L / rate);
+
+        if (panel.isVSync()) {
+            GraphicsConfiguration gc = canvas.getGraphicsConfiguration();
+            if (gc != null) {
+                DisplayMode mode = gc.getDevice().getDisplayMode();
+                int refresh = mode.getRefreshRate();
+
+                if (refresh != DisplayMode.REFRESH_RATE_UNKNOWN) {
+                    long interval = 1000000000L / refresh;
+                    period = Math.max(1, Math.round((double)period / interval)) * interval;
+                }
+            }
+        }
+
+        return period;
+    } // getFramePeriod()
+
+    /**
+     * Waits until the specified deadline is reached.
+     *
+     * @param   deadline    The {@code System.nanoTime()} value to wait for.
+     *
+     * @return  {@code true} if the deadline was reached, {@code false} if the
+     *          thread was interrupted while waiting.
+     */
+    private boolean waitUntil( long deadline ) {
+        long remaining;
+
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > sleepOvershoot + 1000000) {
+                long start = System.nanoTime();
+
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException ex) {
+                    return false;
+                }
+
+                long overshoot = Math.max(0, System.nanoTime() - start - 1000000);
+                sleepOvershoot = Math.min(MAX_SLEEP_OVERSHOOT, (sleepOvershoot * 7 + overshoot) / 8);
+            } else {
+                Thread.yield();
+            }
+        } // while
+
+        return running;
+    } // waitUntil( long deadline )
+
+} // class RenderLoop
@@ -0,0 +1,116 @@
+
+package Fishing.drawable;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Queue of tasks to be executed on the scene thread.
+ *
+ * <p>The Drawable scene graph is not thread safe.  It is only modified and
+ * rendered on a single thread at a time: the scene thread.  That is the thread
+ * running the frame loop of the {@link DrawablePanel}, which is the Swing event
+ * dispatch thread when passively rendering, and the render thread when
+ * actively rendering.
+ *
+ * <p>Code running on any other thread, such as timer callbacks or Swing input
+ * events while actively rendering, must not touch the scene directly.  It
+ * submits a task to this queue instead, and the task is executed at the start
+ * of the next frame, before the frame's update steps are issued.
+ *
+ * <p>Before the first frame is run there is no scene thread, and the scene may
+ * be constructed on whichever thread creates it.
+ *
+ * @author Brad
+ */
+public final class SceneQueue {
+
+    /**
+     * The tasks waiting to be executed.
+     */
+    private static final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The current scene thread, or {@code null} if no frame has been run since
+     * the scene thread was last released.
+     */
+    private static volatile Thread sceneThread;
+
+    /**
+     * Determines whether the calling thread is the scene thread.
+     *
+     * @return  {@code true} if called on the scene thread, {@code false}
+     *          otherwise.
+     */
+    public static boolean isSceneThread() {
+        return (sceneThread == Thread.currentThread());
+    } // isSceneThread()
+
+    /**
+     * Submits a task to be executed on the scene thread at the start of the
+     * next frame.
+     *
+     * @param   task    The task to execute.
+     *
+     * @throws  NullPointerException if {@code task} is {@code null}.
+     */
+    public static void invokeLater( Runnable task ) {
+        tasks.add( Objects.requireNonNull(task, "The task cannot be null.") );
+    } // invokeLater( Runnable task )
+
+    /**
+     * Executes a task immediately when called on the scene thread, or submits
+     * it to be executed at the start of the next frame otherwise.
+     *
+     * @param   task    The task to execute.
+     *
+     * @throws  NullPointerException if {@code task} is {@code null}.
+     */
+    public static void invoke( Runnable task ) {
+        if (isSceneThread())
+            task.run();
+        else
+            invokeLater(task);
+    } // invoke( Runnable task )
+
+    /**
+     * Makes the calling thread the scene thread, and executes the tasks that
+     * were waiting when the method was called.  Tasks submitted while these
+     * are running are left for the next frame.
+     *
+     * <p>Called by the frame loop at the start of each frame.
+     */
+    static void runPending() {
+        sceneThread = Thread.currentThread();
+
+        for (int n = tasks.size(); n > 0; --n) {
+            Runnable task = tasks.poll();
+            if (task == null)
+                break;
+
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                Logger.getLogger(SceneQueue.class.getName()).log(Level.SEVERE, null, ex);
+            }
+        } // for
+    } // runPending()
+
+    /**
+     * Clears the scene thread, so no thread is treated as the scene thread
+     * until the next frame is run.  Called when the frame loop moves to a
+     * different thread.
+     */
+    static void releaseSceneThread() {
+        sceneThread = null;
+    } // releaseSceneThread()
+
+    /**
+     * Prevent instantiation of this utility class.
+     */
+    private SceneQueue() {
+    } // SceneQueue()
+
+} // class SceneQueue
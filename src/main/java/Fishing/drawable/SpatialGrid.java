@@ -0,0 +1,407 @@
+
+package Fishing.drawable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Broad phase index of the children of a Drawable, used to find the children
+ * that may be under the mouse without testing every one of them.
+ *
+ * <p>The index is a uniform grid over the container's coordinate system.  Each
+ * child is entered in every cell overlapped by the bounds in which it or its
+ * descendants can receive mouse events.  Since the grid is unbounded, cells
+ * are mapped onto a fixed table of buckets by hashing their coordinates, and
+ * entries sharing a bucket are told apart by checking their bounds.  Children
+ * spanning too many cells are kept in a separate list which is always checked.
+ *
+ * <p>Entries are updated lazily.  The container marks a child dirty whenever
+ * the child or one of its descendants changes in a way that may move its
+ * bounds, and the bounds of dirty children are recomputed on the next query.
+ * Additions, removals and reordering of the children are detected by the
+ * container's copy-on-write child list being replaced.
+ *
+ * @author Brad
+ */
+final class SpatialGrid {
+
+    /**
+     * Default width and height of the grid cells, in the container's
+     * coordinate units.
+     */
+    static final double DEFAULT_CELL_SIZE = 64;
+
+    /**
+     * Number of buckets the cells are hashed into.  Must be a power of two.
+     */
+    private static final int BUCKET_COUNT = 1024;
+
+    /**
+     * Children overlapping more than this many cells are kept in the
+     * {@link #oversized} list rather than entered in each cell.
+     */
+    private static final int MAX_CELLS_PER_ENTRY = 64;
+
+    /**
+     * The index data kept for each child.
+     */
+    private static final class Entry {
+
+        /**
+         * The child.
+         */
+        final Drawable child;
+
+        /**
+         * Position of the child in the container's child list.
+         */
+        int order;
+
+        /**
+         * Bounds of the child's mouse sensitive area, in the container's
+         * coordinate system.
+         */
+        double minX, minY, maxX, maxY;
+
+        /**
+         * The range of cells the entry was added to.  {@code cellMaxX} is less
+         * than {@code cellMinX} when the entry isn't in any cell.
+         */
+        int cellMinX, cellMinY, cellMaxX = -1, cellMaxY = -1;
+
+        /**
+         * Whether the entry is in the {@link #oversized} list.
+         */
+        boolean isOversized;
+
+        /**
+         * Whether the bounds need to be recomputed.
+         */
+        boolean dirty = true;
+
+        /**
+         * Whether the child was removed from the container.
+         */
+        boolean removed;
+
+        /**
+         * The {@link #stamp} value of the last synchronization or query that
+         * encountered the entry.
+         */
+        int stamp;
+
+        Entry( Drawable child ) {
+            this.child = child;
+        } // Entry( Drawable child )
+
+    } // class Entry
+
+    /**
+     * The width and height of the cells.
+     */
+    private final double cellSize;
+
+    /**
+     * The buckets the cells are hashed into.  Buckets are created on demand.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final ArrayList<Entry>[] buckets = new ArrayList[BUCKET_COUNT];
+
+    /**
+     * Entries too large to be entered in individual cells.
+     */
+    private final ArrayList<Entry> oversized = new ArrayList<>();
+
+    /**
+     * The entry for each indexed child.
+     */
+    private final IdentityHashMap<Drawable, Entry> entries = new IdentityHashMap<>();
+
+    /**
+     * Entries whose bounds need to be recomputed.
+     */
+    private final ArrayList<Entry> dirty = new ArrayList<>();
+
+    /**
+     * The child list the index was last synchronized with.
+     */
+    private List<Drawable> indexedChildren;
+
+    /**
+     * The candidates found by the last query, sorted by child order.
+     */
+    private Entry[] candidates = new Entry[16];
+
+    /**
+     * Scratch buffer receiving the bounds of a child.
+     */
+    private final double[] bounds = new double[8];
+
+    /**
+     * Incremented for each synchronization and query, to detect entries that
+     * were already visited.
+     */
+    private int stamp = 0;
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param   cellSize    The width and height of the grid cells.
+     *
+     * @throws  IllegalArgumentException if {@code cellSize} is not greater
+     *          than 0.
+     */
+    SpatialGrid( double cellSize ) {
+        if (!(cellSize > 0))
+            throw new IllegalArgumentException("The cell size must be greater than 0.");
+
+        this.cellSize = cellSize;
+    } // SpatialGrid( double cellSize )
+
+    /**
+     * Marks a child as needing its bounds recomputed before the next query.
+     * Ignores objects that aren't indexed.
+     *
+     * @param   child   The child that changed.
+     */
+    void markDirty( Drawable child ) {
+        Entry e = entries.get(child);
+        if ((e != null) && !e.dirty) {
+            e.dirty = true;
+            dirty.add(e);
+        }
+    } // markDirty( Drawable child )
+
+    /**
+     * Finds the children whose mouse sensitive bounds contain a point.  The
+     * results are retrieved with {@link #getCandidate(int)}, and remain valid
+     * until the next query.
+     *
+     * @param   children    The container's current child list.
+     * @param   x           The horizontal position, in the container's
+     *                      coordinate system.
+     * @param   y           The vertical position, in the container's
+     *                      coordinate system.
+     *
+     * @return  The number of candidates found.
+     */
+    int query( List<Drawable> children, double x, double y ) {
+        if (children != indexedChildren)
+            synchronize(children);
+
+        refresh();
+
+        int q = ++stamp;
+        int n = 0;
+
+        ArrayList<Entry> bucket = buckets[hash(cell(x), cell(y))];
+        if (bucket != null) {
+            for (int i = 0, size = bucket.size(); i < size; ++i)
+                n = addCandidate(bucket.get(i), x, y, q, n);
+        }
+
+        for (int i = 0, size = oversized.size(); i < size; ++i)
+            n = addCandidate(oversized.get(i), x, y, q, n);
+
+        return n;
+    } // query( List<Drawable> children, double x, double y )
+
+    /**
+     * Retrieves a candidate found by the last query.  Candidates are ordered
+     * the same way as the container's children, so the last candidate is the
+     * one drawn on top.
+     *
+     * @param   index   The index of the candidate.
+     *
+     * @return  The candidate child.
+     */
+    Drawable getCandidate( int index ) {
+        return candidates[index].child;
+    } // getCandidate( int index )
+
+    /**
+     * Adds an entry to the candidates if it contains the query point and
+     * wasn't already added, keeping the candidates sorted by child order.
+     *
+     * @param   e   The entry to test.
+     * @param   x   The horizontal query position.
+     * @param   y   The vertical query position.
+     * @param   q   The stamp of the current query.
+     * @param   n   The number of candidates found so far.
+     *
+     * @return  The new number of candidates.
+     */
+    private int addCandidate( Entry e, double x, double y, int q, int n ) {
+        if ((e.stamp == q)
+            || (x < e.minX) || (x > e.maxX) || (y < e.minY) || (y > e.maxY))
+        {
+            return n;
+        }
+
+        e.stamp = q;
+
+        if (n == candidates.length) {
+            Entry[] t = new Entry[n * 2];
+            System.arraycopy(candidates, 0, t, 0, n);
+            candidates = t;
+        }
+
+        int i = n;
+        while ((i > 0) && (candidates[i - 1].order > e.order)) {
+            candidates[i] = candidates[i - 1];
+            --i;
+        } // while
+
+        candidates[i] = e;
+
+        return n + 1;
+    } // addCandidate( Entry e, double x, double y, int q, int n )
+
+    /**
+     * Brings the entries in line with a new child list, adding entries for
+     * new children, dropping those of removed children and updating the
+     * order of the rest.
+     *
+     * @param   children    The container's current child list, which may be
+     *                      {@code null}.
+     */
+    private void synchronize( List<Drawable> children ) {
+        int s = ++stamp;
+
+        if (children != null) {
+            for (int i = 0, n = children.size(); i < n; ++i) {
+                Drawable child = children.get(i);
+
+                Entry e = entries.get(child);
+                if (e == null) {
+                    e = new Entry(child);
+                    entries.put(child, e);
+                    dirty.add(e);
+                }
+
+                e.order = i;
+                e.stamp = s;
+            } // for
+        }
+
+        if (entries.size() > ((children != null) ? children.size() : 0)) {
+            ArrayList<Entry> gone = new ArrayList<>();
+            for (Entry e : entries.values()) {
+                if (e.stamp != s)
+                    gone.add(e);
+            } // for
+
+            for (Entry e : gone) {
+                entries.remove(e.child);
+                remove(e);
+                e.removed = true;
+            } // for
+        }
+
+        indexedChildren = children;
+    } // synchronize( List<Drawable> children )
+
+    /**
+     * Recomputes the bounds of the dirty entries and re-enters them in the
+     * grid.
+     */
+    private void refresh() {
+        // Computing the bounds may validate the child, which may in turn mark
+        // it dirty again and append it to the list
+        for (int i = 0; i < dirty.size(); ++i) {
+            Entry e = dirty.get(i);
+            if (e.removed)
+                continue;
+
+            e.dirty = false;
+            remove(e);
+
+            if (!e.child.getMouseBounds(bounds))
+                continue;
+
+            e.minX = bounds[0];
+            e.minY = bounds[1];
+            e.maxX = bounds[2];
+            e.maxY = bounds[3];
+
+            int cx0 = cell(e.minX);
+            int cy0 = cell(e.minY);
+            int cx1 = cell(e.maxX);
+            int cy1 = cell(e.maxY);
+
+            if (((long)cx1 - cx0 + 1) * ((long)cy1 - cy0 + 1) > MAX_CELLS_PER_ENTRY) {
+                e.isOversized = true;
+                oversized.add(e);
+                continue;
+            }
+
+            e.cellMinX = cx0;
+            e.cellMinY = cy0;
+            e.cellMaxX = cx1;
+            e.cellMaxY = cy1;
+
+            for (int cy = cy0; cy <= cy1; ++cy) {
+                for (int cx = cx0; cx <= cx1; ++cx) {
+                    int h = hash(cx, cy);
+
+                    ArrayList<Entry> bucket = buckets[h];
+                    if (bucket == null)
+                        bucket = buckets[h] = new ArrayList<>();
+
+                    bucket.add(e);
+                } // for
+            } // for
+        } // for
+
+        dirty.clear();
+    } // refresh()
+
+    /**
+     * Removes an entry from the cells or oversized list it was added to.
+     *
+     * @param   e   The entry to remove.
+     */
+    private void remove( Entry e ) {
+        if (e.isOversized) {
+            oversized.remove(e);
+            e.isOversized = false;
+            return;
+        }
+
+        for (int cy = e.cellMinY; cy <= e.cellMaxY; ++cy) {
+            for (int cx = e.cellMinX; cx <= e.cellMaxX; ++cx) {
+                ArrayList<Entry> bucket = buckets[hash(cx, cy)];
+                if (bucket != null)
+                    bucket.remove(e);
+            } // for
+        } // for
+
+        e.cellMaxX = e.cellMinX - 1;
+        e.cellMaxY = e.cellMinY - 1;
+    } // remove( Entry e )
+
+    /**
+     * Determines the cell coordinate containing a position.
+     *
+     * @param   v   The position, in the container's coordinate system.
+     *
+     * @return  The cell coordinate.
+     */
+    private int cell( double v ) {
+        return (int)Math.floor(v / cellSize);
+    } // cell( double v )
+
+    /**
+     * Maps cell coordinates onto a bucket index.
+     *
+     * @param   cx  The horizontal cell coordinate.
+     * @param   cy  The vertical cell coordinate.
+     *
+     * @return  The bucket index.
+     */
+    private static int hash( int cx, int cy ) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & (BUCKET_COUNT - 1);
+    } // hash( int cx, int cy )
+
+} // class SpatialGrid
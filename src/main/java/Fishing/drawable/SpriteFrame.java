@@ -1,6 +1,7 @@
 
 package Fishing.drawable;
 
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 
 /**
@@ -91,6 +92,31 @@ public class SpriteFrame
         return y;
     } // getY()
 
+    /**
+     * Draws this frame's region of the sprite sheet into the specified
+     * graphics context.
+     * 
+     * <p>The region is drawn straight from the sheet image, rather than
+     * through a sub-image, so painting doesn't allocate and the sheet stays
+     * eligible for Java2D's managed image acceleration.</p>
+     * 
+     * @param g The graphics context to draw the frame into.
+     * 
+     * @throws  NullPointerException if {@code g} is {@code null}.
+     */
+    @Override
+    public void paint(Graphics2D g) {
+        int width = getWidth();
+        int height = getHeight();
+
+        g.drawImage(
+            getSourceImage(),
+            0, 0, width, height,
+            x, y, x + width, y + height,
+            null
+        );
+    } // paint(Graphics2D g)
+
     @Override
     public BufferedImage getImage() {
         SpriteSheet sheet = getFrameSet().getSheet();
@@ -103,4 +129,18 @@ public class SpriteFrame
         return sheet.getImage().getSubimage(x, y, width, height);
     } // getImage()
 
+    /**
+     * Retrieves the sprite sheet image the frame is taken from.
+     * 
+     * @return  The sprite sheet image.
+     */
+    @Override
+    BufferedImage getSourceImage() {
+        SpriteSheet sheet = getFrameSet().getSheet();
+        if (sheet == null)
+            throw new IllegalArgumentException("The frameset doesn't have an associated SpriteSheet.");
+
+        return sheet.getImage();
+    } // getSourceImage()
+
 } // SpriteFrame
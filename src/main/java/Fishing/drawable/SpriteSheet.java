@@ -1,6 +1,9 @@
 
 package Fishing.drawable;
 
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
@@ -18,7 +21,7 @@ public class SpriteSheet {
         throws IOException
     {
         // Read the sprite file
-        image = ImageIO.read( instream );
+        image = toCompatibleImage( ImageIO.read( instream ) );
     } // SpriteSheet( InputStream instream )
 
     public SpriteSheet( BufferedImage img ) {
@@ -36,4 +39,38 @@ public class SpriteSheet {
         return image;
     } // getImage()
 
+    /**
+     * Copies a decoded image into an image compatible with the default screen
+     * configuration, so Java2D can cache it in video memory and draw it
+     * without converting its pixel format each time.
+     * 
+     * @param   img The image to convert.  May be {@code null}.
+     * 
+     * @return  The compatible copy, or {@code img} itself if it's
+     *          {@code null}, already compatible, or the environment is
+     *          headless.
+     */
+    private static BufferedImage toCompatibleImage( BufferedImage img ) {
+        if ((img == null) || GraphicsEnvironment.isHeadless())
+            return img;
+
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                                        .getDefaultScreenDevice()
+                                        .getDefaultConfiguration();
+
+        if (img.getColorModel().equals(gc.getColorModel(img.getTransparency())))
+            return img;
+
+        BufferedImage rv = gc.createCompatibleImage(img.getWidth(), img.getHeight(), img.getTransparency());
+
+        Graphics2D g = rv.createGraphics();
+        try {
+            g.drawImage(img, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+
+        return rv;
+    } // toCompatibleImage( BufferedImage img )
+
 } // class SpriteSheet
@@ -1,6 +1,8 @@
 
 package Fishing.drawable;
 
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
 import java.util.Objects;
 import javax.swing.JPanel;
 
@@ -32,6 +34,35 @@ public class Stage
      */
     private FocusManager focusManager;
 
+    /**
+     * Union of the areas that need to be redrawn, in the panel's coordinate
+     * system.  Only meaningful while {@link #dirty} is set.
+     * 
+     * <p>This property is only used for a root-level Stage.
+     */
+    private final Rectangle2D.Double dirtyRegion = new Rectangle2D.Double();
+
+    /**
+     * Whether any area needs to be redrawn.
+     */
+    private boolean dirty = false;
+
+    /**
+     * Pool of offscreen images used when rendering objects on this stage
+     * through an offscreen buffer.
+     * 
+     * <p>This property is only used for a root-level Stage.
+     */
+    private final ImagePool imagePool = new ImagePool();
+
+    /**
+     * Scratch storage used when computing the bounds of objects on this
+     * stage.
+     * 
+     * <p>This property is only used for a root-level Stage.
+     */
+    private final BoundsScratch boundsScratch = new BoundsScratch();
+
     /**
      * Determines whether this is a root level stage or not.
      * 
@@ -81,6 +112,80 @@ public class Stage
                 : super.getFocusManager();
     } // getFocusManager()
 
+    /**
+     * Retrieves the pool of offscreen images to use when rendering objects on
+     * this stage through an offscreen buffer.  Nested stages share the pool
+     * of their root stage.
+     * 
+     * @return  The pool of offscreen images.
+     */
+    ImagePool getImagePool() {
+        Stage root = getRoot();
+        return ((root == null) || (root == this))
+                ? imagePool
+                : root.getImagePool();
+    } // getImagePool()
+
+    /**
+     * Retrieves the scratch storage to use when computing the bounds of
+     * objects on this stage.  Nested stages share the storage of their root
+     * stage.
+     * 
+     * @return  The scratch storage.
+     */
+    BoundsScratch getBoundsScratch() {
+        Stage root = getRoot();
+        return ((root == null) || (root == this))
+                ? boundsScratch
+                : root.getBoundsScratch();
+    } // getBoundsScratch()
+
+    /**
+     * Adds an area to the region that needs to be redrawn on the next frame.
+     * 
+     * @param   r   The area to add, in the panel's coordinate system.
+     */
+    void addDirtyRegion( Rectangle2D r ) {
+        Stage root = getRoot();
+        if (root != this) {
+            if (root != null)
+                root.addDirtyRegion(r);
+            return;
+        }
+
+        if (!dirty) {
+            dirtyRegion.setRect(r);
+            dirty = true;
+        } else
+            dirtyRegion.add(r);
+    } // addDirtyRegion( Rectangle2D r )
+
+    /**
+     * Retrieves and clears the region that needs to be redrawn.
+     * 
+     * @param   out The rectangle to store the smallest integer rectangle
+     *              enclosing the region in, in the panel's coordinate system.
+     *              Left unchanged if nothing needs to be redrawn.
+     * 
+     * @return  {@code true} if an area needs to be redrawn, {@code false} if
+     *          nothing does.
+     */
+    boolean takeDirtyRegion( Rectangle out ) {
+        if (!dirty)
+            return false;
+
+        dirty = false;
+
+        Rectangle2D.Double r = dirtyRegion;
+        int x1 = (int) Math.floor(r.x);
+        int y1 = (int) Math.floor(r.y);
+        int x2 = (int) Math.ceil(r.x + r.width);
+        int y2 = (int) Math.ceil(r.y + r.height);
+        out.setBounds(x1, y1, x2 - x1, y2 - y1);
+
+        return true;
+    } // takeDirtyRegion( Rectangle out )
+
     /**
      * Constructs a new root Stage.
      *
@@ -0,0 +1,127 @@
+
+package Fishing.drawable;
+
+import Fishing.drawable.events.DrawableEvent;
+import Fishing.drawable.events.DrawableTreeAdapter;
+import com.jhlabs.image.SwimFilter;
+
+/**
+ * Makes an object sway as if seen through water, by filtering it with a
+ * {@link SwimFilter} whose time is advanced by the shared
+ * {@link FrameClock}.
+ *
+ * <p>The filter time advances with the elapsed time rather than per painted
+ * frame, so the effect runs at the same speed at any frame rate, and the
+ * object is only marked for repainting when the filter actually changed.
+ * Painting itself has no side effects.  Like an {@link Animation}, the effect
+ * only advances while the object is on a stage.
+ *
+ * @author Brad
+ */
+public final class SwimEffect {
+
+    /**
+     * The amount the filter time advances per second.
+     */
+    private static final double SPEED = 1.5;
+
+    /**
+     * The number of times per second the filter is advanced, and the object
+     * repainted, at most.
+     */
+    private static final double UPDATE_RATE = 30;
+
+    /**
+     * The object the effect is applied to.
+     */
+    private final Drawable target;
+
+    /**
+     * The filter producing the effect.
+     */
+    private final SwimFilter filter = new SwimFilter();
+
+    /**
+     * The {@code System.nanoTime()} value at which the filter was last
+     * advanced.
+     */
+    private long lastAdvanceTime;
+
+    /**
+     * Registers this effect with the {@link FrameClock} while the target is
+     * on a stage.
+     */
+    private final FrameClock.Client clockClient = new FrameClock.Client() {
+        @Override
+        void advanceClock( long now ) {
+            SwimEffect.this.advanceClock(now);
+        }
+    };
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param   target  The object to apply the effect to.
+     */
+    private SwimEffect( Drawable target ) {
+        this.target = target;
+
+        filter.setAmount(3);
+        filter.setScale(30f);
+        target.addFilter(filter);
+
+        target.addTreeListener(new DrawableTreeAdapter() {
+            @Override
+            public void drawableAddedToStage( DrawableEvent e ) {
+                start();
+            }
+
+            @Override
+            public void drawableRemovedFromStage( DrawableEvent e ) {
+                FrameClock.remove(clockClient);
+            }
+        });
+
+        if (target.getStage() != null)
+            start();
+    } // SwimEffect( Drawable target )
+
+    /**
+     * Applies a swim effect to the specified object.
+     *
+     * @param   target  The object to apply the effect to.
+     *
+     * @return  The effect applied.
+     *
+     * @throws  NullPointerException if {@code target} is {@code null}.
+     */
+    public static SwimEffect apply( Drawable target ) {
+        return new SwimEffect(target);
+    } // apply( Drawable target )
+
+    /**
+     * Starts advancing the filter from the current time, rather than catching
+     * up on the time spent off the stage.
+     */
+    private void start() {
+        lastAdvanceTime = System.nanoTime();
+        FrameClock.add(clockClient);
+    } // start()
+
+    /**
+     * Advances the filter time by the time elapsed since it last advanced,
+     * once at least one update period has passed.
+     *
+     * @param   now The current {@code System.nanoTime()} value.
+     */
+    private void advanceClock( long now ) {
+        long elapsed = now - lastAdvanceTime;
+        if (elapsed < (long)(1000000000L / UPDATE_RATE))
+            return;
+
+        lastAdvanceTime = now;
+        filter.setTime( filter.getTime() + (float)(SPEED * elapsed / 1000000000.0) );
+        target.repaint();
+    } // advanceClock( long now )
+
+} // class SwimEffect
@@ -125,6 +125,7 @@ public class Button
      */
     public void setBackgroundColor( Color value ) {
         backgroundColor = Objects.requireNonNull(value, "The value cannot be null");
+        repaint();
     } // getBackgroundColor( Color value )
 
     /**
@@ -144,6 +145,7 @@ public class Button
      */
     public void setBorderWidth( float value ) {
         borderWidth = value;
+        repaint();
     } // setBorderWidth( float value )
 
     /**
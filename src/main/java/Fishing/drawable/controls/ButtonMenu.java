@@ -60,7 +60,7 @@ public class ButtonMenu
      * @param name  The name to assign to the new button.
      * @param text  The caption text for the new button.
      */
-    public synchronized void addItem( String name, String text ) {
+    public void addItem( String name, String text ) {
         Button item = new Button(getFont());
         item.setName(name);
         item.setCaption(text);
@@ -69,7 +69,7 @@ public class ButtonMenu
     } // addItem( String name, String text )
 
     @Override
-    public synchronized void validate() {
+    public void validate() {
         // Set all of the buttons to the same size and arrange them horizontally
         double maxWidth = 0;
         double maxHeight = 0;
@@ -136,6 +136,7 @@ public class Checkbox
      */
     public void setBoxColor( Color value ) {
         boxColor = Objects.requireNonNull(value, "The boxColor cannot be null.");
+        repaint();
     } // setBoxColor( Color value )
 
     /**
@@ -204,12 +205,13 @@ public class Checkbox
      * @param  value    {@code true} if the checkbox should be set as selected,
      *                  {@code false} otherwise.
      */
-    public synchronized void setSelected( boolean value ) {
+    public void setSelected( boolean value ) {
         if (selected == value)
             return;
 
         boolean oldValue = selected;
         selected = value;
+        repaint();
 
         valueChangedListeners.notifyListeners(
             new ValueChangedEvent(this, oldValue, value),
@@ -273,7 +275,7 @@ public class Checkbox
      * 
      * @throws  IllegalArgumentException if {@code listener} is {@code null}.
      */
-    public synchronized void addValueChangedListener( ValueChangedListener listener ) {
+    public void addValueChangedListener( ValueChangedListener listener ) {
         valueChangedListeners.add(listener);
     } // addValueChangedListener( ValueChangedListener listener )
 
@@ -283,7 +285,7 @@ public class Checkbox
      * 
      * @param listener  The listener to remove.
      */
-    public synchronized void removeValueChangedListener( ValueChangedListener listener ) {
+    public void removeValueChangedListener( ValueChangedListener listener ) {
         valueChangedListeners.remove(listener);
     } // removeValueChangedListener( ValueChangedListener listener )
 
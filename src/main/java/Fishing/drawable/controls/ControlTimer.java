@@ -1,43 +1,175 @@
-
 package Fishing.drawable.controls;
 
+import Fishing.drawable.SceneQueue;
 import Fishing.drawable.events.TimerEvent;
 import Fishing.drawable.events.TimerListener;
-import java.util.HashMap;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
- * Utility class managing a Timer instance that can be shared between multiple
+ * Utility class managing a timer thread that can be shared between multiple
  * control instances.
- * 
+ *
  * <p>Using this class ensures that only one timer thread is created for the
  * timing needs of controls, reducing resources.
- * 
+ *
+ * <p>Timers are kept in a hierarchical timing wheel: four levels of 64 slots,
+ * where each slot of a level spans a full revolution of the level below.  A
+ * timer is placed in the slot covering its deadline in O(1), and is moved
+ * down a level each time the lower level completes a revolution, until it
+ * reaches the slot for its exact tick.  The wheel is only touched by the timer
+ * thread.  Other threads hand new timers over through a lock-free queue, and
+ * canceling a timer just flags it, so neither scheduling nor canceling takes a
+ * lock.  The timer thread sleeps while no timers are scheduled.
+ *
+ * <p>By default, listeners are not invoked on the timer thread.  Each time a
+ * timer elapses, its listener is submitted to the {@link SceneQueue} and
+ * invoked on the scene thread, so listeners may freely update the scene.  If
+ * the scene thread falls behind, a repeating timer doesn't submit another
+ * invocation until the previous one has run.  Listeners that don't touch the
+ * scene may ask to be invoked directly on the timer thread instead, with
+ * {@link Dispatch#TIMER_THREAD}, in which case they must return quickly.
+ *
+ * <p>Repeating timers are scheduled at a fixed rate.  If the timer thread
+ * falls more than a period behind, the missed executions are skipped rather
+ * than run back to back.
+ *
  * @author Brad
  */
 public final class ControlTimer {
 
     /**
-     * The shared timer thread.
+     * Where timer listeners are invoked.
+     */
+    public static enum Dispatch {
+        /**
+         * Invoke the listener on the scene thread, at the start of the next
+         * frame.
+         */
+        SCENE_THREAD,
+
+        /**
+         * Invoke the listener directly on the timer thread.  The listener
+         * must not touch the scene, and must return quickly since it delays
+         * every other timer.
+         */
+        TIMER_THREAD
+    }
+
+    /**
+     * Duration of a single tick of the timing wheel, in nanoseconds.  Timers
+     * fire on the first tick at or after their deadline.
+     */
+    private static final long TICK_NANOS = 2000000;
+
+    /**
+     * Number of bits of the tick count resolved by each level of the wheel.
+     */
+    private static final int SLOT_BITS = 6;
+
+    /**
+     * Number of slots in each level of the wheel.
+     */
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    /**
+     * Mask extracting a slot index.
+     */
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    /**
+     * Number of levels in the wheel.
+     */
+    private static final int LEVELS = 4;
+
+    /**
+     * Timers firing more than this many nanoseconds after their deadline are
+     * counted as late.
+     */
+    private static final long LATE_THRESHOLD_NANOS = 5000000;
+
+    /**
+     * The {@code System.nanoTime()} value corresponding to tick 0.
      */
-    private static Timer timer = new Timer();
+    private static final long startNanos = System.nanoTime();
 
     /**
-     * Mapping of task handles to the TimerTask instance related to that handle.
+     * Mapping of task handles to the task related to that handle.  Entries
+     * are removed when the task is canceled or a one-time task has fired.
      */
-    private final static HashMap<Integer, ControlTimerTask> controlTimerTasks = new HashMap<>();
+    private final static ConcurrentHashMap<Integer, ControlTimerTask> controlTimerTasks = new ConcurrentHashMap<>();
 
     /**
      * The last task handle/id that was generated.
      */
-    private static int lastTaskHandle = 0;
+    private static final AtomicInteger lastTaskHandle = new AtomicInteger();
+
+    /**
+     * Newly scheduled tasks waiting to be placed in the wheel by the timer
+     * thread.
+     */
+    private static final ConcurrentLinkedQueue<ControlTimerTask> incoming = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The slots of the wheel, by level.  Each slot holds a singly linked list
+     * of tasks.  Only accessed by the timer thread.
+     */
+    private static final ControlTimerTask[][] wheel = new ControlTimerTask[LEVELS][SLOTS];
+
+    /**
+     * The number of tasks in the wheel, including canceled tasks which
+     * haven't been dropped yet.  Only accessed by the timer thread.
+     */
+    private static int wheelCount = 0;
+
+    /**
+     * The next tick to be processed.  Only accessed by the timer thread.
+     */
+    private static long nextTick = 0;
+
+    /**
+     * The total number of timer executions.
+     */
+    private static volatile long fireCount = 0;
+
+    /**
+     * The number of timer executions that occurred more than
+     * {@link #LATE_THRESHOLD_NANOS} after their deadline.
+     */
+    private static volatile long lateFireCount = 0;
 
     /**
-     * TimerTask subclass that adds the concept of a unique integer ID
-     * generated for each instance.
+     * The largest delay observed between a deadline and the execution, in
+     * nanoseconds.
      */
-    private static class ControlTimerTask extends TimerTask {
+    private static volatile long maxLateness = 0;
+
+    /**
+     * The number of executions dropped, either because the previous
+     * invocation was still waiting for the scene thread or because the timer
+     * thread fell more than a period behind.
+     */
+    private static volatile long skippedCount = 0;
+
+    /**
+     * The shared timer thread.
+     */
+    private static final Thread thread = new Thread(ControlTimer::runWheel, "ControlTimer");
+
+    static {
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * A scheduled timer, with the unique integer ID generated for it.
+     */
+    private static class ControlTimerTask {
 
         /**
          * The TimerListener that should be invoked when this task is run.
@@ -49,32 +181,85 @@ public final class ControlTimer {
          */
         private final int id;
 
+        /**
+         * Where the listener is invoked.
+         */
+        private final Dispatch dispatch;
+
+        /**
+         * Time between successive executions in nanoseconds, or 0 for a
+         * one-time task.
+         */
+        private final long period;
+
+        /**
+         * The {@code System.nanoTime()} value of the next execution.
+         */
+        private long deadline;
+
+        /**
+         * The tick of the next execution.
+         */
+        private long deadlineTick;
+
+        /**
+         * The next task in the same wheel slot.
+         */
+        private ControlTimerTask next;
+
+        /**
+         * Whether the listener has been submitted to the scene thread but
+         * hasn't been invoked yet.
+         */
+        private final AtomicBoolean pending = new AtomicBoolean(false);
+
+        /**
+         * Whether this task has been canceled.  Checked on the scene thread,
+         * since an invocation may already be waiting when the task is
+         * canceled.
+         */
+        private volatile boolean canceled = false;
+
+        /**
+         * Submitted to the scene thread to invoke the listener.
+         */
+        private final Runnable fireTask = this::fire;
+
         /**
          * Constructs a new instance.
-         * 
+         *
          * @param listener  The TimerListener that should be invoked when
          *                  the new task is run.
-         * 
-         * @throws  IllegalArgumentException if the {@code listener} is
-         *          {@code null}.
+         * @param delay     Delay in milliseconds before the first execution.
+         * @param period    Time in milliseconds between successive
+         *                  executions, or 0 for a one-time task.
+         * @param dispatch  Where the listener is invoked.
+         *
+         * @throws  IllegalArgumentException if the {@code listener} or
+         *          {@code dispatch} is {@code null}, or {@code delay} is
+         *          negative.
          */
-        public ControlTimerTask(final TimerListener listener) {
+        public ControlTimerTask(final TimerListener listener, long delay, long period, Dispatch dispatch) {
             if (listener == null)
                 throw new IllegalArgumentException("The listener parameter cannot be null.");
 
-            this.listener = listener;
+            if (dispatch == null)
+                throw new IllegalArgumentException("The dispatch parameter cannot be null.");
 
-            synchronized (controlTimerTasks) {
-                ++lastTaskHandle;
-                id = lastTaskHandle;
+            if (delay < 0)
+                throw new IllegalArgumentException("The delay cannot be negative.");
 
-                controlTimerTasks.put(id, this);
-            }
-        } // ControlTimerTask(final TimerListener listener)
+            this.listener = listener;
+            this.dispatch = dispatch;
+            this.period = period * 1000000;
+            this.deadline = System.nanoTime() + delay * 1000000;
+            this.deadlineTick = tickAt(deadline);
+            this.id = lastTaskHandle.incrementAndGet();
+        } // ControlTimerTask(...)
 
         /**
          * Retrieves the unique integer ID assigned to this task.
-         * 
+         *
          * @return The unique integer ID assigned to this task.
          */
         public int getId() {
@@ -82,84 +267,151 @@ public final class ControlTimer {
         } // getId()
 
         /**
-         * Executes the associated TimerListener callback.
+         * Invokes the associated TimerListener callback.
          */
-        @Override
-        public void run() {
-            listener.timerFired( new TimerEvent( id ) );
+        private void fire() {
+            pending.set(false);
+
+            if (!canceled)
+                listener.timerFired( new TimerEvent( id ) );
+        } // fire()
+
+        /**
+         * Invokes the listener directly, or submits it to the scene thread
+         * unless a previous invocation is still waiting.  Called on the timer
+         * thread.
+         */
+        private void run() {
+            if (dispatch == Dispatch.TIMER_THREAD) {
+                try {
+                    fire();
+                } catch (RuntimeException ex) {
+                    Logger.getLogger(ControlTimer.class.getName()).log(Level.SEVERE, null, ex);
+                }
+            } else if (pending.compareAndSet(false, true)) {
+                SceneQueue.invokeLater(fireTask);
+            } else {
+                ++skippedCount;
+            }
         } // run()
     } // ControlTimerTask
-    
+
     /**
      * Schedules the specified task for one-time execution after the specified
-     * delay.
-     * 
+     * delay.  The listener is invoked on the scene thread.
+     *
      * @param listener  The TimerListener callback that should be invoked when
      *                  the new timer elapses.
      * @param delay     Delay in milliseconds before the timer is to be
      *                  executed.
-     * 
+     *
      * @return  A timer handle ID that uniquely identifies the timer created
      *          by the method invocation.
-     * 
-     * @see java.util.Timer#schedule(java.util.TimerTask, long) 
+     *
+     * @throws  IllegalArgumentException if {@code listener} is {@code null}
+     *          or {@code delay} is negative.
      */
     public static int schedule( final TimerListener listener, long delay ) {
-        ControlTimerTask task = new ControlTimerTask(listener);
-        timer.schedule(task, delay);
-
-        return task.getId();
+        return schedule( listener, delay, Dispatch.SCENE_THREAD );
     } // schedule( final TimerListener listener, long delay )
 
+    /**
+     * Schedules the specified task for one-time execution after the specified
+     * delay.
+     *
+     * @param listener  The TimerListener callback that should be invoked when
+     *                  the new timer elapses.
+     * @param delay     Delay in milliseconds before the timer is to be
+     *                  executed.
+     * @param dispatch  Where the listener is invoked.
+     *
+     * @return  A timer handle ID that uniquely identifies the timer created
+     *          by the method invocation.
+     *
+     * @throws  IllegalArgumentException if {@code listener} or
+     *          {@code dispatch} is {@code null}, or {@code delay} is negative.
+     */
+    public static int schedule( final TimerListener listener, long delay, Dispatch dispatch ) {
+        return add( new ControlTimerTask(listener, delay, 0, dispatch) );
+    } // schedule( final TimerListener listener, long delay, Dispatch dispatch )
+
     /**
      * Schedules the specified task for repeated fixed-rate execution,
-     * beginning after the specified delay.
-     * 
+     * beginning after the specified delay.  The listener is invoked on the
+     * scene thread.
+     *
      * Subsequent executions take place at approximately regular intervals,
      * separated by the specified period.
-     * 
+     *
      * @param listener  The TimerListener callback that should be invoked for
      *                  each execution of the new timer.
      * @param delay     Delay in milliseconds before the timer is to be
      *                  executed the first time.
      * @param period    Time in milliseconds between successive timer
      *                  executions.
-     * 
+     *
      * @return  A timer handle ID that uniquely identifies the timer created
      *          by the method invocation.
-     * 
-     * @see java.util.Timer#scheduleAtFixedRate(java.util.TimerTask, long, long) 
+     *
+     * @throws  IllegalArgumentException if {@code listener} is {@code null},
+     *          {@code delay} is negative or {@code period} is less than or
+     *          equal to 0.
      */
     public static int scheduleAtFixedRate( final TimerListener listener, long delay, long period ) {
+        return scheduleAtFixedRate( listener, delay, period, Dispatch.SCENE_THREAD );
+    } // scheduleAtFixedRate( TimerListener listener, long delay, long period )
+
+    /**
+     * Schedules the specified task for repeated fixed-rate execution,
+     * beginning after the specified delay.
+     *
+     * Subsequent executions take place at approximately regular intervals,
+     * separated by the specified period.
+     *
+     * @param listener  The TimerListener callback that should be invoked for
+     *                  each execution of the new timer.
+     * @param delay     Delay in milliseconds before the timer is to be
+     *                  executed the first time.
+     * @param period    Time in milliseconds between successive timer
+     *                  executions.
+     * @param dispatch  Where the listener is invoked.
+     *
+     * @return  A timer handle ID that uniquely identifies the timer created
+     *          by the method invocation.
+     *
+     * @throws  IllegalArgumentException if {@code listener} or
+     *          {@code dispatch} is {@code null}, {@code delay} is negative or
+     *          {@code period} is less than or equal to 0.
+     */
+    public static int scheduleAtFixedRate( final TimerListener listener, long delay, long period, Dispatch dispatch ) {
         if (period <= 0)
             throw new IllegalArgumentException("The period cannot be less than or equal to 0.");
 
-        ControlTimerTask task = new ControlTimerTask(listener);
-        timer.scheduleAtFixedRate(task, delay, period);
-
-        return task.getId();
-    } // scheduleAtFixedRate( TimerListener listener, long delay, long period )
+        return add( new ControlTimerTask(listener, delay, period, dispatch) );
+    } // scheduleAtFixedRate( TimerListener listener, long delay, long period, Dispatch dispatch )
 
     /**
      * Schedules the specified task for repeated fixed-rate execution,
-     * beginning after the specified delay.
-     * 
+     * beginning after the specified delay.  The listener is invoked on the
+     * scene thread.
+     *
      * Subsequent executions take place at approximately regular intervals,
      * separated by the specified period, with the first execution occurring
      * as soon as possible.
-     * 
+     *
      * <p>This method is equivalent to
      * {@code scheduleAtFixedRate(listener, 0, period)}.
-     * 
+     *
      * @param listener  The TimerListener callback that should be invoked for
      *                  each execution of the new timer.
      * @param period    Time in milliseconds between successive timer
      *                  executions.
-     * 
+     *
      * @return  A timer handle ID that uniquely identifies the timer created
      *          by the method invocation.
-     * 
-     * @see java.util.Timer#scheduleAtFixedRate(java.util.TimerTask, long, long) 
+     *
+     * @throws  IllegalArgumentException if {@code listener} is {@code null}
+     *          or {@code period} is less than or equal to 0.
      */
     public static int scheduleAtFixedRate( final TimerListener listener, long period ) {
         return scheduleAtFixedRate( listener, 0, period );
@@ -167,19 +419,239 @@ public final class ControlTimer {
 
     /**
      * Cancels the timer with the specified handle, if it hasn't already fired.
-     * 
+     *
      * @param taskHandle    The time handle ID returned by a prior call to
      *                      {@code schedule} or {@code scheduleAtFixedRate}.
      */
     public static void cancelTimerListener( int taskHandle ) {
-        TimerTask t;
-        synchronized (controlTimerTasks) {
-            t = controlTimerTasks.remove( taskHandle );
-        }
+        ControlTimerTask t = controlTimerTasks.remove( taskHandle );
         if (t != null)
-            t.cancel();
+            t.canceled = true;
     } // cancelTimerListener( TimerListener listener )
 
+    /**
+     * Retrieves the number of timers currently scheduled.
+     *
+     * @return  The number of timers that are scheduled and haven't been
+     *          canceled or, for one-time timers, fired.
+     */
+    public static int getScheduledCount() {
+        return controlTimerTasks.size();
+    } // getScheduledCount()
+
+    /**
+     * Retrieves the total number of timer executions.
+     *
+     * @return  The number of times a timer has elapsed.
+     */
+    public static long getFireCount() {
+        return fireCount;
+    } // getFireCount()
+
+    /**
+     * Retrieves the number of timer executions that occurred noticeably
+     * (more than 5 milliseconds) after their deadline.
+     *
+     * @return  The number of late executions.
+     */
+    public static long getLateFireCount() {
+        return lateFireCount;
+    } // getLateFireCount()
+
+    /**
+     * Retrieves the largest delay observed between the deadline of a timer
+     * and its execution.
+     *
+     * @return  The largest delay, in milliseconds.
+     */
+    public static double getMaxLateness() {
+        return maxLateness / 1000000.0;
+    } // getMaxLateness()
+
+    /**
+     * Retrieves the number of executions of repeating timers that were
+     * skipped, either because the previous invocation was still waiting for
+     * the scene thread, or because the timer thread fell more than a period
+     * behind.
+     *
+     * @return  The number of skipped executions.
+     */
+    public static long getSkippedCount() {
+        return skippedCount;
+    } // getSkippedCount()
+
+    /**
+     * Registers a new task and hands it over to the timer thread.
+     *
+     * @param   task    The task to add.
+     *
+     * @return  The task handle.
+     */
+    private static int add( ControlTimerTask task ) {
+        controlTimerTasks.put(task.getId(), task);
+        incoming.add(task);
+        LockSupport.unpark(thread);
+
+        return task.getId();
+    } // add( ControlTimerTask task )
+
+    /**
+     * Determines the first tick at or after the specified time.
+     *
+     * @param   nanos   A {@code System.nanoTime()} value.
+     *
+     * @return  The tick number.
+     */
+    private static long tickAt( long nanos ) {
+        long t = nanos - startNanos;
+        return (t <= 0) ? 0 : (t + TICK_NANOS - 1) / TICK_NANOS;
+    } // tickAt( long nanos )
+
+    /**
+     * The body of the timer thread.  Places new tasks in the wheel, and
+     * processes each tick as its time arrives.
+     */
+    private static void runWheel() {
+        while (true) {
+            if ((wheelCount == 0) && incoming.isEmpty())
+                LockSupport.park();
+
+            long now = (System.nanoTime() - startNanos) / TICK_NANOS;
+
+            // With an empty wheel there's nothing to catch up on, so skip
+            // straight to the current tick
+            if (wheelCount == 0)
+                nextTick = Math.max(nextTick, now);
+
+            ControlTimerTask task;
+            while ((task = incoming.poll()) != null) {
+                if (!task.canceled)
+                    insert(task);
+            } // while
+
+            while (nextTick <= now)
+                processTick(nextTick);
+
+            if (wheelCount > 0) {
+                long wait = startNanos + nextTick * TICK_NANOS - System.nanoTime();
+                if (wait > 0)
+                    LockSupport.parkNanos(wait);
+            }
+        } // while
+    } // runWheel()
+
+    /**
+     * Places a task in the wheel slot covering its deadline.  Tasks whose
+     * deadline has already passed are placed in the slot for the next tick.
+     *
+     * @param   task    The task to place.
+     */
+    private static void insert( ControlTimerTask task ) {
+        long tick = Math.max(task.deadlineTick, nextTick);
+        long delta = tick - nextTick;
+
+        int level = 0;
+        while ((level < LEVELS - 1) && (delta >= (1L << ((level + 1) * SLOT_BITS))))
+            ++level;
+
+        // Deadlines beyond the top level are parked in its furthest slot and
+        // re-placed when it cascades
+        if (delta >= (1L << (LEVELS * SLOT_BITS)))
+            tick = nextTick + (1L << (LEVELS * SLOT_BITS)) - 1;
+
+        int slot = (int)(tick >>> (level * SLOT_BITS)) & SLOT_MASK;
+
+        task.next = wheel[level][slot];
+        wheel[level][slot] = task;
+        ++wheelCount;
+    } // insert( ControlTimerTask task )
+
+    /**
+     * Processes a single tick: moves the tasks of any higher level slot whose
+     * span starts at this tick down the wheel, then runs the tasks due at this
+     * tick.
+     *
+     * @param   tick    The tick to process, which must equal
+     *                  {@link #nextTick}.
+     */
+    private static void processTick( long tick ) {
+        if ((tick & SLOT_MASK) == 0) {
+            for (int level = 1; level < LEVELS; ++level) {
+                int slot = (int)(tick >>> (level * SLOT_BITS)) & SLOT_MASK;
+
+                ControlTimerTask task = wheel[level][slot];
+                wheel[level][slot] = null;
+
+                while (task != null) {
+                    ControlTimerTask next = task.next;
+                    --wheelCount;
+                    if (!task.canceled)
+                        insert(task);
+                    task = next;
+                } // while
+
+                if (slot != 0)
+                    break;
+            } // for
+        }
+
+        int slot = (int)tick & SLOT_MASK;
+        ControlTimerTask task = wheel[0][slot];
+        wheel[0][slot] = null;
+
+        nextTick = tick + 1;
+
+        while (task != null) {
+            ControlTimerTask next = task.next;
+            task.next = null;
+            --wheelCount;
+
+            if (!task.canceled)
+                runTask(task);
+
+            task = next;
+        } // while
+    } // processTick( long tick )
+
+    /**
+     * Runs a task that is due, records its timing and, for repeating tasks,
+     * places it back in the wheel for its next execution.
+     *
+     * @param   task    The task to run.
+     */
+    private static void runTask( ControlTimerTask task ) {
+        long late = System.nanoTime() - task.deadline;
+
+        ++fireCount;
+        if (late > LATE_THRESHOLD_NANOS)
+            ++lateFireCount;
+        if (late > maxLateness)
+            maxLateness = late;
+
+        task.run();
+
+        if (task.period == 0) {
+            controlTimerTasks.remove(task.getId(), task);
+            return;
+        }
+
+        if (task.canceled)
+            return;
+
+        task.deadline += task.period;
+
+        // Skip any executions whose tick has already been processed
+        long behind = startNanos + (nextTick - 1) * TICK_NANOS - task.deadline;
+        if (behind >= 0) {
+            long missed = behind / task.period + 1;
+            task.deadline += missed * task.period;
+            skippedCount += missed;
+        }
+
+        task.deadlineTick = tickAt(task.deadline);
+        insert(task);
+    } // runTask( ControlTimerTask task )
+
     /**
      * Prevent instantiation of this utility class.
      */
@@ -1,10 +1,10 @@
 
 package Fishing.drawable.controls;
 
-import Fishing.drawable.Drawable;
 import Fishing.drawable.Animation;
 import Fishing.drawable.SpriteFrameSet;
 import java.awt.geom.Rectangle2D;
+import java.util.Random;
 
 /**
  *
@@ -14,16 +14,30 @@ public class Fish
     extends Animation
 {
 
+    /**
+     * The number of times per second {@link #animate(Rectangle2D, Random)} is
+     * expected to be called.  Speeds are expressed in units per step.
+     */
+    public static final int STEP_RATE = 30;
+
+    /**
+     * Duration of a single simulation step, in milliseconds.
+     */
+    private static final double STEP_TIME = 1000.0 / STEP_RATE;
+
     private static final int DECIDE_NONE    = 0;
     private static final int DECIDE_REVERSE = 1;
     private static final int DECIDE_UP_DOWN = 2;
 
     private long decisionMakingFrequency = 1000;    // Number of milliseconds between choosing whether to make a decision
     private long decisionCooldownTime = 3000;       // Time after making a decision before another decision can be made
-    private long decisionTime = 0;                  // Time when a decision will be made
-    private long nextReverseDecisionTime = 0;       // Time when a decision to reverse can be made
+    private double decisionDelay = 0;               // Simulated milliseconds until a decision will be made
+    private double reverseDecisionDelay = 0;        // Simulated milliseconds until a decision to reverse can be made
     private long reverseDecisionCooldownTime = 2000;    // Time after reversing before another reverse decision can be made
 
+    private double simX, simY;              // Position at the last simulation step
+    private double prevX, prevY;            // Position at the step before that
+
     private double targetY = Double.NaN;    // If moving vertically, the position on the screen to move to
     private double deltaX = 0;              // Horizontal speed
     private double deltaY = 0;              // Vertical speed
@@ -40,10 +54,28 @@ public class Fish
 
         setFrameRate(1.0 / 1000);
 
-        nextReverseDecisionTime = System.currentTimeMillis() + reverseDecisionCooldownTime;
+        reverseDecisionDelay = reverseDecisionCooldownTime;
     } // Fish( SpriteFrameSet frameset, int score, String species )
 
-    
+    /**
+     * Returns the fish to the state it was constructed in, so that it can be
+     * reused for a new fish of the same species.  The fish should be stopped
+     * and removed from the display before being reset.
+     */
+    public void reset() {
+        deltaX = 0;
+        deltaY = 0;
+        targetY = Double.NaN;
+
+        decisionDelay = 0;
+        reverseDecisionDelay = reverseDecisionCooldownTime;
+
+        setFrameRate(1.0 / 1000);
+        gotoFrameIndex(0);
+        setSimulationPosition(0, 0);
+    } // reset()
+
+
     public String getSpecies() {
         return species;
     } // getSpecies()
@@ -89,12 +121,57 @@ public class Fish
         deltaY = value;
 
         // Assume change in direction was a decision
-        decisionTime = System.currentTimeMillis() + decisionCooldownTime;
+        decisionDelay = decisionCooldownTime;
     } // setDeltaY(double value)
 
-    public void animate( Rectangle2D bounds ) {
-        double x = getX() + deltaX;
-        double y = getY() + deltaY;
+    /**
+     * Places the fish at the specified position, discarding the previous
+     * simulation state so that it isn't interpolated from where it was.
+     * 
+     * @param   x   The new horizontal position.
+     * @param   y   The new vertical position.
+     */
+    public void setSimulationPosition( double x, double y ) {
+        simX = prevX = x;
+        simY = prevY = y;
+        setPosition( x, y );
+    } // setSimulationPosition( double x, double y )
+
+    /**
+     * Positions the fish between its last two simulated positions.
+     * 
+     * @param   alpha   The fraction of the step since the last simulated
+     *                  position, from 0 for the previous position to 1 for
+     *                  the last.
+     */
+    public void interpolate( double alpha ) {
+        setPosition( prevX + (simX - prevX) * alpha, prevY + (simY - prevY) * alpha );
+    } // interpolate( double alpha )
+
+    /**
+     * Advances the fish by one simulation step.  The fish is left displayed
+     * at its new position until {@link #interpolate(double)} is called.
+     * 
+     * <p>All random choices are drawn from the specified generator, so the
+     * movement of the fish is fully determined by its seed.
+     * 
+     * <p>The fish doesn't remove itself once it swims out of bounds, so that
+     * callers can step all their fish before changing the display list.
+     * 
+     * @param   bounds  The area within which the fish swims.
+     * @param   random  The random number generator to make decisions with.
+     * 
+     * @return  {@code true} if the fish swam out of the bounds and should be
+     *          removed, {@code false} otherwise.
+     */
+    public boolean animate( Rectangle2D bounds, Random random ) {
+        prevX = simX;
+        prevY = simY;
+
+        double x = simX + deltaX;
+        double y = simY + deltaY;
+        simX = x;
+        simY = y;
         setPosition( x, y );
 
         // Ensure the fish doesn't go past the target Y position
@@ -131,26 +208,25 @@ public class Fish
                 remove = true;
         } else if (x > maxX - getWidth() / 2)
             remove = true;
-        Drawable p = getParent();
-        if ((p != null) && remove)
-            p.removeDrawable(this);
 
-        long currentTime = System.currentTimeMillis();
-        if (decisionTime <= currentTime) {
+        decisionDelay -= STEP_TIME;
+        reverseDecisionDelay -= STEP_TIME;
+
+        if (decisionDelay <= 0) {
             // Make a decision
-            int decision = (int)Math.round(Math.random() * 3);
+            int decision = (int)Math.round(random.nextDouble() * 3);
             switch (decision) {
                 case DECIDE_NONE:
                     break;
 
                 case DECIDE_REVERSE:
-                    if (nextReverseDecisionTime < currentTime) {
+                    if (reverseDecisionDelay < 0) {
                         // The chance to actually reverse depends on how close to the center we are
 //                        double cx = Math.abs((x - minX) - bounds.getWidth() / 2) / (bounds.getWidth() / 2);
 //                        cx = Math.random() * (1 - cx);
 //                        if (cx > 0.2) {
                             setDeltaX(deltaX * -1);
-                            nextReverseDecisionTime = currentTime + reverseDecisionCooldownTime;
+                            reverseDecisionDelay = reverseDecisionCooldownTime;
 //                        } else
 //                            decision = DECIDE_NONE;
                     } else
@@ -160,11 +236,11 @@ public class Fish
                 case DECIDE_UP_DOWN:
                     if (Double.isNaN(targetY)) {
                         // Choose where to go to
-                        targetY = bounds.getX() + Math.random() * bounds.getHeight();
+                        targetY = bounds.getX() + random.nextDouble() * bounds.getHeight();
 
                         // Choose a speed
                         double d = deltaX * 0.25;
-                        deltaY = (deltaX  + (Math.random() * d) - d/2) * 0.5;
+                        deltaY = (deltaX  + (random.nextDouble() * d) - d/2) * 0.5;
                         if (targetY < y)
                             deltaY = -deltaY;
                     } else
@@ -173,9 +249,10 @@ public class Fish
                     break;
             } // switch
 
-            decisionTime = System.currentTimeMillis() + (decision == DECIDE_NONE ? decisionMakingFrequency : decisionCooldownTime);
+            decisionDelay = (decision == DECIDE_NONE ? decisionMakingFrequency : decisionCooldownTime);
         }
 
-    } // animate()
+        return remove;
+    } // animate( Rectangle2D bounds, Random random )
 
 } // class Fish
@@ -0,0 +1,1201 @@
+
+package Fishing.drawable.controls;
+
+import Fishing.drawable.Drawable;
+import Fishing.drawable.SpriteFrame;
+import Fishing.drawable.SpriteFrameSet;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Point2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Simulates and draws a large population of fish as a single Drawable.
+ *
+ * <p>Unlike {@link Fish}, which is a full Animation in the display list, the
+ * fish in a school are plain rows in a set of parallel primitive arrays
+ * holding their position, speed, target depth, decision timers, species and
+ * animation phase.  A single pass over the arrays advances every fish by one
+ * simulation step, and painting draws each fish's current frame straight from
+ * its species' sprite sheet.  This keeps the cost per fish to a few array
+ * reads and a single {@code drawImage} call, so a school can hold tens of
+ * thousands of fish.
+ *
+ * <p>Fish swim the same way as {@link Fish} does: they occasionally reverse
+ * or pick a new depth to move to, and are removed when they swim out of the
+ * bounds passed to {@link #step(Rectangle2D)}.  Each fish's position
+ * is its center.  The school is mouse sensitive only over the opaque pixels
+ * of its fish, and {@link #fishAt(Point2D)} finds the fish under a point.
+ *
+ * <p>Species may be marked as schooling, in which case their fish steer to
+ * keep apart from, move along with and stay close to nearby fish of the same
+ * species, and as predators, which smaller fish of other species flee from.
+ * Nearby fish are found through a uniform grid rebuilt at the start of each
+ * step, and only the first few neighbours found are considered, so the cost
+ * of steering grows linearly with the number of fish.
+ *
+ * <p>Removing a fish moves the last fish into its slot, so the index of a
+ * fish is only valid until the next removal or step.
+ *
+ * @author Brad
+ */
+public class FishSchool
+    extends Drawable
+{
+
+    /**
+     * Duration of a single simulation step, in milliseconds.
+     */
+    private static final double STEP_TIME = 1000.0 / Fish.STEP_RATE;
+
+    private static final int DECIDE_NONE    = 0;
+    private static final int DECIDE_REVERSE = 1;
+    private static final int DECIDE_UP_DOWN = 2;
+
+    private static final double DECISION_MAKING_FREQUENCY = 1000;   // Milliseconds between choosing whether to make a decision
+    private static final double DECISION_COOLDOWN_TIME = 3000;      // Time after making a decision before another decision can be made
+    private static final double REVERSE_COOLDOWN_TIME = 2000;       // Time after reversing before another reverse decision can be made
+
+    private static final double MAX_DELTA_X = 10;   // Maximum horizontal speed
+
+    /**
+     * Schools with more fish than this are stepped in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    /**
+     * The number of fish updated by each parallel task.
+     */
+    private static final int PARALLEL_CHUNK = 1024;
+
+    /**
+     * Increment of the SplitMix64 random number generators.
+     */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private static final double NEIGHBOUR_RADIUS = 64;      // Distance within which other fish influence steering, and the grid cell size
+    private static final double SEPARATION_RADIUS = 24;     // Distance within which schooling fish move apart
+    private static final int MAX_NEIGHBOURS = 16;           // Maximum number of neighbours considered by each fish
+    private static final int MAX_EXAMINED = 32;             // Maximum number of nearby fish examined by each fish
+
+    /**
+     * Column and row offsets of the grid cells searched for neighbours,
+     * starting with the fish's own cell.
+     */
+    private static final int[] NEIGHBOUR_CELLS = {
+        0, 0,   -1, 0,   1, 0,   0, -1,   0, 1,   -1, -1,   1, -1,   -1, 1,   1, 1
+    };
+
+    private static final double SEPARATION_WEIGHT = 0.3;    // Strength of the push away from close neighbours
+    private static final double ALIGNMENT_WEIGHT = 0.05;    // Fraction of the difference from the neighbours' mean speed corrected per step
+    private static final double COHESION_WEIGHT = 0.0005;   // Speed change per unit of distance from the neighbours' center
+    private static final double FLEE_WEIGHT = 0.5;          // Strength of the push away from predators
+    private static final double MAX_STEERED_DELTA_Y = 2;    // Maximum vertical speed of a steered fish
+    private static final double STEERED_DELTA_Y_DAMPING = 0.9; // Fraction of a steered vertical speed kept each step when not moving to a depth
+    private static final double MIN_DELTA_Y = 0.01;         // Vertical speed below which a damped fish stops moving vertically
+
+    // Species table
+    private int speciesCount = 0;
+    private String[] speciesNames = new String[4];
+    private SpriteFrame[][] speciesFrames = new SpriteFrame[4][];
+    private BufferedImage[] speciesImages = new BufferedImage[4];
+    private int[] speciesScores = new int[4];
+    private double[] speciesScaleX = new double[4];
+    private double[] speciesScaleY = new double[4];
+    private double[] speciesWeights = new double[4];
+    private boolean[] speciesFlip = new boolean[4];         // Whether the frames face left
+    private boolean[] speciesSchooling = new boolean[4];
+    private boolean[] speciesPredator = new boolean[4];
+    private double totalWeight = 0;
+
+    // Fish table, one element per fish in each array
+    private int count = 0;
+    private double[] x = new double[64];            // Position at the last step
+    private double[] y = new double[64];
+    private double[] prevX = new double[64];        // Position at the step before that
+    private double[] prevY = new double[64];
+    private double[] deltaX = new double[64];       // Horizontal speed
+    private double[] deltaY = new double[64];       // Vertical speed
+    private double[] targetY = new double[64];      // If moving vertically, the position to move to, otherwise NaN
+    private double[] decisionDelay = new double[64];    // Simulated milliseconds until a decision will be made
+    private double[] reverseDelay = new double[64];     // Simulated milliseconds until a decision to reverse can be made
+    private double[] phase = new double[64];        // Animation frame position, in frames
+    private double[] halfWidth = new double[64];    // Half the displayed width
+    private double[] halfHeight = new double[64];   // Half the displayed height
+    private int[] species = new int[64];            // Index into the species table
+    private long[] randomState = new long[64];      // State of the fish's random number generator
+    private boolean[] leaving = new boolean[64];    // Whether the fish swam out of bounds during the current step
+    private double[] steerX = new double[64];       // Speed change from steering during the current step
+    private double[] steerY = new double[64];
+
+    // Neighbour grid, rebuilt at the start of each step that needs steering
+    private double gridMinX, gridMinY;
+    private int gridColumns, gridRows;
+    private int[] cellStart = new int[1];           // Index in cellFish of each cell's first fish, plus a final end index
+    private int[] cellFish = new int[64];           // Fish indices sorted by cell
+    private int[] fishCell = new int[64];           // Cell of each fish
+    private double[] cellX = new double[64];        // Copies of the fish data sorted by cell, so scanning a cell reads memory in order
+    private double[] cellY = new double[64];
+    private double[] cellDeltaX = new double[64];
+    private double[] cellDeltaY = new double[64];
+    private double[] cellHalfWidth = new double[64];
+    private int[] cellSpecies = new int[64];
+
+    /**
+     * Whether the current step applies steering.
+     */
+    private boolean steering = false;
+
+    /**
+     * The range of horizontal speeds steering keeps fish within.
+     */
+    private double minSteeredDeltaX = 0.5;
+    private double maxSteeredDeltaX = MAX_DELTA_X;
+
+    /**
+     * The state used to seed the random number generator of each new fish.
+     */
+    private long seed = 0;
+
+    /**
+     * Fraction of a step to interpolate positions by when painting.
+     */
+    private double alpha = 1;
+
+    /**
+     * Constructs a new, empty instance.
+     */
+    public FishSchool() {
+        setMouseEnabled(true);
+    } // FishSchool()
+
+    /**
+     * Sets the seed the random number generators of the fish added from now
+     * on are derived from.  Fish added in the same order after setting the
+     * same seed make the same decisions.
+     *
+     * @param   value   The seed.
+     */
+    public void setSeed( long value ) {
+        seed = value;
+    } // setSeed( long value )
+
+    /**
+     * Sets the range of horizontal speeds steering keeps fish within,
+     * typically the minimum and maximum fish speeds of the game.  Fish that
+     * don't steer keep the speed they were given.
+     *
+     * @param   min     The minimum horizontal speed, in units per step.
+     * @param   max     The maximum horizontal speed, in units per step, which
+     *                  is limited to 10.
+     *
+     * @throws  IllegalArgumentException if {@code min} is less than 0 or
+     *          greater than {@code max}.
+     */
+    public void setSteeredSpeedRange( double min, double max ) {
+        if ((min < 0) || (min > max)) {
+            throw new IllegalArgumentException(
+                "The min must be between 0 and the max"
+            );
+        }
+
+        maxSteeredDeltaX = Math.min(max, MAX_DELTA_X);
+        minSteeredDeltaX = Math.min(min, maxSteeredDeltaX);
+    } // setSteeredSpeedRange( double min, double max )
+
+    /**
+     * Adds a species of fish to the school.
+     *
+     * @param   name        The species name.
+     * @param   frameset    The animation frames of the species.
+     * @param   score       The score for catching a fish of the species.
+     * @param   scaleX      The horizontal scale to draw the frames at.  A
+     *                      negative value indicates the frames show the fish
+     *                      facing left.
+     * @param   scaleY      The vertical scale to draw the frames at.
+     * @param   weight      The relative probability of spawning the species
+     *                      through {@link #spawn(Random, double, double, double)}.
+     *
+     * @return  The index of the new species.
+     *
+     * @throws  NullPointerException if {@code name} or {@code frameset} is
+     *          {@code null}.
+     * @throws  IllegalArgumentException if {@code frameset} has no frames or
+     *          {@code weight} is less than 0.
+     */
+    public int addSpecies( String name, SpriteFrameSet frameset, int score, double scaleX, double scaleY, double weight ) {
+        if (name == null)
+            throw new NullPointerException("The name parameter cannot be null.");
+
+        if (frameset.size() == 0)
+            throw new IllegalArgumentException("The frameset must contain at least one frame.");
+
+        if (weight < 0)
+            throw new IllegalArgumentException("The weight parameter cannot be less than 0.");
+
+        if (speciesCount == speciesNames.length) {
+            int n = speciesCount * 2;
+            speciesNames = Arrays.copyOf(speciesNames, n);
+            speciesFrames = Arrays.copyOf(speciesFrames, n);
+            speciesImages = Arrays.copyOf(speciesImages, n);
+            speciesScores = Arrays.copyOf(speciesScores, n);
+            speciesScaleX = Arrays.copyOf(speciesScaleX, n);
+            speciesScaleY = Arrays.copyOf(speciesScaleY, n);
+            speciesWeights = Arrays.copyOf(speciesWeights, n);
+            speciesFlip = Arrays.copyOf(speciesFlip, n);
+            speciesSchooling = Arrays.copyOf(speciesSchooling, n);
+            speciesPredator = Arrays.copyOf(speciesPredator, n);
+        }
+
+        SpriteFrame[] frames = new SpriteFrame[frameset.size()];
+        for (int i = 0; i < frames.length; ++i)
+            frames[i] = frameset.getFrame(i);
+
+        int s = speciesCount++;
+        speciesNames[s] = name;
+        speciesFrames[s] = frames;
+        speciesImages[s] = frameset.getSheet().getImage();
+        speciesScores[s] = score;
+        speciesScaleX[s] = Math.abs(scaleX);
+        speciesFlip[s] = (scaleX < 0);
+        speciesScaleY[s] = Math.abs(scaleY);
+        speciesWeights[s] = weight;
+        totalWeight += weight;
+
+        return s;
+    } // addSpecies(...)
+
+    /**
+     * Determines whether fish of a species swim in schools.
+     *
+     * @param   index   The index of the species.
+     *
+     * @return  {@code true} if the species schools, {@code false} otherwise.
+     */
+    public boolean isSpeciesSchooling( int index ) {
+        checkSpecies(index);
+        return speciesSchooling[index];
+    } // isSpeciesSchooling( int index )
+
+    /**
+     * Sets whether fish of a species swim in schools, steering to keep apart
+     * from, move along with and stay close to nearby fish of the same
+     * species.
+     *
+     * @param   index   The index of the species.
+     * @param   value   Whether the species schools.
+     */
+    public void setSpeciesSchooling( int index, boolean value ) {
+        checkSpecies(index);
+        speciesSchooling[index] = value;
+    } // setSpeciesSchooling( int index, boolean value )
+
+    /**
+     * Determines whether fish of a species are predators.
+     *
+     * @param   index   The index of the species.
+     *
+     * @return  {@code true} if the species is a predator, {@code false}
+     *          otherwise.
+     */
+    public boolean isSpeciesPredator( int index ) {
+        checkSpecies(index);
+        return speciesPredator[index];
+    } // isSpeciesPredator( int index )
+
+    /**
+     * Sets whether fish of a species are predators, which nearby fish of
+     * other species that are smaller steer away from.
+     *
+     * @param   index   The index of the species.
+     * @param   value   Whether the species is a predator.
+     */
+    public void setSpeciesPredator( int index, boolean value ) {
+        checkSpecies(index);
+        speciesPredator[index] = value;
+    } // setSpeciesPredator( int index, boolean value )
+
+    /**
+     * Retrieves the number of species added to the school.
+     *
+     * @return  The number of species.
+     */
+    public int getSpeciesCount() {
+        return speciesCount;
+    } // getSpeciesCount()
+
+    /**
+     * Retrieves the name of a species.
+     *
+     * @param   index   The index of the species.
+     *
+     * @return  The species name.
+     */
+    public String getSpeciesName( int index ) {
+        checkSpecies(index);
+        return speciesNames[index];
+    } // getSpeciesName( int index )
+
+    /**
+     * Retrieves the score for catching a fish of a species.
+     *
+     * @param   index   The index of the species.
+     *
+     * @return  The species score.
+     */
+    public int getSpeciesScore( int index ) {
+        checkSpecies(index);
+        return speciesScores[index];
+    } // getSpeciesScore( int index )
+
+    /**
+     * Retrieves the number of fish in the school.
+     *
+     * @return  The number of fish.
+     */
+    public int getCount() {
+        return count;
+    } // getCount()
+
+    /**
+     * Retrieves the species of a fish.
+     *
+     * @param   index   The index of the fish.
+     *
+     * @return  The index of the fish's species.
+     */
+    public int getSpecies( int index ) {
+        checkFish(index);
+        return species[index];
+    } // getSpecies( int index )
+
+    /**
+     * Retrieves the horizontal position of the center of a fish at the last
+     * simulation step.
+     *
+     * @param   index   The index of the fish.
+     *
+     * @return  The horizontal position of the fish.
+     */
+    public double getFishX( int index ) {
+        checkFish(index);
+        return x[index];
+    } // getFishX( int index )
+
+    /**
+     * Retrieves the vertical position of the center of a fish at the last
+     * simulation step.
+     *
+     * @param   index   The index of the fish.
+     *
+     * @return  The vertical position of the fish.
+     */
+    public double getFishY( int index ) {
+        checkFish(index);
+        return y[index];
+    } // getFishY( int index )
+
+    /**
+     * Retrieves the displayed width of a fish.
+     *
+     * @param   index   The index of the fish.
+     *
+     * @return  The width of the fish.
+     */
+    public double getFishWidth( int index ) {
+        checkFish(index);
+        return halfWidth[index] * 2;
+    } // getFishWidth( int index )
+
+    /**
+     * Places a fish at the specified position, discarding its previous
+     * position so that it isn't interpolated from where it was.
+     *
+     * @param   index   The index of the fish.
+     * @param   x       The horizontal position of the center of the fish.
+     * @param   y       The vertical position of the center of the fish.
+     */
+    public void setFishPosition( int index, double x, double y ) {
+        checkFish(index);
+
+        this.x[index] = prevX[index] = x;
+        this.y[index] = prevY[index] = y;
+        repaint();
+    } // setFishPosition( int index, double x, double y )
+
+    /**
+     * Retrieves the horizontal speed of a fish.
+     *
+     * @param   index   The index of the fish.
+     *
+     * @return  The horizontal speed, in units per step.
+     */
+    public double getDeltaX( int index ) {
+        checkFish(index);
+        return deltaX[index];
+    } // getDeltaX( int index )
+
+    /**
+     * Sets the horizontal speed of a fish.  The fish faces the direction it
+     * moves in.
+     *
+     * @param   index   The index of the fish.
+     * @param   value   The horizontal speed, in units per step, which is
+     *                  limited to between -10 and 10.
+     */
+    public void setDeltaX( int index, double value ) {
+        checkFish(index);
+
+        if (value > MAX_DELTA_X)
+            value = MAX_DELTA_X;
+        else if (value < -MAX_DELTA_X)
+            value = -MAX_DELTA_X;
+
+        deltaX[index] = value;
+    } // setDeltaX( int index, double value )
+
+    /**
+     * Adds a fish of a species chosen at random according to the species
+     * weights, with a random size adjustment.
+     *
+     * @param   random  The random number generator to choose with.
+     * @param   x       The horizontal position of the center of the fish.
+     * @param   y       The vertical position of the center of the fish.
+     * @param   deltaX  The horizontal speed, in units per step.
+     *
+     * @return  The index of the new fish.
+     *
+     * @throws  IllegalStateException if no species has a non-zero weight.
+     */
+    public int spawn( Random random, double x, double y, double deltaX ) {
+        double probability = random.nextDouble() * totalWeight;
+
+        double currentWeight = 0;
+        for (int s = 0; s < speciesCount; ++s) {
+            currentWeight += speciesWeights[s];
+            if ((speciesWeights[s] > 0) && (currentWeight >= probability))
+                return spawn( s, x, y, deltaX, 1 - random.nextDouble() / 8 );
+        } // for
+
+        throw new IllegalStateException("Unable to determine type of fish to construct");
+    } // spawn( Random random, double x, double y, double deltaX )
+
+    /**
+     * Adds a fish.
+     *
+     * @param   speciesIndex    The index of the fish's species.
+     * @param   x               The horizontal position of the center of the
+     *                          fish.
+     * @param   y               The vertical position of the center of the
+     *                          fish.
+     * @param   deltaX          The horizontal speed, in units per step.
+     * @param   size            The size of the fish relative to the species
+     *                          scale.
+     *
+     * @return  The index of the new fish.
+     */
+    public int spawn( int speciesIndex, double x, double y, double deltaX, double size ) {
+        checkSpecies(speciesIndex);
+
+        if (count == this.x.length)
+            grow(count * 2);
+
+        int i = count++;
+        SpriteFrame f = speciesFrames[speciesIndex][0];
+
+        this.x[i] = prevX[i] = x;
+        this.y[i] = prevY[i] = y;
+        this.deltaY[i] = 0;
+        targetY[i] = Double.NaN;
+        decisionDelay[i] = 0;
+        reverseDelay[i] = REVERSE_COOLDOWN_TIME;
+        phase[i] = 0;
+        halfWidth[i] = f.getWidth() * speciesScaleX[speciesIndex] * size / 2;
+        halfHeight[i] = f.getHeight() * speciesScaleY[speciesIndex] * size / 2;
+        species[i] = speciesIndex;
+        randomState[i] = mix(seed += GOLDEN_GAMMA);
+        leaving[i] = false;
+        setDeltaX(i, deltaX);
+
+        return i;
+    } // spawn( int speciesIndex, double x, double y, double deltaX, double size )
+
+    /**
+     * Removes a fish.  The last fish is moved into its place.
+     *
+     * @param   index   The index of the fish to remove.
+     */
+    public void remove( int index ) {
+        checkFish(index);
+
+        int last = --count;
+        if (index != last)
+            copyRow(last, index);
+
+        repaint();
+    } // remove( int index )
+
+    /**
+     * Removes all fish from the school.
+     */
+    public void clear() {
+        count = 0;
+        repaint();
+    } // clear()
+
+    /**
+     * Advances every fish by one simulation step of
+     * {@code 1 / Fish.STEP_RATE} seconds, removing those that swim out of the
+     * specified bounds.
+     *
+     * <p>The step runs in phases.  If any species schools or is a predator,
+     * the neighbour grid is rebuilt and each fish works out how to steer from
+     * the current positions of its neighbours.  Each fish is then moved and
+     * makes its decisions.  Both of these phases touch nothing but the fish's
+     * own row in the arrays, so large schools are split into ranges that are
+     * updated in parallel on the common ForkJoinPool.  Finally the fish that
+     * swam out of bounds are removed in a single pass that keeps the
+     * remaining fish in order.  Each fish
+     * draws its random choices from its own generator, so the result is the
+     * same however the work is split.
+     *
+     * @param   bounds  The area within which the fish swim, in this object's
+     *                  coordinate system.
+     */
+    public void step( Rectangle2D bounds ) {
+        double minX = bounds.getMinX();
+        double maxX = bounds.getMaxX();
+        double minY = bounds.getMinY();
+        double height = bounds.getHeight();
+
+        steering = isSteering();
+        if (steering) {
+            buildGrid(bounds);
+            runPhase(true, minX, maxX, minY, height);
+        }
+
+        runPhase(false, minX, maxX, minY, height);
+
+        // Merge phase: drop the fish that left, preserving the drawing order
+        int n = 0;
+        for (int i = 0; i < count; ++i) {
+            if (leaving[i]) {
+                leaving[i] = false;
+                continue;
+            }
+
+            if (n != i)
+                copyRow(i, n);
+            ++n;
+        } // for
+
+        if (n != count) {
+            count = n;
+            repaint();
+        }
+    } // step( Rectangle2D bounds )
+
+    /**
+     * Runs a phase of the step over all fish, in parallel for large schools.
+     *
+     * @param   steer   {@code true} to work out the steering, {@code false}
+     *                  to move the fish.
+     * @param   minX    The left edge of the swimming area.
+     * @param   maxX    The right edge of the swimming area.
+     * @param   minY    The top edge of the swimming area.
+     * @param   height  The height of the swimming area.
+     */
+    private void runPhase( boolean steer, double minX, double maxX, double minY, double height ) {
+        if (count > PARALLEL_THRESHOLD)
+            ForkJoinPool.commonPool().invoke(new StepTask(steer, 0, count, minX, maxX, minY, height));
+        else if (steer)
+            steerRange(0, count);
+        else
+            stepRange(0, count, minX, maxX, minY, height);
+    } // runPhase(...)
+
+    /**
+     * Determines whether any species schools or is a predator.
+     *
+     * @return  {@code true} if the fish need to steer, {@code false}
+     *          otherwise.
+     */
+    private boolean isSteering() {
+        for (int s = 0; s < speciesCount; ++s) {
+            if (speciesSchooling[s] || speciesPredator[s])
+                return true;
+        } // for
+
+        return false;
+    } // isSteering()
+
+    /**
+     * Sorts the fish into the cells of the neighbour grid.  The grid covers
+     * the swimming area, and fish outside it are placed in the nearest edge
+     * cell.
+     *
+     * @param   bounds  The swimming area.
+     */
+    private void buildGrid( Rectangle2D bounds ) {
+        gridMinX = bounds.getMinX();
+        gridMinY = bounds.getMinY();
+        gridColumns = Math.max(1, (int)Math.ceil(bounds.getWidth() / NEIGHBOUR_RADIUS));
+        gridRows = Math.max(1, (int)Math.ceil(bounds.getHeight() / NEIGHBOUR_RADIUS));
+
+        int cells = gridColumns * gridRows;
+        if (cellStart.length < cells + 1)
+            cellStart = new int[cells + 1];
+        else
+            Arrays.fill(cellStart, 0, cells + 1, 0);
+
+        // Count the fish in each cell
+        for (int i = 0; i < count; ++i) {
+            int c = cellIndex(column(x[i]), row(y[i]));
+            fishCell[i] = c;
+            ++cellStart[c + 1];
+        } // for
+
+        for (int c = 0; c < cells; ++c)
+            cellStart[c + 1] += cellStart[c];
+
+        // Place the fish, advancing each cell's start as it fills, then
+        // shift the starts back
+        for (int i = 0; i < count; ++i) {
+            int k = cellStart[fishCell[i]]++;
+            cellFish[k] = i;
+            cellX[k] = x[i];
+            cellY[k] = y[i];
+            cellDeltaX[k] = deltaX[i];
+            cellDeltaY[k] = deltaY[i];
+            cellHalfWidth[k] = halfWidth[i];
+            cellSpecies[k] = species[i];
+        } // for
+
+        for (int c = cells; c > 0; --c)
+            cellStart[c] = cellStart[c - 1];
+        cellStart[0] = 0;
+    } // buildGrid( Rectangle2D bounds )
+
+    /**
+     * Works out the speed change of a range of fish from their neighbours,
+     * storing it in {@link #steerX} and {@link #steerY}.  Only reads the
+     * positions and speeds of the fish.
+     *
+     * <p>The fish are visited in grid order, so that fish sharing neighbours
+     * are handled one after the other while those neighbours are in the
+     * cache.
+     *
+     * @param   from    The position in the grid order of the first fish.
+     * @param   to      The position after the last fish.
+     */
+    private void steerRange( int from, int to ) {
+        double r2 = NEIGHBOUR_RADIUS * NEIGHBOUR_RADIUS;
+
+        for (int slot = from; slot < to; ++slot) {
+            int i = cellFish[slot];
+            int s = cellSpecies[slot];
+            boolean schooling = speciesSchooling[s];
+            boolean predator = speciesPredator[s];
+
+            double px = cellX[slot];
+            double py = cellY[slot];
+            double size = cellHalfWidth[slot];
+
+            double sepX = 0, sepY = 0;
+            double alignX = 0, alignY = 0;
+            double centerX = 0, centerY = 0;
+            double fleeX = 0, fleeY = 0;
+            int flock = 0;
+            int seen = 0;
+            int examined = 0;
+
+            int cell0 = fishCell[i];
+            int col = cell0 % gridColumns;
+            int row = cell0 / gridColumns;
+
+            // Visit the fish's own cell first, then the surrounding ones
+            search:
+            for (int n = 0; n < NEIGHBOUR_CELLS.length; n += 2) {
+                int gc = col + NEIGHBOUR_CELLS[n];
+                int gr = row + NEIGHBOUR_CELLS[n + 1];
+                if ((gc < 0) || (gc >= gridColumns) || (gr < 0) || (gr >= gridRows))
+                    continue;
+
+                int cell = cellIndex(gc, gr);
+                for (int k = cellStart[cell], end = cellStart[cell + 1]; k < end; ++k) {
+                    if (++examined > MAX_EXAMINED)
+                        break search;
+
+                    if (k == slot)
+                        continue;
+
+                    double ddx = px - cellX[k];
+                    double ddy = py - cellY[k];
+                    double d2 = ddx * ddx + ddy * ddy;
+                    if ((d2 >= r2) || (d2 == 0))
+                        continue;
+
+                    int sj = cellSpecies[k];
+                    if (speciesPredator[sj] && !predator && (cellHalfWidth[k] > size)) {
+                        // Flee, more strongly the closer the predator
+                        double d = Math.sqrt(d2);
+                        double w = 1 - d / NEIGHBOUR_RADIUS;
+                        fleeX += ddx / d * w;
+                        fleeY += ddy / d * w;
+                    } else if (schooling && (sj == s)) {
+                        ++flock;
+                        alignX += cellDeltaX[k];
+                        alignY += cellDeltaY[k];
+                        centerX += cellX[k];
+                        centerY += cellY[k];
+
+                        if (d2 < SEPARATION_RADIUS * SEPARATION_RADIUS) {
+                            double d = Math.sqrt(d2);
+                            double w = 1 - d / SEPARATION_RADIUS;
+                            sepX += ddx / d * w;
+                            sepY += ddy / d * w;
+                        }
+                    }
+
+                    if (++seen == MAX_NEIGHBOURS)
+                        break search;
+                } // for
+            } // for
+
+            double ax = fleeX * FLEE_WEIGHT + sepX * SEPARATION_WEIGHT;
+            double ay = fleeY * FLEE_WEIGHT + sepY * SEPARATION_WEIGHT;
+
+            if (flock > 0) {
+                ax += (alignX / flock - cellDeltaX[slot]) * ALIGNMENT_WEIGHT
+                    + (centerX / flock - px) * COHESION_WEIGHT;
+                ay += (alignY / flock - cellDeltaY[slot]) * ALIGNMENT_WEIGHT
+                    + (centerY / flock - py) * COHESION_WEIGHT;
+            }
+
+            steerX[i] = ax;
+            steerY[i] = ay;
+        } // for
+    } // steerRange( int from, int to )
+
+    /**
+     * Determines the neighbour grid column containing a horizontal position,
+     * clamped to the grid.
+     *
+     * @param   v   The horizontal position.
+     *
+     * @return  The column.
+     */
+    private int column( double v ) {
+        int c = (int)((v - gridMinX) / NEIGHBOUR_RADIUS);
+        return (c < 0) ? 0 : (c >= gridColumns) ? gridColumns - 1 : c;
+    } // column( double v )
+
+    /**
+     * Determines the neighbour grid row containing a vertical position,
+     * clamped to the grid.
+     *
+     * @param   v   The vertical position.
+     *
+     * @return  The row.
+     */
+    private int row( double v ) {
+        int r = (int)((v - gridMinY) / NEIGHBOUR_RADIUS);
+        return (r < 0) ? 0 : (r >= gridRows) ? gridRows - 1 : r;
+    } // row( double v )
+
+    /**
+     * Maps a neighbour grid column and row onto a cell index.
+     *
+     * @param   column  The column.
+     * @param   row     The row.
+     *
+     * @return  The cell index.
+     */
+    private int cellIndex( int column, int row ) {
+        return row * gridColumns + column;
+    } // cellIndex( int column, int row )
+
+    /**
+     * Advances a range of fish by one simulation step, flagging those that
+     * swim out of bounds in {@link #leaving} rather than removing them.
+     * Only the rows of the fish in the range are modified.
+     *
+     * @param   from    The index of the first fish to advance.
+     * @param   to      The index after the last fish to advance.
+     * @param   minX    The left edge of the swimming area.
+     * @param   maxX    The right edge of the swimming area.
+     * @param   minY    The top edge of the swimming area.
+     * @param   height  The height of the swimming area.
+     */
+    private void stepRange( int from, int to, double minX, double maxX, double minY, double height ) {
+        double frameStep = 7.0 / (3 * Fish.STEP_RATE);
+
+        for (int i = from; i < to; ++i) {
+            double dx = deltaX[i];
+            double dy = deltaY[i];
+
+            if (steering && ((steerX[i] != 0) || (steerY[i] != 0))) {
+                dx += steerX[i];
+                dy += steerY[i];
+
+                // Keep steered fish swimming, facing the way they turned
+                double speed = Math.abs(dx);
+                if (speed > maxSteeredDeltaX)
+                    dx = Math.copySign(maxSteeredDeltaX, dx);
+                else if (speed < minSteeredDeltaX)
+                    dx = Math.copySign(minSteeredDeltaX, dx);
+
+                if (dy > MAX_STEERED_DELTA_Y)
+                    dy = MAX_STEERED_DELTA_Y;
+                else if (dy < -MAX_STEERED_DELTA_Y)
+                    dy = -MAX_STEERED_DELTA_Y;
+
+                deltaX[i] = dx;
+                deltaY[i] = dy;
+            }
+
+            // Vertical speed from steering dies away unless the fish is
+            // moving to a new depth
+            if ((dy != 0) && (targetY[i] != targetY[i])) {
+                double damped = dy * STEERED_DELTA_Y_DAMPING;
+                deltaY[i] = (Math.abs(damped) < MIN_DELTA_Y ? 0 : damped);
+            }
+
+            double px = x[i];
+            double py = y[i];
+            double nx = px + dx;
+            double ny = py + dy;
+
+            // Keep the fish within the swimming area vertically
+            if (ny < minY) {
+                ny = minY;
+                deltaY[i] = 0;
+                targetY[i] = Double.NaN;
+            } else if (ny > minY + height) {
+                ny = minY + height;
+                deltaY[i] = 0;
+                targetY[i] = Double.NaN;
+            }
+
+            // Remove fish once they have swum off the side
+            if ((dx < 0) ? (nx + halfWidth[i] < minX) : (nx - halfWidth[i] > maxX)) {
+                leaving[i] = true;
+                continue;
+            }
+
+            prevX[i] = px;
+            prevY[i] = py;
+            x[i] = nx;
+            y[i] = ny;
+            phase[i] += Math.abs(dx) * frameStep;
+
+            // Ensure the fish doesn't go past the target Y position
+            double ty = targetY[i];
+            if (ty == ty) {
+                if ((dy == 0) || ((dy < 0) ? (ty >= ny) : (ty <= ny))) {
+                    targetY[i] = Double.NaN;
+                    deltaY[i] = 0;
+                }
+            }
+
+            reverseDelay[i] -= STEP_TIME;
+            if ((decisionDelay[i] -= STEP_TIME) <= 0) {
+                // Make a decision
+                int decision = (int)Math.round(nextRandom(i) * 3);
+                switch (decision) {
+                    case DECIDE_REVERSE:
+                        if (reverseDelay[i] < 0) {
+                            deltaX[i] = -dx;
+                            reverseDelay[i] = REVERSE_COOLDOWN_TIME;
+                        } else
+                            decision = DECIDE_NONE;
+                        break;
+
+                    case DECIDE_UP_DOWN:
+                        if (targetY[i] != targetY[i]) {
+                            // Choose where to go to
+                            double t = minY + nextRandom(i) * height;
+                            targetY[i] = t;
+
+                            // Choose a speed
+                            double d = dx * 0.25;
+                            double s = (dx + (nextRandom(i) * d) - d/2) * 0.5;
+                            deltaY[i] = (t < ny) ? -s : s;
+                        } else
+                            decision = DECIDE_NONE;
+                        break;
+
+                    default:
+                        decision = DECIDE_NONE;
+                        break;
+                } // switch
+
+                decisionDelay[i] = (decision == DECIDE_NONE ? DECISION_MAKING_FREQUENCY : DECISION_COOLDOWN_TIME);
+            }
+        } // for
+    } // stepRange(...)
+
+    /**
+     * Runs a phase of the step for a range of fish on the ForkJoinPool,
+     * splitting it in half until the ranges are small enough to update
+     * directly.
+     */
+    @SuppressWarnings("serial")
+    private final class StepTask
+        extends RecursiveAction
+    {
+
+        private final boolean steer;
+        private final int from, to;
+        private final double minX, maxX, minY, height;
+
+        StepTask( boolean steer, int from, int to, double minX, double maxX, double minY, double height ) {
+            this.steer = steer;
+            this.from = from;
+            this.to = to;
+            this.minX = minX;
+            this.maxX = maxX;
+            this.minY = minY;
+            this.height = height;
+        } // StepTask(...)
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_CHUNK) {
+                if (steer)
+                    steerRange(from, to);
+                else
+                    stepRange(from, to, minX, maxX, minY, height);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new StepTask(steer, from, mid, minX, maxX, minY, height),
+                new StepTask(steer, mid, to, minX, maxX, minY, height)
+            );
+        } // compute()
+
+    } // class StepTask
+
+    /**
+     * Draws the next number from a fish's random number generator.
+     *
+     * @param   index   The index of the fish.
+     *
+     * @return  A uniformly distributed value from 0 (inclusive) to 1
+     *          (exclusive).
+     */
+    private double nextRandom( int index ) {
+        return (mix(randomState[index] += GOLDEN_GAMMA) >>> 11) * 0x1.0p-53;
+    } // nextRandom( int index )
+
+    /**
+     * Scrambles a 64 bit value, as in the SplitMix64 generator.
+     *
+     * @param   z   The value to scramble.
+     *
+     * @return  The scrambled value.
+     */
+    private static long mix( long z ) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    } // mix( long z )
+
+    /**
+     * Sets how far between their last two simulated positions the fish are
+     * drawn.
+     *
+     * @param   value   The fraction of the step since the last simulated
+     *                  position, from 0 for the previous position to 1 for
+     *                  the last.
+     */
+    public void interpolate( double value ) {
+        alpha = value;
+        repaint();
+    } // interpolate( double value )
+
+    /**
+     * Finds the topmost fish with an opaque pixel under the specified point,
+     * as currently drawn.
+     *
+     * @param   pt  The point to test, in this object's coordinate system.
+     *
+     * @return  The index of the fish, or -1 if there is no fish at the point.
+     */
+    public int fishAt( Point2D pt ) {
+        double px = pt.getX();
+        double py = pt.getY();
+        double a = alpha;
+
+        for (int i = count - 1; i >= 0; --i) {
+            double hw = halfWidth[i];
+            double hh = halfHeight[i];
+            double cx = prevX[i] + (x[i] - prevX[i]) * a;
+            double cy = prevY[i] + (y[i] - prevY[i]) * a;
+
+            double u = (px - cx + hw) / (2 * hw);
+            double v = (py - cy + hh) / (2 * hh);
+            if ((u < 0) || (u >= 1) || (v < 0) || (v >= 1))
+                continue;
+
+            if ((deltaX[i] < 0) != speciesFlip[species[i]])
+                u = 1 - u;  // Drawn mirrored
+
+            SpriteFrame f = currentFrame(i);
+            if (f.isOpaque( (int)(u * f.getWidth()), (int)(v * f.getHeight()) ))
+                return i;
+        } // for
+
+        return -1;
+    } // fishAt( Point2D pt )
+
+    @Override
+    public boolean pointIntersects( Point2D point ) {
+        return (fishAt(point) >= 0);
+    } // pointIntersects( Point2D point )
+
+    /**
+     * Draws every fish in the school, skipping those outside the clip area.
+     *
+     * @param   g   The graphics context to draw into.
+     */
+    @Override
+    public void paint( Graphics2D g ) {
+        Rectangle clip = g.getClipBounds();
+        double clipMinX = (clip != null) ? clip.getMinX() : Double.NEGATIVE_INFINITY;
+        double clipMinY = (clip != null) ? clip.getMinY() : Double.NEGATIVE_INFINITY;
+        double clipMaxX = (clip != null) ? clip.getMaxX() : Double.POSITIVE_INFINITY;
+        double clipMaxY = (clip != null) ? clip.getMaxY() : Double.POSITIVE_INFINITY;
+        double a = alpha;
+
+        for (int i = 0; i < count; ++i) {
+            double hw = halfWidth[i];
+            double hh = halfHeight[i];
+            double cx = prevX[i] + (x[i] - prevX[i]) * a;
+            double cy = prevY[i] + (y[i] - prevY[i]) * a;
+
+            if ((cx + hw < clipMinX) || (cx - hw > clipMaxX) || (cy + hh < clipMinY) || (cy - hh > clipMaxY))
+                continue;
+
+            SpriteFrame f = currentFrame(i);
+            int sx = f.getX();
+            int sy = f.getY();
+
+            int dx1 = (int)Math.round(cx - hw);
+            int dx2 = (int)Math.round(cx + hw);
+            if ((deltaX[i] < 0) != speciesFlip[species[i]]) {
+                // Mirror the fish to face the way it swims
+                int t = dx1;
+                dx1 = dx2;
+                dx2 = t;
+            }
+
+            g.drawImage(
+                speciesImages[species[i]],
+                dx1, (int)Math.round(cy - hh), dx2, (int)Math.round(cy + hh),
+                sx, sy, sx + f.getWidth(), sy + f.getHeight(),
+                null
+            );
+        } // for
+    } // paint( Graphics2D g )
+
+    /**
+     * Retrieves the animation frame currently shown for a fish.
+     *
+     * @param   index   The index of the fish.
+     *
+     * @return  The current frame.
+     */
+    private SpriteFrame currentFrame( int index ) {
+        SpriteFrame[] frames = speciesFrames[species[index]];
+        return frames[(int)phase[index] % frames.length];
+    } // currentFrame( int index )
+
+    /**
+     * Copies a fish's row in the arrays to another index.
+     *
+     * @param   from    The index of the fish to copy.
+     * @param   to      The index to copy it to.
+     */
+    private void copyRow( int from, int to ) {
+        x[to] = x[from];
+        y[to] = y[from];
+        prevX[to] = prevX[from];
+        prevY[to] = prevY[from];
+        deltaX[to] = deltaX[from];
+        deltaY[to] = deltaY[from];
+        targetY[to] = targetY[from];
+        decisionDelay[to] = decisionDelay[from];
+        reverseDelay[to] = reverseDelay[from];
+        phase[to] = phase[from];
+        halfWidth[to] = halfWidth[from];
+        halfHeight[to] = halfHeight[from];
+        species[to] = species[from];
+        randomState[to] = randomState[from];
+    } // copyRow( int from, int to )
+
+    /**
+     * Enlarges the fish arrays.
+     *
+     * @param   capacity    The new number of elements in each array.
+     */
+    private void grow( int capacity ) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        deltaX = Arrays.copyOf(deltaX, capacity);
+        deltaY = Arrays.copyOf(deltaY, capacity);
+        targetY = Arrays.copyOf(targetY, capacity);
+        decisionDelay = Arrays.copyOf(decisionDelay, capacity);
+        reverseDelay = Arrays.copyOf(reverseDelay, capacity);
+        phase = Arrays.copyOf(phase, capacity);
+        halfWidth = Arrays.copyOf(halfWidth, capacity);
+        halfHeight = Arrays.copyOf(halfHeight, capacity);
+        species = Arrays.copyOf(species, capacity);
+        randomState = Arrays.copyOf(randomState, capacity);
+        leaving = Arrays.copyOf(leaving, capacity);
+        steerX = Arrays.copyOf(steerX, capacity);
+        steerY = Arrays.copyOf(steerY, capacity);
+        cellFish = Arrays.copyOf(cellFish, capacity);
+        fishCell = Arrays.copyOf(fishCell, capacity);
+        cellX = Arrays.copyOf(cellX, capacity);
+        cellY = Arrays.copyOf(cellY, capacity);
+        cellDeltaX = Arrays.copyOf(cellDeltaX, capacity);
+        cellDeltaY = Arrays.copyOf(cellDeltaY, capacity);
+        cellHalfWidth = Arrays.copyOf(cellHalfWidth, capacity);
+        cellSpecies = Arrays.copyOf(cellSpecies, capacity);
+    } // grow( int capacity )
+
+    /**
+     * Validates a fish index.
+     *
+     * @param   index   The index to check.
+     *
+     * @throws  IndexOutOfBoundsException if there is no fish at the index.
+     */
+    private void checkFish( int index ) {
+        if ((index < 0) || (index >= count))
+            throw new IndexOutOfBoundsException("Fish index "+ index +" is out of range.");
+    } // checkFish( int index )
+
+    /**
+     * Validates a species index.
+     *
+     * @param   index   The index to check.
+     *
+     * @throws  IndexOutOfBoundsException if there is no species at the index.
+     */
+    private void checkSpecies( int index ) {
+        if ((index < 0) || (index >= speciesCount))
+            throw new IndexOutOfBoundsException("Species index "+ index +" is out of range.");
+    } // checkSpecies( int index )
+
+} // class FishSchool
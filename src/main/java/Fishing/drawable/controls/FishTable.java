@@ -48,6 +48,10 @@ public class FishTable
         fishingOptions = options;
         this.showScores = showScores;
         setFont(font);
+
+        // The table is static once laid out, so render it through a cached
+        // bitmap rather than redrawing it every frame
+        setCacheAsBitmap(true);
     } // FishTable( FishingOptions options, BitmapFont font, boolean showScores )
 
 
@@ -7,6 +7,7 @@ import Fishing.HighScoreManager;
 import Fishing.drawable.Drawable;
 import Fishing.drawable.events.TimerEvent;
 import Fishing.drawable.events.TimerListener;
+import Fishing.drawable.text.FontRegistry;
 import Fishing.drawable.text.GeneratedFont;
 import Fishing.drawable.text.BitmapText;
 import java.awt.BasicStroke;
@@ -43,18 +44,20 @@ public class HighScoreTable
 
 
     public HighScoreTable( String type, int fontSize ) {
-        titleFont = new GeneratedFont( new Font("Arial Bold", Font.PLAIN, fontSize * 2 ) );
-        titleFont.setColor( Color.WHITE );
-        titleFont.setOutlineColor( Color.BLACK );
-        titleFont.setOutlineWidth( fontSize * 0.15f );
+        titleFont = FontRegistry.get( new Font("Arial Bold", Font.PLAIN, fontSize * 2 ), Color.WHITE, Color.BLACK, fontSize * 0.15f );
+        rowFont = FontRegistry.get( new Font("Arial Bold", Font.PLAIN, fontSize ), Color.WHITE );
 
-        rowFont = new GeneratedFont( new Font("Arial Bold", Font.PLAIN, fontSize ) );
-        rowFont.setColor( Color.WHITE );
+        // The rows are filled in once the scores are loaded
+        rowFont.preload(GeneratedFont.ASCII);
 
         super.setVisible(false);
         
         this.type = type;
 
+        // The table only changes while the rows are fading in, so render it
+        // through a cached bitmap rather than redrawing it every frame
+        setCacheAsBitmap(true);
+
         layout();
     } // HighScoreTable()
 
@@ -110,7 +113,7 @@ public class HighScoreTable
     } // setVisible( boolean value )
 
 
-    private synchronized void layout() {
+    private void layout() {
         if (!needsLayout)
             return;
 
@@ -245,7 +248,7 @@ public class HighScoreTable
 
 
     @Override
-    public synchronized void timerFired(TimerEvent e) {
+    public void timerFired(TimerEvent e) {
         if (scoreRows == null)
             return;
 
@@ -95,14 +95,14 @@ public class ImageSelector
                 public void drawableMouseMoved( DrawableMouseEvent e ) {
                     if (e.getX() < buttonWidth) {
                         if (selectedItem > 0) {
-                            mouseOverItem = ITEM_LEFT;
+                            setMouseOverItem(ITEM_LEFT);
                         }
                     } else if (e.getX() > getUnscaledWidth() - buttonWidth) {
                         if (selectedItem < numFrames - 1) {
-                            mouseOverItem = ITEM_RIGHT;
+                            setMouseOverItem(ITEM_RIGHT);
                         }
                     } else {
-                        mouseOverItem = ITEM_THUMBNAIL;
+                        setMouseOverItem(ITEM_THUMBNAIL);
                     }
                 } // drawableMouseMoved( DrawableMouseEvent e )
 
@@ -112,7 +112,7 @@ public class ImageSelector
                  */
                 @Override
                 public void drawableMouseExited( DrawableMouseEvent e ) {
-                    mouseOverItem = ITEM_NONE;
+                    setMouseOverItem(ITEM_NONE);
                 } // drawableMouseExited( DrawableMouseEvent e )
 
                 /**
@@ -251,7 +251,7 @@ public class ImageSelector
     } // setFrameHeight( double value )
 
 // TODO: Document
-    public synchronized void setFrameSize( int width, int height ) {
+    public void setFrameSize( int width, int height ) {
         if (width < 0)
             throw new IllegalArgumentException("The frameWidth cannot be less than 0.");
 
@@ -293,7 +293,7 @@ public class ImageSelector
 
 
 
-    public synchronized final void setImage( BufferedImage image, int frames ) {
+    public final void setImage( BufferedImage image, int frames ) {
         if (image == null)
             throw new IllegalArgumentException("The image parameter cannot be null.");
 
@@ -305,6 +305,8 @@ public class ImageSelector
 
         imageFrameWidth = this.image.getWidth() / Math.max(frames, 1);
         imageFrameHeight = this.image.getHeight();
+
+        repaint();
     } // setImage( BufferedImage image, int frames )
 
 
@@ -328,19 +330,18 @@ public class ImageSelector
 
 
     public void setSelectedItem( int selection ) {
-        synchronized (this) {
-            if (selection == selectedItem)
-                return;
+        if (selection == selectedItem)
+            return;
 
-            if ((selectedItem < 0)|| (selectedItem >= numFrames))
-                throw new IllegalArgumentException("The selection parameter is outside the range 0 to "+ (numFrames - 1));
+        if ((selectedItem < 0)|| (selectedItem >= numFrames))
+            throw new IllegalArgumentException("The selection parameter is outside the range 0 to "+ (numFrames - 1));
 
-            selectedItem = selection;
-            targetFrameOffset = selectedItem * imageFrameWidth;
+        selectedItem = selection;
+        targetFrameOffset = selectedItem * imageFrameWidth;
+        repaint();
 
-            if (timerTaskHandle == 0)
-                timerTaskHandle = ControlTimer.scheduleAtFixedRate(this, 1000/30);
-        }
+        if (timerTaskHandle == 0)
+            timerTaskHandle = ControlTimer.scheduleAtFixedRate(this, 1000/30);
 
         EventBase.notifyListeners(
             menuListeners,
@@ -350,6 +351,15 @@ public class ImageSelector
     } // setSelectedItem( int selection )
 
 
+    private void setMouseOverItem( int item ) {
+        if (mouseOverItem == item)
+            return;
+
+        mouseOverItem = item;
+        repaint();
+    } // setMouseOverItem( int item )
+
+
     public void addMenuListener( MenuListener listener ) {
         menuListeners = EventBase.addListener(menuListeners, listener);
     } // addMenuListener( MenuListener listener )
@@ -448,6 +458,8 @@ public class ImageSelector
         else if (frameOffset < targetFrameOffset)
             frameOffset += speed;
 
+        repaint();
+
         if (frameOffset == targetFrameOffset) {
             ControlTimer.cancelTimerListener( e.getSource() );
             timerTaskHandle = 0;
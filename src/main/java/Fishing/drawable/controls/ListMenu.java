@@ -26,7 +26,7 @@ public class ListMenu
         super(font);
     } // ListMenu( BitmapFont font )
 
-    public synchronized void addItem( String name, String text ) {
+    public void addItem( String name, String text ) {
         BitmapText item = new BitmapText(getFont());
         item.setName(name);
         item.setText(text);
@@ -36,7 +36,7 @@ public class ListMenu
     } // addItem( String name, String text )
 
     @Override
-    public synchronized void setActiveItem( int item ) {
+    public void setActiveItem( int item ) {
         int oldActiveItem = getActiveItem();
 
         super.setActiveItem(item);
@@ -56,7 +56,7 @@ public class ListMenu
 
 
     @Override
-    public synchronized void validate() {
+    public void validate() {
         // Calculate the width/height from the menu here
 
         double w = 0;
@@ -140,7 +140,7 @@ public abstract class Menu
     } // getActiveItem()
 
 
-    public synchronized String getActiveItemName() {
+    public String getActiveItemName() {
         if (activeItem == -1)
             return null;
 
@@ -149,18 +149,14 @@ public abstract class Menu
 
 
     public void setActiveItem( int item ) {
-        String itemName;
-
-        synchronized (this) {
-            if (activeItem == item)
-                return;
+        if (activeItem == item)
+            return;
 
-            if ((item < -1) || (item >= getNumDrawables()))
-                throw new IllegalArgumentException("Invalid item");
+        if ((item < -1) || (item >= getNumDrawables()))
+            throw new IllegalArgumentException("Invalid item");
 
-            activeItem = item;
-            itemName = getActiveItemName();
-        }
+        activeItem = item;
+        String itemName = getActiveItemName();
 
         EventBase.notifyListeners(
             menuListeners,
@@ -170,7 +166,7 @@ public abstract class Menu
     } // setActiveItem( int item )
 
 
-    public synchronized void setActiveItem( String name ) {
+    public void setActiveItem( String name ) {
         int idx = getDrawableIndex(name);
         if (idx == -1)
             throw new IllegalArgumentException("There is no item named "+ name);
@@ -180,12 +176,8 @@ public abstract class Menu
 
 
     public void executeActiveItem() {
-        int item;
-        String name;
-        synchronized (this) {
-            item = activeItem;
-            name = getActiveItemName();
-        }
+        int item = activeItem;
+        String name = getActiveItemName();
 
         if (item == -1)
             return;
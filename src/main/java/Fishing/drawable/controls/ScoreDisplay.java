@@ -82,7 +82,7 @@ public class ScoreDisplay
      *                  immediately jump to the appropriate frame.
      * @param direction The play direction to apply.
      */
-    private synchronized void setFrames( boolean animate, Animation.Direction direction ) {
+    private void setFrames( boolean animate, Animation.Direction direction ) {
         // Update the animations to display the new values
         long s = score;
         for (int i = 0; i < numDigits; ++i) {
@@ -124,7 +124,7 @@ public class ScoreDisplay
      * @param animate Whether to start an animation to update the display
      *              (true), or update the display immediately (false).
      */
-    public synchronized void setScore( long value, boolean animate ) {
+    public void setScore( long value, boolean animate ) {
         if (value < 0)
             value = 0;
 
@@ -143,7 +143,7 @@ public class ScoreDisplay
      * 
      * @param value The value to add to the current score.
      */
-    public synchronized void addToScore( long value ) {
+    public void addToScore( long value ) {
         value += score;
         if (value < 0)
             value = 0;
@@ -182,7 +182,7 @@ public class ScoreDisplay
         return numDigits;
     } // getNumDigits()
 
-    public synchronized void setNumDigits( int value ) {
+    public void setNumDigits( int value ) {
         if ((value < 1) || (value > 18))
             throw new IllegalArgumentException("The digits parameter must be between 1 and 18");
 
@@ -203,7 +203,7 @@ public class ScoreDisplay
         } // for
     } // setNumDigits( int value)
 
-    public synchronized void finishAnimation() {
+    public void finishAnimation() {
         for (int i = 0; i < getNumDigits(); ++i) {
             Animation a = (Animation) getDrawableAt(i);
 
@@ -113,19 +113,21 @@ public class Slider
             new DrawableMouseAdapter() {
                 @Override
                 public void drawableMouseMoved( DrawableMouseEvent e ) {
-                    mouseOverItem = ITEM_NONE;
+                    int item = ITEM_NONE;
                     for (int i = 0; i < itemBounds.length; ++i) {
                         if (itemBounds[i].contains( e.getPosition() )) {
-                            mouseOverItem = i;
+                            item = i;
                             break;
                         }
                     } // for
+
+                    setMouseOverItem(item);
                 } // drawableMouseMoved( DrawableMouseEvent e )
 
                 @Override
                 public void drawableMouseExited( DrawableMouseEvent e ) {
                     if (!draggingThumb)
-                        mouseOverItem = ITEM_NONE;
+                        setMouseOverItem(ITEM_NONE);
                 } // drawableMouseExited( DrawableMouseEvent e )
 
                 @Override
@@ -144,7 +146,7 @@ public class Slider
 
                         case ITEM_BAR:
                             setValueFromPoint( e.getPosition() );
-                            mouseOverItem = ITEM_THUMB;
+                            setMouseOverItem(ITEM_THUMB);
                             draggingThumb = true;
                             break;
 
@@ -291,6 +293,19 @@ public class Slider
         }
     } // adjustValueTowardEnd(double amount)
 
+    /**
+     * Updates which portion of the control the mouse is over, repainting
+     * the control if it changed.
+     * @param item The item the mouse is over, or ITEM_NONE.
+     */
+    private void setMouseOverItem( int item ) {
+        if (mouseOverItem == item)
+            return;
+
+        mouseOverItem = item;
+        repaint();
+    } // setMouseOverItem( int item )
+
     /**
      * Callback invoked when the {@code arrowTimer} fires.
      * Adjusts the value toward the arrow the user is pressing.
@@ -382,6 +397,8 @@ public class Slider
             else if (value < end)
                 value = end;
         }
+
+        repaint();
     } // setRange( double start, double end )
 
     /**
@@ -405,7 +422,7 @@ public class Slider
      * @throws  IllegalArgumentException if {@code value} is outside the range
      *          defined by {@code rangeStart} and {@code rangeEnd}.
      */
-    public synchronized void setValue( double value ) {
+    public void setValue( double value ) {
         double start, end;
         if (rangeStart < rangeEnd) {
             start = rangeStart;
@@ -420,6 +437,7 @@ public class Slider
 
         double oldValue = value;
         this.value = value;
+        repaint();
 
         valueChangedListeners.notifyListeners(
             new ValueChangedEvent(this, oldValue, value),
@@ -59,7 +59,7 @@ public class TextInput
 
     private ArrayList<ValueChangedListener> valueChangedListeners;
 
-    public synchronized void addValueChangedListener( ValueChangedListener listener ) {
+    public void addValueChangedListener( ValueChangedListener listener ) {
         if (listener == null)
             throw new IllegalArgumentException("The listener parameter cannot be null");
 
@@ -73,7 +73,7 @@ public class TextInput
         valueChangedListeners.add(listener);
     } // addValueChangedListener( ValueChangedListener listener )
 
-    public synchronized void removeValueChangedListener( ValueChangedListener listener ) {
+    public void removeValueChangedListener( ValueChangedListener listener ) {
         if (valueChangedListeners == null)
             return;
 
@@ -87,7 +87,7 @@ public class TextInput
     } // removeValueChangedListener( ValueChangedListener listener )
 
 
-    public synchronized void setFont( BitmapFont value ) {
+    public void setFont( BitmapFont value ) {
         if (value == null)
             throw new IllegalArgumentException("The font canot be null.");
 
@@ -104,6 +104,7 @@ public class TextInput
 
     public void setInsertMode( boolean value ) {
         insertMode = value;
+        repaint();
     } // setInsertMode( value )
 
 
@@ -140,7 +141,7 @@ public class TextInput
     } // getText()
 
 
-    public synchronized void setText(String value) {
+    public void setText(String value) {
         if (value == null)
             value = "";
 
@@ -149,6 +150,8 @@ public class TextInput
         if (caretPosition > text.length())
             caretPosition = text.length();
 
+        repaint();
+
         if (valueChangedListeners != null) {
             ValueChangedEvent evt = new ValueChangedEvent(this, oldText, text);
 
@@ -166,7 +169,7 @@ public class TextInput
     } // 
 
 
-    public synchronized void setCaretPosition( int value ) {
+    public void setCaretPosition( int value ) {
         if (caretPosition < 0)
             throw new IllegalArgumentException("The caret position cannot be less than 0.");
 
@@ -174,6 +177,7 @@ public class TextInput
             throw new IllegalArgumentException("The caret position cannot exceed the length of the text.");
 
         caretPosition = value;
+        repaint();
     } // setCaretPosition( int value )
 
 
@@ -187,6 +191,7 @@ public class TextInput
             throw new IllegalArgumentException("The padding cannot be less than 0.");
 
         padding = value;
+        repaint();
     } // setPadding( double value )
 
 
@@ -197,6 +202,7 @@ public class TextInput
 
     public void setBackgroundColor( Color value ) {
         backgroundColor = value;
+        repaint();
     } // setBackgroundColor( Color value )
 
 
@@ -210,6 +216,7 @@ public class TextInput
             throw new IllegalArgumentException("The borderWidth cannot be less than 0.");
 
         borderWidth = value;
+        repaint();
     } // setBorderWidth( double value )
 
 
@@ -328,10 +335,12 @@ System.out.println("TODO: Implement me!: getCharIndexFromPoint");
 
     public void drawableMouseEntered(DrawableMouseEvent e) {
         mouseOver = true;
+        repaint();
     } // drawableMouseEntered(DrawableMouseEvent e)
 
     public void drawableMouseExited(DrawableMouseEvent e) {
         mouseOver = false;
+        repaint();
     } // drawableMouseExited(DrawableMouseEvent e)
 
 
@@ -339,7 +348,7 @@ System.out.println("TODO: Implement me!: getCharIndexFromPoint");
     public void drawableKeyReleased(DrawableKeyEvent e) { }
 
 
-    public synchronized void drawableKeyPressed(DrawableKeyEvent e) {
+    public void drawableKeyPressed(DrawableKeyEvent e) {
         switch (e.getKeyCode()) {
             case KeyEvent.VK_LEFT:
                 if (caretPosition > 0)
@@ -366,7 +375,7 @@ System.out.println("TODO: Implement me!: getCharIndexFromPoint");
                     removeChars(caretPosition, caretPosition);
                 break;
             case KeyEvent.VK_INSERT:
-                insertMode = !insertMode;
+                setInsertMode( !insertMode );
                 break;
         } // switch
     } // drawableKeyPressed(DrawableKeyEvent e)
@@ -396,10 +405,12 @@ System.out.println("TODO: Implement me!: getCharIndexFromPoint");
 
     public void drawableFocusGained(DrawableFocusEvent e) {
         hasFocus = true;
+        repaint();
     } // drawableFocusGained(DrawableFocusEvent e)
 
     public void drawableFocusLost(DrawableFocusEvent e) {
         hasFocus = false;
+        repaint();
     } // drawableFocusLost(DrawableFocusEvent e)
 
 
@@ -46,6 +46,7 @@ public class BlockerBackground
             throw new IllegalArgumentException("The backgroundColor cannot be null.");
 
         backgroundColor = value;
+        repaint();
     } // setBackgroundColor( Color value )
 
 
@@ -55,4 +56,10 @@ public class BlockerBackground
         g.fill(new Rectangle2D.Double(0, 0, getUnscaledWidth(), getUnscaledHeight()));
     } // paint( Graphics2D g )
 
+
+    @Override
+    protected boolean hasOverlappingPaint() {
+        return false;
+    } // hasOverlappingPaint()
+
 } // class BlockerBackground
@@ -65,6 +65,13 @@ public class Dialog
      */
     private BlockerBackground blockerBackground;
 
+    /**
+     * The layer which draws the dialog background and border.  Kept separate
+     * from the dialog so it can be rendered through a cached bitmap, while
+     * the dialog's content is free to change every frame.
+     */
+    private final Chrome chrome = new Chrome();
+
     /**
      * Constructs a new instance.
      */
@@ -75,6 +82,9 @@ public class Dialog
 
         final Dialog self = this;
 
+        chrome.setCacheAsBitmap(true);
+        addDrawable(chrome);
+
         addTreeListener(
             new DrawableTreeAdapter() {
                 /**
@@ -165,6 +175,18 @@ public class Dialog
                         updateBlocker(false);
                     }
                 } // drawableHidden(DrawableEvent e)
+
+                /**
+                 * When this Dialog is resized, resize the background and
+                 * border to match.
+                 * 
+                 * @param   e   The event that was dispatched.
+                 */
+                @Override
+                public void drawableResized(DrawableEvent e) {
+                    if (e.getSource() == self)
+                        chrome.setUnscaledSize( getUnscaledWidth(), getUnscaledHeight() );
+                } // drawableResized(DrawableEvent e)
             }
         );
         
@@ -247,6 +269,7 @@ System.out.println("Dialog: key listener: ESCAPE");
      */
     public void setBackgroundColor( Color value ) {
         backgroundColor = value;
+        chrome.repaint();
     } // setBackgroundColor( Color value )
 
     /**
@@ -265,7 +288,10 @@ System.out.println("Dialog: key listener: ESCAPE");
      *                  or {@code null} if no border should be drawn.
      */
     public void setBorderColor( Color value ) {
+        // The border may grow or shrink the painted area
+        chrome.repaint();
         borderColor = value;
+        chrome.repaint();
     } // setBorderColor( Color value )
 
     /**
@@ -291,7 +317,9 @@ System.out.println("Dialog: key listener: ESCAPE");
             value = 0;
         }
 
+        chrome.repaint();
         borderWidth = value;
+        chrome.repaint();
     } // setBorderWidth( float value )
 
     /**
@@ -382,27 +410,45 @@ System.out.println("Dialog: key listener: ESCAPE");
 
     /**
      * Draws the background fill and border for the dialog.
-     * 
-     * @param   g   The graphics context to draw into.
      */
-    @Override
-    public void paint( Graphics2D g ) {
-        double w = getUnscaledWidth();
-        double h = getUnscaledHeight();
-
-        if (backgroundColor != null) {
-            // Draw the background
-            g.setColor( backgroundColor );
-            g.fillRoundRect(0, 0, (int) w, (int) h, cornerRadius, cornerRadius);
-        }
-
-        if (borderColor != null) {
-            g.setColor( borderColor );
-            g.setStroke( new BasicStroke(borderWidth) );
-            g.drawRoundRect(0, 0, (int) w, (int) h, cornerRadius, cornerRadius);
-        }
+    private class Chrome
+        extends Drawable
+    {
+
+        /**
+         * Draws the background fill and border for the dialog.
+         * 
+         * @param   g   The graphics context to draw into.
+         */
+        @Override
+        public void paint( Graphics2D g ) {
+            double w = getUnscaledWidth();
+            double h = getUnscaledHeight();
+
+            if (backgroundColor != null) {
+                // Draw the background
+                g.setColor( backgroundColor );
+                g.fillRoundRect(0, 0, (int) w, (int) h, cornerRadius, cornerRadius);
+            }
 
-        super.paint(g);
-    } // paint( Graphics2D g )
+            if (borderColor != null) {
+                g.setColor( borderColor );
+                g.setStroke( new BasicStroke(borderWidth) );
+                g.drawRoundRect(0, 0, (int) w, (int) h, cornerRadius, cornerRadius);
+            }
+        } // paint( Graphics2D g )
+
+        /**
+         * The border is stroked centered on the bounds, so half of it lies
+         * outside of them.
+         * 
+         * @return  Half the border width, or 0 if no border is drawn.
+         */
+        @Override
+        protected double getPaintMargin() {
+            return (borderColor != null) ? borderWidth / 2.0 : 0;
+        } // getPaintMargin()
+
+    } // class Chrome
 
 } // class Dialog
@@ -1,19 +1,19 @@
 
 package Fishing.drawable.dialogs;
 
-import com.jhlabs.image.SwimFilter;
+import Fishing.drawable.SwimEffect;
 import Fishing.FishingOptions;
 import Fishing.drawable.controls.ButtonMenu;
 import Fishing.drawable.controls.FishTable;
 import Fishing.drawable.events.DrawableKeyAdapter;
 import Fishing.drawable.events.DrawableKeyEvent;
 import Fishing.drawable.events.MenuListener;
+import Fishing.drawable.text.FontRegistry;
 import Fishing.drawable.text.GeneratedFont;
 import Fishing.drawable.text.BitmapText;
 import Fishing.drawable.text.TitleFont;
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
 
 /**
@@ -26,7 +26,7 @@ public class GameOverDialog
     extends Dialog
 {
 
-    private SwimFilter titleFilter;
+    private BitmapText title;
 
     private ButtonMenu buttons;
 
@@ -42,15 +42,9 @@ public class GameOverDialog
         fishingOptions = options;
 
         double height = padding;
-
-        // Filter for the title text
-        titleFilter = new SwimFilter();
-        titleFilter.setAmount(3);
-        titleFilter.setScale(30f);
-
         // Create the title text
-        BitmapText title = new BitmapText(titleFont, "Game Over");
-        title.addFilter( titleFilter );
+        title = new BitmapText(titleFont, "Game Over");
+        SwimEffect.apply(title);
         title.setY(height);
         addDrawable(title);
 
@@ -58,7 +52,7 @@ public class GameOverDialog
         double maxWidth = title.getWidth();
         height += title.getHeight() + interLineSpacing;
 
-        GeneratedFont textFont = new GeneratedFont( new Font("Arial Bold", Font.PLAIN, 28), Color.WHITE );
+        GeneratedFont textFont = FontRegistry.get( new Font("Arial Bold", Font.PLAIN, 28), Color.WHITE );
 
         // Create the score report text
         BitmapText scoreReportText = new BitmapText(textFont, "Your score was "+ fishingOptions.getFinalScore() +"!");
@@ -123,21 +117,14 @@ public class GameOverDialog
     } // GameOverDialog()
 
 
-    public synchronized void addMenuListener( MenuListener listener ) {
+    public void addMenuListener( MenuListener listener ) {
         buttons.addMenuListener(listener);
     } // addMenuListener( MenuListener listener )
 
 
-    public synchronized void removeMenuListener( MenuListener listener ) {
+    public void removeMenuListener( MenuListener listener ) {
         buttons.addMenuListener(listener);
     } // removeMenuListener( MenuListener listener )
 
 
-    @Override
-    public void paint( Graphics2D g ) {
-        titleFilter.setTime( titleFilter.getTime() + 0.05f );
-        super.paint(g);
-    } // paint( Graphics2D g )
-
-
 } // class GameOverDialog
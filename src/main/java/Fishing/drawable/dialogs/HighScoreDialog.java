@@ -1,7 +1,7 @@
 
 package Fishing.drawable.dialogs;
 
-import com.jhlabs.image.SwimFilter;
+import Fishing.drawable.SwimEffect;
 import Fishing.drawable.controls.ButtonMenu;
 import Fishing.drawable.controls.TextInput;
 import Fishing.drawable.events.DrawableKeyAdapter;
@@ -9,12 +9,12 @@ import Fishing.drawable.events.DrawableKeyEvent;
 import Fishing.drawable.events.MenuAdapter;
 import Fishing.drawable.events.MenuEvent;
 import Fishing.drawable.events.MenuListener;
+import Fishing.drawable.text.FontRegistry;
 import Fishing.drawable.text.GeneratedFont;
 import Fishing.drawable.text.BitmapText;
 import Fishing.drawable.text.TitleFont;
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
 
 /**
@@ -25,7 +25,7 @@ public class HighScoreDialog
     extends Dialog
 {
 
-    private SwimFilter titleFilter;
+    private BitmapText title;
     private ButtonMenu buttons;
 
     private double padding = 20;
@@ -36,15 +36,9 @@ public class HighScoreDialog
         titleFont.setLineSpacing(12);
 
         double height = padding;
-
-        // Filter for the title text
-        titleFilter = new SwimFilter();
-        titleFilter.setAmount(3);
-        titleFilter.setScale(30f);
-
         // Create the title text
-        BitmapText title = new BitmapText(titleFont, "New High Score");
-        title.addFilter( titleFilter );
+        title = new BitmapText(titleFont, "New High Score");
+        SwimEffect.apply(title);
         title.setY(height);
         addDrawable(title);
 
@@ -52,8 +46,11 @@ public class HighScoreDialog
         double maxWidth = title.getWidth();
         height += title.getHeight() + interLineSpacing;
 
-        GeneratedFont textFont = new GeneratedFont( new Font("Arial Bold", Font.PLAIN, 28), Color.WHITE );
-        GeneratedFont inputFont = new GeneratedFont( new Font("Arial Bold", Font.PLAIN, 28), Color.BLACK );
+        GeneratedFont textFont = FontRegistry.get( new Font("Arial Bold", Font.PLAIN, 28), Color.WHITE );
+        GeneratedFont inputFont = FontRegistry.get( new Font("Arial Bold", Font.PLAIN, 28), Color.BLACK );
+
+        // Render the glyphs the player might type ahead of time
+        inputFont.preload(GeneratedFont.ASCII);
 
         // Create the score report text
         BitmapText scoreReportText = new BitmapText(textFont, "Your score was "+ score +"!");
@@ -185,21 +182,14 @@ public class HighScoreDialog
     } // getInitials()
 
 
-    public synchronized void addMenuListener( MenuListener listener ) {
+    public void addMenuListener( MenuListener listener ) {
         buttons.addMenuListener(listener);
     } // addMenuListener( MenuListener listener )
 
 
-    public synchronized void removeMenuListener( MenuListener listener ) {
+    public void removeMenuListener( MenuListener listener ) {
         buttons.removeMenuListener(listener);
     } // removeMenuListener( MenuListener listener )
 
 
-    @Override
-    public void paint( Graphics2D g ) {
-        titleFilter.setTime( titleFilter.getTime() + 0.05f );
-        super.paint(g);
-    } // paint( Graphics2D g )
-
-
 } // class HighScoreDialog
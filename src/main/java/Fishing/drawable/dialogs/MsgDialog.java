@@ -6,6 +6,7 @@ import Fishing.drawable.controls.ButtonMenu;
 import Fishing.drawable.events.MenuAdapter;
 import Fishing.drawable.events.MenuEvent;
 import Fishing.drawable.events.MenuListener;
+import Fishing.drawable.text.FontRegistry;
 import Fishing.drawable.text.GeneratedFont;
 import Fishing.drawable.text.BitmapFont;
 import Fishing.drawable.text.BitmapText;
@@ -28,8 +29,8 @@ public class MsgDialog
 
 
     public MsgDialog( String titleStr, String messageStr, ButtonMenu buttons ) {
-        GeneratedFont titleFont = new GeneratedFont( new Font("Arial Bold", Font.PLAIN, 30) );
-        GeneratedFont messageFont = new GeneratedFont( new Font("Arial", Font.PLAIN, 24) );
+        GeneratedFont titleFont = FontRegistry.get( new Font("Arial Bold", Font.PLAIN, 30) );
+        GeneratedFont messageFont = FontRegistry.get( new Font("Arial", Font.PLAIN, 24) );
 
         title = new BitmapText(titleFont);
         addDrawable(title);
@@ -207,7 +208,7 @@ public class MsgDialog
     private ArrayList<MenuListener> menuListeners;
 
 
-    public synchronized void addMenuListener( MenuListener listener ) {
+    public void addMenuListener( MenuListener listener ) {
         if (listener == null)
             throw new IllegalArgumentException("The listener parameter cannot be null");
 
@@ -222,7 +223,7 @@ public class MsgDialog
     } // addMenuListener( MenuListener listener )
 
 
-    public synchronized void removeMenuListener( MenuListener listener ) {
+    public void removeMenuListener( MenuListener listener ) {
         if (menuListeners == null)
             return;
 
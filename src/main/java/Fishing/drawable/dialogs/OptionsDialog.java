@@ -1,7 +1,7 @@
 
 package Fishing.drawable.dialogs;
 
-import com.jhlabs.image.SwimFilter;
+import Fishing.drawable.SwimEffect;
 import Fishing.SoundManager;
 import Fishing.drawable.DrawablePanel;
 import Fishing.drawable.controls.Button;
@@ -13,12 +13,12 @@ import Fishing.drawable.events.DrawableMouseEvent;
 import Fishing.drawable.events.DrawableTreeAdapter;
 import Fishing.drawable.events.ValueChangedEvent;
 import Fishing.drawable.events.ValueChangedListener;
+import Fishing.drawable.text.FontRegistry;
 import Fishing.drawable.text.GeneratedFont;
 import Fishing.drawable.text.BitmapText;
 import Fishing.drawable.text.TitleFont;
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.Graphics2D;
 
 /**
  * Dialog for configuring game options, such as background music and sound
@@ -30,7 +30,7 @@ public class OptionsDialog
     extends Dialog
 {
 
-    private SwimFilter titleFilter;
+    private BitmapText title;
     private double padding = 20;
 
     public OptionsDialog() {
@@ -40,15 +40,9 @@ public class OptionsDialog
 
         double sliderWidth = 200;
         double height = padding;
-
-        // Filter for the title text
-        titleFilter = new SwimFilter();
-        titleFilter.setAmount(3);
-        titleFilter.setScale(30f);
-
         // Create the title text
-        BitmapText title = new BitmapText(titleFont, "Options");
-        title.addFilter( titleFilter );
+        title = new BitmapText(titleFont, "Options");
+        SwimEffect.apply(title);
         title.setY(height);
         addDrawable(title);
 
@@ -56,7 +50,7 @@ public class OptionsDialog
         double maxWidth = title.getWidth();
         height += title.getHeight() + interLineSpacing;
 
-        GeneratedFont textFont = new GeneratedFont( new Font("Arial Bold", Font.PLAIN, 24), Color.WHITE );
+        GeneratedFont textFont = FontRegistry.get( new Font("Arial Bold", Font.PLAIN, 24), Color.WHITE );
 
         // Create background music controls
         Checkbox bgMusicCheck = new Checkbox(textFont);
@@ -151,7 +145,30 @@ System.out.println("Show framerate="+ !value);
             });
 
         maxWidth = Math.max(maxWidth, frameRate.getWidth());
-        height += frameRate.getHeight() + interLineSpacing;
+        height += frameRate.getHeight() + interLineSpacing / 2;
+
+        // Add profiler checkbox
+        Checkbox profiler = new Checkbox(textFont);
+        profiler.setLabel("Show Profiler");
+        profiler.setPosition( padding, height );
+        addDrawable(profiler);
+
+        this.addTreeListener(new DrawableTreeAdapter() {
+            @Override
+            public void drawableAddedToRootStage(DrawableEvent e) {
+                profiler.setSelected( ((DrawablePanel)getRoot().getPanel()).isShowingProfiler() );
+            }
+        });
+
+        profiler.addValueChangedListener(new ValueChangedListener() {
+                public void valueChanged( ValueChangedEvent e ) {
+                    boolean value = (Boolean)e.getNewValue();
+                    ((DrawablePanel)getRoot().getPanel()).setShowProfiler( value );
+                } // valueChanged( ValueChangedEvent e )
+            });
+
+        maxWidth = Math.max(maxWidth, profiler.getWidth());
+        height += profiler.getHeight() + interLineSpacing;
 
         // Add the Close button
         Button close = new Button(textFont);
@@ -184,11 +201,4 @@ System.out.println("Show framerate="+ !value);
     } // close()
 
 
-    @Override
-    public void paint( Graphics2D g ) {
-        titleFilter.setTime( titleFilter.getTime() + 0.05f );
-        super.paint(g);
-    } // paint( Graphics2D g )
-
-
 } // class OptionsDialog
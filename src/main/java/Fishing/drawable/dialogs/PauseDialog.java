@@ -1,13 +1,12 @@
 
 package Fishing.drawable.dialogs;
 
-import com.jhlabs.image.SwimFilter;
+import Fishing.drawable.SwimEffect;
 import Fishing.drawable.Drawable;
 import Fishing.drawable.controls.ButtonMenu;
 import Fishing.drawable.events.DrawableKeyAdapter;
 import Fishing.drawable.events.DrawableKeyEvent;
 import Fishing.drawable.text.TitleFont;
-import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
 
 /**
@@ -18,9 +17,6 @@ public class PauseDialog
     extends MsgDialog
 {
 
-    private SwimFilter titleFilter;
-
-
     public PauseDialog() {
         super("Paused", "Click 'Continue' or press the space bar to return to the game.");
 
@@ -35,11 +31,8 @@ public class PauseDialog
         titleFont.setLineSpacing(12);
         setTitleFont( titleFont );
 
-        // Add the swim filter to the title
-        titleFilter = new SwimFilter();
-        titleFilter.setAmount(3);
-        titleFilter.setScale(30f);
-        getTitleControl().addFilter(titleFilter);
+        // Make the title sway as if under water
+        SwimEffect.apply(getTitleControl());
 
         addKeyListener(new DrawableKeyAdapter() {
                 @Override
@@ -57,13 +50,6 @@ public class PauseDialog
     } // PauseDialog()
 
 
-    @Override
-    public void paint(Graphics2D g) {
-        titleFilter.setTime( titleFilter.getTime() + 0.05f );
-        super.paint(g);
-    } // paint(Graphics2D g)
-
-
     public static PauseDialog show( Drawable root ) {
         PauseDialog dlg = new PauseDialog();
         dlg.show(root, true);
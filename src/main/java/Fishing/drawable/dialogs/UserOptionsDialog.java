@@ -1,7 +1,7 @@
 
 package Fishing.drawable.dialogs;
 
-import com.jhlabs.image.SwimFilter;
+import Fishing.drawable.SwimEffect;
 import Fishing.FishingOptions;
 import Fishing.drawable.controls.ButtonMenu;
 import Fishing.drawable.controls.FishSelectorGroup;
@@ -9,12 +9,12 @@ import Fishing.drawable.controls.FishTable;
 import Fishing.drawable.controls.Slider;
 import Fishing.drawable.events.ValueChangedEvent;
 import Fishing.drawable.events.ValueChangedListener;
+import Fishing.drawable.text.FontRegistry;
 import Fishing.drawable.text.GeneratedFont;
 import Fishing.drawable.text.BitmapText;
 import Fishing.drawable.text.TitleFont;
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.Graphics2D;
 
 /**
  *
@@ -24,7 +24,7 @@ public class UserOptionsDialog
     extends Dialog
 {
 
-    private SwimFilter titleFilter;
+    private BitmapText title;
     private FishingOptions fishingOptions;
     private ButtonMenu buttons;
     private double padding = 20;
@@ -37,15 +37,9 @@ public class UserOptionsDialog
         fishingOptions = options;
 
         double height = padding;
-
-        // Filter for the title text
-        titleFilter = new SwimFilter();
-        titleFilter.setAmount(3);
-        titleFilter.setScale(30f);
-
         // Create the title text
-        BitmapText title = new BitmapText(titleFont, fishingOptions.getTitle());
-        title.addFilter( titleFilter );
+        title = new BitmapText(titleFont, fishingOptions.getTitle());
+        SwimEffect.apply(title);
         title.setY(height);
         addDrawable(title);
 
@@ -53,7 +47,7 @@ public class UserOptionsDialog
         double maxWidth = title.getWidth();
         height += title.getHeight() + interLineSpacing;
 
-        GeneratedFont textFont = new GeneratedFont( new Font("Arial Bold", Font.PLAIN, 28), Color.WHITE );
+        GeneratedFont textFont = FontRegistry.get( new Font("Arial Bold", Font.PLAIN, 28), Color.WHITE );
 
         // Create the intro/instructions text
         String instructions = "You have "+ fishingOptions.getTimeLimit() +" seconds to capture as many fish as you can.\n";
@@ -191,11 +185,4 @@ public class UserOptionsDialog
     } // getButtons()
 
 
-    @Override
-    public void paint( Graphics2D g ) {
-        titleFilter.setTime( titleFilter.getTime() + 0.05f );
-        super.paint(g);
-    } // paint( Graphics2D g ) {
-
-
 } // class UserOptionsDialog
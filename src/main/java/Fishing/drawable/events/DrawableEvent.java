@@ -39,6 +39,19 @@ public class DrawableEvent
         this.relatedObject = relatedObject;
     } // DrawableEvent( Drawable source, Drawable relatedObject )
 
+    /**
+     * Reinitializes this event with a new source and related object, so that
+     * the instance can be dispatched again.
+     * 
+     * @param   source  The object on which the Event initially occurred.
+     * @param   relatedObject Another object related to this event being
+     *                  dispatched, or {@code null}.
+     */
+    protected void reset( Drawable source, Drawable relatedObject ) {
+        reset(source);
+        this.relatedObject = relatedObject;
+    } // reset( Drawable source, Drawable relatedObject )
+
     @Override
     public Drawable getSource() {
         return (Drawable) super.getSource();
@@ -80,18 +80,18 @@ public class DrawableInputEvent
     /**
      * The event type.
      */
-    private final int id;
+    private int id;
 
     /**
      * Timestamp when the event occurred.
      */
-    private final long when;
+    private long when;
 
     /**
      * Returns the modifier mask for this event.
      * @see java.awt.event.InputEvent#getModifiersEx() 
      */
-    private final int modifiers;
+    private int modifiers;
 
     /**
      * Constructs a new event instance.
@@ -113,6 +113,22 @@ public class DrawableInputEvent
         this.modifiers = modifiers;
     } // DrawableInputEvent(...)
 
+    /**
+     * Reinitializes this event so that the instance can be dispatched again.
+     * 
+     * @param source    The object on which the event initially occurred.
+     * @param id        The event ID.
+     * @param when      The timestamp when the event occurred.
+     * @param modifiers The modifier mask for this event.
+     */
+    protected void reset( Drawable source, int id, long when, int modifiers ) {
+        reset(source, null);
+
+        this.id = id;
+        this.when = when;
+        this.modifiers = modifiers;
+    } // reset( Drawable source, int id, long when, int modifiers )
+
     /**
      * Retrieves the event type.
      * 
@@ -39,19 +39,19 @@ public class DrawableKeyEvent
      * (For KEY_TYPED events, the keyCode is VK_UNDEFINED.)
      * @see java.awt.event.KeyEvent
      */
-    private final int keyCode;
+    private int keyCode;
 
     /**
      * The character associated with the key in this event.
      * @see java.awt.event.KeyEvent
      */
-    private final char keyChar;
+    private char keyChar;
 
     /**
      * The location of the key that was pressed or released.
      * Always KEY_LOCATION_UNKNOWN for KEY_TYPED events.
      */
-    private final int keyLocation;
+    private int keyLocation;
 
     /**
      * Constructs a new event instance.
@@ -77,6 +77,37 @@ public class DrawableKeyEvent
         this.keyLocation = keyLocation;
     } // DrawableKeyEvent(...)
 
+    /**
+     * Reinitializes this event so that the instance can be dispatched again.
+     * 
+     * <p>Events reused this way are only valid while they are being
+     * dispatched.  Listeners must not keep a reference to the event once they
+     * return.
+     * 
+     * @param source    The object on which the event initially occurred.
+     * @param id        The event ID.
+     * @param when      The timestamp when the event occurred.
+     * @param modifiers The modifier mask for this event.
+     * @param keyCode   The integer keyCode associated with the key in this
+     *                  event.
+     * @param keyChar   The character associated with the key in this event.
+     * @param keyLocation   The location of the key that was pressed or released.
+     * 
+     * @return  This event.
+     */
+    public DrawableKeyEvent reset(
+                Drawable source, int id, long when, int modifiers,
+                int keyCode, char keyChar, int keyLocation
+            )
+    {
+        reset(source, id, when, modifiers);
+        this.keyCode = keyCode;
+        this.keyChar = keyChar;
+        this.keyLocation = keyLocation;
+
+        return this;
+    } // reset(...)
+
     /**
      * Retrieves the integer keyCode associated with the key in this event.
      * 
@@ -1,23 +1,32 @@
 
 package Fishing.drawable.events;
 
-import java.util.List;
 import java.util.function.BiConsumer;
 
 /**
  * Wrapper around a list of registered listeners and a default listener.
  * 
+ * <p>The listeners are kept in copy-on-write arrays.  The arrays are only
+ * replaced when a listener is added or removed, so dispatching an event
+ * doesn't allocate, and handlers may add or remove listeners while the prior
+ * array is being iterated over.
+ * 
  * @param <T>   The type of the listeners contained in this instance.
  * 
  * @author Brad
  */
 public class DrawableListeners<T> {
 
+    /**
+     * Shared array used when no listeners are registered.
+     */
+    private static final Object[] NO_LISTENERS = new Object[0];
+
     /**
      * The registered listeners to notifyListeners for this type of event.
      * These listeners are notified before the default listener.
      */
-    private List<T> listeners;
+    private Object[] listeners = NO_LISTENERS;
 
     /**
      * The default listeners to notifyListeners when this type of event occurs
@@ -25,23 +34,44 @@ public class DrawableListeners<T> {
      * 
      * <p>Default listeners should only be registered internally by components.
      */
-    private List<T> defaultListeners;
+    private Object[] defaultListeners = NO_LISTENERS;
 
     /**
      * Notifies the registers listeners and/or default listener of an event.
      * 
+     * <p>The notification of the registered listeners stops if the
+     * {@code stopImmediatePropagation()} method of the event is called, and
+     * the notification of the default listeners stops once the event is
+     * consumed.
+     * 
      * @param <E>       The type of the event.
      * @param e         The event to dispatch.
      * @param callback  Callback method 
      */
+    @SuppressWarnings("unchecked")
     public <E extends EventBase> void notifyListeners(
         E e,
         BiConsumer<T, E> callback
     ) {
-        EventBase.notifyListeners(listeners, e, callback);
-        EventBase.notifyDefaultListeners(defaultListeners, e, callback);
+        Object[] l = listeners;
+        for (int i = 0; (i < l.length) && !e.isImmediatePropagationStopped(); ++i)
+            callback.accept((T) l[i], e);
+
+        l = defaultListeners;
+        for (int i = 0; (i < l.length) && !e.isConsumed(); ++i)
+            callback.accept((T) l[i], e);
     } // notifyListeners
 
+    /**
+     * Determines whether any listeners or default listeners are registered.
+     * 
+     * @return  {@code true} if there are no registered listeners,
+     *          {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return (listeners.length == 0) && (defaultListeners.length == 0);
+    } // isEmpty()
+
     /**
      * Adds a new listener to the end of list of registered listeners,
      * if it is not already found in the list.
@@ -51,7 +81,7 @@ public class DrawableListeners<T> {
      * @throws  IllegalArgumentException if {@code listener} is {@code null}.
      */
     public void add(T listener) {
-        listeners = EventBase.addListener(listeners, listener);
+        listeners = insert(listeners, listener, false);
     } // add(T listener)
 
     /**
@@ -61,14 +91,15 @@ public class DrawableListeners<T> {
      * @param listener  The listener to remove.
      */
     public void remove(T listener) {
-        listeners = EventBase.removeListener(listeners, listener);
+        listeners = delete(listeners, listener);
     } // remove(T listener)
 
     /**
      * Adds a new default listener to the list of registered default listeners,
      * if it is not already found in the list.
      * 
-     * <p>Unlike 
+     * <p>Unlike the other registered listeners, default listeners are added
+     * to the beginning of the list.
      * 
      * <p>The default listeners are notified if the dispatched event is not
      * consumed by the other registered listeners, regardless of whether
@@ -79,7 +110,7 @@ public class DrawableListeners<T> {
      * @throws  IllegalArgumentException if {@code listener} is {@code null}.
      */
     public void addDefault(T listener) {
-        defaultListeners = EventBase.prependListener(defaultListeners, listener);
+        defaultListeners = insert(defaultListeners, listener, true);
     } // prependDefault(T listener)
 
     /**
@@ -89,7 +120,75 @@ public class DrawableListeners<T> {
      * @param listener  The listener to remove.
      */
     public void removeDefault(T listener) {
-        defaultListeners = EventBase.removeListener(defaultListeners, listener);
+        defaultListeners = delete(defaultListeners, listener);
     } // remove(T listener)
 
+    /**
+     * Returns a copy of a listener array with a listener added, or the
+     * original array if it already contains the listener.
+     * 
+     * @param array     The current listeners.
+     * @param listener  The listener to add.
+     * @param first     Whether to add the listener at the beginning of the
+     *                  array rather than the end.
+     * 
+     * @return  The new listener array.
+     * 
+     * @throws  IllegalArgumentException if {@code listener} is {@code null}.
+     */
+    private static Object[] insert(Object[] array, Object listener, boolean first) {
+        if (listener == null)
+            throw new IllegalArgumentException("The listener parameter cannot be null");
+
+        if (indexOf(array, listener) >= 0)
+            return array;
+
+        Object[] rv = new Object[array.length + 1];
+        System.arraycopy(array, 0, rv, (first ? 1 : 0), array.length);
+        rv[first ? 0 : array.length] = listener;
+
+        return rv;
+    } // insert(Object[] array, Object listener, boolean first)
+
+    /**
+     * Returns a copy of a listener array with a listener removed, or the
+     * original array if it doesn't contain the listener.
+     * 
+     * @param array     The current listeners.
+     * @param listener  The listener to remove.
+     * 
+     * @return  The new listener array.
+     */
+    private static Object[] delete(Object[] array, Object listener) {
+        int i = indexOf(array, listener);
+        if (i < 0)
+            return array;
+
+        if (array.length == 1)
+            return NO_LISTENERS;
+
+        Object[] rv = new Object[array.length - 1];
+        System.arraycopy(array, 0, rv, 0, i);
+        System.arraycopy(array, i + 1, rv, i, rv.length - i);
+
+        return rv;
+    } // delete(Object[] array, Object listener)
+
+    /**
+     * Finds a listener in a listener array.
+     * 
+     * @param array     The listeners to search.
+     * @param listener  The listener to find.
+     * 
+     * @return  The index of the listener, or -1 if it isn't in the array.
+     */
+    private static int indexOf(Object[] array, Object listener) {
+        for (int i = 0; i < array.length; ++i) {
+            if (array[i].equals(listener))
+                return i;
+        } // for
+
+        return -1;
+    } // indexOf(Object[] array, Object listener)
+
 } // DrawableListeners
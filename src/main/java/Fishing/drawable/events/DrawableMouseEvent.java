@@ -161,6 +161,53 @@ public class DrawableMouseEvent
         this.clickCount = clickCount;
     } // DrawableMouseEvent()
 
+    /**
+     * Reinitializes this event so that the instance can be dispatched again,
+     * rather than allocating a new event for each mouse movement.
+     * 
+     * <p>Events reused this way are only valid while they are being
+     * dispatched.  Listeners must not keep a reference to the event once they
+     * return, and should copy any values they need later.
+     * 
+     * @param source    The object on which the event initially occurred.
+     * @param id        The event ID.
+     * @param when      The timestamp when the event occurred.
+     * @param modifiers The modifier mask for this event.
+     * @param x         The local horizontal coordinate of the mouse pointer in
+     *                  the source object when the event occurred.
+     * @param y         The local vertical coordinate of the mouse pointer in
+     *                  the source object when the event occurred.
+     * @param screenX   The global horizontal coordinate of the mouse pointer
+     *                  in the root stage when the event occurred.
+     * @param screenY   The global vertical coordinate of the mouse pointer
+     *                  in the root stage when the event occurred.
+     * @param clickCount    The number of times the specified button has been
+     *                  clicked.
+     * @param button    The button that changed state.
+     * 
+     * @return  This event.
+     */
+    public DrawableMouseEvent reset(
+                Drawable source, int id, long when, int modifiers,
+                double x, double y, int screenX, int screenY,
+                int clickCount, int button
+            )
+    {
+        if (button < NOBUTTON || button > BUTTON3)
+            throw new IllegalArgumentException("Invalid button value");
+
+        reset(source, id, when, modifiers);
+
+        this.x = x;
+        this.y = y;
+        this.screenX = screenX;
+        this.screenY = screenY;
+        this.button = button;
+        this.clickCount = clickCount;
+
+        return this;
+    } // reset(...)
+
     /**
      * Retrieves the local horizontal coordinate of the mouse pointer in the
      * source object when the event occurred.
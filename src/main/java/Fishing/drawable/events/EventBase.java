@@ -43,6 +43,28 @@ public class EventBase
         super(source);
     } // EventBase( Object source )
 
+    /**
+     * Reinitializes this event so that the instance can be dispatched again,
+     * with a new source and none of the consumed or propagation flags set.
+     * 
+     * <p>Events that are reused this way are only valid for the duration of
+     * the dispatch.  Listeners must not retain a reference to the event after
+     * they return.
+     * 
+     * @param   source  The object on which the Event initially occurred.
+     * 
+     * @throws  IllegalArgumentException if {@code source} is {@code null}.
+     */
+    protected void reset( Object source ) {
+        if (source == null)
+            throw new IllegalArgumentException("null source");
+
+        this.source = source;
+        consumed = false;
+        propagationStopped = false;
+        immediatePropagationStopped = false;
+    } // reset( Object source )
+
     /**
      * Determines whether the {@code consume()} method has been called on this
      * event.
@@ -174,13 +196,11 @@ public class EventBase
         if (listeners == null) {
             listeners = new ArrayList<>();
             listeners.add(listener);
-        } else {
-            List<T> newListeners = new ArrayList<>(listeners);
-
-            if (!newListeners.contains(listener)) {
-                newListeners.add(listener);
-                return newListeners;
-            }
+        } else if (!listeners.contains(listener)) {
+            List<T> newListeners = new ArrayList<>(listeners.size() + 1);
+            newListeners.addAll(listeners);
+            newListeners.add(listener);
+            return newListeners;
         }
 
         return listeners;
@@ -253,10 +273,13 @@ public class EventBase
      */
     public static <T> List<T> removeListener(List<T> listeners, T listener) {
         if (listeners != null) {
-            List<T> newListeners = new ArrayList<>(listeners);
+            int i = listeners.indexOf(listener);
+            if (i < 0)
+                return listeners;
 
-            newListeners.remove(listener);
-            if (!newListeners.isEmpty()) {
+            if (listeners.size() > 1) {
+                List<T> newListeners = new ArrayList<>(listeners);
+                newListeners.remove(i);
                 return newListeners;
             }
         }
@@ -294,8 +317,8 @@ public class EventBase
         BiConsumer<T, E> callback
     ) {
         if ((listeners != null) && !e.isImmediatePropagationStopped()) {
-            for (T listener : listeners) {
-                callback.accept(listener, e);
+            for (int i = 0, n = listeners.size(); i < n; ++i) {
+                callback.accept(listeners.get(i), e);
                 if (e.isImmediatePropagationStopped())
                     break;
             } // for
@@ -328,8 +351,8 @@ public class EventBase
         BiConsumer<T, E> callback
     ) {
         if ((listeners != null) && !e.isConsumed()) {
-            for (T listener : listeners) {
-                callback.accept(listener, e);
+            for (int i = 0, n = listeners.size(); i < n; ++i) {
+                callback.accept(listeners.get(i), e);
                 if (e.isConsumed())
                     break;
             } // for
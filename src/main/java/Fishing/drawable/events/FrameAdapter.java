@@ -0,0 +1,19 @@
+package Fishing.drawable.events;
+
+/**
+ * Convenience class implementing the {@link FrameListener} interface with all
+ * methods defined as NOPs.
+ *
+ * @author Brad
+ */
+public class FrameAdapter
+    implements FrameListener
+{
+
+    @Override
+    public void frameUpdate(FrameEvent e) { }
+
+    @Override
+    public void frameRender(FrameEvent e) { }
+
+} // class FrameAdapter
@@ -0,0 +1,121 @@
+package Fishing.drawable.events;
+
+import Fishing.drawable.DrawablePanel;
+
+/**
+ * Event sent to a FrameListener by a DrawablePanel as its frame loop
+ * advances.
+ * 
+ * <p>The panel reuses a single instance for every step and frame, so the
+ * event is only valid while it is being dispatched.  Listeners must not keep
+ * a reference to it once they return.
+ * 
+ * @author Brad
+ * @see FrameListener
+ */
+public class FrameEvent
+    extends EventBase
+{
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The simulation time, in nanoseconds, at the end of the step or at the
+     * last completed step when rendering.
+     */
+    private long time;
+
+    /**
+     * The duration of a single fixed update step, in seconds.
+     */
+    private double delta;
+
+    /**
+     * How far between the last completed update step and the next step the
+     * frame being rendered lies, in the range 0 to 1.
+     */
+    private double interpolation;
+
+    /**
+     * Constructs a new instance.
+     * 
+     * @param   source          The panel running the frame loop.
+     * @param   time            The simulation time, in nanoseconds.
+     * @param   delta           The duration of a single fixed update step,
+     *                          in seconds.
+     * @param   interpolation   The fraction of the next update step that has
+     *                          elapsed when rendering, in the range 0 to 1.
+     */
+    public FrameEvent( DrawablePanel source, long time, double delta, double interpolation ) {
+        super(source);
+        this.time = time;
+        this.delta = delta;
+        this.interpolation = interpolation;
+    } // FrameEvent( DrawablePanel source, long time, double delta, double interpolation )
+
+    /**
+     * Reinitializes this event so that the instance can be dispatched again,
+     * rather than allocating a new event for each step and frame.
+     * 
+     * @param   time            The simulation time, in nanoseconds.
+     * @param   delta           The duration of a single fixed update step,
+     *                          in seconds.
+     * @param   interpolation   The fraction of the next update step that has
+     *                          elapsed when rendering, in the range 0 to 1.
+     * 
+     * @return  This event.
+     */
+    public FrameEvent reset( long time, double delta, double interpolation ) {
+        reset(getSource());
+
+        this.time = time;
+        this.delta = delta;
+        this.interpolation = interpolation;
+
+        return this;
+    } // reset( long time, double delta, double interpolation )
+
+    @Override
+    public DrawablePanel getSource() {
+        return (DrawablePanel) super.getSource();
+    } // getSource()
+
+    /**
+     * Retrieves the simulation time, in nanoseconds.  This value only
+     * advances in multiples of the fixed update step.
+     * 
+     * @return  The simulation time, in nanoseconds.
+     */
+    public long getTime() {
+        return time;
+    } // getTime()
+
+    /**
+     * Retrieves the duration of a single fixed update step, in seconds.
+     * 
+     * @return  The duration of a single fixed update step, in seconds.
+     */
+    public double getDelta() {
+        return delta;
+    } // getDelta()
+
+    /**
+     * Retrieves the fraction of the next update step that has elapsed at the
+     * time a frame is rendered.  Renderers can use this to blend between the
+     * previous and current simulation states.  Always 0 for update events.
+     * 
+     * @return  The interpolation factor, in the range 0 to 1.
+     */
+    public double getInterpolation() {
+        return interpolation;
+    } // getInterpolation()
+
+    @Override
+    protected String getToStringProperties() {
+        return super.getToStringProperties() +
+                " time="+ time +
+                " delta="+ delta +
+                " interpolation="+ interpolation;
+    } // getToStringProperties()
+
+} // class FrameEvent
@@ -0,0 +1,30 @@
+package Fishing.drawable.events;
+
+/**
+ * Listener interface for receiving the fixed-rate update and per-frame render
+ * notifications issued by a DrawablePanel.
+ * 
+ * @author Brad
+ * @see Fishing.drawable.DrawablePanel
+ */
+public interface FrameListener {
+
+    /**
+     * Invoked once for each fixed update step.  Several steps may be issued
+     * back to back to catch up after a slow frame.
+     * 
+     * @param e The event that occurred.
+     */
+    void frameUpdate( FrameEvent e );
+
+    /**
+     * Invoked once per frame after the update steps have been issued, before
+     * the area to redraw is determined.  Changes made in response, such as
+     * positioning objects between their last two updated states, are drawn
+     * in the same frame.
+     * 
+     * @param e The event that occurred.
+     */
+    void frameRender( FrameEvent e );
+
+} // interface FrameListener
@@ -2,11 +2,13 @@
 package Fishing.drawable.text;
 
 import Fishing.drawable.AnimationFrameSet;
-import java.awt.Dimension;
+import Fishing.drawable.SceneQueue;
+import Fishing.drawable.events.EventBase;
 import java.awt.Graphics2D;
-import java.awt.geom.AffineTransform;
 import java.awt.geom.Dimension2D;
 import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * A frame set where each frame represents a character of a bitmap font.
@@ -45,6 +47,39 @@ public class BitmapFont
      */
     private double lineSpacing = 0;
 
+    /**
+     * Maps characters to their frames.  Replaced, rather than modified, when
+     * frames are named, so characters can be looked up without locking.
+     */
+    private volatile GlyphTable glyphs = GlyphTable.EMPTY;
+
+    /**
+     * Holds the character mapping as frames are named, from which the
+     * published {@code glyphs} table is built.  Only accessed while holding
+     * the font's lock.
+     */
+    private final GlyphTable.Builder glyphBuilder = new GlyphTable.Builder();
+
+    /**
+     * The number of {@link #batchFrames} calls in progress.  The glyph table
+     * is only published once none are.  Only accessed while holding the
+     * font's lock.
+     */
+    private int batchDepth = 0;
+
+    /**
+     * Incremented whenever the frames or spacing change, so that text
+     * layouts created before the change can tell they are out of date.
+     */
+    private volatile int layoutGeneration = 0;
+
+    /**
+     * The tasks run on the scene thread after the layout generation changes,
+     * such as relaying out the texts on a stage using the font.  Replaced,
+     * rather than modified, when tasks are added or removed.
+     */
+    private volatile List<Runnable> layoutListeners;
+
     /**
      * Retrieves the number of additional units of spacing added between each
      * rendered character.
@@ -65,6 +100,7 @@ public class BitmapFont
      */
     public void setCharacterSpacing( double value ) {
         characterSpacing = value;
+        layoutChanged();
     } // setCharacterSpacing( double value )
 
     /**
@@ -87,6 +123,7 @@ public class BitmapFont
      */
     public void setLineSpacing( double value ) {
         lineSpacing = value;
+        layoutChanged();
     } // setLineSpacing( double value )
 
     /**
@@ -181,8 +218,8 @@ public class BitmapFont
      *           be rendered using this font.
      */
     public Dimension2DDouble getTextSize( String text ) {
-        Rectangle2D bounds = drawText( null, 0, 0, text, ALIGN_LEFT );
-        return new Dimension2DDouble( bounds.getWidth(), bounds.getHeight() );
+        BitmapTextLayout layout = layoutText( text, ALIGN_LEFT );
+        return new Dimension2DDouble( layout.getWidth(), layout.getHeight() );
     } // getTextSize( String text )
 
     /**
@@ -192,23 +229,159 @@ public class BitmapFont
      * 
      * @return  The sprite frame image associated with the specified character.
      *          If the character is not defined for this font, will return the
-     *          "Unknown" frame.
+     *          "Unknown" frame, or {@code null} if the font doesn't define
+     *          one.
      */
-    public synchronized BitmapFontFrame getFrameForChar( char ch ) {
-        BitmapFontFrame f = null;
+    public BitmapFontFrame getFrameForChar( char ch ) {
+        GlyphTable t = glyphs;
+        BitmapFontFrame f = t.get(ch);
 
+        return (f != null ? f : t.getUnknown());
+    } // getFrameForChar( char ch )
+
+    /**
+     * Retrieves the frame named after the specified character, without
+     * falling back to the "Unknown" frame.
+     * 
+     * <p>The lookup doesn't lock, allocate or throw.
+     * 
+     * @param   ch  The character to retrieve the frame for.
+     * 
+     * @return  The frame assigned to the character, or {@code null} if the
+     *          character is not defined for this font.
+     */
+    protected final BitmapFontFrame findFrameForChar( char ch ) {
+        return glyphs.get(ch);
+    } // findFrameForChar( char ch )
+
+    @Override
+    protected synchronized void clearFrames() {
+        super.clearFrames();
+        glyphBuilder.clear();
+        if (batchDepth == 0)
+            glyphs = GlyphTable.EMPTY;
+        layoutChanged();
+    } // clearFrames()
+
+    /**
+     * Retrieves the current layout generation, which changes whenever the
+     * frames or spacing of the font change.
+     * 
+     * @return  The current layout generation.
+     */
+    int getLayoutGeneration() {
+        return layoutGeneration;
+    } // getLayoutGeneration()
+
+    /**
+     * Registers a task to run on the scene thread, at the start of the next
+     * frame, whenever the layout generation changes.
+     * 
+     * @param   listener    The task to run.
+     */
+    synchronized void addLayoutListener( Runnable listener ) {
+        layoutListeners = EventBase.addListener(layoutListeners, listener);
+    } // addLayoutListener( Runnable listener )
+
+    /**
+     * Removes a task registered with {@link #addLayoutListener(Runnable)}.
+     * 
+     * @param   listener    The task to remove.
+     */
+    synchronized void removeLayoutListener( Runnable listener ) {
+        layoutListeners = EventBase.removeListener(layoutListeners, listener);
+    } // removeLayoutListener( Runnable listener )
+
+    /**
+     * Advances the layout generation and queues the layout listeners.
+     */
+    private void layoutChanged() {
+        ++layoutGeneration;
+
+        List<Runnable> listeners = layoutListeners;
+        if (listeners != null) {
+            for (Runnable r : listeners)
+                SceneQueue.invokeLater(r);
+        }
+    } // layoutChanged()
+
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>Frames named with a single character are used to draw that
+     * character, and the frame named "Unknown" is used to draw characters
+     * the font doesn't define.
+     */
+    @Override
+    public synchronized void setFrameName( int index, String name ) {
+        String oldName = getFrameName(index);
+
+        super.setFrameName(index, name);
+
+        if ((oldName != null) && !oldName.equals(name))
+            mapName(oldName, null);
+
+        if (name != null)
+            mapName(name, getFrame(index));
+
+        if (batchDepth == 0)
+            glyphs = glyphBuilder.build();
+    } // setFrameName( int index, String name )
+
+    /**
+     * Adds or names several frames, publishing the character mapping once,
+     * after all the changes were made, rather than after each.
+     * 
+     * @param   changes The changes to make to the frames.
+     * 
+     * @throws  NullPointerException if {@code changes} is {@code null}.
+     */
+    protected final synchronized void batchFrames( Runnable changes ) {
+        ++batchDepth;
         try {
-            f = getFrame(""+ch);
-        } catch (IllegalArgumentException ex) {
-            // No frame with that name
+            changes.run();
+        } finally {
+            if (--batchDepth == 0)
+                glyphs = glyphBuilder.build();
         }
+    } // batchFrames( Runnable changes )
 
-        if (f == null) {
-            f = getFrame("Unknown");
+    /**
+     * Adds a batch of frames, each named after the character it draws.  The
+     * characters become visible to {@link #getFrameForChar(char)} all at
+     * once, after every frame was added.
+     * 
+     * @param   chars   The characters drawn by the frames.
+     * @param   frames  The frames to add, in the same order as {@code chars}.
+     * 
+     * @throws  IllegalArgumentException if the arrays differ in length, if a
+     *          frame is not associated with this font or if a character
+     *          already has a frame.
+     * @throws  NullPointerException if either array, or any frame, is
+     *          {@code null}.
+     */
+    protected final synchronized void addCharFrames( char[] chars, BitmapFontFrame[] frames ) {
+        if (chars.length != frames.length) {
+            throw new IllegalArgumentException(
+                "The chars and frames must have the same length"
+            );
         }
 
-        return f;
-    } // getFrameForChar( char ch )
+        batchFrames(() -> {
+            for (int i = 0; i < frames.length; ++i)
+                addFrame(frames[i], String.valueOf(chars[i]));
+        });
+    } // addCharFrames( char[] chars, BitmapFontFrame[] frames )
+
+    /**
+     * Assigns the character or "Unknown" frame a frame name stands for.
+     */
+    private void mapName( String name, BitmapFontFrame frame ) {
+        if (name.length() == 1)
+            glyphBuilder.put(name.charAt(0), frame);
+        else if (name.equals("Unknown"))
+            glyphBuilder.setUnknown(frame);
+    } // mapName( String name, BitmapFontFrame frame )
 
     /**
      * Retrieves the amount of descent below the baseline.
@@ -301,71 +474,43 @@ public class BitmapFont
     } // getCharacterOffset( String line, int index )
 
     /**
-     * Computes the size of the specified single line of text if it were to
-     * be rendered using this font.
-     * 
-     * @param   line    The line of text to determine the size for.
-     * 
-     * @return  The computed size of the specified line of text if it were to
-     *          be rendered using this font.
+     * Lays out the specified text with this font, computing the frame and
+     * position of each character and the bounds of the text.  The layout can
+     * be drawn any number of times, until the font regenerates its frames or
+     * changes its spacing.
      * 
-     * @throws  NullPointerException if {@code line} is {@code null}.
-     */
-    private Dimension calcLineSize( String line ) {
-        double w = 0;
-        double h = 0;
-
-        int l = line.length() - 1;
-        double spacing = 0;
-
-        for (int i = 0; i <= l; ++i) {
-            char ch = line.charAt(i);
-
-            BitmapFontFrame f = getFrameForChar(ch);
-
-            Rectangle2D bounds = f.getCharBounds();
-            w += (i == 0 && (bounds.getX() < 0) ? -bounds.getX() : 0) +
-                 (i == l ? Math.max(bounds.getMaxX(), f.getCharAdvance()) : f.getCharAdvance()) +
-                 spacing;
-            spacing = characterSpacing;
-
-            double t = f.getCharBounds().getHeight();
-            if (t > h)
-                h = t;
-        } // for
-
-        return new Dimension( (int)Math.round(w), (int)Math.round(h) );
-    } // calcLineSize( String line, int charSpacing )
-
-    /**
-     * Draws the specified text using this font into a graphics context.
+     * <p>Each line of text is aligned relative to the position the text is
+     * drawn at.  Lines are separated by "\n", "\r" or "\r\n", and empty lines
+     * take up no space.
      * 
-     * @param   g   The graphics context to draw the text into.  May be
-     *              {@code null}, in which case only the bounding rectangle
-     *              computation is performed.
-     * @param   x   The horizontal position at which to draw the text.
-     * @param   y   The vertical position at which to draw the text.
-     * @param   text        The text to draw.  A {@code null} value is
-     *              rendered as an empty string.
+     * @param   text        The text to lay out.  A {@code null} value is
+     *              laid out as an empty string.
      * @param   alignment   Alignment to use when drawing the text.  Must be
      *              one of {@link #ALIGN_CENTER}, {@link #ALIGN_RIGHT} or
-     *              {@link #ALIGN_LEFT}.  Unrecognized values will be rendered
+     *              {@link #ALIGN_LEFT}.  Unrecognized values will be laid out
      *              using the semantics of {@link #ALIGN_LEFT}.
      * 
-     * @return  Returns the computed bounding rectangle which fully contains
-     *          the drawn text.
+     * @return  The layout of the text.
      */
-    public synchronized Rectangle2D drawText( Graphics2D g, double x, double y, String text, int alignment ) {
+    public BitmapTextLayout layoutText( String text, int alignment ) {
         if (text == null)
             text = "";
 
+        // Frames made after this point belong to a newer generation
+        int generation = layoutGeneration;
+
         int l = text.length();
 
-        // Draw one line at a time
+        BitmapFontFrame[] frames = new BitmapFontFrame[l];
+        double[] xs = new double[l];
+        double[] ys = new double[l];
+        int count = 0;
+
+        // Lay out one line at a time
         int charPos = 0;
-        
-        double yPos = y;
-        double minX = x;
+
+        double yPos = 0;
+        double minX = 0;
         double width = 0;
         double height = 0;
         double lSpacing = 0;
@@ -382,19 +527,37 @@ public class BitmapFont
             }
 
             if (eol > charPos) {
-                String line = text.substring(charPos, eol);
-
                 // Determine width/height of line
-                Dimension size = calcLineSize( line );
+                int last = eol - 1;
+                double w = 0;
+                double h = 0;
+                double spacing = 0;
+
+                for (int i = charPos; i <= last; ++i) {
+                    BitmapFontFrame f = getFrameForChar(text.charAt(i));
+                    frames[count + i - charPos] = f;
+
+                    Rectangle2D bounds = f.getCharBounds();
+                    w += (i == charPos && (bounds.getX() < 0) ? -bounds.getX() : 0) +
+                         (i == last ? Math.max(bounds.getMaxX(), f.getCharAdvance()) : f.getCharAdvance()) +
+                         spacing;
+                    spacing = characterSpacing;
+
+                    if (bounds.getHeight() > h)
+                        h = bounds.getHeight();
+                } // for
+
+                int lineWidth = (int)Math.round(w);
+                int lineHeight = (int)Math.round(h);
 
                 // Determine alignment position
-                double xPos = x;
+                double xPos = 0;
                 switch (alignment) {
                     case ALIGN_CENTER:
-                        xPos -= size.getWidth() / 2;
+                        xPos -= lineWidth / 2.0;
                         break;
                     case ALIGN_RIGHT:
-                        xPos -= size.getWidth();
+                        xPos -= lineWidth;
                         break;
                     case ALIGN_LEFT:
                     default:
@@ -405,39 +568,29 @@ public class BitmapFont
                     width += (minX - xPos);
                     minX = xPos;
                 }
-                if (width < size.width)
-                    width = size.width;
+                if (width < lineWidth)
+                    width = lineWidth;
 
-                // Draw the characters in the line
-                AffineTransform m = (g != null ? g.getTransform() : null);
-
-                int ll = line.length();
+                // Position the characters in the line
                 double cSpacing = 0;
 
-                for (int i = 0; i < ll; ++i) {
-                    char ch = line.charAt(i);
-
-                    BitmapFontFrame f = getFrameForChar(ch);
+                for (int i = 0; i <= last - charPos; ++i, ++count) {
+                    BitmapFontFrame f = frames[count];
 
                     xPos += cSpacing;
                     cSpacing = characterSpacing;
 
-                    if (g != null) {
-                        double xAdj = f.getCharBounds().getX();
-                        g.translate(xPos + ((i > 0 || xAdj < 0) ? xAdj : 0), yPos);
-                        f.paint(g);
-                    }
+                    double xAdj = f.getCharBounds().getX();
+                    xs[count] = xPos + ((i > 0 || xAdj < 0) ? xAdj : 0);
+                    ys[count] = yPos;
 
                     xPos += f.getCharAdvance();
-
-                    if (g != null)
-                        g.setTransform(m);
                 } // for
 
-                height += size.height + lSpacing;
+                height += lineHeight + lSpacing;
                 lSpacing = lineSpacing;
 
-                yPos += size.height + lineSpacing;
+                yPos += lineHeight + lineSpacing;
             }
 
             charPos = eol + 1;
@@ -445,7 +598,47 @@ public class BitmapFont
                 ++charPos;
         } // while
 
-        return new Rectangle2D.Double( minX, y, width, height );
+        if (count < l) {
+            frames = Arrays.copyOf(frames, count);
+            xs = Arrays.copyOf(xs, count);
+            ys = Arrays.copyOf(ys, count);
+        }
+
+        return new BitmapTextLayout(
+                    this, generation, text, alignment,
+                    frames, xs, ys,
+                    minX, width, height
+                );
+    } // layoutText( String text, int alignment )
+
+    /**
+     * Draws the specified text using this font into a graphics context.
+     * 
+     * <p>The text is laid out on every call.  Text which is drawn repeatedly
+     * should be laid out once with {@link #layoutText(String, int)} instead.
+     * 
+     * @param   g   The graphics context to draw the text into.  May be
+     *              {@code null}, in which case only the bounding rectangle
+     *              computation is performed.
+     * @param   x   The horizontal position at which to draw the text.
+     * @param   y   The vertical position at which to draw the text.
+     * @param   text        The text to draw.  A {@code null} value is
+     *              rendered as an empty string.
+     * @param   alignment   Alignment to use when drawing the text.  Must be
+     *              one of {@link #ALIGN_CENTER}, {@link #ALIGN_RIGHT} or
+     *              {@link #ALIGN_LEFT}.  Unrecognized values will be rendered
+     *              using the semantics of {@link #ALIGN_LEFT}.
+     * 
+     * @return  Returns the computed bounding rectangle which fully contains
+     *          the drawn text.
+     */
+    public Rectangle2D drawText( Graphics2D g, double x, double y, String text, int alignment ) {
+        BitmapTextLayout layout = layoutText(text, alignment);
+
+        if (g != null)
+            layout.draw(g, x, y);
+
+        return layout.getBounds(x, y);
     } // drawText( Graphics2D g, double x, double y, String text, int alignment )
 
 } // BitmapFont
@@ -2,12 +2,18 @@
 package Fishing.drawable.text;
 
 import Fishing.drawable.ImageFrame;
+import java.awt.Graphics2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 
 /**
  * A frame of a bitmap font.
  * 
+ * <p>The character image may be a region of a larger atlas image shared by
+ * many characters, such as a sprite sheet or the glyph atlas of a
+ * {@link GeneratedFont}.  The frame is then drawn straight from the atlas, so
+ * a run of text is drawn from a single image.
+ * 
  * @author Brad
  */
 public class BitmapFontFrame
@@ -28,6 +34,16 @@ public class BitmapFontFrame
      */
     private final Rectangle2D charBounds;
 
+    /**
+     * The image the character is drawn from.
+     */
+    private final BufferedImage atlas;
+
+    /**
+     * The position of the character image within the {@code atlas}.
+     */
+    private final int atlasX, atlasY;
+
     /**
      * Constructs a new instance.
      * 
@@ -43,13 +59,70 @@ public class BitmapFontFrame
      *                      be used.
      */
     public BitmapFontFrame( BitmapFont frameset, BufferedImage image, double advance, Rectangle2D charBounds ) {
-        super(frameset, image, 0);
-        
+        this(frameset, image, 0, 0, image.getWidth(), image.getHeight(), advance, charBounds);
+    } // BitmapFontFrame( BitmapFont frameset, BufferedImage image, double advance, Rectangle2D charBounds )
+
+    /**
+     * Constructs a new instance whose image is a region of an atlas image.
+     * 
+     * @param frameset      The frame set this frame belongs to.
+     * @param atlas         The image containing the character image.
+     * @param x             The horizontal position of the character image
+     *                      within the atlas.
+     * @param y             The vertical position of the character image
+     *                      within the atlas.
+     * @param width         The width of the character image.
+     * @param height        The height of the character image.
+     * @param advance       The character advance for the frame.  This value
+     *                      is added to the current horizontal output position
+     *                      after rendering the character frame.  It is often
+     *                      the same as the width of the frame's image, but may
+     *                      differ if needed.
+     * @param charBounds    The character bounds for the frame.  If
+     *                      {@code null}, the bounds of the frame image will
+     *                      be used.
+     * 
+     * @throws  IllegalArgumentException if the region is not entirely within
+     *          the atlas.
+     */
+    public BitmapFontFrame( BitmapFont frameset, BufferedImage atlas, int x, int y, int width, int height, double advance, Rectangle2D charBounds ) {
+        super(frameset, atlas, x, y, width, height, 0);
+
+        this.atlas = atlas;
+        this.atlasX = x;
+        this.atlasY = y;
         this.charAdvance = advance;
         this.charBounds = (charBounds != null
                             ? charBounds
-                            : new Rectangle2D.Double( 0, 0, image.getWidth(), image.getHeight() ));
-    } // BitmapFontFrame( SpriteFrame f, double advance, Rectangle2D charBounds )
+                            : new Rectangle2D.Double( 0, 0, width, height ));
+    } // BitmapFontFrame( BitmapFont frameset, BufferedImage atlas, int x, int y, int width, int height, double advance, Rectangle2D charBounds )
+
+    @Override
+    public void paint( Graphics2D g ) {
+        paint(g, 0, 0);
+    } // paint( Graphics2D g )
+
+    /**
+     * Draws the character image at the specified position, straight from
+     * the atlas image.
+     * 
+     * @param g The graphics context to draw the character into.
+     * @param x The horizontal position to draw the character at.
+     * @param y The vertical position to draw the character at.
+     * 
+     * @throws  NullPointerException if {@code g} is {@code null}.
+     */
+    public void paint( Graphics2D g, int x, int y ) {
+        int width = getWidth();
+        int height = getHeight();
+
+        g.drawImage(
+            atlas,
+            x, y, x + width, y + height,
+            atlasX, atlasY, atlasX + width, atlasY + height,
+            null
+        );
+    } // paint( Graphics2D g, int x, int y )
 
 
     /**
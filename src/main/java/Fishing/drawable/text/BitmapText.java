@@ -2,14 +2,19 @@
 package Fishing.drawable.text;
 
 import Fishing.drawable.Drawable;
-import java.awt.Rectangle;
+import Fishing.drawable.events.DrawableEvent;
+import Fishing.drawable.events.DrawableTreeAdapter;
 import java.awt.Graphics2D;
-import java.awt.geom.Rectangle2D;
 import java.util.Objects;
 
 /**
  * Text label object.
  * 
+ * <p>The text is laid out once whenever the text, font or alignment changes,
+ * and painting just draws that layout.  While the label is on a stage, it is
+ * laid out again at the start of the frame after its font regenerates its
+ * frames or changes its spacing, so its size is updated before it's drawn.
+ * 
  * @author Brad
  */
 public class BitmapText
@@ -40,6 +45,20 @@ public class BitmapText
      */
     private int xOfs = 0;
 
+    /**
+     * The layout of the text, or {@code null} if no text is assigned.
+     */
+    private BitmapTextLayout layout;
+
+    /**
+     * Lays the text out again if the font changed since it was laid out.
+     * Registered with the font while this label is on a stage.
+     */
+    private final Runnable relayoutTask = () -> {
+        if ((layout != null) && !layout.isCurrent())
+            invalidateSize();
+    };
+
     /**
      * Constructs a new text label with no text content.
      * 
@@ -48,7 +67,7 @@ public class BitmapText
      * @throws  NullPointerException if {@code font} is {@code null}.
      */
     public BitmapText(BitmapFont font) {
-        setFont(font);
+        this(font, null);
     } // BitmapText(BitmapFont font)
 
     /**
@@ -62,6 +81,21 @@ public class BitmapText
     public BitmapText(BitmapFont font, String text) {
         setFont(font);
         setText(text);
+
+        addTreeListener(new DrawableTreeAdapter() {
+            @Override
+            public void drawableAddedToStage( DrawableEvent e ) {
+                BitmapText.this.font.addLayoutListener(relayoutTask);
+
+                // Catch up on changes made while off the stage
+                relayoutTask.run();
+            }
+
+            @Override
+            public void drawableRemovedFromStage( DrawableEvent e ) {
+                BitmapText.this.font.removeLayoutListener(relayoutTask);
+            }
+        });
     } // BitmapText(BitmapFont font, String text)
     /**
      * Retrieves the font used when rendering this label.
@@ -80,7 +114,14 @@ public class BitmapText
      * @throws  NullPointerException if {@code value} is {@code null}.
      */
     public void setFont( BitmapFont value ) {
-        font = Objects.requireNonNull(value, "The font cannot be null");
+        Objects.requireNonNull(value, "The font cannot be null");
+
+        if (getStage() != null) {
+            font.removeLayoutListener(relayoutTask);
+            value.addLayoutListener(relayoutTask);
+        }
+
+        font = value;
         invalidateSize();
     } // setFont( BitmapFont value )
 
@@ -101,6 +142,9 @@ public class BitmapText
      *                  {@code null} if no text is assigned.
      */
     public void setText( String value ) {
+        if (Objects.equals(text, value) && ((layout == null) || layout.isCurrent()))
+            return;
+
         text = value;
         invalidateSize();
     } // setText( String value )
@@ -134,15 +178,18 @@ public class BitmapText
      */
     private void invalidateSize() {
         // Calculate the width/height from the text here
-        Rectangle2D size;
-
         if (text == null) {
-            size = new Rectangle(0, 0, 0, 0);
-        } else
-            size = font.drawText(null, 0, 0, text, alignment);
-
-        xOfs = (int) -size.getX();
-        super.setUnscaledSize( size.getWidth(), size.getHeight() );
+            layout = null;
+            xOfs = 0;
+            super.setUnscaledSize( 0, 0 );
+        } else {
+            layout = font.layoutText(text, alignment);
+            xOfs = (int) -layout.getX();
+            super.setUnscaledSize( layout.getWidth(), layout.getHeight() );
+        }
+
+        // The size may not have changed, but the rendered text likely did
+        repaint();
     } // invalidateSize()
 
     /**
@@ -152,10 +199,8 @@ public class BitmapText
      */
     @Override
     public void paint( Graphics2D g ) {
-        if (text == null)
-            return;
-
-        font.drawText(g, xOfs, 0, text, alignment);
+        if (layout != null)
+            layout.draw(g, xOfs, 0);
     } // paint( Graphics2D g )
 
 } // class BitmapText
@@ -0,0 +1,192 @@
+
+package Fishing.drawable.text;
+
+import java.awt.Graphics2D;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * The glyphs of a text string laid out with a bitmap font, ready to be drawn.
+ *
+ * <p>A layout holds the frame and position of every character drawn, along
+ * with the bounds of the text, so the text can be measured and drawn any
+ * number of times without being laid out again.  Layouts are created by
+ * {@link BitmapFont#layoutText(String, int)} and are immutable.
+ *
+ * <p>A layout refers to the font's frames as they were when it was created.
+ * Once the font regenerates its frames or changes its spacing, the layout is
+ * no longer {@linkplain #isCurrent() current} and should be recreated.
+ *
+ * @author Brad
+ */
+public final class BitmapTextLayout {
+
+    /**
+     * The font the text was laid out with.
+     */
+    private final BitmapFont font;
+
+    /**
+     * The font's layout generation when the text was laid out.
+     */
+    private final int generation;
+
+    /**
+     * The text that was laid out.
+     */
+    private final String text;
+
+    /**
+     * The alignment the text was laid out with.
+     */
+    private final int alignment;
+
+    /**
+     * The frames of the characters drawn, in drawing order.
+     */
+    private final BitmapFontFrame[] frames;
+
+    /**
+     * The position of each frame, relative to the position the text is
+     * drawn at.
+     */
+    private final double[] xs, ys;
+
+    /**
+     * The bounds of the text, relative to the position the text is drawn at.
+     */
+    private final double x, width, height;
+
+    /**
+     * Constructs a new instance.  The arrays are used as is, so must not be
+     * modified afterwards.
+     */
+    BitmapTextLayout(
+            BitmapFont font, int generation, String text, int alignment,
+            BitmapFontFrame[] frames, double[] xs, double[] ys,
+            double x, double width, double height
+        )
+    {
+        this.font = font;
+        this.generation = generation;
+        this.text = text;
+        this.alignment = alignment;
+        this.frames = frames;
+        this.xs = xs;
+        this.ys = ys;
+        this.x = x;
+        this.width = width;
+        this.height = height;
+    } // BitmapTextLayout(...)
+
+    /**
+     * Retrieves the font the text was laid out with.
+     *
+     * @return  The font the text was laid out with.
+     */
+    public BitmapFont getFont() {
+        return font;
+    } // getFont()
+
+    /**
+     * Retrieves the text that was laid out.
+     *
+     * @return  The text that was laid out.
+     */
+    public String getText() {
+        return text;
+    } // getText()
+
+    /**
+     * Retrieves the alignment the text was laid out with.
+     *
+     * @return  The alignment the text was laid out with.
+     */
+    public int getAlignment() {
+        return alignment;
+    } // getAlignment()
+
+    /**
+     * Retrieves the number of characters drawn by this layout.
+     *
+     * @return  The number of characters drawn, which excludes line breaks.
+     */
+    public int getGlyphCount() {
+        return frames.length;
+    } // getGlyphCount()
+
+    /**
+     * Retrieves the horizontal position of the left edge of the text,
+     * relative to the position the text is drawn at.  Negative when the text
+     * is centered or right aligned.
+     *
+     * @return  The horizontal position of the left edge of the text.
+     */
+    public double getX() {
+        return x;
+    } // getX()
+
+    /**
+     * Retrieves the width of the text.
+     *
+     * @return  The width of the text.
+     */
+    public double getWidth() {
+        return width;
+    } // getWidth()
+
+    /**
+     * Retrieves the height of the text.
+     *
+     * @return  The height of the text.
+     */
+    public double getHeight() {
+        return height;
+    } // getHeight()
+
+    /**
+     * Computes the bounding rectangle of the text when drawn at the specified
+     * position.
+     *
+     * @param   x   The horizontal position the text is drawn at.
+     * @param   y   The vertical position the text is drawn at.
+     *
+     * @return  The bounding rectangle which fully contains the drawn text.
+     */
+    public Rectangle2D getBounds( double x, double y ) {
+        return new Rectangle2D.Double( x + this.x, y, width, height );
+    } // getBounds( double x, double y )
+
+    /**
+     * Determines whether the layout still matches the font, that is whether
+     * the font hasn't regenerated its frames or changed its spacing since the
+     * layout was created.
+     *
+     * @return  {@code true} if the layout is current, {@code false} if it
+     *          should be recreated.
+     */
+    public boolean isCurrent() {
+        return font.getLayoutGeneration() == generation;
+    } // isCurrent()
+
+    /**
+     * Draws the text into a graphics context.
+     *
+     * @param   g   The graphics context to draw the text into.
+     * @param   x   The horizontal position at which to draw the text.
+     * @param   y   The vertical position at which to draw the text.
+     *
+     * @throws  NullPointerException if {@code g} is {@code null}.
+     */
+    public void draw( Graphics2D g, double x, double y ) {
+        // Characters are placed on whole units, so each is a plain blit from
+        // its atlas image
+        for (int i = 0; i < frames.length; ++i) {
+            frames[i].paint(
+                g,
+                (int)Math.floor(x + xs[i] + 0.5),
+                (int)Math.floor(y + ys[i] + 0.5)
+            );
+        } // for
+    } // draw( Graphics2D g, double x, double y )
+
+} // class BitmapTextLayout
@@ -0,0 +1,224 @@
+
+package Fishing.drawable.text;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Process-wide registry of shared {@link GeneratedFont} instances.
+ *
+ * <p>Screens and dialogs drawing text in the same style get the same font
+ * instance from the registry, so each glyph of that style is rendered once
+ * rather than once per screen.  Fonts are keyed by their full style: the
+ * system font, the fill color, and the outline color and width.  Shared
+ * fonts can't be modified, since the change would show everywhere the font
+ * is used.
+ *
+ * <p>A font stays registered while anything still uses it.  The most
+ * recently requested fonts are also retained when nothing uses them, so
+ * that a dialog which is closed and reopened doesn't render its glyphs
+ * again.  Other unused fonts are left for the garbage collector.
+ *
+ * <p>The registry is thread safe.
+ *
+ * @author Brad
+ */
+public final class FontRegistry {
+
+    /**
+     * The number of recently requested fonts retained while unused.
+     */
+    private static final int RETAINED_FONTS = 8;
+
+    /**
+     * The registered fonts, by style.
+     */
+    private static final Map<Key, FontReference> fonts = new HashMap<>();
+
+    /**
+     * Receives the references of fonts that were garbage collected.
+     */
+    private static final ReferenceQueue<GeneratedFont> collected = new ReferenceQueue<>();
+
+    /**
+     * The most recently requested fonts, least recent first.
+     */
+    private static final LinkedHashMap<Key, GeneratedFont> recent = new LinkedHashMap<Key, GeneratedFont>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<Key, GeneratedFont> eldest ) {
+                return size() > RETAINED_FONTS;
+            } // removeEldestEntry( Map.Entry<Key, GeneratedFont> eldest )
+        };
+
+    /**
+     * Retrieves the shared font for the specified font, with a white color
+     * and no outline.
+     *
+     * @param   font    The font to use for rendering characters.
+     *
+     * @return  The shared font.
+     *
+     * @throws  NullPointerException if {@code font} is {@code null}.
+     */
+    public static GeneratedFont get( Font font ) {
+        return get(font, Color.WHITE);
+    } // get( Font font )
+
+    /**
+     * Retrieves the shared font for the specified font and color, with no
+     * outline.
+     *
+     * @param   font    The font to use for rendering characters.
+     * @param   color   The color to use when rendering characters.
+     *
+     * @return  The shared font.
+     *
+     * @throws  NullPointerException if either of {@code font} or
+     *          {@code color} is {@code null}.
+     */
+    public static GeneratedFont get( Font font, Color color ) {
+        return get(font, color, null);
+    } // get( Font font, Color color )
+
+    /**
+     * Retrieves the shared font for the specified font, color and outline
+     * color, with the default outline width.
+     *
+     * @param   font    The font to use for rendering characters.
+     * @param   color   The color to use when rendering characters.
+     * @param   outlineColor    The color to use when rendering character
+     *                  outlines, or {@code null} to disable outlines.
+     *
+     * @return  The shared font.
+     *
+     * @throws  NullPointerException if either of {@code font} or
+     *          {@code color} is {@code null}.
+     */
+    public static GeneratedFont get( Font font, Color color, Color outlineColor ) {
+        return get(font, color, outlineColor, GeneratedFont.getDefaultOutlineWidth(font));
+    } // get( Font font, Color color, Color outlineColor )
+
+    /**
+     * Retrieves the shared font for the specified style, creating it if no
+     * font with that style is registered.
+     *
+     * @param   font    The font to use for rendering characters.
+     * @param   color   The color to use when rendering characters.
+     * @param   outlineColor    The color to use when rendering character
+     *                  outlines, or {@code null} to disable outlines.
+     * @param   outlineWidth    The width to use when drawing character
+     *                  outlines.
+     *
+     * @return  The shared font.
+     *
+     * @throws  NullPointerException if either of {@code font} or
+     *          {@code color} is {@code null}.
+     * @throws  IllegalArgumentException if the {@code outlineWidth} is less
+     *          than 0.
+     */
+    public static synchronized GeneratedFont get( Font font, Color color, Color outlineColor, float outlineWidth ) {
+        expunge();
+
+        Key key = new Key(font, color, outlineColor, outlineWidth);
+
+        FontReference ref = fonts.get(key);
+        GeneratedFont rv = (ref != null ? ref.get() : null);
+
+        if (rv == null) {
+            rv = new GeneratedFont(font, color, outlineColor, outlineWidth);
+            rv.markShared();
+            fonts.put(key, new FontReference(key, rv));
+        }
+
+        recent.put(key, rv);
+        return rv;
+    } // get( Font font, Color color, Color outlineColor, float outlineWidth )
+
+    /**
+     * Retrieves the number of fonts currently registered.
+     *
+     * @return  The number of registered fonts.
+     */
+    public static synchronized int size() {
+        expunge();
+        return fonts.size();
+    } // size()
+
+    /**
+     * Removes the entries of fonts that were garbage collected.
+     */
+    private static void expunge() {
+        FontReference ref;
+        while ((ref = (FontReference) collected.poll()) != null) {
+            // The style may have been registered again since
+            if (fonts.get(ref.key) == ref)
+                fonts.remove(ref.key);
+        } // while
+    } // expunge()
+
+    /**
+     * The style of a registered font.
+     */
+    private static final class Key {
+
+        private final Font font;
+        private final Color color;
+        private final Color outlineColor;
+        private final float outlineWidth;
+
+        Key( Font font, Color color, Color outlineColor, float outlineWidth ) {
+            this.font = Objects.requireNonNull(font, "The font cannot be null");
+            this.color = Objects.requireNonNull(color, "The color cannot be null");
+            this.outlineColor = outlineColor;
+            this.outlineWidth = outlineWidth;
+        } // Key(...)
+
+        @Override
+        public boolean equals( Object obj ) {
+            if (!(obj instanceof Key))
+                return false;
+
+            Key k = (Key) obj;
+            return font.equals(k.font)
+                && color.equals(k.color)
+                && Objects.equals(outlineColor, k.outlineColor)
+                && (Float.compare(outlineWidth, k.outlineWidth) == 0);
+        } // equals( Object obj )
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(font, color, outlineColor, outlineWidth);
+        } // hashCode()
+
+    } // class Key
+
+    /**
+     * Weak reference to a registered font, which remembers the style it is
+     * registered under.
+     */
+    private static final class FontReference
+        extends WeakReference<GeneratedFont>
+    {
+
+        private final Key key;
+
+        FontReference( Key key, GeneratedFont font ) {
+            super(font, collected);
+            this.key = key;
+        } // FontReference( Key key, GeneratedFont font )
+
+    } // class FontReference
+
+    /**
+     * Prevent instantiation of this utility class.
+     */
+    private FontRegistry() {
+    } // FontRegistry()
+
+} // class FontRegistry
@@ -1,27 +1,78 @@
 
 package Fishing.drawable.text;
 
+import Fishing.drawable.SceneQueue;
+import java.awt.AlphaComposite;
 import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.Shape;
 import java.awt.font.FontRenderContext;
 import java.awt.font.GlyphVector;
 import java.awt.font.LineMetrics;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * A bitmap font generated from a Java system font.
  * 
+ * <p>Glyphs are rendered the first time they are needed, into atlas pages
+ * shared by all the glyphs of the font.  Screens can
+ * {@linkplain #preload(CharSequence) preload} the characters they will draw
+ * later, so the glyphs are rendered in the background rather than while a
+ * frame is being drawn.
+ * 
+ * <p>The atlas pages are drawn from without locking, so glyphs are only
+ * copied into them on the scene thread, between frames or while the frame
+ * that needs the glyph is drawn.  Preloaded glyphs are rendered into images
+ * of their own in the background, and copied into the atlas on the scene
+ * thread.
+ * 
+ * <p>Fonts obtained from the {@link FontRegistry} are shared by everything
+ * drawing text in the same style, so their glyphs are only rendered once.
+ * Shared fonts can't be modified.
+ * 
  * @author Brad
  */
 public class GeneratedFont
     extends BitmapFont
 {
 
+    /**
+     * The decimal digits, for preloading the glyphs used by numbers.
+     * 
+     * @see #preload(CharSequence)
+     */
+    public static final String DIGITS = "0123456789";
+
+    /**
+     * The printable ASCII characters, for preloading the glyphs used by
+     * most English text.
+     * 
+     * @see #preload(CharSequence)
+     */
+    public static final String ASCII;
+
+    static {
+        StringBuilder sb = new StringBuilder();
+        for (char ch = ' '; ch <= '~'; ++ch)
+            sb.append(ch);
+        ASCII = sb.toString();
+    }
+
+    /**
+     * The number of characters each task renders directly when preloading,
+     * rather than splitting the range further.
+     */
+    private static final int PRELOAD_CHUNK = 8;
+
     /**
      * The font to use for rendering characters.
      */
@@ -58,6 +109,23 @@ public class GeneratedFont
      */
     private float outlineWidth;
 
+    /**
+     * The atlas the glyphs are rendered into.  Replaced whenever the glyphs
+     * are regenerated.
+     */
+    private GlyphAtlas atlas;
+
+    /**
+     * The style the glyphs are currently rendered in.
+     */
+    private volatile GlyphStyle style;
+
+    /**
+     * Whether the font is shared through the {@link FontRegistry}, and so
+     * can't be modified.
+     */
+    private volatile boolean shared = false;
+
     /**
      * Constructs a new instance utilizing the specified font, a default
      * color of white and no outline.
@@ -81,12 +149,91 @@ public class GeneratedFont
      *          is {@code null}.
      */
     public GeneratedFont( Font font, Color color ) {
+        this(font, color, null, getDefaultOutlineWidth(font));
+    } // GeneratedFont( Font font, Color color )
+
+    /**
+     * Constructs a new instance utilizing the specified font, color and
+     * outline.  The glyphs are only generated once, unlike when the style is
+     * assigned through the setters.
+     * 
+     * @param font          The font to use for rendering characters.
+     * @param color         The color to use when rendering characters.
+     * @param outlineColor  The color to use when rendering character
+     *                      outlines, or {@code null} to disable outlines.
+     * @param outlineWidth  The width to use when drawing character outlines.
+     * 
+     * @throws  NullPointerException if either of {@code font} or
+     *          {@code color} is {@code null}.
+     * @throws  IllegalArgumentException if the {@code outlineWidth} is less
+     *          than 0.
+     */
+    public GeneratedFont( Font font, Color color, Color outlineColor, float outlineWidth ) {
         super();
 
-        setFont(font);
-        setOutlineWidth(font.getSize2D() * 0.2f);
-        setColor(color);
-    } // GeneratedFont( Font font )
+        if (outlineWidth < 0) {
+            throw new IllegalArgumentException(
+                "The outlineWidth cannot be less than 0"
+            );
+        }
+
+        this.font = Objects.requireNonNull(font, "The font cannot be null");
+        this.color = Objects.requireNonNull(color, "The color cannot be null");
+        this.outlineColor = outlineColor;
+        this.outlineWidth = outlineWidth;
+
+        updateMetrics();
+        clearFrames();
+    } // GeneratedFont( Font font, Color color, Color outlineColor, float outlineWidth )
+
+    /**
+     * Determines the outline width used by default for the specified font.
+     * 
+     * @param   font    The font to determine the outline width for.
+     * 
+     * @return  The default outline width, a fifth of the font size.
+     * 
+     * @throws  NullPointerException if {@code font} is {@code null}.
+     */
+    static float getDefaultOutlineWidth( Font font ) {
+        return Objects.requireNonNull(font, "The font cannot be null").getSize2D() * 0.2f;
+    } // getDefaultOutlineWidth( Font font )
+
+    /**
+     * Determines whether this font is shared through the
+     * {@link FontRegistry}.  Shared fonts can't be modified.
+     * 
+     * @return  {@code true} if the font is shared, {@code false} otherwise.
+     */
+    public boolean isShared() {
+        return shared;
+    } // isShared()
+
+    /**
+     * Marks this font as shared, preventing any further changes to it.
+     */
+    void markShared() {
+        shared = true;
+    } // markShared()
+
+    /**
+     * Ensures this font may be modified.
+     * 
+     * @throws  IllegalStateException if the font is shared.
+     */
+    private void checkModifiable() {
+        if (shared)
+            throw new IllegalStateException("A shared font cannot be modified");
+    } // checkModifiable()
+
+    /**
+     * Computes the ascent and descent of the font.
+     */
+    private void updateMetrics() {
+        LineMetrics lm = font.getLineMetrics("X", fontRenderContext);
+        ascent = (int) lm.getAscent();
+        descent = (int) lm.getDescent();
+    } // updateMetrics()
 
     /**
      * Retrieves the font used for rendering characters.
@@ -103,13 +250,16 @@ public class GeneratedFont
      * @param value The new font to use for rendering characters.
      * 
      * @throws  NullPointerException if {@code value} is {@code null}.
+     * @throws  IllegalStateException if the font is shared.
      */
     public void setFont( Font value ) {
-        font = Objects.requireNonNull(value, "The font cannot be null");
+        checkModifiable();
 
-        LineMetrics lm = font.getLineMetrics("X", fontRenderContext);
-        ascent = (int) lm.getAscent();
-        descent = (int) lm.getDescent();
+        if (Objects.requireNonNull(value, "The font cannot be null").equals(font))
+            return;
+
+        font = value;
+        updateMetrics();
 
         // Force regeneration of the font glyphs
         clearFrames();
@@ -130,8 +280,11 @@ public class GeneratedFont
      * @param   value   The new color to use when rendering characters.
      * 
      * @throws  NullPointerException if {@code value} is {@code null}.
+     * @throws  IllegalStateException if the font is shared.
      */
     public void setColor( Color value ) {
+        checkModifiable();
+
         if (color.equals(value))
             return;
 
@@ -156,8 +309,12 @@ public class GeneratedFont
      * 
      * @param   value   The new color to use when rendering character outlines.
      *                  If {@code null}, then no outlines will be drawn.
+     * 
+     * @throws  IllegalStateException if the font is shared.
      */
     public void setOutlineColor( Color value ) {
+        checkModifiable();
+
         if (outlineColor == null) {
             if (value == null) {
                 return;
@@ -187,8 +344,11 @@ public class GeneratedFont
      * @param   value   The new width to use when drawing character outlines.
      * 
      * @throws  IllegalArgumentException if the {@code value} is less than 0.
+     * @throws  IllegalStateException if the font is shared.
      */
     public void setOutlineWidth( float value ) {
+        checkModifiable();
+
         if (outlineWidth == value)
             return;
 
@@ -204,34 +364,53 @@ public class GeneratedFont
         clearFrames();
     } // setOutlineWidth( float value )
 
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws  IllegalStateException if the font is shared.
+     */
     @Override
-    protected void clearFrames() {
+    public void setCharacterSpacing( double value ) {
+        checkModifiable();
+        super.setCharacterSpacing(value);
+    } // setCharacterSpacing( double value )
+
+    /**
+     * {@inheritDoc}
+     * 
+     * @throws  IllegalStateException if the font is shared.
+     */
+    @Override
+    public void setLineSpacing( double value ) {
+        checkModifiable();
+        super.setLineSpacing(value);
+    } // setLineSpacing( double value )
+
+    @Override
+    protected synchronized void clearFrames() {
         super.clearFrames();
 
+        atlas = new GlyphAtlas( (int)Math.ceil(ascent + descent + outlineWidth) );
+        style = new GlyphStyle(font, ascent, color, outlineColor, outlineWidth);
+
         // Need to add the "Unknown" frame
-        newCharFrame('?', "Unknown");
+        BitmapFontFrame unknown = placeGlyph(renderGlyph(style, '?'));
+        addFrame(unknown, "Unknown");
     } // clearFrames()
 
     /**
-     * Creates a new frame for the specified character and assigns it the
-     * given name.
+     * Renders a character into an image of its own.  Only reads the given
+     * style, so may be called from any thread without locking.
      * 
-     * @param ch    The character to create the frame for.
-     * @param name  The name to assign the frame.  Typically a string
-     *              containing the single character specified in {@code ch},
-     *              though can be different for special characters like
-     *              "Unknown".
+     * @param style The style to render the character in.
+     * @param ch    The character to render.
      * 
-     * @return  The new frame that was created.
+     * @return  The rendered character.
      */
-    private synchronized BitmapFontFrame newCharFrame( char ch, String name ) {
-//System.out.println("Allocate char: ch="+ ch +" (frame="+ (getNumFrames() + 1) +")");
-
-        // Draw the glyph to a new image.
+    private RenderedGlyph renderGlyph( GlyphStyle style, char ch ) {
+        GlyphVector v = style.font.createGlyphVector(fontRenderContext, String.valueOf(ch));
 
-        GlyphVector v = font.createGlyphVector(fontRenderContext, ""+ch);
-
-        double ow = outlineWidth / 2;
+        double ow = style.outlineWidth / 2;
         Shape s;
 
         s = v.getOutline();
@@ -239,42 +418,139 @@ public class GeneratedFont
         Rectangle2D logBounds = v.getLogicalBounds();
         charBounds.setRect(
                     charBounds.getX(),
-                    Math.min(logBounds.getY(), charBounds.getY()) + ascent,
-                    charBounds.getWidth() + outlineWidth,
+                    Math.min(logBounds.getY(), charBounds.getY()) + style.ascent,
+                    charBounds.getWidth() + style.outlineWidth,
                     logBounds.getHeight()
                 );
 
-        s = v.getOutline((int)(ow - charBounds.getX()), (int)(ascent - ow));
+        s = v.getOutline((int)(ow - charBounds.getX()), (int)(style.ascent - ow));
 
         BufferedImage image = new BufferedImage(
-            (int) Math.ceil(charBounds.getWidth()),
-            (int) Math.ceil(charBounds.getHeight()),
+            Math.max(1, (int) Math.ceil(charBounds.getWidth())),
+            Math.max(1, (int) Math.ceil(charBounds.getHeight())),
             BufferedImage.TYPE_INT_ARGB
         );
         Graphics2D g = image.createGraphics();
 
-        if ((outlineColor != null) && (outlineWidth > 0)) {
-            g.setColor( outlineColor );
-            g.setStroke( new BasicStroke(outlineWidth, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_BEVEL) );
+        if ((style.outlineColor != null) && (style.outlineWidth > 0)) {
+            g.setColor( style.outlineColor );
+            g.setStroke( new BasicStroke(style.outlineWidth, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_BEVEL) );
             g.draw(s);
         }
 
-        if (color != null) {
-            g.setColor( color );
+        if (style.color != null) {
+            g.setColor( style.color );
             g.fill(s);
         }
-        
-        BitmapFontFrame frame = new BitmapFontFrame(
+
+        g.dispose();
+
+        return new RenderedGlyph(image, v.getGlyphPosition(1).getX(), charBounds);
+    } // renderGlyph( GlyphStyle style, char ch )
+
+    /**
+     * Copies a rendered character into the atlas and creates its frame.  The
+     * frame is not added to the font.  Only called on the scene thread, as
+     * other glyphs on the same atlas page may be drawn at the same time.
+     * 
+     * @param glyph The rendered character.
+     * 
+     * @return  The new frame for the character.
+     */
+    private synchronized BitmapFontFrame placeGlyph( RenderedGlyph glyph ) {
+        Rectangle area = new Rectangle();
+        BufferedImage page = atlas.allocate(
+            glyph.image.getWidth(),
+            glyph.image.getHeight(),
+            area
+        );
+
+        Graphics2D g = page.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(glyph.image, area.x, area.y, null);
+        g.dispose();
+
+        return new BitmapFontFrame(
             this,
-            image,
-            v.getGlyphPosition(1).getX(),
-            charBounds
+            page,
+            area.x, area.y, area.width, area.height,
+            glyph.advance,
+            glyph.charBounds
         );
+    } // placeGlyph( RenderedGlyph glyph )
+
+    /**
+     * Renders the glyphs of the specified characters in the background, so
+     * they are ready before the characters are first drawn.
+     * 
+     * <p>The glyphs are rendered in parallel on the common
+     * {@link ForkJoinPool}, into images of their own.  Once all of them are
+     * rendered, they are copied into the atlas and added to the font together
+     * on the scene thread, at the start of the next frame.  Characters that already have a glyph are skipped.
+     * If the font's style changes before the glyphs are added, they are
+     * discarded and the characters are rendered again when first drawn.
+     * 
+     * <p>Preloading doesn't change the style, so may be used on shared fonts.
+     * 
+     * @param chars The characters to preload, such as {@link #DIGITS} or
+     *              {@link #ASCII}.
+     * 
+     * @return  The task rendering the glyphs, which completes once they were
+     *          rendered and queued to be added to the font.
+     * 
+     * @throws  NullPointerException if {@code chars} is {@code null}.
+     */
+    public ForkJoinTask<?> preload( CharSequence chars ) {
+        GlyphStyle s = style;
+        char[] missing = findMissing(chars);
+        RenderedGlyph[] rendered = new RenderedGlyph[missing.length];
+
+        return ForkJoinPool.commonPool().submit(() -> {
+            new PreloadTask(s, missing, rendered, 0, missing.length).invoke();
+            SceneQueue.invokeLater(() -> { addGlyphs(s, missing, rendered); });
+        });
+    } // preload( CharSequence chars )
+
+    /**
+     * Finds the distinct characters of a string which don't have a glyph yet.
+     */
+    private char[] findMissing( CharSequence chars ) {
+        StringBuilder missing = new StringBuilder(chars.length());
+
+        for (int i = 0; i < chars.length(); ++i) {
+            char ch = chars.charAt(i);
+            if ((findFrameForChar(ch) == null) && (missing.indexOf(String.valueOf(ch)) < 0))
+                missing.append(ch);
+        } // for
+
+        char[] rv = new char[missing.length()];
+        missing.getChars(0, rv.length, rv, 0);
+        return rv;
+    } // findMissing( CharSequence chars )
+
+    /**
+     * Adds preloaded glyphs to the font, unless the style they were rendered
+     * in is out of date.  Characters given a glyph in the meantime keep it.
+     * Runs on the scene thread.
+     */
+    private synchronized void addGlyphs( GlyphStyle s, char[] chars, RenderedGlyph[] rendered ) {
+        if (s != style)
+            return;
+
+        char[] added = new char[chars.length];
+        BitmapFontFrame[] frames = new BitmapFontFrame[chars.length];
+        int count = 0;
+
+        for (int i = 0; i < chars.length; ++i) {
+            if (findFrameForChar(chars[i]) == null) {
+                added[count] = chars[i];
+                frames[count] = placeGlyph(rendered[i]);
+                ++count;
+            }
+        } // for
 
-        addFrame(frame, name);
-        
-        return frame;
-    } // newCharFrame( char ch, String name )
+        addCharFrames(Arrays.copyOf(added, count), Arrays.copyOf(frames, count));
+    } // addGlyphs( GlyphStyle s, char[] chars, RenderedGlyph[] rendered )
 
     @Override
     public int getDescent() {
@@ -292,20 +568,113 @@ public class GeneratedFont
     } // getFontSize()
 
     @Override
-    public synchronized BitmapFontFrame getFrameForChar( char ch ) {
-        BitmapFontFrame f = null;
-        try {
-            f = getFrame(""+ch);
-        } catch (IllegalArgumentException ex) {
-            // No frame with that name
-        }
+    public BitmapFontFrame getFrameForChar( char ch ) {
+        BitmapFontFrame f = findFrameForChar(ch);
 
         if (f == null) {
             // Create new frame for the specified character
-            f = newCharFrame(ch, ""+ch);
+            f = newCharFrame(ch);
         }
 
         return f;
     } // getFrameForChar( char ch )
 
+    /**
+     * Creates the frame for the specified character, unless another thread
+     * created it first.
+     * 
+     * @param ch    The character to create the frame for.
+     * 
+     * @return  The frame for the character.
+     */
+    private synchronized BitmapFontFrame newCharFrame( char ch ) {
+        BitmapFontFrame f = findFrameForChar(ch);
+        if (f == null) {
+            f = placeGlyph(renderGlyph(style, ch));
+            addFrame(f, String.valueOf(ch));
+        }
+
+        return f;
+    } // newCharFrame( char ch )
+
+    /**
+     * The style glyphs are rendered in.  Replaced whenever the glyphs are
+     * regenerated, so glyphs rendered in the background can tell whether
+     * they are still usable.
+     */
+    private static final class GlyphStyle {
+
+        private final Font font;
+        private final int ascent;
+        private final Color color;
+        private final Color outlineColor;
+        private final float outlineWidth;
+
+        GlyphStyle( Font font, int ascent, Color color, Color outlineColor, float outlineWidth ) {
+            this.font = font;
+            this.ascent = ascent;
+            this.color = color;
+            this.outlineColor = outlineColor;
+            this.outlineWidth = outlineWidth;
+        } // GlyphStyle(...)
+
+    } // class GlyphStyle
+
+    /**
+     * A character rendered into an image of its own, waiting to be copied
+     * into the atlas.
+     */
+    private static final class RenderedGlyph {
+
+        private final BufferedImage image;
+        private final double advance;
+        private final Rectangle2D charBounds;
+
+        RenderedGlyph( BufferedImage image, double advance, Rectangle2D charBounds ) {
+            this.image = image;
+            this.advance = advance;
+            this.charBounds = charBounds;
+        } // RenderedGlyph(...)
+
+    } // class RenderedGlyph
+
+    /**
+     * Renders a range of characters on the ForkJoinPool, splitting it in half
+     * until the ranges are small enough to render directly.
+     */
+    @SuppressWarnings("serial")
+    private final class PreloadTask
+        extends RecursiveAction
+    {
+
+        private final GlyphStyle style;
+        private final char[] chars;
+        private final RenderedGlyph[] rendered;
+        private final int from, to;
+
+        PreloadTask( GlyphStyle style, char[] chars, RenderedGlyph[] rendered, int from, int to ) {
+            this.style = style;
+            this.chars = chars;
+            this.rendered = rendered;
+            this.from = from;
+            this.to = to;
+        } // PreloadTask(...)
+
+        @Override
+        protected void compute() {
+            if (to - from <= PRELOAD_CHUNK) {
+                for (int i = from; i < to; ++i)
+                    rendered[i] = renderGlyph(style, chars[i]);
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                new PreloadTask(style, chars, rendered, from, mid),
+                new PreloadTask(style, chars, rendered, mid, to)
+            );
+        } // compute()
+
+    } // class PreloadTask
+
 } // class GeneratedFont
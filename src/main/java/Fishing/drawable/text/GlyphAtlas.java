@@ -0,0 +1,146 @@
+
+package Fishing.drawable.text;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs glyph images into a few large atlas pages, rather than giving every
+ * glyph its own image.
+ *
+ * <p>Glyphs are placed with a shelf packer: each page is filled with
+ * horizontal shelves as tall as the tallest glyph placed on them, and a
+ * glyph goes onto the first shelf it fits on, or onto a new shelf below the
+ * last.  A new page is started once a glyph fits on no shelf of the current
+ * page.  Glyphs of one font are of similar height, so little space is lost.
+ *
+ * <p>Glyphs are separated by a transparent gutter, so that neighbouring
+ * glyphs don't bleed into each other when the atlas is drawn scaled with
+ * interpolation.
+ *
+ * <p>This class is not thread safe.  {@link GeneratedFont} only uses it while
+ * holding its own lock.
+ *
+ * @author Brad
+ */
+final class GlyphAtlas {
+
+    /**
+     * Transparent space left around each glyph.
+     */
+    private static final int GUTTER = 1;
+
+    /**
+     * The smallest width and height of an atlas page.
+     */
+    private static final int MIN_PAGE_SIZE = 128;
+
+    /**
+     * The largest width and height of an atlas page.  Glyphs larger than
+     * this are given a page of their own.
+     */
+    private static final int MAX_PAGE_SIZE = 1024;
+
+    /**
+     * The width and height of each new page.
+     */
+    private final int pageSize;
+
+    /**
+     * The page being filled, or {@code null} if no page has been allocated.
+     */
+    private BufferedImage page;
+
+    /**
+     * The number of pages allocated.
+     */
+    private int pageCount = 0;
+
+    /**
+     * The shelves of the page being filled, each holding the top, height and
+     * used width of the shelf.
+     */
+    private final List<int[]> shelves = new ArrayList<>();
+
+    /**
+     * The position below the last shelf of the page being filled.
+     */
+    private int shelfBottom = 0;
+
+    /**
+     * Constructs a new instance with pages sized for the specified glyph
+     * size.
+     *
+     * @param   glyphSize   The typical height of the glyphs to pack.
+     */
+    GlyphAtlas( int glyphSize ) {
+        // Eight shelves of glyphs per page, which holds the digits and
+        // letters most text is drawn with without growing past a few pages
+        int size = (glyphSize + 2 * GUTTER) * 8;
+        this.pageSize = Math.max(MIN_PAGE_SIZE, Math.min(MAX_PAGE_SIZE, size));
+    } // GlyphAtlas( int glyphSize )
+
+    /**
+     * Reserves an area of an atlas page for a glyph of the specified size.
+     *
+     * @param   width   The width of the glyph.
+     * @param   height  The height of the glyph.
+     * @param   area    Receives the position and size of the reserved area
+     *                  within the returned page.
+     *
+     * @return  The page the area was reserved on.  The area is transparent.
+     */
+    BufferedImage allocate( int width, int height, Rectangle area ) {
+        width = Math.max(width, 1);
+        height = Math.max(height, 1);
+
+        int w = width + 2 * GUTTER;
+        int h = height + 2 * GUTTER;
+
+        if ((w > pageSize) || (h > pageSize)) {
+            // Too large to share a page; doesn't disturb the page being filled
+            ++pageCount;
+            area.setBounds(GUTTER, GUTTER, width, height);
+            return new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        if (page != null) {
+            for (int[] shelf : shelves) {
+                if ((h <= shelf[1]) && (shelf[2] + w <= pageSize)) {
+                    area.setBounds(shelf[2] + GUTTER, shelf[0] + GUTTER, width, height);
+                    shelf[2] += w;
+                    return page;
+                }
+            } // for
+
+            if (shelfBottom + h <= pageSize) {
+                shelves.add(new int[] { shelfBottom, h, w });
+                area.setBounds(GUTTER, shelfBottom + GUTTER, width, height);
+                shelfBottom += h;
+                return page;
+            }
+        }
+
+        // Start a new page
+        page = new BufferedImage(pageSize, pageSize, BufferedImage.TYPE_INT_ARGB);
+        ++pageCount;
+        shelves.clear();
+        shelves.add(new int[] { 0, h, w });
+        shelfBottom = h;
+
+        area.setBounds(GUTTER, GUTTER, width, height);
+        return page;
+    } // allocate( int width, int height, Rectangle area )
+
+    /**
+     * Retrieves the number of pages allocated.
+     *
+     * @return  The number of pages.
+     */
+    int getPageCount() {
+        return pageCount;
+    } // getPageCount()
+
+} // class GlyphAtlas
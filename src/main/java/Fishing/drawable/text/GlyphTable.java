@@ -0,0 +1,280 @@
+
+package Fishing.drawable.text;
+
+import java.util.Arrays;
+
+/**
+ * Immutable mapping of characters to the frames of a bitmap font.
+ *
+ * <p>Latin-1 characters are looked up in a dense array indexed by the
+ * character, and any other characters in an open addressing hash table with
+ * linear probing, so looking up a character neither allocates nor throws.
+ * Changes are made to a {@link Builder}, which produces a new table when
+ * they're published.  This lets {@link BitmapFont} publish the table through
+ * a volatile field and look characters up without locking, while a batch of
+ * changes only builds one table.
+ *
+ * @author Brad
+ */
+final class GlyphTable {
+
+    /**
+     * The table of a font without any frames.
+     */
+    static final GlyphTable EMPTY = new GlyphTable(
+            new BitmapFontFrame[GlyphTable.DENSE_SIZE], new char[0], new BitmapFontFrame[0], 0, null
+        );
+
+    /**
+     * The number of characters looked up in the dense array.
+     */
+    private static final int DENSE_SIZE = 256;
+
+    /**
+     * The frames of the Latin-1 characters, indexed by character.
+     */
+    private final BitmapFontFrame[] dense;
+
+    /**
+     * The hash table keys of the other characters.  Latin-1 characters are
+     * never stored in the hash table, so 0 marks an empty slot.  The length
+     * is 0 or a power of 2.
+     */
+    private final char[] keys;
+
+    /**
+     * The frames of the characters in {@code keys}.
+     */
+    private final BitmapFontFrame[] values;
+
+    /**
+     * The number of characters in the hash table.
+     */
+    private final int size;
+
+    /**
+     * The frame used for undefined characters, or {@code null} if the font
+     * doesn't define one.
+     */
+    private final BitmapFontFrame unknown;
+
+    private GlyphTable( BitmapFontFrame[] dense, char[] keys, BitmapFontFrame[] values, int size, BitmapFontFrame unknown ) {
+        this.dense = dense;
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+        this.unknown = unknown;
+    } // GlyphTable(...)
+
+    /**
+     * Retrieves the frame assigned to a character.
+     *
+     * @param   ch  The character to look up.
+     *
+     * @return  The frame assigned to the character, or {@code null} if there
+     *          is none.
+     */
+    BitmapFontFrame get( char ch ) {
+        if (ch < DENSE_SIZE)
+            return dense[ch];
+
+        if (size == 0)
+            return null;
+
+        int mask = keys.length - 1;
+        for (int i = hash(ch) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == ch)
+                return values[i];
+        } // for
+
+        return null;
+    } // get( char ch )
+
+    /**
+     * Retrieves the frame used for undefined characters.
+     *
+     * @return  The "Unknown" frame, or {@code null} if the font doesn't
+     *          define one.
+     */
+    BitmapFontFrame getUnknown() {
+        return unknown;
+    } // getUnknown()
+
+    /**
+     * Inserts a character into a hash table with room to spare.
+     */
+    private static void put( char[] k, BitmapFontFrame[] v, char ch, BitmapFontFrame frame ) {
+        int mask = k.length - 1;
+        int i = hash(ch) & mask;
+        while ((k[i] != 0) && (k[i] != ch))
+            i = (i + 1) & mask;
+
+        k[i] = ch;
+        v[i] = frame;
+    } // put( char[] k, BitmapFontFrame[] v, char ch, BitmapFontFrame frame )
+
+    /**
+     * Determines the hash table capacity for the specified number of
+     * characters, which keeps the table at most half full.
+     */
+    private static int capacity( int n ) {
+        if (n == 0)
+            return 0;
+
+        int rv = 8;
+        while (rv < n * 2)
+            rv *= 2;
+
+        return rv;
+    } // capacity( int n )
+
+    /**
+     * Spreads the bits of a character, so neighbouring characters don't
+     * probe neighbouring slots.
+     */
+    private static int hash( char ch ) {
+        return (ch * 0x9e3779b1) >>> 16;
+    } // hash( char ch )
+
+    /**
+     * A mutable mapping of characters to frames, used to build glyph tables.
+     *
+     * <p>Removed characters stay in the hash table with no frame until it is
+     * rebuilt, so the probe sequence of the other characters isn't broken.
+     * Neither changes nor lookups are thread safe.
+     */
+    static final class Builder {
+
+        /**
+         * The frames of the Latin-1 characters, indexed by character.
+         */
+        private final BitmapFontFrame[] dense = new BitmapFontFrame[DENSE_SIZE];
+
+        /**
+         * The hash table keys of the other characters, laid out the same as
+         * in {@link GlyphTable}.
+         */
+        private char[] keys = new char[0];
+
+        /**
+         * The frames of the characters in {@code keys}, or {@code null} for
+         * removed characters.
+         */
+        private BitmapFontFrame[] values = new BitmapFontFrame[0];
+
+        /**
+         * The number of characters in the hash table with a frame.
+         */
+        private int size = 0;
+
+        /**
+         * The number of occupied hash table slots, including removed
+         * characters.
+         */
+        private int used = 0;
+
+        /**
+         * The frame used for undefined characters, or {@code null} for none.
+         */
+        private BitmapFontFrame unknown = null;
+
+        /**
+         * Assigns a frame to a character.
+         *
+         * @param   ch      The character to assign the frame to.
+         * @param   frame   The frame to assign, or {@code null} to remove the
+         *                  character's assignment.
+         */
+        void put( char ch, BitmapFontFrame frame ) {
+            if (ch < DENSE_SIZE) {
+                dense[ch] = frame;
+                return;
+            }
+
+            if ((frame != null) && ((used + 1) * 2 > keys.length))
+                rehash(capacity(size + 1));
+
+            if (keys.length == 0)
+                return;
+
+            int mask = keys.length - 1;
+            int i = hash(ch) & mask;
+            while ((keys[i] != 0) && (keys[i] != ch))
+                i = (i + 1) & mask;
+
+            if (keys[i] == 0) {
+                if (frame == null)
+                    return;
+
+                keys[i] = ch;
+                ++used;
+            }
+
+            if (values[i] != null)
+                --size;
+            if (frame != null)
+                ++size;
+
+            values[i] = frame;
+        } // put( char ch, BitmapFontFrame frame )
+
+        /**
+         * Sets the frame used for undefined characters.
+         *
+         * @param   frame   The "Unknown" frame, or {@code null} for none.
+         */
+        void setUnknown( BitmapFontFrame frame ) {
+            unknown = frame;
+        } // setUnknown( BitmapFontFrame frame )
+
+        /**
+         * Removes every character and the "Unknown" frame.
+         */
+        void clear() {
+            Arrays.fill(dense, null);
+            keys = new char[0];
+            values = new BitmapFontFrame[0];
+            size = used = 0;
+            unknown = null;
+        } // clear()
+
+        /**
+         * Creates an immutable table with the current assignments.  Later
+         * changes to the builder don't affect the table.
+         *
+         * @return  The new table.
+         */
+        GlyphTable build() {
+            int capacity = capacity(size);
+            char[] k = new char[capacity];
+            BitmapFontFrame[] v = new BitmapFontFrame[capacity];
+
+            for (int i = 0; i < keys.length; ++i) {
+                if (values[i] != null)
+                    GlyphTable.put(k, v, keys[i], values[i]);
+            } // for
+
+            return new GlyphTable(dense.clone(), k, v, size, unknown);
+        } // build()
+
+        /**
+         * Rebuilds the hash table with a new capacity, dropping removed
+         * characters.
+         */
+        private void rehash( int capacity ) {
+            char[] k = new char[capacity];
+            BitmapFontFrame[] v = new BitmapFontFrame[capacity];
+
+            for (int i = 0; i < keys.length; ++i) {
+                if (values[i] != null)
+                    GlyphTable.put(k, v, keys[i], values[i]);
+            } // for
+
+            keys = k;
+            values = v;
+            used = size;
+        } // rehash( int capacity )
+
+    } // class Builder
+
+} // class GlyphTable
@@ -69,7 +69,7 @@ public abstract class SpriteFont
      *                      be used.
      */
     protected synchronized void addFrame( int x, int y, int w, int h, String name, double charAdvance, Rectangle2D charBounds ) {
-        BitmapFontFrame frame = new BitmapFontFrame( this, sheet.getImage().getSubimage(x, y, w, h), charAdvance, charBounds );
+        BitmapFontFrame frame = new BitmapFontFrame( this, sheet.getImage(), x, y, w, h, charAdvance, charBounds );
         addFrame(frame, name);
     } // addFrame( int x, int y, int w, int h, String name, double charAdvance, Rectangle2D charBounds )
 
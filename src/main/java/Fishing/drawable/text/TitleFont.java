@@ -3,8 +3,6 @@ package Fishing.drawable.text;
 
 import Fishing.Resources;
 import Fishing.drawable.SpriteSheet;
-import java.awt.Graphics2D;
-import java.awt.geom.Rectangle2D;
 import java.io.IOException;
 
 /**
@@ -43,8 +41,14 @@ public class TitleFont
     public TitleFont( String color ) {
         super(loadSheet(color));
 
-        // Add each letter
+        // Publish the characters once, rather than after each frame
+        batchFrames(this::addCharacterFrames);
+    } // TitleFont()
 
+    /**
+     * Adds the frame of each character in the sprite sheet.
+     */
+    private void addCharacterFrames() {
         // Unknown (use same as ".")
         addFrame(180, 170, 13, 47, "Unknown");
 
@@ -106,11 +110,17 @@ public class TitleFont
         addFrame(247, 193, 43, 43, "*");
         addFrame(292, 193, 31, 43, "-");
         addFrame(326, 193, 33, 43, "+");
-    } // TitleFont()
+    } // addCharacterFrames()
 
+    /**
+     * {@inheritDoc}
+     * 
+     * <p>The font only has upper case letters, so the text is laid out in
+     * upper case.
+     */
     @Override
-    public Rectangle2D drawText( Graphics2D g, double x, double y, String text, int alignment ) {
-        return super.drawText(g, x, y, text.toUpperCase(), alignment);
-    } // drawText( Graphics2D g, int x, int y, String text, int alignment )
+    public BitmapTextLayout layoutText( String text, int alignment ) {
+        return super.layoutText((text != null ? text.toUpperCase() : null), alignment);
+    } // layoutText( String text, int alignment )
 
 } // class TitleFont
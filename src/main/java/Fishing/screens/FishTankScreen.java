@@ -2,14 +2,15 @@
 package Fishing.screens;
 
 import com.jhlabs.image.MaskFilter;
-import com.jhlabs.image.OpacityFilter;
 import Fishing.FishingOptions;
 import Fishing.HighScoreManager;
 import Fishing.SoundManager;
 import Fishing.drawable.dialogs.GameOverDialog;
 import Fishing.drawable.Drawable;
-import Fishing.drawable.controls.ControlTimer;
+import Fishing.drawable.DrawablePanel;
+import Fishing.drawable.ObjectPool;
 import Fishing.drawable.controls.Fish;
+import Fishing.drawable.controls.FishSchool;
 import Fishing.drawable.controls.FishTankControls;
 import Fishing.drawable.controls.ScoreDisplay;
 import Fishing.drawable.dialogs.HighScoreDialog;
@@ -20,13 +21,14 @@ import Fishing.drawable.events.DrawableKeyAdapter;
 import Fishing.drawable.events.DrawableKeyEvent;
 import Fishing.drawable.events.DrawableMouseAdapter;
 import Fishing.drawable.events.DrawableMouseEvent;
-import Fishing.drawable.events.DrawableTreeAdapter;
 import Fishing.drawable.events.FishingOptionsAdapter;
+import Fishing.drawable.events.FrameAdapter;
+import Fishing.drawable.events.FrameEvent;
+import Fishing.drawable.events.FrameListener;
 import Fishing.drawable.events.MenuAdapter;
 import Fishing.drawable.events.MenuEvent;
-import Fishing.drawable.events.TimerEvent;
-import Fishing.drawable.events.TimerListener;
 import Fishing.drawable.events.ValueChangedEvent;
+import Fishing.drawable.text.FontRegistry;
 import Fishing.drawable.text.GeneratedFont;
 import Fishing.drawable.text.BitmapText;
 import java.awt.Color;
@@ -37,8 +39,12 @@ import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.UnsupportedAudioFileException;
+import javax.swing.JPanel;
 
 /**
  *
@@ -46,21 +52,95 @@ import javax.sound.sampled.UnsupportedAudioFileException;
  */
 public class FishTankScreen
     extends Screen
-    implements TimerListener
 {
 
-    private int animationTaskHandle = 0;
+    /**
+     * The maximum number of simulation steps run in a single update, so that
+     * the simulation drops time rather than falling further behind after a
+     * stall.
+     */
+    private static final int MAX_SIMULATION_STEPS = 5;
+
+    /**
+     * Tolerance used when comparing the accumulated time against a whole
+     * step, so rounding doesn't delay a step by an entire update.
+     */
+    private static final double STEP_EPSILON = 1e-9;
+
+    /**
+     * The maximum number of idle score text items retained for reuse, for
+     * each of the score and penalty pools.
+     */
+    private static final int SCORE_POPUP_POOL_SIZE = 32;
+
+    /**
+     * The change in opacity of score text each simulation step as it fades.
+     */
+    private static final float SCORE_POPUP_FADE = 10 / 255f;
+
+    /**
+     * When the maximum number of fish exceeds this, new fish are added to the
+     * {@link FishSchool} rather than as individual Fish objects, so that
+     * large populations remain cheap to update and draw.
+     */
+    private static final int SCHOOL_THRESHOLD = 100;
+
+    private final FrameListener simulationListener = new FrameAdapter() {
+            @Override
+            public void frameUpdate( FrameEvent e ) {
+                if (!isVisible() || isPaused())
+                    return;
+
+                // Accumulate elapsed time in simulation steps
+                stepAccumulator += e.getDelta() * Fish.STEP_RATE;
+                if (stepAccumulator > MAX_SIMULATION_STEPS)
+                    stepAccumulator = MAX_SIMULATION_STEPS;
+
+                while (stepAccumulator >= 1 - STEP_EPSILON) {
+                    stepAccumulator -= 1;
+                    stepSimulation();
+                } // while
+            } // frameUpdate( FrameEvent e )
+
+            @Override
+            public void frameRender( FrameEvent e ) {
+                if (!isVisible() || isPaused())
+                    return;
+
+                // Display the fish part way between their last two states, by
+                // the fraction of a step that elapsed since the last one
+                double alpha = stepAccumulator + e.getInterpolation() * e.getDelta() * Fish.STEP_RATE;
+                if (alpha > 1)
+                    alpha = 1;
+                else if (alpha < 0)
+                    alpha = 0;
+
+                for (Fish f : fishies)
+                    f.interpolate(alpha);
+
+                if (fishSchool.getCount() > 0)
+                    fishSchool.interpolate(alpha);
+            } // frameRender( FrameEvent e )
+        };
+
+    private DrawablePanel simulationPanel = null;   // The panel driving the simulation, once registered
+    private double stepAccumulator = 0;             // Elapsed time not yet simulated, in steps
+    private int playTimerSteps = 0;                 // Steps simulated since the play timer last counted down
+
+    private final Random random = new Random();     // Source of all random choices made by the simulation
+    private long randomSeed;                        // Seed the current game was started with
+    private boolean randomSeedSet = false;          // Whether the next game uses randomSeed rather than a new seed
 
     private ScoreDisplay scoreDisplay;
 
     private BitmapText title;
     private BitmapText playTimer;
     private int playTime;
-    private int playTimerHandle = 0;
     private boolean gameInProgress = false;     // Whether a game is currently running
     private PauseDialog pauseDialog = null;     // If the currently running game is paused, this is non-null
 
     private Drawable fishContainer;
+    private FishSchool fishSchool;
     private Drawable uiContainer;
     private FishTankControls controls;
 
@@ -68,7 +148,11 @@ public class FishTankScreen
 
     private FishingOptions fishingOptions;
     private ArrayList<Fish> fishies;
+    private final ArrayList<Fish> leavingFish = new ArrayList<Fish>();   // Fish that swam away during the current step
     private ArrayList<BitmapText> scoreTextItems;
+    private ArrayList<BitmapText> penaltyTextItems;
+    private ObjectPool<BitmapText> scorePopups;     // Released score text for caught target fish
+    private ObjectPool<BitmapText> penaltyPopups;   // Released score text for penalties, which is drawn in red
 
 
     public FishTankScreen( FishingOptions options ) {
@@ -93,14 +177,20 @@ public class FishTankScreen
         fishingOptions = options;
         fishies = new ArrayList<Fish>();
         scoreTextItems = new ArrayList<BitmapText>();
+        penaltyTextItems = new ArrayList<BitmapText>();
 
         // Container for the fish
         // We use a separate container so we can control its position and layer ordering (keep fish under everything else)
         fishContainer = new Drawable();
         fishContainer.setMouseChildren(true);
+        fishContainer.setSpatialIndex(true);
         fishContainer.setUnscaledSize( getUnscaledWidth(), getUnscaledHeight() );
         addDrawable(fishContainer);
 
+        fishSchool = options.createFishSchool();
+        fishSchool.setUnscaledSize( getUnscaledWidth(), getUnscaledHeight() );
+        fishContainer.addDrawable(fishSchool);
+
         uiContainer = new Drawable();
         uiContainer.setMouseChildren(true);
         uiContainer.setUnscaledSize( getUnscaledWidth(), getUnscaledHeight() );
@@ -110,10 +200,23 @@ public class FishTankScreen
         scoreDisplay.setY( 0 );
         uiContainer.addDrawable(scoreDisplay);
 
-        uiFont = new GeneratedFont( new Font("Arial Bold", Font.PLAIN, 40) );
-        uiFont.setColor( Color.WHITE );
-        uiFont.setOutlineColor( Color.BLACK );
-        uiFont.setOutlineWidth( 5 );
+        uiFont = FontRegistry.get( new Font("Arial Bold", Font.PLAIN, 40), Color.WHITE, Color.BLACK, 5 );
+
+        // Scores, the timer and the title show new characters mid-game, so
+        // render their glyphs up front rather than on the first frame
+        // they're drawn
+        uiFont.preload(GeneratedFont.ASCII);
+
+        scorePopups = new ObjectPool<>(() -> new BitmapText(uiFont), SCORE_POPUP_POOL_SIZE);
+
+        // Penalty text shares a single filter to tint it red
+        MaskFilter penaltyMask = new MaskFilter();
+        penaltyMask.setMask(0xffff0000);
+        penaltyPopups = new ObjectPool<>(() -> {
+                BitmapText t = new BitmapText(uiFont);
+                t.addFilter(penaltyMask);
+                return t;
+            }, SCORE_POPUP_POOL_SIZE);
 
         title = new BitmapText(uiFont, ""+options.getTitle() );
         double y = (scoreDisplay.getHeight() - title.getHeight()) / 2;
@@ -140,6 +243,7 @@ public class FishTankScreen
                         double w = getUnscaledWidth();
                         double h = getUnscaledHeight();
                         fishContainer.setUnscaledSize( w, h );
+                        fishSchool.setUnscaledSize( w, h );
                         uiContainer.setUnscaledSize( w, h );
                         scoreDisplay.setX( w - scoreDisplay.getWidth() );
                     } // drawableResized( DrawableEvent e )
@@ -156,47 +260,23 @@ public class FishTankScreen
                     if (e.getSource() instanceof Fish) {
                         if (gameInProgress) {
                             Fish f = (Fish)e.getSource();
-                            fishContainer.removeDrawable(f);
-
-                            long score = f.getScore();
-                            if (!fishingOptions.isTargetFishSpecies(f.getSpecies()))
-                                score = -score; // Penalty
-
-                            BitmapText scoreText = new BitmapText(uiFont, ""+score);
-
-
                             Point2D pt = globalToLocal(f.localToGlobal(e.getPosition()));
-//System.out.println("local="+ e.getPosition() +"  global="+ f.localToGlobal(e.getPosition()) +"  local="+ pt);
-                            scoreText.setPosition( pt.getX() - scoreText.getWidth()/2, pt.getY() - scoreText.getHeight()/2);
 
-/*
-                            scoreText.setPosition(
-                                            f.getX() + (f.getWidth() - scoreText.getWidth())/2,
-                                            f.getY() + (f.getHeight() - scoreText.getHeight())/2
-                                        );
-*/
+                            // Read the fish before it's returned to the pool
+                            String species = f.getSpecies();
+                            int score = f.getScore();
+                            removeFish(f);
 
-                            OpacityFilter filter = new OpacityFilter();
-                            filter.setOpacity(255);
-                            scoreText.addFilter( filter );
-
-                            if (score < 0) {
-                                MaskFilter mFilter = new MaskFilter();
-                                mFilter.setMask(0xffff0000);
-                                scoreText.addFilter(mFilter);
-
-                                SoundManager.playSoundEffect("BadFish");
-                            } else {
-                                SoundManager.playSoundEffect("GoodFish");
-                            }
-
-                            scoreTextItems.add(scoreText);
-                            addDrawable(scoreText);
-
-                            scoreDisplay.addToScore(score);
-
-                            if (score >= 0)
-                                fishingOptions.incrementFishSpeciesCaptureCount(f.getSpecies());
+                            catchFish(species, score, pt);
+                        }
+                    } else if (e.getSource() == fishSchool) {
+                        int i = fishSchool.fishAt(e.getPosition());
+                        if (gameInProgress && (i >= 0)) {
+                            Point2D pt = globalToLocal(fishSchool.localToGlobal(e.getPosition()));
+                            int species = fishSchool.getSpecies(i);
+                            fishSchool.remove(i);
+
+                            catchFish(fishSchool.getSpeciesName(species), fishSchool.getSpeciesScore(species), pt);
                         }
                     } else if (fishingOptions.getNewFishProbability() == 0)
                         addFish(0);
@@ -204,18 +284,23 @@ public class FishTankScreen
             }
         );
 
-        final FishTankScreen self = this;
         options.addListener(new FishingOptionsAdapter() {
             @Override
             public void maxFishChanged(ValueChangedEvent e) {
                 int max = (Integer) e.getNewValue();
 
-                // Remove fish until we're below the limit
-                synchronized (self) {
-                    while (fishies.size() > max) {
-                        fishies.remove( 0 );
-                    } // while
+                // Remove the oldest fish until we're below the limit
+                if (fishies.size() > max) {
+                    List<Fish> oldest = fishies.subList(0, fishies.size() - max);
+                    fishContainer.removeDrawables(oldest);
+                    for (int i = 0; i < oldest.size(); ++i)
+                        fishingOptions.releaseFish( oldest.get(i) );
+                    oldest.clear();
                 }
+
+                while (fishSchool.getCount() > max) {
+                    fishSchool.remove( fishSchool.getCount() - 1 );
+                } // while
             } // maxFishChanged(ValueChangedEvent e)
 
             @Override
@@ -223,12 +308,17 @@ public class FishTankScreen
                 double maxFishSpeed = (Double) e.getNewValue();
 
                 // Cap the existing fish to the specified speed
-                synchronized (self) {
-                    for (Fish f : fishies) {
-                        if (Math.abs(f.getDeltaX()) > maxFishSpeed)
-                            f.setDeltaX( (f.getDeltaX() < 0 ? -maxFishSpeed : maxFishSpeed) );
-                    } // for
-                }
+                for (Fish f : fishies) {
+                    if (Math.abs(f.getDeltaX()) > maxFishSpeed)
+                        f.setDeltaX( (f.getDeltaX() < 0 ? -maxFishSpeed : maxFishSpeed) );
+                } // for
+
+                fishSchool.setSteeredSpeedRange( fishingOptions.getMinFishSpeed(), maxFishSpeed );
+                for (int i = 0; i < fishSchool.getCount(); ++i) {
+                    double dx = fishSchool.getDeltaX(i);
+                    if (Math.abs(dx) > maxFishSpeed)
+                        fishSchool.setDeltaX( i, (dx < 0 ? -maxFishSpeed : maxFishSpeed) );
+                } // for
             } // maxFishSpeedChanged(ValueChangedEvent e)
 
             @Override
@@ -236,21 +326,23 @@ public class FishTankScreen
                 double minFishSpeed = (Double) e.getNewValue();
 
                 // Cap the existing fish to the specified speed
-                synchronized (self) {
-                    for (Fish f : fishies) {
-                        if (Math.abs(f.getDeltaX()) < minFishSpeed)
-                            f.setDeltaX( (f.getDeltaX() < 0 ? -minFishSpeed : minFishSpeed) );
-                    } // for
-                }
+                for (Fish f : fishies) {
+                    if (Math.abs(f.getDeltaX()) < minFishSpeed)
+                        f.setDeltaX( (f.getDeltaX() < 0 ? -minFishSpeed : minFishSpeed) );
+                } // for
+
+                fishSchool.setSteeredSpeedRange( minFishSpeed, fishingOptions.getMaxFishSpeed() );
+                for (int i = 0; i < fishSchool.getCount(); ++i) {
+                    double dx = fishSchool.getDeltaX(i);
+                    if (Math.abs(dx) < minFishSpeed)
+                        fishSchool.setDeltaX( i, (dx < 0 ? -minFishSpeed : minFishSpeed) );
+                } // for
             } // minFishSpeedChanged(ValueChangedEvent e)
 
             @Override
             public void timeLimitChanged(ValueChangedEvent e) {
                 playTime = (Integer) e.getNewValue();
-                if (playTimerHandle != 0) {
-                    ControlTimer.cancelTimerListener(playTimerHandle);
-                    playTimerHandle = 0;
-                }
+                playTimerSteps = 0;
             } // timeLimitChanged(ValueChangedEvent e)
 
             @Override
@@ -270,12 +362,36 @@ public class FishTankScreen
     } // FishTankScreen()
 
 
+    /**
+     * Retrieves the seed of the random number generator the current game was
+     * started with.  Starting a game with the same seed, and repeating the
+     * same input at the same simulation steps, replays it exactly.
+     * 
+     * @return  The seed of the current game.
+     */
+    public long getRandomSeed() {
+        return randomSeed;
+    } // getRandomSeed()
+
+
+    /**
+     * Sets the seed of the random number generator for the next game started.
+     * Otherwise, each game is started with a new seed.
+     * 
+     * @param value The seed for the next game.
+     */
+    public void setRandomSeed( long value ) {
+        randomSeed = value;
+        randomSeedSet = true;
+    } // setRandomSeed( long value )
+
+
     public boolean isPaused() {
         return (pauseDialog != null);
     } // isPaused()
 
 
-    public synchronized void setPaused( boolean value ) {
+    public void setPaused( boolean value ) {
         if (!gameInProgress || (isPaused() == value))
             return;
 
@@ -299,7 +415,7 @@ public class FishTankScreen
 
 
     @Override
-    public synchronized void setVisible( boolean value ) {
+    public void setVisible( boolean value ) {
         if (isVisible() == value)
             return;
 
@@ -307,9 +423,11 @@ public class FishTankScreen
 
         if (value) {
             startGame();
-        } else if (animationTaskHandle != 0) {
-            ControlTimer.cancelTimerListener(animationTaskHandle);
-            animationTaskHandle = 0;
+        } else {
+            if (simulationPanel != null) {
+                simulationPanel.removeFrameListener(simulationListener);
+                simulationPanel = null;
+            }
             gameInProgress = false;
         }
     } // setVisible( boolean value )
@@ -319,10 +437,12 @@ public class FishTankScreen
         playTimer.setFilters(null);
 
         playTime = fishingOptions.getTimeLimit();
-        if (playTimerHandle != 0) {
-            ControlTimer.cancelTimerListener(playTimerHandle);
-            playTimerHandle = 0;
-        }
+        playTimerSteps = 0;
+
+        if (!randomSeedSet)
+            randomSeed = ThreadLocalRandom.current().nextLong();
+        randomSeedSet = false;
+        random.setSeed(randomSeed);
 
         fishingOptions.resetStatistics();
 
@@ -337,70 +457,162 @@ public class FishTankScreen
 
         // Remove existing fish
         fishContainer.removeAllDrawables();
+        for (int i = 0; i < fishies.size(); ++i)
+            fishingOptions.releaseFish( fishies.get(i) );
+        fishies.clear();
+
+        // Recreate the school with the species enabled for this game
+        fishSchool = fishingOptions.createFishSchool();
+        fishSchool.setSeed( random.nextLong() );
+        fishSchool.setUnscaledSize( fishContainer.getUnscaledWidth(), fishContainer.getUnscaledHeight() );
+        fishContainer.addDrawable(fishSchool);
 
         // Create initial population of fish
         for (int i = 0; i < fishingOptions.getMaxFish(); ++i) {
             addFish( 0 );
         } // for
 
-        // Add timer task
-        if (animationTaskHandle == 0)
-            animationTaskHandle = ControlTimer.scheduleAtFixedRate(this, 1000 / 30);
-
         gameInProgress = true;
     } // startGame()
 
 
-    public synchronized void addFish( int origin ) {
-        if (fishies.size() >= fishingOptions.getMaxFish())
+    public void addFish( int origin ) {
+        double maxFish = fishingOptions.getMaxFish();
+        if (fishies.size() + fishSchool.getCount() >= maxFish)
             return; // Cannot add more fish
 
-        Fish f = fishingOptions.createFish();
-        if (f == null)
-            return;
-
         double x;
-        double y = Math.random() * getUnscaledHeight();
+        double y = random.nextDouble() * getUnscaledHeight();
 
         double speed = fishingOptions.getMinFishSpeed() +
-                        Math.random() * (fishingOptions.getMaxFishSpeed() - fishingOptions.getMinFishSpeed());
+                        random.nextDouble() * (fishingOptions.getMaxFishSpeed() - fishingOptions.getMinFishSpeed());
 
+        double deltaX;
         if (origin == 0) {
-            x = Math.random() * getUnscaledWidth();
+            x = random.nextDouble() * getUnscaledWidth();
 
             // Random direction
-            f.setDeltaX( Math.random() >= 0.5 ? speed : -speed );
+            deltaX = (random.nextDouble() >= 0.5 ? speed : -speed);
         } else if (origin < 0) {
             x = 0;
 
             // Move to right
-            f.setDeltaX( speed );
+            deltaX = speed;
         } else {
             x = getUnscaledWidth();
 
             // Move to left
-            f.setDeltaX( -speed );
+            deltaX = -speed;
         }
 
-//System.out.println("addFish: origin="+ origin +"  "+ x +","+ y +"  speed="+ speed);
-        f.setPosition(x , y);
+        if (maxFish > SCHOOL_THRESHOLD) {
+            int i = fishSchool.spawn(random, x, y, deltaX);
 
-        f.addTreeListener(new DrawableTreeAdapter() {
-                        @Override
-                        public void drawableRemoved( DrawableEvent e ) {
-                            fishies.remove((Fish) e.getSource());
-                        } // drawableRemoved( DrawableEvent e )
-                    });
+            // School fish are positioned by their center, so start those
+            // coming in from an edge just off screen, as individual fish do
+            if (origin != 0)
+                fishSchool.setFishPosition(i, x - Math.copySign(fishSchool.getFishWidth(i) / 2, deltaX), y);
+            return;
+        }
+
+        Fish f = fishingOptions.createFish(random);
+        if (f == null)
+            return;
+
+        f.setDeltaX( deltaX );
+
+//System.out.println("addFish: origin="+ origin +"  "+ x +","+ y +"  speed="+ speed);
+        f.setSimulationPosition(x , y);
 
         fishies.add(f);
         fishContainer.addDrawable(f);
     } // addFish( int origin )
 
 
+    /**
+     * Removes a fish added by {@link #addFish(int)} from the display, and
+     * returns it to the FishingOptions for reuse.
+     * 
+     * @param   f   The fish to remove.
+     */
+    private void removeFish( Fish f ) {
+        fishContainer.removeDrawable(f);
+        fishies.remove(f);
+        fishingOptions.releaseFish(f);
+    } // removeFish( Fish f )
+
+
+    /**
+     * Retrieves the pool that score text for caught target fish is reused
+     * from, so that its statistics can be monitored.
+     * 
+     * @return  The pool of score text.
+     */
+    public ObjectPool<BitmapText> getScorePopupPool() {
+        return scorePopups;
+    } // getScorePopupPool()
+
+
+    /**
+     * Retrieves the pool that penalty score text is reused from, so that its
+     * statistics can be monitored.
+     * 
+     * @return  The pool of penalty score text.
+     */
+    public ObjectPool<BitmapText> getPenaltyPopupPool() {
+        return penaltyPopups;
+    } // getPenaltyPopupPool()
+
+
+    /**
+     * Scores a caught fish and shows the score floating up from where it was
+     * caught.
+     * 
+     * @param   species The species of the fish.
+     * @param   score   The score for the species.
+     * @param   pt      The position the fish was caught at, in this screen's
+     *                  coordinate system.
+     */
+    private void catchFish( String species, long score, Point2D pt ) {
+        if (!fishingOptions.isTargetFishSpecies(species))
+            score = -score; // Penalty
+
+        BitmapText scoreText;
+        if (score < 0) {
+            scoreText = penaltyPopups.acquire();
+            penaltyTextItems.add(scoreText);
+
+            SoundManager.playSoundEffect("BadFish");
+        } else {
+            scoreText = scorePopups.acquire();
+            scoreTextItems.add(scoreText);
+
+            SoundManager.playSoundEffect("GoodFish");
+        }
+
+        scoreText.setText( ""+score );
+        scoreText.setOpacity(1f);
+        scoreText.setPosition( pt.getX() - scoreText.getWidth()/2, pt.getY() - scoreText.getHeight()/2);
+
+        addDrawable(scoreText);
+
+        scoreDisplay.addToScore(score);
+
+        if (score >= 0)
+            fishingOptions.incrementFishSpeciesCaptureCount(species);
+    } // catchFish( String species, long score, Point2D pt )
+
+
     @Override
-    public synchronized void paint(Graphics2D g) {
-        if (gameInProgress && playTimerHandle == 0)   // Start the timer if it hasn't already been (typically on the first frame drawn)
-            playTimerHandle = ControlTimer.scheduleAtFixedRate(this, 1000);
+    public void paint(Graphics2D g) {
+        if (simulationPanel == null) {  // Start the simulation if it hasn't already been (typically on the first frame drawn)
+            JPanel panel = (getRoot() != null) ? getRoot().getPanel() : null;
+            if (panel instanceof DrawablePanel) {
+                simulationPanel = (DrawablePanel) panel;
+                stepAccumulator = 0;
+                simulationPanel.addFrameListener(simulationListener);
+            }
+        }
 
         super.paint(g);
     } // paint(Graphics2D g)
@@ -427,10 +639,6 @@ public class FishTankScreen
             gameInProgress = false;
             fishingOptions.setFinalScore(scoreDisplay.getScore());
 
-            // Stop the timer
-            ControlTimer.cancelTimerListener(playTimerHandle);
-            playTimerHandle = 0;
-
             // Show the new high score dialog
             long score = fishingOptions.getFinalScore();
             int rank = HighScoreManager.getRankForScore(fishingOptions.getTitle(), score);
@@ -494,53 +702,84 @@ public class FishTankScreen
     } // showGameOverDialog()
 
 
-    public synchronized void timerFired(TimerEvent e) {
-        if (!isVisible() || isPaused())
-            return;
+    /**
+     * Advances the game by one simulation step of {@code 1 / Fish.STEP_RATE}
+     * seconds.
+     */
+    private void stepSimulation() {
+        // Compute the bounds of the area the fish should swim within
+        // This is the bounds of the screen minus the score display and
+        // other UI controls.
+        Rectangle2D bounds = getUnscaledBounds();
+        double y = scoreDisplay.getHeight();
+        bounds.setRect( bounds.getX(), y, bounds.getWidth(), bounds.getHeight() - y - controls.getHeight() );
+
+        // 
+        if (random.nextDouble() <= fishingOptions.getNewFishProbability())
+            addFish( random.nextDouble() >= 0.5 ? 1 : -1 );
+
+        // Update positions for fish, compacting those that stay to the front
+        // of the list in one pass, then remove those that swam away together
+        int kept = 0;
+        for (int i = 0; i < fishies.size(); ++i) {
+            Fish f = fishies.get(i);
+            boolean leaving = false;
+            try {
+                leaving = f.animate( bounds, random );
+            } catch (Exception ex) { }
+
+            if (leaving)
+                leavingFish.add(f);
+            else
+                fishies.set(kept++, f);
+        } // for
 
-        if (e.getSource() == animationTaskHandle) {
-            // Compute the bounds of the area the fish should swim within
-            // This is the bounds of the screen minus the score display and
-            // other UI controls.
-            Rectangle2D bounds = getUnscaledBounds();
-            double y = scoreDisplay.getHeight();
-            bounds.setRect( bounds.getX(), y, bounds.getWidth(), bounds.getHeight() - y - controls.getHeight() );
-
-            // 
-            if (Math.random() <= fishingOptions.getNewFishProbability())
-                addFish( Math.random() >= 0.5 ? 1 : -1 );
-
-            // Update positions for fish
-            ArrayList<Fish> list = (ArrayList<Fish>)fishies.clone();
-            for (Fish f : list) {
-                try {
-                    f.animate( bounds );
-                } catch (Exception ex) { }
-            } // for
-
-            // Fade out score text items
-            ArrayList<BitmapText> removeItems = new ArrayList<BitmapText>();
-            for (BitmapText t : scoreTextItems) {
-                OpacityFilter filter = (OpacityFilter) t.getFilters().get(0);
-
-                int o = filter.getOpacity() - 10;
-                if (o < 0)
-                    removeItems.add(t);
-                else {
-                    t.setY( t.getY() - 3 );
-                    filter.setOpacity(o);
-                }
-            } // for
-
-            // Remove items that are done fading
-            for (BitmapText t : removeItems) {
-                t.getParent().removeDrawable(t);
-                scoreTextItems.remove(t);
-            } // for
-        } else if (e.getSource() == playTimerHandle) {
+        if (!leavingFish.isEmpty()) {
+            for (int i = fishies.size() - 1; i >= kept; --i)
+                fishies.remove(i);
+
+            fishContainer.removeDrawables(leavingFish);
+            for (int i = 0; i < leavingFish.size(); ++i)
+                fishingOptions.releaseFish( leavingFish.get(i) );
+            leavingFish.clear();
+        }
+
+        fishSchool.step( bounds );
+
+        // Fade out score text items
+        fadeScoreText(scoreTextItems, scorePopups);
+        fadeScoreText(penaltyTextItems, penaltyPopups);
+
+        // Count down the play timer once per second of simulated time
+        if (gameInProgress && (++playTimerSteps >= Fish.STEP_RATE)) {
+            playTimerSteps = 0;
             updatePlayTimerText();
         }
-    } // timerFired(TimerEvent e)
+    } // stepSimulation()
+
+
+    /**
+     * Moves score text up and fades it out by one simulation step, and
+     * returns the text items that are done fading to their pool.
+     * 
+     * @param   items   The score text items being shown.
+     * @param   pool    The pool the items were acquired from.
+     */
+    private void fadeScoreText( ArrayList<BitmapText> items, ObjectPool<BitmapText> pool ) {
+        for (int i = items.size() - 1; i >= 0; --i) {
+            BitmapText t = items.get(i);
+
+            float o = t.getOpacity() - SCORE_POPUP_FADE;
+            if (o < 0) {
+                removeDrawable(t);
+                items.remove(i);
+                pool.release(t);
+            } else {
+                t.setY( t.getY() - 3 );
+                t.setOpacity(o);
+            }
+        } // for
+    } // fadeScoreText( ArrayList<BitmapText> items, ObjectPool<BitmapText> pool )
 
 
 } // class FishTankScreen
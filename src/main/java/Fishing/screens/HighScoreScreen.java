@@ -5,6 +5,7 @@ import Fishing.drawable.controls.ControlTimer;
 import Fishing.drawable.controls.HighScoreTable;
 import Fishing.drawable.events.TimerEvent;
 import Fishing.drawable.events.TimerListener;
+import Fishing.drawable.text.FontRegistry;
 import Fishing.drawable.text.GeneratedFont;
 import Fishing.drawable.text.BitmapText;
 import java.awt.Color;
@@ -28,18 +29,19 @@ public class HighScoreScreen
         setVisible(false);
 
         // Title
-        GeneratedFont titleFont = new GeneratedFont( new Font(/*"Arial Bold"*/ "Segoe Print", Font.BOLD, 100) );
-        titleFont.setColor( new Color(0x00ffff) );
-        titleFont.setOutlineColor( new Color(0xffffff) );
-        titleFont.setOutlineWidth( 20 );
+        GeneratedFont titleFont = FontRegistry.get(
+                new Font(/*"Arial Bold"*/ "Segoe Print", Font.BOLD, 100),
+                new Color(0x00ffff),
+                new Color(0xffffff),
+                20
+            );
 
         title = new BitmapText(titleFont, "High Scores");
         title.setPosition( (getUnscaledWidth() - title.getWidth()) / 2, 75 );
         addDrawable(title);
 
         // High score table titles
-        titleFont = new GeneratedFont( new Font(/*"Arial Bold"*/ "Segoe Print", Font.BOLD, 45) );
-        titleFont.setColor( new Color(0x00ffff) );
+        titleFont = FontRegistry.get( new Font(/*"Arial Bold"*/ "Segoe Print", Font.BOLD, 45), new Color(0x00ffff) );
         
         // High score tables
         highScoreTable = new HighScoreTable[3];
@@ -80,7 +82,7 @@ public class HighScoreScreen
     } // HighScoreScreen()
 
 
-    private synchronized void resetOpacity() {
+    private void resetOpacity() {
         title.setOpacity(0);
 
         for (int i = 0; i < highScoreTable.length; ++i)
@@ -89,7 +91,7 @@ public class HighScoreScreen
 
 
     @Override
-    public synchronized void setVisible( boolean value ) {
+    public void setVisible( boolean value ) {
         if (value == isVisible())
             return;
 
@@ -101,7 +103,7 @@ public class HighScoreScreen
     } // setVisible( boolean value )
 
 
-    public synchronized void timerFired(TimerEvent e) {
+    public void timerFired(TimerEvent e) {
         if ((highScoreTable == null) || (highScoreTable[0] == null))
             return;
             
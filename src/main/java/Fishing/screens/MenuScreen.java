@@ -1,7 +1,8 @@
 
 package Fishing.screens;
 
-import com.jhlabs.image.SwimFilter;
+import Fishing.drawable.SwimEffect;
+import Fishing.drawable.text.FontRegistry;
 import Fishing.drawable.text.GeneratedFont;
 import Fishing.drawable.controls.ListMenu;
 import Fishing.drawable.events.MenuEvent;
@@ -12,7 +13,6 @@ import Fishing.drawable.text.BitmapText;
 import Fishing.drawable.text.TitleFont;
 import java.awt.Color;
 import java.awt.Font;
-import java.awt.Graphics2D;
 import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -32,7 +32,6 @@ public class MenuScreen
     private TitleFont font;
     private BitmapFont menuFont;
     private BitmapText titleText;
-    private SwimFilter filter;
     private ListMenu menu;
 
     private int menuY;
@@ -59,12 +58,8 @@ public class MenuScreen
         titleText.setY(titleTextY);
         titleText.setAlignment(BitmapFont.ALIGN_CENTER);
 
-        // Filter for the title text
-        filter = new SwimFilter();
-        filter.setAmount(3);
-        filter.setScale(30f);
-
-        titleText.addFilter( filter );
+        // Make the title sway as if under water
+        SwimEffect.apply(titleText);
         addDrawable(titleText);
 
         // Load the sound effect for the mouse-overs
@@ -79,7 +74,7 @@ public class MenuScreen
         }
 
         // The menu fonts
-        menuFont = new GeneratedFont( new Font( "Arial Bold", Font.PLAIN, menuFontSize), Color.RED );
+        menuFont = FontRegistry.get( new Font( "Arial Bold", Font.PLAIN, menuFontSize), Color.RED );
 
         // The menu
         menu = new ListMenu( menuFont );
@@ -129,14 +124,6 @@ public void addMenuListener( MenuListener listener ) {
     } // validate()
 
 
-    @Override
-    public void paint( Graphics2D g ) {
-        filter.setTime( filter.getTime() + 0.05f );
-
-        super.paint(g);
-    } // paint( Graphics2D g ) {
-
-
     @Override
     public void menuSelected(MenuEvent e) { }
 
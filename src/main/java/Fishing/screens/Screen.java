@@ -9,6 +9,8 @@ import Fishing.drawable.events.DrawableEvent;
 import Fishing.drawable.events.DrawableListener;
 import Fishing.drawable.events.DrawableTreeAdapter;
 import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -26,6 +28,11 @@ public class Screen
 {
 
     private BufferedImage background;
+
+    // Copy of the background pre-scaled to the device resolution it was last
+    // drawn at, and the image it was scaled from
+    private BufferedImage scaledBackground;
+    private BufferedImage scaledBackgroundSource;
     private String backgroundMusic;
 
     private ArrayList<String> backgrounds = new ArrayList<>();
@@ -124,13 +131,13 @@ public class Screen
 
     public void setBackground( String backgroundResource ) {
         if (backgroundResource == null) {
-            background = null;
+            setBackground( (BufferedImage) null );
             return;
         }
 
         // Load background image
         try {
-            background = ImageIO.read( Resources.getStream(backgroundResource) );
+            setBackground( ImageIO.read( Resources.getStream(backgroundResource) ) );
         } catch (IOException ex) {
             Logger.getLogger(Screen.class.getName()).log(Level.SEVERE, null, ex);
         }
@@ -139,6 +146,9 @@ public class Screen
 
     public void setBackground( BufferedImage img ) {
         background = img;
+        scaledBackground = null;
+        scaledBackgroundSource = null;
+        repaint();
     } // setBackground( BufferedImage img )
 
 
@@ -198,10 +208,58 @@ public class Screen
     } // startBackgroundMusic()
 
 
+    /**
+     * Draws the background image.
+     * 
+     * <p>Rather than scaling the full resolution background every frame, a
+     * copy scaled to the device resolution is created the first time it's
+     * drawn at a given size, and is drawn without any scaling afterwards.
+     * 
+     * @param   g   The graphics context to draw into.
+     */
     @Override
     public void paint( Graphics2D g ) {
-        if (background != null)
-            g.drawImage(background, 0, 0, (int) getUnscaledWidth(), (int)getUnscaledHeight(), null);
+        BufferedImage img = background;
+        if (img == null)
+            return;
+
+        AffineTransform t = g.getTransform();
+
+        int nonScale = AffineTransform.TYPE_FLIP
+                        | AffineTransform.TYPE_MASK_ROTATION
+                        | AffineTransform.TYPE_GENERAL_TRANSFORM;
+
+        if ((t.getType() & nonScale) != 0) {
+            // Rotated or flipped, so there's no device size to scale to
+            g.drawImage(img, 0, 0, (int) getUnscaledWidth(), (int)getUnscaledHeight(), null);
+            return;
+        }
+
+        int w = (int)Math.round(getUnscaledWidth() * t.getScaleX());
+        int h = (int)Math.round(getUnscaledHeight() * t.getScaleY());
+        if ((w <= 0) || (h <= 0))
+            return;
+
+        BufferedImage scaled = scaledBackground;
+        if ((scaled == null) || (scaledBackgroundSource != img)
+            || (scaled.getWidth() != w) || (scaled.getHeight() != h))
+        {
+            scaled = g.getDeviceConfiguration().createCompatibleImage(w, h, img.getTransparency());
+
+            Graphics2D sg = scaled.createGraphics();
+            sg.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            sg.drawImage(img, 0, 0, w, h, null);
+            sg.dispose();
+
+            scaledBackground = scaled;
+            scaledBackgroundSource = img;
+        }
+
+        g.setTransform(AffineTransform.getTranslateInstance(
+            Math.round(t.getTranslateX()), Math.round(t.getTranslateY())
+        ));
+        g.drawImage(scaled, 0, 0, null);
+        g.setTransform(t);
     } // paint( Graphics2D g )
 
 